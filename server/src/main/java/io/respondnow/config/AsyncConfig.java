@@ -2,9 +2,11 @@ package io.respondnow.config;
 
 import org.springframework.context.annotation.Configuration;
 import org.springframework.scheduling.annotation.EnableAsync;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @Configuration
 @EnableAsync
+@EnableScheduling
 public class AsyncConfig {
-  // This enables asynchronous processing in your Spring Boot app
+  // This enables asynchronous processing and scheduled background jobs in your Spring Boot app
 }
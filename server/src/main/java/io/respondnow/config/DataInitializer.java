@@ -3,6 +3,7 @@ package io.respondnow.config;
 import io.respondnow.model.user.User;
 import io.respondnow.model.user.UserStatus;
 import io.respondnow.repository.UserRepository;
+import io.respondnow.service.audit.PermissionMatrixService;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.CommandLineRunner;
@@ -27,6 +28,9 @@ public class DataInitializer implements CommandLineRunner {
     @Autowired
     private BCryptPasswordEncoder passwordEncoder;
 
+    @Autowired
+    private PermissionMatrixService permissionMatrixService;
+
     @Override
     public void run(String... args) {
         log.info("Starting database initialization...");
@@ -100,11 +104,10 @@ public class DataInitializer implements CommandLineRunner {
         user.setChangePasswordRequired(false);
         user.setStatus(UserStatus.ACTIVE);
         user.setRoleNames(roleNames);
-        user.setGroupIds(new HashSet<>());
         user.setCreatedAt(System.currentTimeMillis());
         user.setUpdatedAt(System.currentTimeMillis());
 
-        userRepository.save(user);
+        permissionMatrixService.onUserChanged(userRepository.save(user));
         log.info("✅ Created default user: {} ({}) with roles: {}", username, email, roleNames);
     }
 }
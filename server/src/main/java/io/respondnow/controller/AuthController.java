@@ -22,6 +22,8 @@ import io.respondnow.model.user.User;
 import io.respondnow.security.SecurityAuditLogger;
 import io.respondnow.service.auth.AuthService;
 import io.respondnow.service.hierarchy.UserMappingService;
+import io.respondnow.service.user.RolePermissionSnapshot;
+import io.respondnow.service.user.RoleService;
 import io.respondnow.service.user.UserManagementService;
 import io.respondnow.util.JWTUtil;
 import io.respondnow.util.constants.AppConstants;
@@ -55,16 +57,19 @@ public class AuthController {
   private final UserManagementService userService;
   private final JWTUtil jwtUtil;
   private final SecurityAuditLogger auditLogger;
+  private final RoleService roleService;
 
   @Autowired
   public AuthController(
       AuthService authService, UserMappingService userMappingService, 
-      UserManagementService userService, JWTUtil jwtUtil, SecurityAuditLogger auditLogger) {
+      UserManagementService userService, JWTUtil jwtUtil, SecurityAuditLogger auditLogger,
+      RoleService roleService) {
     this.authService = authService;
     this.userMappingService = userMappingService;
     this.userService = userService;
     this.jwtUtil = jwtUtil;
     this.auditLogger = auditLogger;
+    this.roleService = roleService;
   }
 
   @Operation(summary = "Sign up a new user")
@@ -123,10 +128,10 @@ public class AuthController {
       // Get all effective roles including those inherited from groups
       Set<String> effectiveRoles = userService.getEffectiveRoles(user);
       
-      log.info("Effective roles for user {}: directRoles={}, effectiveRoles={}, groupIds={}", 
-          user.getUserId(), user.getRoleNames(), effectiveRoles, user.getGroupIds());
+      log.info("Effective roles for user {}: directRoles={}, effectiveRoles={}", 
+          user.getUserId(), user.getRoleNames(), effectiveRoles);
       
-      String token = jwtUtil.generateToken(user.getName(), user.getUserId(), user.getEmail(), effectiveRoles);
+      String token = issueToken(user, effectiveRoles);
       
       log.debug("JWT token generated for user: {}", user.getUserId());
 
@@ -179,7 +184,7 @@ public class AuthController {
       
       // Get effective roles after password change
       Set<String> effectiveRoles = userService.getEffectiveRoles(user);
-      String token = jwtUtil.generateToken(user.getName(), user.getUserId(), user.getEmail(), effectiveRoles);
+      String token = issueToken(user, effectiveRoles);
 
       log.info("Password changed successfully for user: {}", user.getUserId());
       
@@ -247,4 +252,16 @@ public class AuthController {
       return ResponseEntity.internalServerError().body(response);
     }
   }
+
+  // Compile the effective permissions into the token so checks don't need the role table
+  private String issueToken(User user, Set<String> effectiveRoles) {
+    RolePermissionSnapshot snapshot = roleService.getSnapshot();
+    return jwtUtil.generateToken(
+        user.getName(),
+        user.getUserId(),
+        user.getEmail(),
+        effectiveRoles,
+        snapshot.aggregateMask(effectiveRoles),
+        snapshot.getVersion());
+  }
 }
@@ -3,6 +3,7 @@ package io.respondnow.controller;
 import io.respondnow.dto.incident.ExportRequest;
 import io.respondnow.model.incident.Incident;
 import io.respondnow.service.export.ExportService;
+import io.respondnow.service.incident.IncidentSearchService;
 import io.respondnow.service.incident.IncidentService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -27,6 +28,7 @@ public class ExportController {
 
   @Autowired private IncidentService incidentService;
   @Autowired private ExportService exportService;
+  @Autowired private IncidentSearchService incidentSearchService;
 
   @Operation(summary = "Export incidents to CSV", description = "Export selected or filtered incidents to CSV format")
   @PostMapping("/csv")
@@ -185,7 +187,7 @@ public class ExportController {
     
     try {
       Query query = buildQuery(accountIdentifier, orgIdentifier, projectIdentifier, request);
-      long count = incidentService.countIncidents(query);
+      long count = query != null ? incidentService.countIncidents(query) : 0;
       return ResponseEntity.ok(count);
     } catch (Exception e) {
       return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(0L);
@@ -202,9 +204,10 @@ public class ExportController {
     
     // Otherwise, build query from filters
     Query query = buildQuery(accountIdentifier, orgIdentifier, projectIdentifier, request);
-    return incidentService.listIncidents(query);
+    return query != null ? incidentService.listIncidents(query) : List.of();
   }
 
+  /** Null when the search has nothing to look for, which matches no incident. */
   private Query buildQuery(
       String accountIdentifier, String orgIdentifier, String projectIdentifier, ExportRequest request) {
     
@@ -229,11 +232,6 @@ public class ExportController {
     if (request.getActive() != null) {
       criteria.and("active").is(request.getActive());
     }
-    if (request.getSearch() != null && !request.getSearch().isEmpty()) {
-      criteria.orOperator(
-          Criteria.where("name").regex(request.getSearch(), "i"),
-          Criteria.where("tags").regex(request.getSearch(), "i"));
-    }
     if (request.getStartDate() != null) {
       criteria.and("createdAt").gte(request.getStartDate());
     }
@@ -241,7 +239,11 @@ public class ExportController {
       criteria.and("createdAt").lte(request.getEndDate());
     }
 
-    return new Query(criteria);
+    // Full-text search, most relevant first
+    if (request.getSearch() == null || request.getSearch().isBlank()) {
+      return new Query(criteria);
+    }
+    return incidentSearchService.query(request.getSearch(), criteria);
   }
 
   private String generateFilename(String prefix, String extension) {
@@ -1,6 +1,8 @@
 package io.respondnow.controller;
 
 import io.respondnow.dto.user.CreateGroupRequest;
+import io.respondnow.dto.user.GroupMembershipRequest;
+import io.respondnow.dto.user.GroupMembershipResponse;
 import io.respondnow.dto.user.GroupResponse;
 import io.respondnow.service.user.GroupService;
 import io.respondnow.util.JWTUtil;
@@ -8,6 +10,7 @@ import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Page;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
@@ -81,6 +84,16 @@ public class GroupController {
         return ResponseEntity.noContent().build();
     }
 
+    @GetMapping("/{id}/members")
+    @PreAuthorize("hasAnyAuthority('VIEWER', 'RESPONDER', 'MANAGER', 'ADMIN', 'SYSTEM_ADMIN')")
+    @Operation(summary = "List group members", description = "Page through the user IDs of a group's members")
+    public ResponseEntity<Page<String>> getMembers(
+            @PathVariable String id,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "100") int size) {
+        return ResponseEntity.ok(groupService.getMembers(id, Math.max(page, 0), Math.min(Math.max(size, 1), 1000)));
+    }
+
     @PostMapping("/{id}/members")
     @PreAuthorize("hasAnyAuthority('MANAGER', 'ADMIN', 'SYSTEM_ADMIN')")
     @Operation(summary = "Add member to group", description = "Add a user to a group")
@@ -105,6 +118,18 @@ public class GroupController {
         return ResponseEntity.noContent().build();
     }
 
+    @PostMapping("/{id}/members/bulk")
+    @PreAuthorize("hasAnyAuthority('MANAGER', 'ADMIN', 'SYSTEM_ADMIN')")
+    @Operation(summary = "Bulk update group members",
+               description = "Add and remove many users in one call. Unknown user IDs are reported, not rejected.")
+    public ResponseEntity<GroupMembershipResponse> updateMembers(
+            @PathVariable String id,
+            @RequestBody GroupMembershipRequest request,
+            HttpServletRequest httpRequest) {
+        String currentUser = getCurrentUser(httpRequest);
+        return ResponseEntity.ok(groupService.updateMembers(id, request, currentUser));
+    }
+
     @PostMapping("/{id}/roles")
     @PreAuthorize("hasAnyAuthority('MANAGER', 'ADMIN', 'SYSTEM_ADMIN')")
     @Operation(summary = "Assign role to group", description = "Assign a role to a group")
@@ -124,10 +149,11 @@ public class GroupController {
     public ResponseEntity<?> syncGroupMemberships() {
         try {
             log.info("POST /groups/sync-memberships - Starting group membership sync");
-            groupService.syncGroupMemberships();
+            long synced = groupService.syncGroupMemberships();
             return ResponseEntity.ok(Map.of(
                 "status", "success",
-                "message", "Group memberships synchronized successfully. Check logs for details."
+                "message", "Group memberships synchronized successfully. Check logs for details.",
+                "synced", synced
             ));
         } catch (Exception e) {
             log.error("POST /groups/sync-memberships - Error during sync", e);
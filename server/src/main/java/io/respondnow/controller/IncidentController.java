@@ -8,6 +8,9 @@ import io.respondnow.model.incident.Severity;
 import io.respondnow.model.incident.Status;
 import io.respondnow.model.incident.Type;
 import io.respondnow.model.user.UserDetails;
+import io.respondnow.service.incident.ActiveIncidentRegistry;
+import io.respondnow.service.incident.IncidentChangeFeed;
+import io.respondnow.service.incident.IncidentSearchService;
 import io.respondnow.service.incident.IncidentService;
 import io.respondnow.util.JWTUtil;
 import io.swagger.v3.oas.annotations.Operation;
@@ -15,13 +18,16 @@ import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.enums.ParameterIn;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import java.util.List;
+import java.util.stream.Collectors;
 import javax.servlet.http.HttpServletRequest;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.mongodb.core.query.Criteria;
 import org.springframework.data.mongodb.core.query.Query;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 @Tag(name = "Incident Controller", description = "APIs for Incident Management")
 @RestController
@@ -29,6 +35,9 @@ import org.springframework.web.bind.annotation.*;
 public class IncidentController {
 
   @Autowired private IncidentService incidentService;
+  @Autowired private ActiveIncidentRegistry activeIncidents;
+  @Autowired private IncidentChangeFeed incidentChangeFeed;
+  @Autowired private IncidentSearchService incidentSearchService;
   @Autowired private JWTUtil jwtUtil;
 
   private UserDetails getCurrentUser(HttpServletRequest request) {
@@ -112,7 +121,9 @@ public class IncidentController {
           String incidentChannelType,
       @Parameter(
               name = "search",
-              description = "search based on name and/or tags",
+              description =
+                  "full-text search over name, tags, summary, description, comments and timeline"
+                      + " messages; results are ordered by relevance",
               in = ParameterIn.QUERY)
           @RequestParam(required = false)
           String search,
@@ -164,21 +175,23 @@ public class IncidentController {
     if (incidentChannelType != null && !incidentChannelType.isEmpty()) {
       criteria.and("incidentChannel.type").is(incidentChannelType);
     }
-    if (search != null && !search.isEmpty()) {
-      criteria.orOperator(
-          Criteria.where("name").regex(search, "i"), Criteria.where("tags").regex(search, "i"));
+    // A search with nothing to look for (only excluded words or punctuation) matches nothing,
+    // as on /incident/search
+    Query query =
+        search == null || search.isBlank()
+            ? new Query(criteria)
+            : incidentSearchService.query(search, criteria);
+    List<Incident> incidents = List.of();
+    long total = 0;
+    if (query != null) {
+      if (!all) {
+        query.skip((long) page * limit);
+        query.limit(limit);
+      }
+      incidents = incidentService.listIncidents(query);
+      total = incidentService.countIncidents(query);
     }
 
-    Query query = new Query(criteria);
-
-    if (!all) {
-      query.skip((long) page * limit);
-      query.limit(limit);
-    }
-
-    List<Incident> incidents = incidentService.listIncidents(query);
-    long total = incidentService.countIncidents(query);
-
     return ListResponseDTO.builder()
         .listResponse(
             ListResponseDTO.ListResponse.builder()
@@ -189,6 +202,244 @@ public class IncidentController {
         .build();
   }
 
+  @Operation(
+      summary = "Search incidents",
+      description =
+          "Full-text search over name, tags, summary, description, comments and timeline"
+              + " messages, most relevant first, with highlighted excerpts. Supports \"quoted"
+              + " phrases\" and -excluded words.")
+  @GetMapping("/search")
+  @ResponseStatus(HttpStatus.OK)
+  public SearchResponseDTO searchIncidents(
+      @Parameter(name = "q", description = "search text", in = ParameterIn.QUERY, required = true)
+          @RequestParam
+          String q,
+      @Parameter(
+              name = "accountIdentifier",
+              description =
+                  "accountIdentifier is the account where you want to access the resource",
+              in = ParameterIn.QUERY)
+          @RequestParam(required = false)
+          String accountIdentifier,
+      @Parameter(
+              name = "orgIdentifier",
+              description = "orgIdentifier is the org where you want to access the resource",
+              in = ParameterIn.QUERY)
+          @RequestParam(required = false)
+          String orgIdentifier,
+      @Parameter(
+              name = "projectIdentifier",
+              description =
+                  "projectIdentifier is the project where you want to access the resource",
+              in = ParameterIn.QUERY)
+          @RequestParam(required = false)
+          String projectIdentifier,
+      @Parameter(name = "status", description = "status of the incident", in = ParameterIn.QUERY)
+          @RequestParam(required = false)
+          Status status,
+      @Parameter(
+              name = "severity",
+              description = "severity of the incident",
+              in = ParameterIn.QUERY)
+          @RequestParam(required = false)
+          Severity severity,
+      @Parameter(name = "page", description = "Pagination page, default: 0", in = ParameterIn.QUERY)
+          @RequestParam(defaultValue = "0")
+          int page,
+      @Parameter(
+              name = "limit",
+              description = "Pagination limit, default: 10, at most 100",
+              in = ParameterIn.QUERY)
+          @RequestParam(defaultValue = "10")
+          int limit,
+      @Parameter(
+              name = "correlationId",
+              description = "correlationId is used to debug micro service communication",
+              in = ParameterIn.QUERY)
+          @RequestParam(required = false)
+          String correlationId) {
+    Criteria criteria = new Criteria();
+    if (accountIdentifier != null && !accountIdentifier.isEmpty()) {
+      criteria.and("accountIdentifier").is(accountIdentifier);
+    }
+    if (orgIdentifier != null && !orgIdentifier.isEmpty()) {
+      criteria.and("orgIdentifier").is(orgIdentifier);
+    }
+    if (projectIdentifier != null && !projectIdentifier.isEmpty()) {
+      criteria.and("projectIdentifier").is(projectIdentifier);
+    }
+    if (status != null) {
+      criteria.and("status").is(status);
+    }
+    if (severity != null) {
+      criteria.and("severity").is(severity);
+    }
+
+    int pageSize = Math.min(Math.max(limit, 1), 100);
+    int pageIndex = Math.max(page, 0);
+    Query query = incidentSearchService.query(q, criteria);
+    List<IncidentSearchHit> hits = List.of();
+    long total = 0;
+    if (query != null) {
+      total = incidentService.countIncidents(query);
+      query.skip((long) pageIndex * pageSize).limit(pageSize);
+      hits = incidentSearchService.find(q, query);
+    }
+
+    return SearchResponseDTO.builder()
+        .searchResponse(
+            SearchResponseDTO.SearchResponse.builder()
+                .content(hits)
+                .pagination(
+                    Pagination.builder()
+                        .index(pageIndex)
+                        .limit(pageSize)
+                        .totalPages((total + pageSize - 1) / pageSize)
+                        .totalItems(total)
+                        .build())
+                .correlationID(correlationId)
+                .build())
+        .build();
+  }
+
+  @Operation(
+      summary = "List open incidents",
+      description =
+          "Name, severity, status and commander of every incident in scope that is not"
+              + " resolved, most severe first. Served from memory.")
+  @GetMapping("/active")
+  @ResponseStatus(HttpStatus.OK)
+  public ActiveIncidentsResponseDTO listActiveIncidents(
+      @Parameter(
+              name = "accountIdentifier",
+              description =
+                  "accountIdentifier is the account where you want to access the resource",
+              in = ParameterIn.QUERY,
+              required = false)
+          @RequestParam
+          String accountIdentifier,
+      @Parameter(
+              name = "orgIdentifier",
+              description = "orgIdentifier is the org where you want to access the resource",
+              in = ParameterIn.QUERY)
+          @RequestParam(required = false)
+          String orgIdentifier,
+      @Parameter(
+              name = "projectIdentifier",
+              description =
+                  "projectIdentifier is the project where you want to access the resource",
+              in = ParameterIn.QUERY)
+          @RequestParam(required = false)
+          String projectIdentifier,
+      @Parameter(name = "page", description = "Pagination page, default: 0", in = ParameterIn.QUERY)
+          @RequestParam(defaultValue = "0")
+          int page,
+      @Parameter(
+              name = "limit",
+              description = "Pagination limit, default: 10",
+              in = ParameterIn.QUERY)
+          @RequestParam(defaultValue = "10")
+          int limit,
+      @Parameter(
+              name = "correlationId",
+              description = "correlationId is used to debug micro service communication",
+              in = ParameterIn.QUERY)
+          @RequestParam(required = false)
+          String correlationId) {
+    // Same scope rules as /incident/list
+    List<ActiveIncidentSummary> all =
+        activeIncidents.list().stream()
+            .filter(
+                incident ->
+                    inScope(accountIdentifier, incident.getAccountIdentifier())
+                        && inScope(orgIdentifier, incident.getOrgIdentifier())
+                        && inScope(projectIdentifier, incident.getProjectIdentifier()))
+            .collect(Collectors.toList());
+    int pageSize = Math.max(limit, 1);
+    int totalPages = (all.size() + pageSize - 1) / pageSize;
+    // A page past the end gets the last one, and says so
+    int pageIndex = Math.min(Math.max(page, 0), Math.max(totalPages - 1, 0));
+    int from = pageIndex * pageSize;
+    List<ActiveIncidentSummary> content = all.subList(from, Math.min(from + pageSize, all.size()));
+
+    return ActiveIncidentsResponseDTO.builder()
+        .activeIncidents(
+            ActiveIncidentsResponseDTO.ActiveIncidents.builder()
+                .content(content)
+                .pagination(
+                    Pagination.builder()
+                        .index(pageIndex)
+                        .limit(pageSize)
+                        .totalPages(totalPages)
+                        .totalItems(all.size())
+                        .build())
+                .correlationID(correlationId)
+                .build())
+        .build();
+  }
+  private static boolean inScope(String filter, String value) {
+    return filter == null || filter.isEmpty() || filter.equals(value);
+  }
+
+
+  @Operation(
+      summary = "Stream incident changes",
+      description =
+          "Server-Sent Events: an \"incident\" event with the incident after each change in scope,"
+              + " or only for one incident. Reconnect with Last-Event-ID to receive the events"
+              + " missed; a \"reset\" event means they are no longer available and the client"
+              + " should reload.")
+  @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+  public ResponseEntity<SseEmitter> streamIncidentChanges(
+      @Parameter(
+              name = "accountIdentifier",
+              description =
+                  "accountIdentifier is the account where you want to access the resource",
+              in = ParameterIn.QUERY)
+          @RequestParam(required = false)
+          String accountIdentifier,
+      @Parameter(
+              name = "orgIdentifier",
+              description = "orgIdentifier is the org where you want to access the resource",
+              in = ParameterIn.QUERY)
+          @RequestParam(required = false)
+          String orgIdentifier,
+      @Parameter(
+              name = "projectIdentifier",
+              description =
+                  "projectIdentifier is the project where you want to access the resource",
+              in = ParameterIn.QUERY)
+          @RequestParam(required = false)
+          String projectIdentifier,
+      @Parameter(
+              name = "incidentIdentifier",
+              description = "Only changes to this incident, by id or identifier",
+              in = ParameterIn.QUERY)
+          @RequestParam(required = false)
+          String incidentIdentifier,
+      @Parameter(
+              name = "Last-Event-ID",
+              description = "id of the last event received, sent by clients when reconnecting",
+              in = ParameterIn.HEADER)
+          @RequestHeader(value = "Last-Event-ID", required = false)
+          String lastEventId) {
+    SseEmitter emitter =
+        incidentChangeFeed.subscribe(
+            emptyToNull(accountIdentifier),
+            emptyToNull(orgIdentifier),
+            emptyToNull(projectIdentifier),
+            emptyToNull(incidentIdentifier),
+            lastEventId);
+    if (emitter == null) {
+      return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build();
+    }
+    return ResponseEntity.ok().header("X-Accel-Buffering", "no").body(emitter);
+  }
+
+  private static String emptyToNull(String value) {
+    return value == null || value.isEmpty() ? null : value;
+  }
+
   @Operation(summary = "Get incident", description = "Fetch a specific incident by its identifier")
   @GetMapping("/{incidentIdentifier}")
   @ResponseStatus(HttpStatus.OK)
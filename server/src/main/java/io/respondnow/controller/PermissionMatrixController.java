@@ -1,12 +1,17 @@
 package io.respondnow.controller;
 
 import io.respondnow.dto.audit.PermissionMatrixResponse;
+import io.respondnow.exception.BadRequestException;
 import io.respondnow.service.audit.PermissionMatrixService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+
+import java.util.Map;
+import java.util.Objects;
 
 @RestController
 @RequestMapping("/permissions")
@@ -15,13 +20,39 @@ import org.springframework.web.bind.annotation.*;
 @CrossOrigin(origins = "*")
 public class PermissionMatrixController {
     
+    private static final int MAX_PAGE_SIZE = 1000;
+    
     private final PermissionMatrixService permissionMatrixService;
     
     @GetMapping("/matrix")
     @PreAuthorize("hasAnyAuthority('ADMIN', 'MANAGER', 'SYSTEM_ADMIN')")
-    public ResponseEntity<PermissionMatrixResponse> getPermissionMatrix() {
-        log.info("GET /api/permissions/matrix");
-        PermissionMatrixResponse matrix = permissionMatrixService.getPermissionMatrix();
-        return ResponseEntity.ok(matrix);
+    public ResponseEntity<PermissionMatrixResponse> getPermissionMatrix(
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "100") int size,
+            @RequestParam(required = false) String role,
+            @RequestParam(required = false) String permission,
+            WebRequest request) {
+        log.info("GET /api/permissions/matrix - page: {}, size: {}, role: {}, permission: {}", page, size, role, permission);
+        if (page < 0 || size < 1 || size > MAX_PAGE_SIZE) {
+            throw new BadRequestException("page must be >= 0 and size between 1 and " + MAX_PAGE_SIZE);
+        }
+        
+        // The version changes on every matrix mutation, so it identifies this page's content
+        String etag = "\"" + permissionMatrixService.getVersion() + "-"
+                + Integer.toHexString(Objects.hash(page, size, role, permission)) + "\"";
+        if (request.checkNotModified(etag)) {
+            return null;
+        }
+        
+        PermissionMatrixResponse matrix = permissionMatrixService.getPermissionMatrix(page, size, role, permission);
+        return ResponseEntity.ok().eTag(etag).body(matrix);
+    }
+    
+    @PostMapping("/matrix/rebuild")
+    @PreAuthorize("hasAnyAuthority('ADMIN', 'SYSTEM_ADMIN')")
+    public ResponseEntity<Map<String, Object>> rebuildPermissionMatrix() {
+        log.info("POST /api/permissions/matrix/rebuild");
+        permissionMatrixService.rebuild();
+        return ResponseEntity.ok(Map.of("message", "Permission matrix rebuilt", "version", permissionMatrixService.getVersion()));
     }
 }
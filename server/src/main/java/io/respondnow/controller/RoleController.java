@@ -20,21 +20,21 @@ public class RoleController {
     private final RoleService roleService;
 
     @GetMapping
-    @PreAuthorize("hasAuthority('ROLE_VIEW') or hasAuthority('USER_VIEW') or hasAuthority('SYSTEM_ADMIN')")
+    @PreAuthorize("hasPermission(null, 'ROLE_VIEW') or hasPermission(null, 'USER_VIEW') or hasAuthority('SYSTEM_ADMIN')")
     @Operation(summary = "Get all roles", description = "Retrieve list of all roles")
     public ResponseEntity<List<RoleResponse>> getAllRoles() {
         return ResponseEntity.ok(roleService.getAllRoles());
     }
 
     @GetMapping("/{name}")
-    @PreAuthorize("hasAuthority('ROLE_VIEW') or hasAuthority('USER_VIEW') or hasAuthority('SYSTEM_ADMIN')")
+    @PreAuthorize("hasPermission(null, 'ROLE_VIEW') or hasPermission(null, 'USER_VIEW') or hasAuthority('SYSTEM_ADMIN')")
     @Operation(summary = "Get role by name", description = "Retrieve a specific role")
     public ResponseEntity<RoleResponse> getRoleByName(@PathVariable String name) {
         return ResponseEntity.ok(roleService.getRoleByName(name));
     }
 
     @GetMapping("/{name}/permissions")
-    @PreAuthorize("hasAuthority('ROLE_VIEW') or hasAuthority('USER_VIEW') or hasAuthority('SYSTEM_ADMIN')")
+    @PreAuthorize("hasPermission(null, 'ROLE_VIEW') or hasPermission(null, 'USER_VIEW') or hasAuthority('SYSTEM_ADMIN')")
     @Operation(summary = "Get role permissions", description = "Get all permissions for a role")
     public ResponseEntity<?> getRolePermissions(@PathVariable String name) {
         return ResponseEntity.ok(roleService.getRolePermissions(name));
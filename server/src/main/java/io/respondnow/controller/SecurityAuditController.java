@@ -1,13 +1,19 @@
 package io.respondnow.controller;
 
+import io.respondnow.dto.audit.SecurityAuditLogCursorPage;
 import io.respondnow.dto.audit.SecurityAuditLogResponse;
+import io.respondnow.exception.BadRequestException;
+import io.respondnow.service.audit.AuditLogQuery;
 import io.respondnow.service.audit.SecurityAuditService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.List;
 import java.util.Map;
@@ -19,6 +25,9 @@ import java.util.Map;
 @CrossOrigin(origins = "*")
 public class SecurityAuditController {
     
+    private static final int MAX_PAGE_SIZE = 1000;
+    private static final int EXPORT_BATCH_SIZE = 1000;
+    
     private final SecurityAuditService auditService;
     
     @GetMapping("/logs")
@@ -61,6 +70,58 @@ public class SecurityAuditController {
         return ResponseEntity.ok(logs);
     }
     
+    @GetMapping("/logs/search")
+    @PreAuthorize("hasAnyAuthority('ADMIN', 'MANAGER', 'SYSTEM_ADMIN')")
+    public ResponseEntity<SecurityAuditLogCursorPage> searchAuditLogs(
+            @RequestParam(required = false) String username,
+            @RequestParam(required = false) String eventType,
+            @RequestParam(required = false) Boolean success,
+            @RequestParam(required = false) Long startTime,
+            @RequestParam(required = false) Long endTime,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "50") int size) {
+        log.info("GET /api/audit/logs/search - username: {}, eventType: {}, success: {}, start: {}, end: {}, size: {}",
+                username, eventType, success, startTime, endTime, size);
+        if (size < 1 || size > MAX_PAGE_SIZE) {
+            throw new BadRequestException("size must be between 1 and " + MAX_PAGE_SIZE);
+        }
+        AuditLogQuery filter = AuditLogQuery.builder()
+                .username(username)
+                .eventType(eventType)
+                .success(success)
+                .startTime(startTime)
+                .endTime(endTime)
+                .build();
+        return ResponseEntity.ok(auditService.searchAuditLogs(filter, cursor, size));
+    }
+    
+    @GetMapping(value = "/logs/export", produces = "application/x-ndjson")
+    @PreAuthorize("hasAnyAuthority('ADMIN', 'MANAGER', 'SYSTEM_ADMIN')")
+    public ResponseEntity<StreamingResponseBody> exportAuditLogs(
+            @RequestParam(required = false) String username,
+            @RequestParam(required = false) String eventType,
+            @RequestParam(required = false) Boolean success,
+            @RequestParam(required = false) Long startTime,
+            @RequestParam(required = false) Long endTime) {
+        log.info("GET /api/audit/logs/export - username: {}, eventType: {}, success: {}, start: {}, end: {}",
+                username, eventType, success, startTime, endTime);
+        AuditLogQuery filter = AuditLogQuery.builder()
+                .username(username)
+                .eventType(eventType)
+                .success(success)
+                .startTime(startTime)
+                .endTime(endTime)
+                .build();
+        StreamingResponseBody body = out -> {
+            long written = auditService.exportAuditLogs(filter, EXPORT_BATCH_SIZE, out);
+            log.info("Exported {} audit events", written);
+        };
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType("application/x-ndjson"))
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=security-audit.ndjson")
+                .body(body);
+    }
+    
     @GetMapping("/statistics")
     @PreAuthorize("hasAnyAuthority('ADMIN', 'MANAGER', 'SYSTEM_ADMIN')")
     public ResponseEntity<Map<String, Object>> getAuditStatistics() {
@@ -8,6 +8,7 @@ import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Page;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
@@ -25,14 +26,29 @@ import java.util.Map;
 @Slf4j
 public class UserManagementController {
 
+    private static final int DEFAULT_PAGE_SIZE = 50;
+    private static final int MAX_PAGE_SIZE = 500;
+
     private final UserManagementService userService;
     private final SecurityAuditLogger auditLogger;
 
     @GetMapping
     @PreAuthorize("hasAnyAuthority('VIEWER', 'RESPONDER', 'MANAGER', 'ADMIN', 'SYSTEM_ADMIN')")
-    @Operation(summary = "Get all users", description = "Retrieve list of all users")
-    public ResponseEntity<?> getAllUsers(HttpServletRequest request) {
+    @Operation(summary = "Get all users",
+        description = "Retrieve list of all users, or a page of users when page/size/search is given")
+    public ResponseEntity<?> getAllUsers(
+            @RequestParam(required = false) Integer page,
+            @RequestParam(required = false) Integer size,
+            @RequestParam(required = false) String search,
+            HttpServletRequest request) {
         try {
+            if (page != null || size != null || search != null) {
+                int pageNumber = page != null ? Math.max(page, 0) : 0;
+                int pageSize = size != null ? Math.min(Math.max(size, 1), MAX_PAGE_SIZE) : DEFAULT_PAGE_SIZE;
+                log.info("GET /users - Fetching page {} (size {}) with search '{}'", pageNumber, pageSize, search);
+                Page<UserResponse> users = userService.searchUsers(search, pageNumber, pageSize);
+                return ResponseEntity.ok(users);
+            }
             log.info("GET /users - Fetching all users");
             List<UserResponse> users = userService.getAllUsers();
             log.info("GET /users - Successfully fetched {} users", users.size());
@@ -19,6 +19,13 @@ public class PermissionMatrixResponse {
     private List<GroupPermissionEntry> groups;
     private Map<String, Set<String>> permissionsByRole;
     
+    // Paging over users and groups, and the matrix version the page was read at
+    private int page;
+    private int size;
+    private long totalUsers;
+    private long totalGroups;
+    private long version;
+    
     @Data
     @Builder
     @NoArgsConstructor
@@ -0,0 +1,18 @@
+package io.respondnow.dto.audit;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SecurityAuditLogCursorPage {
+    private List<SecurityAuditLogResponse> items;
+    private int size;
+    private String nextCursor;  // Null when there are no older events
+}
@@ -0,0 +1,28 @@
+package io.respondnow.dto.incident;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import io.respondnow.model.incident.Severity;
+import io.respondnow.model.incident.Status;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+
+/** The few fields of a non-resolved incident needed to list it. Immutable. */
+@Getter
+@Builder
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class ActiveIncidentSummary {
+  private final String id;
+  private final String identifier;
+  private final String accountIdentifier;
+  private final String orgIdentifier;
+  private final String projectIdentifier;
+  private final String name;
+  private final Severity severity;
+  private final Status status;
+  private final String commanderUserId;
+  private final String commanderName;
+  private final Long createdAt;
+  private final Long updatedAt;
+}
@@ -0,0 +1,27 @@
+package io.respondnow.dto.incident;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import io.respondnow.model.incident.Incident;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+
+/**
+ * One change to an incident, as sent on {@code GET /incident/stream}. {@code incident} is the
+ * incident after the change, and is absent when it was deleted. Immutable.
+ */
+@Getter
+@Builder
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class IncidentChangeEvent {
+  /** {@code insert}, {@code update}, {@code replace} or {@code delete}. */
+  private final String operation;
+
+  private final String id;
+  private final String identifier;
+  private final String accountIdentifier;
+  private final String orgIdentifier;
+  private final String projectIdentifier;
+  private final Incident incident;
+}
@@ -0,0 +1,23 @@
+package io.respondnow.dto.incident;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import io.respondnow.model.incident.Incident;
+import java.util.List;
+import java.util.Map;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+
+/**
+ * An incident matching a search, with its relevance score and, per matching field, excerpts in
+ * which the search terms are wrapped in {@code <mark>}. Excerpt text is HTML-escaped. Immutable.
+ */
+@Getter
+@Builder
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class IncidentSearchHit {
+  private final Incident incident;
+  private final Double score;
+  private final Map<String, List<String>> highlights;
+}
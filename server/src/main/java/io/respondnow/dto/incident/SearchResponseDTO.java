@@ -0,0 +1,33 @@
+package io.respondnow.dto.incident;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import io.respondnow.dto.DefaultResponseDTO;
+import io.respondnow.model.api.Pagination;
+import java.util.List;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.experimental.SuperBuilder;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+@SuperBuilder
+public class SearchResponseDTO extends DefaultResponseDTO {
+
+  @JsonProperty("data")
+  private SearchResponse searchResponse;
+
+  @Getter
+  @Setter
+  @JsonInclude(JsonInclude.Include.NON_NULL)
+  @Builder
+  public static class SearchResponse {
+    private List<IncidentSearchHit> content;
+    private Pagination pagination;
+    private String correlationID;
+  }
+}
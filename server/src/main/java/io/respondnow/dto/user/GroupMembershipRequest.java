@@ -0,0 +1,15 @@
+package io.respondnow.dto.user;
+
+import lombok.Data;
+
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Bulk membership change for one group. Entries may be user IDs or MongoDB IDs.
+ */
+@Data
+public class GroupMembershipRequest {
+    private Set<String> addUserIds = new HashSet<>();
+    private Set<String> removeUserIds = new HashSet<>();
+}
@@ -0,0 +1,15 @@
+package io.respondnow.dto.user;
+
+import lombok.Data;
+
+import java.util.HashSet;
+import java.util.Set;
+
+@Data
+public class GroupMembershipResponse {
+    private String groupId;
+    private int requested;
+    private long added;   // Users newly linked to the group
+    private long removed; // Users unlinked from the group
+    private Set<String> notFound = new HashSet<>();
+}
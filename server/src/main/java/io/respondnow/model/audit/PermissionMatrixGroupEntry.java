@@ -0,0 +1,30 @@
+package io.respondnow.model.audit;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.util.Set;
+
+/**
+ * Materialized permission matrix row for one group.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Document(collection = "permission_matrix_groups")
+public class PermissionMatrixGroupEntry {
+
+    @Id
+    private String id;  // Same as Group.id
+
+    private String groupName;
+    private Set<String> roles;
+    private int memberCount;
+    private Set<String> effectivePermissions;
+    private Long refreshedAt;
+}
@@ -0,0 +1,23 @@
+package io.respondnow.model.audit;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Document(collection = "permission_matrix_state")
+public class PermissionMatrixState {
+
+    @Id
+    private String id;
+
+    // Bumped on every change to the materialized matrix; used as the ETag
+    private Long version;
+    private Long rebuiltAt;
+}
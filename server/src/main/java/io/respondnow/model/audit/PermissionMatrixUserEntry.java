@@ -0,0 +1,35 @@
+package io.respondnow.model.audit;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Materialized permission matrix row for one user, kept current by the user and group services.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Document(collection = "permission_matrix_users")
+public class PermissionMatrixUserEntry {
+
+    @Id
+    private String id;  // Same as User.id
+
+    private String username;
+    private String email;
+    private Set<String> groupIds;
+    private Set<String> directRoles;
+    private Set<String> groupRoles;
+    private Set<String> effectiveRoles;
+    private Set<String> effectivePermissions;
+    private List<String> groupNames;
+    private Long refreshedAt;
+}
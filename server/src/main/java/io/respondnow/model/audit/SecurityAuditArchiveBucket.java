@@ -0,0 +1,50 @@
+package io.respondnow.model.audit;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.util.Date;
+import java.util.List;
+
+/**
+ * One hour of archived audit events for a single event type. Events are stored as a
+ * gzip-compressed JSON array; large hours are split across several buckets by {@code seq}.
+ * Per-user counts and the outcomes present are kept uncompressed so that username and success
+ * filters select buckets in MongoDB and can often be counted without opening them.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Document(collection = "security_audit_archive")
+public class SecurityAuditArchiveBucket {
+
+    @Id
+    private String id;  // eventType:bucketStart:seq, so re-archiving an hour is idempotent
+
+    private String eventType;
+    private Long bucketStart;  // Start of the hour, epoch millis
+    private int seq;
+    private int count;
+    private int successCount;
+    private Long minTimestamp;
+    private Long maxTimestamp;
+    private List<UserCount> users;
+    private List<Boolean> outcomes;  // Distinct success values in the bucket
+    private byte[] events;
+    private Date archivedAt;
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class UserCount {
+        private String username;
+        private int successCount;
+        private int failureCount;
+    }
+}
@@ -0,0 +1,23 @@
+package io.respondnow.model.audit;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Document(collection = "security_audit_archive_state")
+public class SecurityAuditArchiveState {
+
+    @Id
+    private String id;
+
+    // Everything before this instant (epoch millis) lives in the archive tier
+    private Long watermark;
+    private Long updatedAt;
+}
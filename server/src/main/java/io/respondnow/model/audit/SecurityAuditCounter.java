@@ -0,0 +1,30 @@
+package io.respondnow.model.audit;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.util.Date;
+import java.util.Map;
+
+/**
+ * Checkpointed audit event counts for one minute, or the running total when id is "total".
+ * Keys look like {@code event:LOGIN} and {@code success:true}.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Document(collection = "security_audit_counters")
+public class SecurityAuditCounter {
+
+    @Id
+    private String id;
+
+    private Long minute;  // Start of the minute, epoch millis
+    private Map<String, Long> counts;
+    private Date expireAt;
+}
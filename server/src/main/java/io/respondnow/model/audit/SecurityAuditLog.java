@@ -7,6 +7,8 @@ import lombok.NoArgsConstructor;
 import org.springframework.data.annotation.Id;
 import org.springframework.data.mongodb.core.mapping.Document;
 
+import java.util.Date;
+
 @Data
 @Builder
 @NoArgsConstructor
@@ -32,4 +34,7 @@ public class SecurityAuditLog {
     private String resourceType;  // USER, GROUP, ROLE, etc.
     private String resourceId;
     private String action;  // CREATE, UPDATE, DELETE, VIEW, etc.
+    
+    // Same instant as timestamp, stored as a BSON date so the hot tier TTL index can expire it
+    private Date recordedAt;
 }
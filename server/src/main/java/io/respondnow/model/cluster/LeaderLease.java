@@ -0,0 +1,31 @@
+package io.respondnow.model.cluster;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.util.Date;
+
+/**
+ * Heartbeat document for a lease that one instance at a time may hold. The owner pushes
+ * {@code expireAt} forward on every renewal; once it passes, any instance may take the lease
+ * over, and the TTL index eventually removes leases nobody renews.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Document(collection = "leader_leases")
+public class LeaderLease {
+
+    @Id
+    private String id;
+
+    private String owner;
+    private Date acquiredAt;
+    private Date renewedAt;
+    private Date expireAt;
+}
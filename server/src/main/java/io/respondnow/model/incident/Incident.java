@@ -1,5 +1,6 @@
 package io.respondnow.model.incident;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import io.respondnow.model.user.UserDetails;
 import java.util.ArrayList;
@@ -10,6 +11,7 @@ import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
 import org.springframework.data.annotation.Id;
+import org.springframework.data.annotation.ReadOnlyProperty;
 import org.springframework.data.mongodb.core.mapping.Document;
 
 @Data
@@ -59,6 +61,14 @@ public class Incident {
   private Long removedAt;
   private Boolean removed;
 
+  // Maintained with $push/$pull/$set only, so whole-document saves never overwrite them
+  @JsonIgnore @ReadOnlyProperty private List<SlackNotification> slackOutbox;
+  // When the head of the outbox is next due, epoch millis; absent once the outbox is drained
+  @JsonIgnore @ReadOnlyProperty private Long slackOutboxDueAt;
+  @JsonIgnore @ReadOnlyProperty private Long slackOutboxLeaseUntil;
+  // Timestamp of the pinned incident card in the incident channel, refreshed with chat.update
+  @JsonIgnore @ReadOnlyProperty private String slackCardTs;
+
   /**
    * Adds a Timeline entry to the Incident's timeline history.
    *
@@ -0,0 +1,31 @@
+package io.respondnow.model.incident;
+
+import java.util.List;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * A Slack confirmation waiting to be posted for a change to an incident. Entries are pushed onto
+ * {@link Incident#getSlackOutbox()} in the same update as the change itself and removed by the
+ * relay once delivered, so a Slack outage delays the message instead of losing it.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SlackNotification {
+
+  private String notificationId;
+  private ChangeType type;
+  private String channelId;
+  private String actorUserId;
+  // New status, severity or summary, or the comment text
+  private String value;
+  // Roles requested in a role update
+  private List<Role> roles;
+  private Long createdAt; // epoch millis
+  private Integer attempts;
+  private String lastError;
+}
@@ -0,0 +1,33 @@
+package io.respondnow.model.job;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+/**
+ * Schedule of a background job, shared by every instance. The trigger and limits are written
+ * from the job's configuration at startup; {@code enabled} is only set when the definition is
+ * first created, so a job can be switched off in the database. {@code nextRunAt} is advanced by
+ * whichever instance starts the run.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Document(collection = "job_definitions")
+public class JobDefinition {
+
+    @Id
+    private String id; // job name
+
+    private String cron;
+    private Long fixedDelayMs;
+    private Integer partitions;
+    private Integer maxConcurrency;
+    private Boolean enabled;
+    private Long nextRunAt;
+    private Long updatedAt;
+}
@@ -0,0 +1,59 @@
+package io.respondnow.model.job;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.util.Date;
+import java.util.List;
+
+/**
+ * One run of a job, split into partitions that instances claim and work on independently.
+ * {@code runningCount} is the number of partitions currently claimed and bounds how many run
+ * at once across the cluster. Finished runs expire through a TTL index on {@code expireAt}.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Document(collection = "job_runs")
+public class JobRun {
+
+    @Id
+    private String id;
+
+    private String jobName;
+    private String trigger; // "schedule" or "manual"
+    private JobStatus status;
+
+    private Integer partitionCount;
+    private Integer runningCount;
+    private Integer succeededCount;
+    private Integer failedCount;
+    private Long processed;
+    private List<Partition> partitions;
+
+    private Long createdAt;
+    private Long finishedAt;
+    private Date expireAt;
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Partition {
+        private Integer index;
+        private JobStatus status;
+        private String owner; // instance that holds the claim
+        private String claimToken;
+        private Long leaseUntil;
+        private Integer attempts;
+        private Long processed;
+        private Long startedAt;
+        private Long finishedAt;
+        private String error;
+    }
+}
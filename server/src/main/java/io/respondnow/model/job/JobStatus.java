@@ -0,0 +1,12 @@
+package io.respondnow.model.job;
+
+/**
+ * State of a {@link JobRun} or of one of its partitions. Runs are only ever
+ * {@code RUNNING}, {@code SUCCEEDED} or {@code FAILED}.
+ */
+public enum JobStatus {
+    PENDING,
+    RUNNING,
+    SUCCEEDED,
+    FAILED
+}
@@ -0,0 +1,29 @@
+package io.respondnow.model.slack;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.util.Date;
+
+/**
+ * Marker for a Slack interaction or event that has been accepted for processing. The id is the
+ * delivery key, e.g. {@code event:Ev0123} or {@code view_submission:V0123}; inserting a
+ * duplicate fails, which is how redeliveries are recognised across instances.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Document(collection = "slack_deliveries")
+public class SlackDelivery {
+
+    @Id
+    private String id;
+
+    private Date receivedAt;
+    private Date expireAt;
+}
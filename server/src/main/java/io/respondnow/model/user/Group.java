@@ -15,6 +15,7 @@ import java.util.Set;
 /**
  * Represents a group of users with shared roles and permissions.
  * Groups allow for easier management of permissions for multiple users.
+ * Members are stored separately as {@link GroupMembership} documents.
  */
 @Data
 @NoArgsConstructor
@@ -31,8 +32,6 @@ public class Group {
 
     private String parentGroupId; // For nested groups (optional feature)
 
-    private Set<String> userIds = new HashSet<>(); // Member user IDs
-
     private Set<String> roleNames = new HashSet<>(); // Roles assigned to this group
 
     private LocalDateTime createdAt;
@@ -55,22 +54,6 @@ public class Group {
         this.active = true;
     }
 
-    /**
-     * Add a user to this group.
-     */
-    public void addMember(String userId) {
-        this.userIds.add(userId);
-        this.updatedAt = LocalDateTime.now();
-    }
-
-    /**
-     * Remove a user from this group.
-     */
-    public void removeMember(String userId) {
-        this.userIds.remove(userId);
-        this.updatedAt = LocalDateTime.now();
-    }
-
     /**
      * Assign a role to this group.
      */
@@ -0,0 +1,38 @@
+package io.respondnow.model.user;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+/**
+ * One user's membership in one group. Memberships live in their own collection rather than
+ * as arrays on {@link Group} and {@link User}, so a group can grow to any size without
+ * growing (or rewriting) either document.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Document(collection = "group_memberships")
+public class GroupMembership {
+
+    @Id
+    private String id; // groupId:userId
+
+    private String groupId;
+
+    private String userId; // User.userId (username)
+
+    private String userRef; // User.id
+
+    private Long createdAt;
+
+    private String createdBy;
+
+    public static String idOf(String groupId, String userId) {
+        return groupId + ":" + userId;
+    }
+}
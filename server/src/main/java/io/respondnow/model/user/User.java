@@ -37,7 +37,7 @@ public class User {
 
   private Set<String> roleNames = new HashSet<>();
 
-  private Set<String> groupIds = new HashSet<>();
+  // Group memberships are stored in group_memberships, see GroupMembership
 
   private Long createdAt;
 
@@ -10,7 +10,6 @@ import java.util.Optional;
 @Repository
 public interface GroupRepository extends MongoRepository<Group, String> {
     Optional<Group> findByName(String name);
-    List<Group> findByUserIdsContaining(String userId);
     List<Group> findByRoleNamesContaining(String roleName);
     List<Group> findByActive(Boolean active);
     boolean existsByName(String name);
@@ -0,0 +1,93 @@
+package io.respondnow.security;
+
+import io.respondnow.model.user.Permission;
+import io.respondnow.service.user.RolePermissionSnapshot;
+import io.respondnow.service.user.RoleService;
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.List;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.security.access.PermissionEvaluator;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.stereotype.Component;
+
+/**
+ * Backs {@code hasPermission(...)} in {@code @PreAuthorize} expressions. Checks a single bit of
+ * the permission mask carried in the JWT. When the token was issued under an older role
+ * snapshot, the mask is recomputed once from the token's roles and cached on the
+ * authentication for the rest of the request.
+ *
+ * Permissions may be passed as {@link Permission} constants or by name; the target object is
+ * ignored since permissions are global.
+ */
+@Component
+@Slf4j
+public class BitmaskPermissionEvaluator implements PermissionEvaluator {
+
+  private final RoleService roleService;
+
+  public BitmaskPermissionEvaluator(@Lazy RoleService roleService) {
+    this.roleService = roleService;
+  }
+
+  @Override
+  public boolean hasPermission(Authentication authentication, Object targetDomainObject, Object permission) {
+    if (authentication == null || !authentication.isAuthenticated()) {
+      return false;
+    }
+    Permission required = toPermission(permission);
+    if (required == null) {
+      return false;
+    }
+    return (effectiveMask(authentication) & (1L << required.ordinal())) != 0;
+  }
+
+  @Override
+  public boolean hasPermission(
+      Authentication authentication, Serializable targetId, String targetType, Object permission) {
+    return hasPermission(authentication, null, permission);
+  }
+
+  private long effectiveMask(Authentication authentication) {
+    RolePermissionSnapshot snapshot = roleService.getSnapshot();
+    if (authentication instanceof PermissionAuthenticationToken) {
+      PermissionAuthenticationToken token = (PermissionAuthenticationToken) authentication;
+      if (token.getPermissionVersion() == snapshot.getVersion()) {
+        return token.getPermissionMask();
+      }
+      long cached = token.getResolvedMask(snapshot.getVersion());
+      if (cached != -1L) {
+        return cached;
+      }
+      long mask = maskFromAuthorities(authentication, snapshot);
+      token.setResolvedMask(mask, snapshot.getVersion());
+      log.debug("Permission model version in token for {} is stale, recomputed from roles", authentication.getName());
+      return mask;
+    }
+    return maskFromAuthorities(authentication, snapshot);
+  }
+
+  private static long maskFromAuthorities(Authentication authentication, RolePermissionSnapshot snapshot) {
+    List<String> roleNames = new ArrayList<>();
+    for (GrantedAuthority authority : authentication.getAuthorities()) {
+      roleNames.add(authority.getAuthority());
+    }
+    return snapshot.aggregateMask(roleNames);
+  }
+
+  private static Permission toPermission(Object permission) {
+    if (permission instanceof Permission) {
+      return (Permission) permission;
+    }
+    if (permission instanceof String) {
+      try {
+        return Permission.valueOf((String) permission);
+      } catch (IllegalArgumentException e) {
+        log.warn("Unknown permission in authorization expression: {}", permission);
+      }
+    }
+    return null;
+  }
+}
@@ -1,5 +1,6 @@
 package io.respondnow.security;
 
+import io.jsonwebtoken.Claims;
 import io.respondnow.util.JWTUtil;
 import java.io.IOException;
 import java.util.Set;
@@ -31,20 +32,26 @@ public class JWTAuthenticationFilter extends OncePerRequestFilter {
 
     try {
       String token = getJWTFromRequest(request);
-      if (token != null && jwtUtil.validateToken(token, jwtUtil.getUsernameFromToken(token))) {
-        String username = jwtUtil.getUsernameFromToken(token);
-        String userId = jwtUtil.getUserIdFromToken(token);
+      // Parsing verifies the signature and rejects expired tokens, so do it once per request
+      Claims claims = token != null ? jwtUtil.parseClaims(token) : null;
+      if (claims != null && claims.getSubject() != null) {
+        String username = claims.getSubject();
+        String userId = claims.get("username", String.class);
         
         // Extract roles from JWT token and convert to authorities
-        Set<String> roleNames = jwtUtil.getRoleNamesFromToken(token);
+        Set<String> roleNames = jwtUtil.getRoleNames(claims);
         var authorities = roleNames.stream()
             .map(SimpleGrantedAuthority::new)
             .collect(Collectors.toList());
         
         log.debug("JWT Authentication - userId: {}, username: {}, roles: {}", userId, username, roleNames);
         
+        Long permissionMask = jwtUtil.getPermissionMask(claims);
         UsernamePasswordAuthenticationToken authentication =
-            new UsernamePasswordAuthenticationToken(username, null, authorities);
+            permissionMask != null
+                ? new PermissionAuthenticationToken(
+                    username, authorities, permissionMask, jwtUtil.getPermissionVersion(claims))
+                : new UsernamePasswordAuthenticationToken(username, null, authorities);
         authentication.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
         SecurityContextHolder.getContext().setAuthentication(authentication);
         
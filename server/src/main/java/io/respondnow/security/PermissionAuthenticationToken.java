@@ -0,0 +1,49 @@
+package io.respondnow.security;
+
+import java.util.Collection;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.GrantedAuthority;
+
+/**
+ * Authentication built from a JWT that carries a compiled permission bitmask. The mask is only
+ * trusted while {@code permissionVersion} matches the current role snapshot; otherwise
+ * {@link BitmaskPermissionEvaluator} recomputes it from the role authorities.
+ */
+public class PermissionAuthenticationToken extends UsernamePasswordAuthenticationToken {
+
+  private static final long serialVersionUID = 1L;
+
+  private final long permissionMask;
+  private final long permissionVersion;
+
+  // {snapshotVersion, mask} recomputed from the role snapshot when the token is stale
+  private transient volatile long[] resolved;
+
+  public PermissionAuthenticationToken(
+      Object principal,
+      Collection<? extends GrantedAuthority> authorities,
+      long permissionMask,
+      long permissionVersion) {
+    super(principal, null, authorities);
+    this.permissionMask = permissionMask;
+    this.permissionVersion = permissionVersion;
+  }
+
+  public long getPermissionMask() {
+    return permissionMask;
+  }
+
+  public long getPermissionVersion() {
+    return permissionVersion;
+  }
+
+  /** The recomputed mask for {@code snapshotVersion}, or -1 if none has been computed yet. */
+  long getResolvedMask(long snapshotVersion) {
+    long[] current = resolved;
+    return current != null && current[0] == snapshotVersion ? current[1] : -1L;
+  }
+
+  void setResolvedMask(long mask, long snapshotVersion) {
+    this.resolved = new long[] {snapshotVersion, mask};
+  }
+}
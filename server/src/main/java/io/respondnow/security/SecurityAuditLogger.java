@@ -1,7 +1,6 @@
 package io.respondnow.security;
 
 import io.respondnow.model.audit.SecurityAuditLog;
-import io.respondnow.repository.SecurityAuditLogRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Component;
@@ -11,13 +10,15 @@ import java.util.Set;
 /**
  * Security audit logger for tracking authentication, authorization, and security-related events.
  * Logs to a separate security log file for compliance and audit purposes.
+ * Persistent audit records are handed to {@link SecurityAuditWriter}, which writes them
+ * asynchronously so audit storage problems never affect the calling request.
  */
 @Component
 @Slf4j
 @RequiredArgsConstructor
 public class SecurityAuditLogger {
     
-    private final SecurityAuditLogRepository auditLogRepository;
+    private final SecurityAuditWriter auditWriter;
 
     /**
      * Log user login attempt
@@ -29,19 +30,14 @@ public class SecurityAuditLogger {
             log.warn("SECURITY_AUDIT: Login failed - user: {}, ip: {}", username, ip);
         }
         
-        try {
-            SecurityAuditLog auditLog = SecurityAuditLog.builder()
-                    .eventType(success ? "LOGIN" : "LOGIN_FAILED")
-                    .username(username)
-                    .ipAddress(ip)
-                    .success(success)
-                    .timestamp(System.currentTimeMillis())
-                    .build();
-            SecurityAuditLog saved = auditLogRepository.save(auditLog);
-            log.debug("Audit log saved to DB with ID: {}", saved.getId());
-        } catch (Exception e) {
-            log.error("Failed to save audit log to database", e);
-        }
+        SecurityAuditLog auditLog = SecurityAuditLog.builder()
+                .eventType(success ? "LOGIN" : "LOGIN_FAILED")
+                .username(username)
+                .ipAddress(ip)
+                .success(success)
+                .timestamp(System.currentTimeMillis())
+                .build();
+        auditWriter.submit(auditLog);
     }
 
     /**
@@ -66,7 +62,7 @@ public class SecurityAuditLogger {
                 .success(false)
                 .timestamp(System.currentTimeMillis())
                 .build();
-        auditLogRepository.save(auditLog);
+        auditWriter.submit(auditLog);
     }
 
     /**
@@ -86,7 +82,7 @@ public class SecurityAuditLogger {
                 .success(true)
                 .timestamp(System.currentTimeMillis())
                 .build();
-        auditLogRepository.save(auditLog);
+        auditWriter.submit(auditLog);
     }
 
     /**
@@ -112,7 +108,7 @@ public class SecurityAuditLogger {
                 .success(true)
                 .timestamp(System.currentTimeMillis())
                 .build();
-        auditLogRepository.save(auditLog);
+        auditWriter.submit(auditLog);
     }
 
     /**
@@ -154,7 +150,7 @@ public class SecurityAuditLogger {
                 .success(success)
                 .timestamp(System.currentTimeMillis())
                 .build();
-        auditLogRepository.save(auditLog);
+        auditWriter.submit(auditLog);
     }
 
     /**
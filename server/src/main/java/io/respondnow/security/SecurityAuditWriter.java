@@ -0,0 +1,277 @@
+package io.respondnow.security;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mongodb.bulk.BulkWriteError;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.respondnow.model.audit.SecurityAuditLog;
+import io.respondnow.service.audit.SecurityAuditCounterService;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.mongodb.BulkOperationException;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * Asynchronous writer for security audit events.
+ *
+ * Events are accepted into a bounded in-memory buffer and written to MongoDB by a single
+ * background flusher in unordered bulk inserts, so callers on the request path never wait on
+ * the audit collection. When the buffer is full the configured {@link OverflowPolicy} decides
+ * what happens to the event. Events that fail to persist are spilled to the audit spill log
+ * rather than retried indefinitely; when a bulk insert fails part way, only the events MongoDB
+ * reports as failed are spilled, so the spill log never duplicates stored events.
+ */
+@Component
+@Slf4j
+public class SecurityAuditWriter {
+
+    private static final Logger spillLog = LoggerFactory.getLogger("io.respondnow.security.AuditSpill");
+
+    public enum OverflowPolicy {
+        /** Wait up to {@code audit.writer.blockTimeoutMs} for space, then spill. */
+        BLOCK,
+        /** Discard the oldest buffered event to make room for the new one. */
+        DROP_OLDEST,
+        /** Write the event to the spill log instead of the buffer. */
+        SPILL
+    }
+
+    private final MongoTemplate mongoTemplate;
+    private final ObjectMapper objectMapper;
+    private final MeterRegistry meterRegistry;
+    private final SecurityAuditCounterService counterService;
+
+    @Value("${audit.writer.capacity:10000}")
+    private int capacity;
+
+    @Value("${audit.writer.batchSize:500}")
+    private int batchSize;
+
+    @Value("${audit.writer.flushIntervalMs:1000}")
+    private long flushIntervalMs;
+
+    @Value("${audit.writer.blockTimeoutMs:50}")
+    private long blockTimeoutMs;
+
+    @Value("${audit.writer.overflowPolicy:SPILL}")
+    private OverflowPolicy overflowPolicy;
+
+    private BlockingQueue<SecurityAuditLog> buffer;
+    private Thread flusher;
+    private volatile boolean running;
+
+    private Counter enqueuedCounter;
+    private Counter writtenCounter;
+    private Counter droppedCounter;
+    private Counter spilledCounter;
+    private Counter failedBatchCounter;
+
+    public SecurityAuditWriter(
+            MongoTemplate mongoTemplate,
+            ObjectMapper objectMapper,
+            MeterRegistry meterRegistry,
+            SecurityAuditCounterService counterService) {
+        this.mongoTemplate = mongoTemplate;
+        this.objectMapper = objectMapper;
+        this.meterRegistry = meterRegistry;
+        this.counterService = counterService;
+    }
+
+    @PostConstruct
+    public void start() {
+        buffer = new ArrayBlockingQueue<>(capacity);
+
+        Gauge.builder("audit.writer.queue.depth", buffer, BlockingQueue::size)
+                .description("Security audit events waiting to be written")
+                .register(meterRegistry);
+        Gauge.builder("audit.writer.queue.capacity", () -> capacity)
+                .description("Maximum number of buffered security audit events")
+                .register(meterRegistry);
+        enqueuedCounter = Counter.builder("audit.writer.events.enqueued").register(meterRegistry);
+        writtenCounter = Counter.builder("audit.writer.events.written").register(meterRegistry);
+        droppedCounter = Counter.builder("audit.writer.events.dropped")
+                .description("Audit events discarded because the buffer was full")
+                .register(meterRegistry);
+        spilledCounter = Counter.builder("audit.writer.events.spilled")
+                .description("Audit events written to the spill log instead of MongoDB")
+                .register(meterRegistry);
+        failedBatchCounter = Counter.builder("audit.writer.batches.failed").register(meterRegistry);
+
+        running = true;
+        flusher = new Thread(this::runFlushLoop, "security-audit-writer");
+        flusher.setDaemon(true);
+        flusher.start();
+        log.info("Security audit writer started: capacity={}, batchSize={}, flushIntervalMs={}, overflowPolicy={}",
+                capacity, batchSize, flushIntervalMs, overflowPolicy);
+    }
+
+    /**
+     * Accept an audit event for persistence. Never throws and never waits longer than the
+     * configured block timeout.
+     */
+    public void submit(SecurityAuditLog event) {
+        if (event.getRecordedAt() == null && event.getTimestamp() != null) {
+            event.setRecordedAt(new Date(event.getTimestamp()));
+        }
+        try {
+            if (buffer.offer(event)) {
+                enqueuedCounter.increment();
+                return;
+            }
+            switch (overflowPolicy) {
+                case BLOCK:
+                    if (buffer.offer(event, blockTimeoutMs, TimeUnit.MILLISECONDS)) {
+                        enqueuedCounter.increment();
+                    } else {
+                        spill(event);
+                    }
+                    break;
+                case DROP_OLDEST:
+                    while (!buffer.offer(event)) {
+                        if (buffer.poll() != null) {
+                            droppedCounter.increment();
+                        }
+                    }
+                    enqueuedCounter.increment();
+                    break;
+                case SPILL:
+                default:
+                    spill(event);
+                    break;
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            spill(event);
+        } catch (Exception e) {
+            log.error("Failed to buffer security audit event", e);
+            spill(event);
+        }
+    }
+
+    public int getQueueDepth() {
+        return buffer.size();
+    }
+
+    private void runFlushLoop() {
+        List<SecurityAuditLog> batch = new ArrayList<>(batchSize);
+        while (running || !buffer.isEmpty()) {
+            try {
+                SecurityAuditLog first = buffer.poll(flushIntervalMs, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                long deadline = System.currentTimeMillis() + flushIntervalMs;
+                while (batch.size() < batchSize) {
+                    long remaining = deadline - System.currentTimeMillis();
+                    if (remaining <= 0) {
+                        break;
+                    }
+                    buffer.drainTo(batch, batchSize - batch.size());
+                    if (batch.size() >= batchSize) {
+                        break;
+                    }
+                    SecurityAuditLog next = buffer.poll(remaining, TimeUnit.MILLISECONDS);
+                    if (next == null) {
+                        break;
+                    }
+                    batch.add(next);
+                }
+                flush(batch);
+            } catch (InterruptedException e) {
+                running = false;
+                buffer.drainTo(batch);
+                flush(batch);
+                Thread.currentThread().interrupt();
+                return;
+            } catch (Exception e) {
+                log.error("Unexpected error in security audit writer loop", e);
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    private void flush(List<SecurityAuditLog> batch) {
+        if (batch.isEmpty()) {
+            return;
+        }
+        try {
+            mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, SecurityAuditLog.class)
+                    .insert(batch)
+                    .execute();
+            writtenCounter.increment(batch.size());
+            log.debug("Flushed {} security audit events", batch.size());
+        } catch (BulkOperationException e) {
+            // Unordered inserts carry on past a failed document, so only the reported ones are missing
+            Set<Integer> failed = new HashSet<>();
+            for (BulkWriteError error : e.getErrors()) {
+                failed.add(error.getIndex());
+            }
+            List<SecurityAuditLog> written = new ArrayList<>(batch.size() - failed.size());
+            for (int i = 0; i < batch.size(); i++) {
+                if (failed.contains(i)) {
+                    spill(batch.get(i));
+                } else {
+                    written.add(batch.get(i));
+                }
+            }
+            failedBatchCounter.increment();
+            writtenCounter.increment(written.size());
+            log.error("Failed to write {} of {} security audit events, spilling them to log",
+                    failed.size(), batch.size(), e);
+            counterService.record(written);
+            return;
+        } catch (Exception e) {
+            failedBatchCounter.increment();
+            log.error("Failed to write {} security audit events, spilling to log", batch.size(), e);
+            batch.forEach(this::spill);
+            return;
+        }
+        counterService.record(batch);
+    }
+
+    private void spill(SecurityAuditLog event) {
+        spilledCounter.increment();
+        try {
+            spillLog.warn(objectMapper.writeValueAsString(event));
+        } catch (JsonProcessingException e) {
+            spillLog.warn(String.valueOf(event));
+        }
+    }
+
+    @PreDestroy
+    public void stop() {
+        running = false;
+        if (flusher == null) {
+            return;
+        }
+        try {
+            flusher.join(Math.max(flushIntervalMs * 2, 5000));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        List<SecurityAuditLog> remaining = new ArrayList<>();
+        buffer.drainTo(remaining);
+        if (!remaining.isEmpty()) {
+            log.warn("Security audit writer stopped with {} events pending, spilling to log", remaining.size());
+            remaining.forEach(this::spill);
+        }
+    }
+}
@@ -0,0 +1,87 @@
+package io.respondnow.service.audit;
+
+import io.respondnow.model.audit.SecurityAuditLog;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.mongodb.core.query.Criteria;
+
+/**
+ * Filter over security audit events. All fields are optional; time bounds are epoch millis,
+ * start inclusive and end inclusive. {@code beforeTimestamp}/{@code beforeId} form a keyset
+ * cursor: only events strictly older than that position (timestamp, then id) match.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class AuditLogQuery {
+
+    private String eventType;
+    private String username;
+    private Boolean success;
+    private Long startTime;
+    private Long endTime;
+    private Long beforeTimestamp;
+    private String beforeId;
+
+    /**
+     * Latest timestamp this query can match, taking the cursor into account.
+     */
+    public Long getUpperBound() {
+        if (beforeTimestamp == null) {
+            return endTime;
+        }
+        return endTime == null ? beforeTimestamp : Math.min(endTime, beforeTimestamp);
+    }
+
+    public boolean matches(SecurityAuditLog event) {
+        long ts = event.getTimestamp() != null ? event.getTimestamp() : 0L;
+        return (eventType == null || eventType.equals(event.getEventType()))
+                && (username == null || username.equals(event.getUsername()))
+                && (success == null || success == event.isSuccess())
+                && (startTime == null || ts >= startTime)
+                && (endTime == null || ts <= endTime)
+                && isBeforeCursor(ts, event.getId());
+    }
+
+    private boolean isBeforeCursor(long ts, String id) {
+        if (beforeTimestamp == null) {
+            return true;
+        }
+        if (ts != beforeTimestamp) {
+            return ts < beforeTimestamp;
+        }
+        return beforeId != null && id != null && id.compareTo(beforeId) < 0;
+    }
+
+    /**
+     * Criteria for the hot tier, restricted to events at or after {@code lowerBound}.
+     */
+    public Criteria toCriteria(long lowerBound) {
+        Criteria criteria = new Criteria();
+        if (eventType != null) {
+            criteria.and("eventType").is(eventType);
+        }
+        if (username != null) {
+            criteria.and("username").is(username);
+        }
+        if (success != null) {
+            criteria.and("success").is(success);
+        }
+        Criteria timestamp = criteria.and("timestamp").gte(Math.max(lowerBound, startTime != null ? startTime : Long.MIN_VALUE));
+        if (endTime != null) {
+            timestamp.lte(endTime);
+        }
+        if (beforeTimestamp == null) {
+            return criteria;
+        }
+        Criteria cursor = beforeId != null
+                ? new Criteria().orOperator(
+                        Criteria.where("timestamp").lt(beforeTimestamp),
+                        Criteria.where("timestamp").is(beforeTimestamp).and("id").lt(beforeId))
+                : Criteria.where("timestamp").lt(beforeTimestamp);
+        return new Criteria().andOperator(criteria, cursor);
+    }
+}
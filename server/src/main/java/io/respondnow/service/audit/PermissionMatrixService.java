@@ -1,26 +1,60 @@
 package io.respondnow.service.audit;
 
+import io.micrometer.core.instrument.MeterRegistry;
 import io.respondnow.dto.audit.PermissionMatrixResponse;
+import io.respondnow.model.audit.PermissionMatrixGroupEntry;
+import io.respondnow.model.audit.PermissionMatrixState;
+import io.respondnow.model.audit.PermissionMatrixUserEntry;
 import io.respondnow.model.user.Group;
 import io.respondnow.model.user.User;
+import io.respondnow.model.user.GroupMembership;
 import io.respondnow.repository.GroupRepository;
-import io.respondnow.repository.UserRepository;
-import io.respondnow.service.user.GroupService;
+import io.respondnow.service.user.GroupMembershipService;
+import io.respondnow.util.SingleFlight;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.FindAndReplaceOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.Index;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.data.util.CloseableIterator;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 
+import javax.annotation.PostConstruct;
 import java.util.*;
 import java.util.stream.Collectors;
 
+/**
+ * Serves the permission matrix from materialized collections ({@code permission_matrix_users}
+ * and {@code permission_matrix_groups}) instead of recomputing it from every user and group on
+ * each request. The user, group and role services call the {@code on*} hooks after each
+ * mutation so only the affected rows are recomputed. Every change bumps a version number that
+ * the controller uses as the ETag.
+ */
 @Service
 @RequiredArgsConstructor
 @Slf4j
 public class PermissionMatrixService {
     
-    private final UserRepository userRepository;
+    private static final String STATE_ID = "matrix";
+    private static final int REBUILD_BATCH_SIZE = 500;
+    
+    private final MongoTemplate mongoTemplate;
     private final GroupRepository groupRepository;
-    private final GroupService groupService;
+    private final GroupMembershipService membershipService;
+    private final MeterRegistry meterRegistry;
+    
+    // Identical page reads share one set of queries; keyed by version so none outlives a change
+    private SingleFlight<List<Object>, PermissionMatrixResponse> pageReads;
+    
+    // Set when an incremental update fails; the next reconciliation run rebuilds everything
+    private volatile boolean rebuildRequired;
     
     // Predefined role-permission mapping
     private static final Map<String, Set<String>> ROLE_PERMISSIONS = new HashMap<>();
@@ -72,131 +106,410 @@ public class PermissionMatrixService {
         ));
     }
     
-    public PermissionMatrixResponse getPermissionMatrix() {
-        log.info("Generating permission matrix");
-        
-        List<User> allUsers = userRepository.findAll();
-        List<Group> allGroups = groupRepository.findAll();
-        
-        // Build role entries
-        List<PermissionMatrixResponse.RolePermissionEntry> roleEntries = buildRoleEntries(allUsers, allGroups);
+    @PostConstruct
+    public void init() {
+        pageReads = new SingleFlight<>("permissions.matrix", meterRegistry);
+        try {
+            mongoTemplate.indexOps(PermissionMatrixUserEntry.class)
+                    .ensureIndex(new Index().on("username", Sort.Direction.ASC).named("username"));
+            mongoTemplate.indexOps(PermissionMatrixUserEntry.class)
+                    .ensureIndex(new Index().on("groupIds", Sort.Direction.ASC).named("groupIds"));
+            mongoTemplate.indexOps(PermissionMatrixUserEntry.class)
+                    .ensureIndex(new Index().on("directRoles", Sort.Direction.ASC).named("directRoles"));
+            mongoTemplate.indexOps(PermissionMatrixUserEntry.class)
+                    .ensureIndex(new Index().on("effectiveRoles", Sort.Direction.ASC)
+                            .on("username", Sort.Direction.ASC).named("effectiveRoles_username"));
+            mongoTemplate.indexOps(PermissionMatrixUserEntry.class)
+                    .ensureIndex(new Index().on("effectivePermissions", Sort.Direction.ASC)
+                            .on("username", Sort.Direction.ASC).named("effectivePermissions_username"));
+            mongoTemplate.indexOps(PermissionMatrixGroupEntry.class)
+                    .ensureIndex(new Index().on("roles", Sort.Direction.ASC)
+                            .on("groupName", Sort.Direction.ASC).named("roles_groupName"));
+            mongoTemplate.indexOps(PermissionMatrixGroupEntry.class)
+                    .ensureIndex(new Index().on("effectivePermissions", Sort.Direction.ASC)
+                            .on("groupName", Sort.Direction.ASC).named("effectivePermissions_groupName"));
+            
+            if (!mongoTemplate.exists(Query.query(Criteria.where("_id").is(STATE_ID)), PermissionMatrixState.class)) {
+                try {
+                    mongoTemplate.insert(PermissionMatrixState.builder().id(STATE_ID).version(0L).build());
+                    rebuild();
+                } catch (DuplicateKeyException e) {
+                    log.debug("Permission matrix is being built by another instance");
+                }
+            }
+        } catch (Exception e) {
+            log.error("Failed to initialize materialized permission matrix", e);
+            rebuildRequired = true;
+        }
+    }
+    
+    public long getVersion() {
+        PermissionMatrixState state = mongoTemplate.findById(STATE_ID, PermissionMatrixState.class);
+        return state != null && state.getVersion() != null ? state.getVersion() : 0L;
+    }
+    
+    /**
+     * One page of the matrix. Users and groups are paged together by {@code page}/{@code size};
+     * {@code role} and {@code permission} optionally restrict every section.
+     */
+    public PermissionMatrixResponse getPermissionMatrix(int page, int size, String role, String permission) {
+        long version = getVersion();
+        return pageReads.execute(Arrays.asList(version, page, size, role, permission),
+                () -> readPage(version, page, size, role, permission));
+    }
+    
+    private PermissionMatrixResponse readPage(long version, int page, int size, String role, String permission) {
+        Criteria userCriteria = new Criteria();
+        Criteria groupCriteria = new Criteria();
+        if (role != null) {
+            userCriteria.and("effectiveRoles").is(role);
+            groupCriteria.and("roles").is(role);
+        }
+        if (permission != null) {
+            userCriteria.and("effectivePermissions").is(permission);
+            groupCriteria.and("effectivePermissions").is(permission);
+        }
         
-        // Build user entries
-        List<PermissionMatrixResponse.UserPermissionEntry> userEntries = buildUserEntries(allUsers, allGroups);
+        Query userQuery = new Query(userCriteria)
+                .with(Sort.by(Sort.Direction.ASC, "username"))
+                .skip((long) page * size)
+                .limit(size);
+        Query groupQuery = new Query(groupCriteria)
+                .with(Sort.by(Sort.Direction.ASC, "groupName"))
+                .skip((long) page * size)
+                .limit(size);
         
-        // Build group entries
-        List<PermissionMatrixResponse.GroupPermissionEntry> groupEntries = buildGroupEntries(allGroups);
+        List<PermissionMatrixResponse.UserPermissionEntry> users =
+                mongoTemplate.find(userQuery, PermissionMatrixUserEntry.class).stream()
+                        .map(this::toUserEntry)
+                        .collect(Collectors.toList());
+        List<PermissionMatrixResponse.GroupPermissionEntry> groups =
+                mongoTemplate.find(groupQuery, PermissionMatrixGroupEntry.class).stream()
+                        .map(this::toGroupEntry)
+                        .collect(Collectors.toList());
         
         return PermissionMatrixResponse.builder()
-                .roles(roleEntries)
-                .users(userEntries)
-                .groups(groupEntries)
+                .roles(buildRoleEntries(role, permission))
+                .users(users)
+                .groups(groups)
                 .permissionsByRole(ROLE_PERMISSIONS)
+                .page(page)
+                .size(size)
+                .totalUsers(mongoTemplate.count(new Query(userCriteria), PermissionMatrixUserEntry.class))
+                .totalGroups(mongoTemplate.count(new Query(groupCriteria), PermissionMatrixGroupEntry.class))
+                .version(version)
                 .build();
     }
     
-    private List<PermissionMatrixResponse.RolePermissionEntry> buildRoleEntries(
-            List<User> users, List<Group> groups) {
-        
-        Map<String, Integer> roleUserCount = new HashMap<>();
-        Map<String, Integer> roleGroupCount = new HashMap<>();
-        
-        // Count users per role
-        for (User user : users) {
-            if (user.getRoleNames() != null) {
-                for (String role : user.getRoleNames()) {
-                    roleUserCount.merge(role, 1, Integer::sum);
+    private List<PermissionMatrixResponse.RolePermissionEntry> buildRoleEntries(String role, String permission) {
+        return ROLE_PERMISSIONS.entrySet().stream()
+                .filter(entry -> role == null || role.equals(entry.getKey()))
+                .filter(entry -> permission == null || entry.getValue().contains(permission))
+                .map(entry -> PermissionMatrixResponse.RolePermissionEntry.builder()
+                        .roleName(entry.getKey())
+                        .roleType("SYSTEM")
+                        .permissions(entry.getValue())
+                        .userCount((int) mongoTemplate.count(
+                                Query.query(Criteria.where("directRoles").is(entry.getKey())),
+                                PermissionMatrixUserEntry.class))
+                        .groupCount((int) mongoTemplate.count(
+                                Query.query(Criteria.where("roles").is(entry.getKey())),
+                                PermissionMatrixGroupEntry.class))
+                        .build())
+                .collect(Collectors.toList());
+    }
+    
+    // ---- Incremental maintenance ----
+    
+    public void onUserChanged(User user) {
+        try {
+            Set<String> groupIds = membershipService.getGroupIds(user.getUserId());
+            mongoTemplate.save(buildUserEntry(user, groupIds, loadGroups(groupIds), System.currentTimeMillis()));
+            bumpVersion();
+        } catch (Exception e) {
+            markForRebuild("user " + user.getUserId(), e);
+        }
+    }
+    
+    public void onUserDeleted(String id) {
+        try {
+            mongoTemplate.remove(Query.query(Criteria.where("_id").is(id)), PermissionMatrixUserEntry.class);
+            bumpVersion();
+        } catch (Exception e) {
+            markForRebuild("deleted user " + id, e);
+        }
+    }
+    
+    /**
+     * Recompute a group row and the rows of every user that references the group.
+     */
+    public void onGroupChanged(Group group) {
+        try {
+            mongoTemplate.save(buildGroupEntry(group, membershipService.countMembers(group.getId()),
+                    System.currentTimeMillis()));
+            refreshGroupMembers(group.getId());
+            bumpVersion();
+        } catch (Exception e) {
+            markForRebuild("group " + group.getName(), e);
+        }
+    }
+    
+    /**
+     * Members were added to or removed from a group. Only the group's member count and the
+     * rows of the given users (MongoDB IDs) are recomputed.
+     */
+    public void onMembershipChanged(String groupId, Collection<String> userIds) {
+        try {
+            long now = System.currentTimeMillis();
+            mongoTemplate.updateFirst(Query.query(Criteria.where("_id").is(groupId)),
+                    new Update().set("memberCount", membershipService.countMembers(groupId)).set("refreshedAt", now),
+                    PermissionMatrixGroupEntry.class);
+            refreshUsers(new ArrayList<>(userIds), now);
+            bumpVersion();
+        } catch (Exception e) {
+            markForRebuild("members of group " + groupId, e);
+        }
+    }
+    
+    private void refreshUsers(List<String> ids, long refreshedAt) {
+        for (int from = 0; from < ids.size(); from += REBUILD_BATCH_SIZE) {
+            List<String> chunk = ids.subList(from, Math.min(ids.size(), from + REBUILD_BATCH_SIZE));
+            writeUserBatch(mongoTemplate.find(Query.query(Criteria.where("_id").in(chunk)), User.class), refreshedAt);
+        }
+    }
+    
+    public void onGroupDeleted(String groupId) {
+        try {
+            mongoTemplate.remove(Query.query(Criteria.where("_id").is(groupId)), PermissionMatrixGroupEntry.class);
+            refreshFormerMembers(groupId);
+            bumpVersion();
+        } catch (Exception e) {
+            markForRebuild("deleted group " + groupId, e);
+        }
+    }
+    
+    /**
+     * Role definitions changed; the matrix itself is unaffected but clients must revalidate.
+     */
+    public void onRolesChanged() {
+        try {
+            bumpVersion();
+        } catch (Exception e) {
+            markForRebuild("roles", e);
+        }
+    }
+    
+    /**
+     * Recompute the rows of a group's members, paging through its memberships.
+     */
+    private void refreshGroupMembers(String groupId) {
+        long now = System.currentTimeMillis();
+        String afterUserId = null;
+        while (true) {
+            List<GroupMembership> page = membershipService.getMembersAfter(groupId, afterUserId, REBUILD_BATCH_SIZE);
+            refreshUsers(page.stream().map(GroupMembership::getUserRef).collect(Collectors.toList()), now);
+            if (page.size() < REBUILD_BATCH_SIZE) {
+                return;
+            }
+            afterUserId = page.get(page.size() - 1).getUserId();
+        }
+    }
+    
+    /**
+     * A deleted group's memberships are already gone, so its former members are found through
+     * the matrix rows that still reference it.
+     */
+    private void refreshFormerMembers(String groupId) {
+        long now = System.currentTimeMillis();
+        Query rows = Query.query(Criteria.where("groupIds").is(groupId));
+        rows.fields().include("_id");
+        List<String> batch = new ArrayList<>(REBUILD_BATCH_SIZE);
+        try (CloseableIterator<PermissionMatrixUserEntry> entries = mongoTemplate.stream(rows, PermissionMatrixUserEntry.class)) {
+            while (entries.hasNext()) {
+                batch.add(entries.next().getId());
+                if (batch.size() >= REBUILD_BATCH_SIZE) {
+                    refreshUsers(batch, now);
+                    batch.clear();
                 }
             }
         }
+        refreshUsers(batch, now);
+    }
+    
+    /**
+     * Recompute the whole matrix. Rows not touched by the rebuild are removed afterwards.
+     */
+    public synchronized void rebuild() {
+        long started = System.currentTimeMillis();
+        log.info("Rebuilding materialized permission matrix");
+        rebuildRequired = false;
         
-        // Count groups per role
-        for (Group group : groups) {
-            if (group.getRoleNames() != null) {
-                for (String role : group.getRoleNames()) {
-                    roleGroupCount.merge(role, 1, Integer::sum);
+        List<User> batch = new ArrayList<>(REBUILD_BATCH_SIZE);
+        try (CloseableIterator<User> users = mongoTemplate.stream(new Query(), User.class)) {
+            while (users.hasNext()) {
+                batch.add(users.next());
+                if (batch.size() >= REBUILD_BATCH_SIZE) {
+                    writeUserBatch(batch, started);
+                    batch.clear();
                 }
             }
         }
+        writeUserBatch(batch, started);
         
-        return ROLE_PERMISSIONS.entrySet().stream()
-                .map(entry -> PermissionMatrixResponse.RolePermissionEntry.builder()
-                        .roleName(entry.getKey())
-                        .roleType("SYSTEM")
-                        .permissions(entry.getValue())
-                        .userCount(roleUserCount.getOrDefault(entry.getKey(), 0))
-                        .groupCount(roleGroupCount.getOrDefault(entry.getKey(), 0))
-                        .build())
-                .collect(Collectors.toList());
+        Map<String, Long> memberCounts = membershipService.countMembersByGroup();
+        BulkOperations groupOps = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, PermissionMatrixGroupEntry.class);
+        int groupCount = 0;
+        try (CloseableIterator<Group> groups = mongoTemplate.stream(new Query(), Group.class)) {
+            while (groups.hasNext()) {
+                Group group = groups.next();
+                PermissionMatrixGroupEntry entry =
+                        buildGroupEntry(group, memberCounts.getOrDefault(group.getId(), 0L), started);
+                groupOps.replaceOne(Query.query(Criteria.where("_id").is(entry.getId())), entry,
+                        FindAndReplaceOptions.options().upsert());
+                groupCount++;
+            }
+        }
+        if (groupCount > 0) {
+            groupOps.execute();
+        }
+        
+        Query stale = Query.query(Criteria.where("refreshedAt").lt(started));
+        mongoTemplate.remove(stale, PermissionMatrixUserEntry.class);
+        mongoTemplate.remove(stale, PermissionMatrixGroupEntry.class);
+        mongoTemplate.upsert(Query.query(Criteria.where("_id").is(STATE_ID)),
+                new Update().inc("version", 1).set("rebuiltAt", System.currentTimeMillis()),
+                PermissionMatrixState.class);
+        log.info("Permission matrix rebuilt in {} ms", System.currentTimeMillis() - started);
+    }
+    
+    @Scheduled(fixedDelayString = "${permissions.matrix.reconcileIntervalMs:300000}")
+    public void reconcile() {
+        if (rebuildRequired) {
+            try {
+                rebuild();
+            } catch (Exception e) {
+                log.error("Permission matrix rebuild failed", e);
+                rebuildRequired = true;
+            }
+        }
     }
     
-    private List<PermissionMatrixResponse.UserPermissionEntry> buildUserEntries(
-            List<User> users, List<Group> allGroups) {
+    private void writeUserBatch(List<User> users, long refreshedAt) {
+        if (users.isEmpty()) {
+            return;
+        }
+        Map<String, Set<String>> memberships = membershipService.getGroupIdsByUser(
+                users.stream().map(User::getUserId).collect(Collectors.toList()));
+        Set<String> groupIds = new HashSet<>();
+        memberships.values().forEach(groupIds::addAll);
+        Map<String, Group> groupsById = loadGroups(groupIds);
+        BulkOperations ops = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, PermissionMatrixUserEntry.class);
+        for (User user : users) {
+            Set<String> userGroupIds = memberships.getOrDefault(user.getUserId(), Collections.emptySet());
+            PermissionMatrixUserEntry entry = buildUserEntry(user, userGroupIds, groupsById, refreshedAt);
+            ops.replaceOne(Query.query(Criteria.where("_id").is(entry.getId())), entry,
+                    FindAndReplaceOptions.options().upsert());
+        }
+        ops.execute();
+    }
+    
+    private Map<String, Group> loadGroups(Collection<String> groupIds) {
+        Map<String, Group> groupsById = new HashMap<>();
+        if (groupIds != null && !groupIds.isEmpty()) {
+            groupRepository.findAllById(groupIds).forEach(group -> groupsById.put(group.getId(), group));
+        }
+        return groupsById;
+    }
+    
+    private void bumpVersion() {
+        mongoTemplate.upsert(Query.query(Criteria.where("_id").is(STATE_ID)),
+                new Update().inc("version", 1), PermissionMatrixState.class);
+    }
+    
+    private void markForRebuild(String what, Exception e) {
+        log.error("Failed to update permission matrix for {}, scheduling a rebuild", what, e);
+        rebuildRequired = true;
+    }
+    
+    private PermissionMatrixUserEntry buildUserEntry(User user, Set<String> groupIds, Map<String, Group> groupsById,
+                                                     long refreshedAt) {
+        Set<String> directRoles = user.getRoleNames() != null ? 
+                new HashSet<>(user.getRoleNames()) : new HashSet<>();
         
-        return users.stream()
-                .map(user -> {
-                    Set<String> directRoles = user.getRoleNames() != null ? 
-                            new HashSet<>(user.getRoleNames()) : new HashSet<>();
-                    
-                    // Get group roles
-                    Set<String> groupRoles = new HashSet<>();
-                    List<String> groupNames = new ArrayList<>();
-                    
-                    if (user.getGroupIds() != null) {
-                        List<Group> userGroups = groupService.getAllGroupsByIds(
-                                new ArrayList<>(user.getGroupIds()));
-                        for (Group group : userGroups) {
-                            if (group.getRoleNames() != null) {
-                                groupRoles.addAll(group.getRoleNames());
-                            }
-                            groupNames.add(group.getName());
-                        }
-                    }
-                    
-                    // Effective roles = direct + group
-                    Set<String> effectiveRoles = new HashSet<>();
-                    effectiveRoles.addAll(directRoles);
-                    effectiveRoles.addAll(groupRoles);
-                    
-                    // Effective permissions
-                    Set<String> effectivePermissions = new HashSet<>();
-                    for (String role : effectiveRoles) {
-                        effectivePermissions.addAll(ROLE_PERMISSIONS.getOrDefault(role, Collections.emptySet()));
-                    }
-                    
-                    return PermissionMatrixResponse.UserPermissionEntry.builder()
-                            .userId(user.getId())
-                            .username(user.getUserId())
-                            .email(user.getEmail())
-                            .directRoles(directRoles)
-                            .groupRoles(groupRoles)
-                            .effectiveRoles(effectiveRoles)
-                            .effectivePermissions(effectivePermissions)
-                            .groupNames(groupNames)
-                            .build();
-                })
-                .collect(Collectors.toList());
+        // Get group roles
+        Set<String> groupRoles = new HashSet<>();
+        List<String> groupNames = new ArrayList<>();
+        for (String groupId : groupIds) {
+            Group group = groupsById.get(groupId);
+            if (group == null) {
+                continue;
+            }
+            if (group.getRoleNames() != null) {
+                groupRoles.addAll(group.getRoleNames());
+            }
+            groupNames.add(group.getName());
+        }
+        
+        // Effective roles = direct + group
+        Set<String> effectiveRoles = new HashSet<>();
+        effectiveRoles.addAll(directRoles);
+        effectiveRoles.addAll(groupRoles);
+        
+        return PermissionMatrixUserEntry.builder()
+                .id(user.getId())
+                .username(user.getUserId())
+                .email(user.getEmail())
+                .groupIds(new HashSet<>(groupIds))
+                .directRoles(directRoles)
+                .groupRoles(groupRoles)
+                .effectiveRoles(effectiveRoles)
+                .effectivePermissions(permissionsFor(effectiveRoles))
+                .groupNames(groupNames)
+                .refreshedAt(refreshedAt)
+                .build();
     }
     
-    private List<PermissionMatrixResponse.GroupPermissionEntry> buildGroupEntries(List<Group> groups) {
-        return groups.stream()
-                .map(group -> {
-                    Set<String> roles = group.getRoleNames() != null ? 
-                            new HashSet<>(group.getRoleNames()) : new HashSet<>();
-                    
-                    Set<String> effectivePermissions = new HashSet<>();
-                    for (String role : roles) {
-                        effectivePermissions.addAll(ROLE_PERMISSIONS.getOrDefault(role, Collections.emptySet()));
-                    }
-                    
-                    return PermissionMatrixResponse.GroupPermissionEntry.builder()
-                            .groupId(group.getId())
-                            .groupName(group.getName())
-                            .roles(roles)
-                            .memberCount(group.getUserIds() != null ? group.getUserIds().size() : 0)
-                            .effectivePermissions(effectivePermissions)
-                            .build();
-                })
-                .collect(Collectors.toList());
+    private PermissionMatrixGroupEntry buildGroupEntry(Group group, long memberCount, long refreshedAt) {
+        Set<String> roles = group.getRoleNames() != null ? 
+                new HashSet<>(group.getRoleNames()) : new HashSet<>();
+        return PermissionMatrixGroupEntry.builder()
+                .id(group.getId())
+                .groupName(group.getName())
+                .roles(roles)
+                .memberCount((int) memberCount)
+                .effectivePermissions(permissionsFor(roles))
+                .refreshedAt(refreshedAt)
+                .build();
+    }
+    
+    private static Set<String> permissionsFor(Set<String> roles) {
+        Set<String> effectivePermissions = new HashSet<>();
+        for (String role : roles) {
+            effectivePermissions.addAll(ROLE_PERMISSIONS.getOrDefault(role, Collections.emptySet()));
+        }
+        return effectivePermissions;
+    }
+    
+    private PermissionMatrixResponse.UserPermissionEntry toUserEntry(PermissionMatrixUserEntry entry) {
+        return PermissionMatrixResponse.UserPermissionEntry.builder()
+                .userId(entry.getId())
+                .username(entry.getUsername())
+                .email(entry.getEmail())
+                .directRoles(entry.getDirectRoles())
+                .groupRoles(entry.getGroupRoles())
+                .effectiveRoles(entry.getEffectiveRoles())
+                .effectivePermissions(entry.getEffectivePermissions())
+                .groupNames(entry.getGroupNames())
+                .build();
+    }
+    
+    private PermissionMatrixResponse.GroupPermissionEntry toGroupEntry(PermissionMatrixGroupEntry entry) {
+        return PermissionMatrixResponse.GroupPermissionEntry.builder()
+                .groupId(entry.getId())
+                .groupName(entry.getGroupName())
+                .roles(entry.getRoles())
+                .memberCount(entry.getMemberCount())
+                .effectivePermissions(entry.getEffectivePermissions())
+                .build();
     }
 }
@@ -0,0 +1,439 @@
+package io.respondnow.service.audit;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.respondnow.model.audit.SecurityAuditArchiveBucket;
+import io.respondnow.model.audit.SecurityAuditArchiveState;
+import io.respondnow.model.audit.SecurityAuditLog;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.Index;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.data.util.CloseableIterator;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import javax.annotation.PostConstruct;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Manages the two storage tiers for security audit events.
+ *
+ * The hot tier is the {@code security_audit_logs} collection, indexed on timestamp and
+ * event type and expired by a TTL index. Once an hour is older than
+ * {@code audit.retention.archiveAfterHours} its events are rolled into compressed hourly
+ * buckets per event type in {@code security_audit_archive} and removed from the hot tier.
+ * The archive watermark marks the boundary: hot reads only look at events at or after it,
+ * archive reads only at buckets before it, so the two tiers never overlap. Username and success
+ * filters select archive buckets through their uncompressed per-user counts and outcomes, so
+ * only buckets holding a match are decompressed.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class SecurityAuditArchiveService {
+
+    private static final long HOUR_MS = Duration.ofHours(1).toMillis();
+    private static final String STATE_ID = "archiver";
+    private static final TypeReference<List<SecurityAuditLog>> EVENT_LIST = new TypeReference<>() {};
+    static final Comparator<SecurityAuditLog> NEWEST_FIRST =
+            Comparator.comparing(SecurityAuditLog::getTimestamp, Comparator.nullsLast(Comparator.reverseOrder()))
+                    .thenComparing(SecurityAuditLog::getId, Comparator.nullsLast(Comparator.reverseOrder()));
+
+    private final MongoTemplate mongoTemplate;
+    private final ObjectMapper objectMapper;
+
+    @Value("${audit.retention.archiveAfterHours:168}")
+    private long archiveAfterHours;
+
+    @Value("${audit.retention.hotTtlDays:30}")
+    private long hotTtlDays;
+
+    @Value("${audit.retention.archiveTtlDays:365}")
+    private long archiveTtlDays;
+
+    @Value("${audit.retention.bucketMaxEvents:5000}")
+    private int bucketMaxEvents;
+
+    @Value("${audit.retention.maxHoursPerRun:24}")
+    private int maxHoursPerRun;
+
+    @PostConstruct
+    public void ensureIndexes() {
+        if (Duration.ofDays(hotTtlDays).toHours() <= archiveAfterHours) {
+            log.warn("audit.retention.hotTtlDays ({}) does not exceed archiveAfterHours ({}); "
+                    + "events could expire before they are archived", hotTtlDays, archiveAfterHours);
+        }
+        try {
+            mongoTemplate.indexOps(SecurityAuditLog.class)
+                    .ensureIndex(new Index().on("timestamp", Sort.Direction.DESC).named("timestamp_desc"));
+            // Keyset pagination: equality filter first, then (timestamp, _id) descending
+            mongoTemplate.indexOps(SecurityAuditLog.class)
+                    .ensureIndex(new Index().on("username", Sort.Direction.ASC)
+                            .on("timestamp", Sort.Direction.DESC).on("_id", Sort.Direction.DESC)
+                            .named("username_timestamp_id"));
+            mongoTemplate.indexOps(SecurityAuditLog.class)
+                    .ensureIndex(new Index().on("eventType", Sort.Direction.ASC)
+                            .on("timestamp", Sort.Direction.DESC).on("_id", Sort.Direction.DESC)
+                            .named("eventType_timestamp_id"));
+            mongoTemplate.indexOps(SecurityAuditLog.class)
+                    .ensureIndex(new Index().on("success", Sort.Direction.ASC)
+                            .on("timestamp", Sort.Direction.DESC).on("_id", Sort.Direction.DESC)
+                            .named("success_timestamp_id"));
+            mongoTemplate.indexOps(SecurityAuditLog.class)
+                    .ensureIndex(new Index().on("recordedAt", Sort.Direction.ASC)
+                            .expire(Duration.ofDays(hotTtlDays)).named("recordedAt_ttl"));
+            mongoTemplate.indexOps(SecurityAuditArchiveBucket.class)
+                    .ensureIndex(new Index().on("bucketStart", Sort.Direction.DESC)
+                            .on("eventType", Sort.Direction.ASC).named("bucketStart_eventType"));
+            mongoTemplate.indexOps(SecurityAuditArchiveBucket.class)
+                    .ensureIndex(new Index().on("eventType", Sort.Direction.ASC)
+                            .on("bucketStart", Sort.Direction.DESC).named("eventType_bucketStart"));
+            mongoTemplate.indexOps(SecurityAuditArchiveBucket.class)
+                    .ensureIndex(new Index().on("users.username", Sort.Direction.ASC)
+                            .on("bucketStart", Sort.Direction.DESC).named("users_username_bucketStart"));
+            mongoTemplate.indexOps(SecurityAuditArchiveBucket.class)
+                    .ensureIndex(new Index().on("outcomes", Sort.Direction.ASC)
+                            .on("bucketStart", Sort.Direction.DESC).named("outcomes_bucketStart"));
+            mongoTemplate.indexOps(SecurityAuditArchiveBucket.class)
+                    .ensureIndex(new Index().on("archivedAt", Sort.Direction.ASC)
+                            .expire(Duration.ofDays(archiveTtlDays)).named("archivedAt_ttl"));
+        } catch (Exception e) {
+            // An existing index with different TTL options must be changed manually (collMod)
+            log.error("Failed to ensure security audit indexes", e);
+        }
+    }
+
+    /**
+     * Start of the hot tier. Events before this instant are only available from the archive.
+     */
+    public long getWatermark() {
+        SecurityAuditArchiveState state = mongoTemplate.findById(STATE_ID, SecurityAuditArchiveState.class);
+        return state != null && state.getWatermark() != null ? state.getWatermark() : Long.MIN_VALUE;
+    }
+
+    @Scheduled(
+            fixedDelayString = "${audit.retention.archiveIntervalMs:600000}",
+            initialDelayString = "${audit.retention.archiveInitialDelayMs:60000}")
+    public void archiveExpiredHours() {
+        try {
+            long cutoff = floorHour(System.currentTimeMillis() - Duration.ofHours(archiveAfterHours).toMillis());
+            long watermark = initWatermark(cutoff);
+            int archived = 0;
+            while (watermark < cutoff && archived < maxHoursPerRun) {
+                Long next = archiveHour(watermark, cutoff);
+                if (next == null) {
+                    log.debug("Audit archive watermark moved by another instance, stopping this run");
+                    return;
+                }
+                watermark = next;
+                archived++;
+            }
+            if (archived > 0) {
+                log.info("Archived {} hour(s) of security audit events, watermark now {}", archived, watermark);
+            }
+        } catch (Exception e) {
+            log.error("Security audit archive run failed", e);
+        }
+    }
+
+    private long initWatermark(long cutoff) {
+        SecurityAuditArchiveState state = mongoTemplate.findById(STATE_ID, SecurityAuditArchiveState.class);
+        if (state != null && state.getWatermark() != null) {
+            return state.getWatermark();
+        }
+        Query oldest = new Query().with(Sort.by(Sort.Direction.ASC, "timestamp")).limit(1);
+        oldest.fields().include("timestamp");
+        SecurityAuditLog first = mongoTemplate.findOne(oldest, SecurityAuditLog.class);
+        long start = first != null && first.getTimestamp() != null ? floorHour(first.getTimestamp()) : cutoff;
+        try {
+            mongoTemplate.insert(SecurityAuditArchiveState.builder()
+                    .id(STATE_ID)
+                    .watermark(start)
+                    .updatedAt(System.currentTimeMillis())
+                    .build());
+            return start;
+        } catch (DuplicateKeyException e) {
+            return getWatermark();
+        }
+    }
+
+    /**
+     * Archive the hour starting at {@code hourStart} and advance the watermark.
+     *
+     * @return the new watermark, or null if another instance advanced it first
+     */
+    private Long archiveHour(long hourStart, long cutoff) {
+        long hourEnd = hourStart + HOUR_MS;
+        Query hourQuery = new Query(Criteria.where("timestamp").gte(hourStart).lt(hourEnd))
+                .with(Sort.by(Sort.Direction.ASC, "timestamp"));
+
+        Map<String, List<SecurityAuditLog>> pending = new HashMap<>();
+        Map<String, Integer> seqByType = new HashMap<>();
+        int total = 0;
+        try (CloseableIterator<SecurityAuditLog> events = mongoTemplate.stream(hourQuery, SecurityAuditLog.class)) {
+            while (events.hasNext()) {
+                SecurityAuditLog event = events.next();
+                String type = event.getEventType() != null ? event.getEventType() : "UNKNOWN";
+                List<SecurityAuditLog> chunk = pending.computeIfAbsent(type, t -> new ArrayList<>());
+                chunk.add(event);
+                total++;
+                if (chunk.size() >= bucketMaxEvents) {
+                    writeBucket(type, hourStart, seqByType.merge(type, 1, Integer::sum) - 1, chunk);
+                    chunk.clear();
+                }
+            }
+        }
+        for (Map.Entry<String, List<SecurityAuditLog>> entry : pending.entrySet()) {
+            if (!entry.getValue().isEmpty()) {
+                writeBucket(entry.getKey(), hourStart, seqByType.merge(entry.getKey(), 1, Integer::sum) - 1,
+                        entry.getValue());
+            }
+        }
+
+        long next = hourEnd;
+        if (total == 0) {
+            // Skip straight to the next hour that actually has events
+            Query nextEvent = new Query(Criteria.where("timestamp").gte(hourEnd))
+                    .with(Sort.by(Sort.Direction.ASC, "timestamp")).limit(1);
+            SecurityAuditLog upcoming = mongoTemplate.findOne(nextEvent, SecurityAuditLog.class);
+            next = upcoming != null && upcoming.getTimestamp() != null
+                    ? Math.min(floorHour(upcoming.getTimestamp()), cutoff)
+                    : cutoff;
+            next = Math.max(next, hourEnd);
+        }
+
+        long modified = mongoTemplate.updateFirst(
+                new Query(Criteria.where("_id").is(STATE_ID).and("watermark").is(hourStart)),
+                new Update().set("watermark", next).set("updatedAt", System.currentTimeMillis()),
+                SecurityAuditArchiveState.class).getModifiedCount();
+        if (modified == 0) {
+            return null;
+        }
+        if (total > 0) {
+            mongoTemplate.remove(new Query(Criteria.where("timestamp").gte(hourStart).lt(hourEnd)),
+                    SecurityAuditLog.class);
+        }
+        return next;
+    }
+
+    private void writeBucket(String eventType, long hourStart, int seq, List<SecurityAuditLog> events) {
+        int successCount = 0;
+        long min = Long.MAX_VALUE;
+        long max = Long.MIN_VALUE;
+        Map<String, SecurityAuditArchiveBucket.UserCount> users = new LinkedHashMap<>();
+        for (SecurityAuditLog event : events) {
+            SecurityAuditArchiveBucket.UserCount user = users.computeIfAbsent(event.getUsername(),
+                    username -> SecurityAuditArchiveBucket.UserCount.builder().username(username).build());
+            if (event.isSuccess()) {
+                successCount++;
+                user.setSuccessCount(user.getSuccessCount() + 1);
+            } else {
+                user.setFailureCount(user.getFailureCount() + 1);
+            }
+            min = Math.min(min, event.getTimestamp());
+            max = Math.max(max, event.getTimestamp());
+        }
+        List<Boolean> outcomes = new ArrayList<>(2);
+        if (successCount > 0) {
+            outcomes.add(true);
+        }
+        if (successCount < events.size()) {
+            outcomes.add(false);
+        }
+        mongoTemplate.save(SecurityAuditArchiveBucket.builder()
+                .id(eventType + ":" + hourStart + ":" + seq)
+                .eventType(eventType)
+                .bucketStart(hourStart)
+                .seq(seq)
+                .count(events.size())
+                .successCount(successCount)
+                .minTimestamp(min)
+                .maxTimestamp(max)
+                .users(new ArrayList<>(users.values()))
+                .outcomes(outcomes)
+                .events(compress(events))
+                .archivedAt(new Date())
+                .build());
+    }
+
+    /**
+     * Find archived events matching the query, newest first.
+     */
+    public List<SecurityAuditLog> find(AuditLogQuery query, long skip, int limit) {
+        List<SecurityAuditLog> results = new ArrayList<>();
+        if (limit <= 0) {
+            return results;
+        }
+        long remainingSkip = skip;
+        Long currentHour = null;
+        List<SecurityAuditArchiveBucket> hourBuckets = new ArrayList<>();
+
+        try (CloseableIterator<SecurityAuditArchiveBucket> buckets =
+                     mongoTemplate.stream(bucketQuery(query), SecurityAuditArchiveBucket.class)) {
+            while (buckets.hasNext()) {
+                SecurityAuditArchiveBucket bucket = buckets.next();
+                if (currentHour != null && !currentHour.equals(bucket.getBucketStart())) {
+                    remainingSkip = collectHour(query, hourBuckets, remainingSkip, limit, results);
+                    hourBuckets.clear();
+                    if (results.size() >= limit) {
+                        return results;
+                    }
+                }
+                currentHour = bucket.getBucketStart();
+                hourBuckets.add(bucket);
+            }
+        }
+        if (!hourBuckets.isEmpty()) {
+            collectHour(query, hourBuckets, remainingSkip, limit, results);
+        }
+        return results;
+    }
+
+    private long collectHour(AuditLogQuery query, List<SecurityAuditArchiveBucket> buckets,
+                             long skip, int limit, List<SecurityAuditLog> results) {
+        if (skip > 0 && coversBuckets(query, buckets)) {
+            long hourCount = buckets.stream().mapToLong(bucket -> countMatching(query, bucket)).sum();
+            if (skip >= hourCount) {
+                return skip - hourCount;
+            }
+        }
+        List<SecurityAuditLog> matching = new ArrayList<>();
+        for (SecurityAuditArchiveBucket bucket : buckets) {
+            for (SecurityAuditLog event : decompress(bucket.getEvents())) {
+                if (query.matches(event)) {
+                    matching.add(event);
+                }
+            }
+        }
+        matching.sort(NEWEST_FIRST);
+        if (skip >= matching.size()) {
+            return skip - matching.size();
+        }
+        int from = (int) skip;
+        int to = (int) Math.min(matching.size(), from + (long) (limit - results.size()));
+        results.addAll(matching.subList(from, to));
+        return 0;
+    }
+
+    /**
+     * Count archived events matching the query. Bucket counters are used wherever the query's
+     * time bounds cover the whole bucket; only buckets cut by a bound are opened.
+     */
+    public long count(AuditLogQuery query) {
+        long total = 0;
+        try (CloseableIterator<SecurityAuditArchiveBucket> buckets =
+                     mongoTemplate.stream(bucketQuery(query), SecurityAuditArchiveBucket.class)) {
+            while (buckets.hasNext()) {
+                SecurityAuditArchiveBucket bucket = buckets.next();
+                if (coversBuckets(query, List.of(bucket))) {
+                    total += countMatching(query, bucket);
+                } else {
+                    total += decompress(bucket.getEvents()).stream().filter(query::matches).count();
+                }
+            }
+        }
+        return total;
+    }
+
+    /**
+     * Events in the bucket matching the query's event type, username and success filters, from
+     * the bucket counters. Time bounds are not checked.
+     */
+    private static long countMatching(AuditLogQuery query, SecurityAuditArchiveBucket bucket) {
+        if (query.getUsername() == null) {
+            if (query.getSuccess() == null) {
+                return bucket.getCount();
+            }
+            return query.getSuccess() ? bucket.getSuccessCount() : bucket.getCount() - bucket.getSuccessCount();
+        }
+        for (SecurityAuditArchiveBucket.UserCount user : bucket.getUsers()) {
+            if (query.getUsername().equals(user.getUsername())) {
+                if (query.getSuccess() == null) {
+                    return user.getSuccessCount() + user.getFailureCount();
+                }
+                return query.getSuccess() ? user.getSuccessCount() : user.getFailureCount();
+            }
+        }
+        return 0;
+    }
+
+    private boolean coversBuckets(AuditLogQuery query, List<SecurityAuditArchiveBucket> buckets) {
+        for (SecurityAuditArchiveBucket bucket : buckets) {
+            if ((query.getStartTime() != null && bucket.getMinTimestamp() < query.getStartTime())
+                    || (query.getEndTime() != null && bucket.getMaxTimestamp() > query.getEndTime())
+                    || (query.getBeforeTimestamp() != null && bucket.getMaxTimestamp() >= query.getBeforeTimestamp())) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private Query bucketQuery(AuditLogQuery query) {
+        Criteria criteria = new Criteria();
+        if (query.getEventType() != null) {
+            criteria.and("eventType").is(query.getEventType());
+        }
+        if (query.getUsername() != null) {
+            Criteria user = Criteria.where("username").is(query.getUsername());
+            if (query.getSuccess() != null) {
+                user.and(query.getSuccess() ? "successCount" : "failureCount").gt(0);
+            }
+            criteria.and("users").elemMatch(user);
+        } else if (query.getSuccess() != null) {
+            criteria.and("outcomes").is(query.getSuccess());
+        }
+        Long upperBound = query.getUpperBound();
+        if (query.getStartTime() != null || upperBound != null) {
+            Criteria range = criteria.and("bucketStart");
+            if (query.getStartTime() != null) {
+                range.gte(floorHour(query.getStartTime()));
+            }
+            if (upperBound != null) {
+                range.lte(upperBound);
+            }
+        }
+        return new Query(criteria).with(Sort.by(Sort.Direction.DESC, "bucketStart"));
+    }
+
+    private byte[] compress(List<SecurityAuditLog> events) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (GZIPOutputStream gzip = new GZIPOutputStream(bytes)) {
+            objectMapper.writeValue(gzip, events);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to compress audit bucket", e);
+        }
+        return bytes.toByteArray();
+    }
+
+    private List<SecurityAuditLog> decompress(byte[] data) {
+        try (GZIPInputStream gzip = new GZIPInputStream(new ByteArrayInputStream(data))) {
+            return objectMapper.readValue(gzip, EVENT_LIST);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to decompress audit bucket", e);
+        }
+    }
+
+    private static long floorHour(long epochMillis) {
+        return Math.floorDiv(epochMillis, HOUR_MS) * HOUR_MS;
+    }
+}
@@ -0,0 +1,290 @@
+package io.respondnow.service.audit;
+
+import io.respondnow.model.audit.SecurityAuditArchiveBucket;
+import io.respondnow.model.audit.SecurityAuditCounter;
+import io.respondnow.model.audit.SecurityAuditLog;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.Document;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.aggregation.AggregationResults;
+import org.springframework.data.mongodb.core.aggregation.ArithmeticOperators;
+import org.springframework.data.mongodb.core.index.Index;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.time.Duration;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+
+/**
+ * Sliding-window counters behind /audit/statistics.
+ *
+ * The audit writer records every persisted batch here, bucketed by minute and keyed by event
+ * type and success flag. Local increments are periodically flushed to
+ * {@code security_audit_counters} with $inc, after which the recent window is reloaded from
+ * MongoDB, so every instance converges on the cluster-wide totals while reads stay in memory.
+ * On startup the window is rebuilt from the last checkpoint; until a seed has completed, startup
+ * seeds it from the hot audit collection.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class SecurityAuditCounterService {
+
+    private static final long MINUTE_MS = Duration.ofMinutes(1).toMillis();
+    private static final String TOTAL_ID = "total";
+    private static final String SEEDED_ID = "seeded";
+    private static final String SEEDING_ID = "seeding";
+    private static final Duration SEED_CLAIM_TTL = Duration.ofMinutes(10);
+    private static final String TOTAL_KEY = "total";
+
+    private final MongoTemplate mongoTemplate;
+
+    @Value("${audit.statistics.windowDays:7}")
+    private long windowDays;
+
+    // Checkpointed counts per minute, as last loaded from MongoDB
+    private NavigableMap<Long, Map<String, Long>> checkpointed = new TreeMap<>();
+    private long checkpointedTotal;
+
+    // Local increments not yet written to MongoDB
+    private NavigableMap<Long, Map<String, Long>> pending = new TreeMap<>();
+    private long pendingTotal;
+
+    // Increments being checkpointed, still counted until the reload picks them up
+    private NavigableMap<Long, Map<String, Long>> inFlight = new TreeMap<>();
+    private long inFlightTotal;
+
+    @PostConstruct
+    public void init() {
+        try {
+            mongoTemplate.indexOps(SecurityAuditCounter.class)
+                    .ensureIndex(new Index().on("minute", Sort.Direction.ASC).named("minute"));
+            mongoTemplate.indexOps(SecurityAuditCounter.class)
+                    .ensureIndex(new Index().on("expireAt", Sort.Direction.ASC)
+                            .expire(Duration.ZERO).named("expireAt_ttl"));
+            seedIfEmpty();
+            reload();
+        } catch (Exception e) {
+            log.error("Failed to load security audit counters, statistics start from zero", e);
+        }
+    }
+
+    /**
+     * Count a batch of events that has just been persisted.
+     */
+    public synchronized void record(List<SecurityAuditLog> events) {
+        for (SecurityAuditLog event : events) {
+            long minute = floorMinute(event.getTimestamp() != null ? event.getTimestamp() : System.currentTimeMillis());
+            Map<String, Long> counts = pending.computeIfAbsent(minute, m -> new HashMap<>());
+            counts.merge(eventKey(event.getEventType()), 1L, Long::sum);
+            counts.merge(successKey(event.isSuccess()), 1L, Long::sum);
+            counts.merge(TOTAL_KEY, 1L, Long::sum);
+        }
+        pendingTotal += events.size();
+    }
+
+    public synchronized long getTotal() {
+        return checkpointedTotal + inFlightTotal + pendingTotal;
+    }
+
+    public synchronized long countEventType(String eventType, long since) {
+        return sum(eventKey(eventType), since);
+    }
+
+    public synchronized long countSuccess(boolean success, long since) {
+        return sum(successKey(success), since);
+    }
+
+    private long sum(String key, long since) {
+        long fromMinute = floorMinute(since);
+        return sumMap(checkpointed.tailMap(fromMinute, true), key)
+                + sumMap(inFlight.tailMap(fromMinute, true), key)
+                + sumMap(pending.tailMap(fromMinute, true), key);
+    }
+
+    private static long sumMap(Map<Long, Map<String, Long>> minutes, String key) {
+        long total = 0;
+        for (Map<String, Long> counts : minutes.values()) {
+            total += counts.getOrDefault(key, 0L);
+        }
+        return total;
+    }
+
+    @Scheduled(
+            fixedDelayString = "${audit.statistics.checkpointIntervalMs:30000}",
+            initialDelayString = "${audit.statistics.checkpointIntervalMs:30000}")
+    public void checkpoint() {
+        NavigableMap<Long, Map<String, Long>> toWrite;
+        long totalToWrite;
+        synchronized (this) {
+            toWrite = pending;
+            totalToWrite = pendingTotal;
+            inFlight = toWrite;
+            inFlightTotal = totalToWrite;
+            pending = new TreeMap<>();
+            pendingTotal = 0;
+        }
+        if (!toWrite.isEmpty()) {
+            try {
+                BulkOperations bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, SecurityAuditCounter.class);
+                addIncrements(bulk, toWrite, totalToWrite);
+                bulk.execute();
+            } catch (Exception e) {
+                log.error("Failed to checkpoint security audit counters, will retry", e);
+                synchronized (this) {
+                    mergeInto(pending, toWrite);
+                    pendingTotal += totalToWrite;
+                    inFlight = new TreeMap<>();
+                    inFlightTotal = 0;
+                }
+                return;
+            }
+        }
+        try {
+            reload();
+        } catch (Exception e) {
+            // The checkpoint itself succeeded; keep serving the written counts locally
+            log.error("Failed to reload security audit counters after checkpoint", e);
+            synchronized (this) {
+                mergeInto(checkpointed, inFlight);
+                checkpointedTotal += inFlightTotal;
+                inFlight = new TreeMap<>();
+                inFlightTotal = 0;
+            }
+        }
+    }
+
+    private void addIncrements(BulkOperations bulk, Map<Long, Map<String, Long>> minutes, long total) {
+        Date expireAt = new Date(System.currentTimeMillis() + Duration.ofDays(windowDays + 1).toMillis());
+        minutes.forEach((minute, counts) -> {
+            Update update = new Update().set("minute", minute).set("expireAt", expireAt);
+            counts.forEach((key, value) -> update.inc("counts." + key, value));
+            bulk.upsert(Query.query(Criteria.where("_id").is(String.valueOf(minute))), update);
+        });
+        bulk.upsert(Query.query(Criteria.where("_id").is(TOTAL_ID)), new Update().inc("counts." + TOTAL_KEY, total));
+    }
+
+    private static void mergeInto(Map<Long, Map<String, Long>> target, Map<Long, Map<String, Long>> source) {
+        source.forEach((minute, counts) -> {
+            Map<String, Long> merged = target.computeIfAbsent(minute, m -> new HashMap<>());
+            counts.forEach((key, value) -> merged.merge(key, value, Long::sum));
+        });
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        checkpoint();
+    }
+
+    private void reload() {
+        long fromMinute = floorMinute(System.currentTimeMillis() - Duration.ofDays(windowDays).toMillis());
+        NavigableMap<Long, Map<String, Long>> loaded = new TreeMap<>();
+        for (SecurityAuditCounter counter : mongoTemplate.find(
+                Query.query(Criteria.where("minute").gte(fromMinute)), SecurityAuditCounter.class)) {
+            if (counter.getCounts() != null) {
+                loaded.put(counter.getMinute(), counter.getCounts());
+            }
+        }
+        SecurityAuditCounter total = mongoTemplate.findById(TOTAL_ID, SecurityAuditCounter.class);
+        long loadedTotal = total != null && total.getCounts() != null ? total.getCounts().getOrDefault(TOTAL_KEY, 0L) : 0L;
+        synchronized (this) {
+            checkpointed = loaded;
+            checkpointedTotal = loadedTotal;
+            inFlight = new TreeMap<>();
+            inFlightTotal = 0;
+        }
+    }
+
+    /**
+     * Build the counters once from existing audit events so upgrading does not reset the
+     * dashboard. The instance that inserts the claim document seeds; the claim expires after
+     * {@link #SEED_CLAIM_TTL} so a crashed seed is retried. The seeded marker is written in the
+     * same ordered bulk as the counts, after them, so it only exists once they do.
+     */
+    private void seedIfEmpty() {
+        if (mongoTemplate.exists(Query.query(Criteria.where("_id").is(SEEDED_ID)), SecurityAuditCounter.class)) {
+            return;
+        }
+        try {
+            mongoTemplate.insert(SecurityAuditCounter.builder()
+                    .id(SEEDING_ID)
+                    .expireAt(new Date(System.currentTimeMillis() + SEED_CLAIM_TTL.toMillis()))
+                    .build());
+        } catch (DuplicateKeyException e) {
+            log.info("Security audit counters are being seeded by another instance");
+            return;
+        }
+        try {
+            seed();
+        } finally {
+            mongoTemplate.remove(Query.query(Criteria.where("_id").is(SEEDING_ID)), SecurityAuditCounter.class);
+        }
+    }
+
+    private void seed() {
+        long since = System.currentTimeMillis() - Duration.ofDays(windowDays).toMillis();
+        Aggregation aggregation = Aggregation.newAggregation(
+                Aggregation.match(Criteria.where("timestamp").gte(since)),
+                Aggregation.project("eventType", "success")
+                        .and(ArithmeticOperators.Subtract.valueOf("timestamp")
+                                .subtract(ArithmeticOperators.Mod.valueOf("timestamp").mod(MINUTE_MS)))
+                        .as("minute"),
+                Aggregation.group("minute", "eventType", "success").count().as("count"));
+        AggregationResults<Document> results =
+                mongoTemplate.aggregate(aggregation, SecurityAuditLog.class, Document.class);
+
+        NavigableMap<Long, Map<String, Long>> seeded = new TreeMap<>();
+        for (Document row : results.getMappedResults()) {
+            Document id = row.get("_id", Document.class);
+            long minute = ((Number) id.get("minute")).longValue();
+            long count = ((Number) row.get("count")).longValue();
+            Map<String, Long> counts = seeded.computeIfAbsent(minute, m -> new HashMap<>());
+            counts.merge(eventKey(id.getString("eventType")), count, Long::sum);
+            counts.merge(successKey(Boolean.TRUE.equals(id.getBoolean("success"))), count, Long::sum);
+            counts.merge(TOTAL_KEY, count, Long::sum);
+        }
+        // The all-time total includes events already moved to the archive tier
+        long existingTotal = mongoTemplate.count(new Query(), SecurityAuditLog.class) + archivedTotal();
+        BulkOperations bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.ORDERED, SecurityAuditCounter.class);
+        addIncrements(bulk, seeded, existingTotal);
+        bulk.insert(SecurityAuditCounter.builder().id(SEEDED_ID).build());
+        bulk.execute();
+        log.info("Seeded security audit counters from {} minute bucket(s)", seeded.size());
+    }
+
+    private long archivedTotal() {
+        Aggregation aggregation = Aggregation.newAggregation(
+                Aggregation.group().sum("count").as("count"));
+        Document result = mongoTemplate.aggregate(aggregation, SecurityAuditArchiveBucket.class, Document.class)
+                .getUniqueMappedResult();
+        return result != null ? ((Number) result.get("count")).longValue() : 0L;
+    }
+
+    private static String eventKey(String eventType) {
+        return "event:" + (eventType != null ? eventType : "UNKNOWN");
+    }
+
+    private static String successKey(boolean success) {
+        return "success:" + success;
+    }
+
+    private static long floorMinute(long epochMillis) {
+        return Math.floorDiv(epochMillis, MINUTE_MS) * MINUTE_MS;
+    }
+}
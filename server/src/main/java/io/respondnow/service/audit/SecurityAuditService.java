@@ -1,51 +1,108 @@
 package io.respondnow.service.audit;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.respondnow.dto.audit.SecurityAuditLogCursorPage;
 import io.respondnow.dto.audit.SecurityAuditLogResponse;
+import io.respondnow.exception.BadRequestException;
 import io.respondnow.model.audit.SecurityAuditLog;
-import io.respondnow.repository.SecurityAuditLogRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
 import org.springframework.stereotype.Service;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Base64;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.stream.Collectors;
 
+/**
+ * Read side of the security audit trail. Queries span the hot collection and the compressed
+ * archive transparently; see {@link SecurityAuditArchiveService} for how the tiers are split.
+ */
 @Service
 @RequiredArgsConstructor
 @Slf4j
 public class SecurityAuditService {
     
-    private final SecurityAuditLogRepository auditLogRepository;
+    private final MongoTemplate mongoTemplate;
+    private final SecurityAuditArchiveService archiveService;
+    private final SecurityAuditCounterService counterService;
+    private final ObjectMapper objectMapper;
     
     public Page<SecurityAuditLogResponse> getAllAuditLogs(int page, int size) {
-        Pageable pageable = PageRequest.of(page, size);
-        return auditLogRepository.findAllByOrderByTimestampDesc(pageable)
-                .map(this::toResponse);
+        return findPage(new AuditLogQuery(), PageRequest.of(page, size));
     }
     
     public List<SecurityAuditLogResponse> getAuditLogsByUsername(String username) {
-        return auditLogRepository.findByUsernameOrderByTimestampDesc(username)
+        return find(AuditLogQuery.builder().username(username).build(), 0, Integer.MAX_VALUE)
                 .stream()
                 .map(this::toResponse)
                 .collect(Collectors.toList());
     }
     
     public List<SecurityAuditLogResponse> getAuditLogsByEventType(String eventType) {
-        return auditLogRepository.findByEventTypeOrderByTimestampDesc(eventType)
+        return find(AuditLogQuery.builder().eventType(eventType).build(), 0, Integer.MAX_VALUE)
                 .stream()
                 .map(this::toResponse)
                 .collect(Collectors.toList());
     }
     
     public Page<SecurityAuditLogResponse> getAuditLogsByDateRange(Long startTime, Long endTime, int page, int size) {
-        Pageable pageable = PageRequest.of(page, size);
-        return auditLogRepository.findByTimestampBetweenOrderByTimestampDesc(startTime, endTime, pageable)
-                .map(this::toResponse);
+        AuditLogQuery query = AuditLogQuery.builder().startTime(startTime).endTime(endTime).build();
+        return findPage(query, PageRequest.of(page, size));
+    }
+    
+    /**
+     * Keyset-paginated search, newest first. Pass the returned {@code nextCursor} back to
+     * continue; unlike offset paging the cost of a page does not grow with its depth.
+     */
+    public SecurityAuditLogCursorPage searchAuditLogs(AuditLogQuery filter, String cursor, int size) {
+        AuditLogQuery query = withCursor(filter, cursor);
+        List<SecurityAuditLog> events = find(query, 0, size + 1);
+        boolean hasMore = events.size() > size;
+        if (hasMore) {
+            events = events.subList(0, size);
+        }
+        return SecurityAuditLogCursorPage.builder()
+                .items(events.stream().map(this::toResponse).collect(Collectors.toList()))
+                .size(events.size())
+                .nextCursor(hasMore ? encodeCursor(events.get(events.size() - 1)) : null)
+                .build();
+    }
+    
+    /**
+     * Stream every matching event as newline-delimited JSON, walking the keyset one batch at
+     * a time so memory use stays flat regardless of result size.
+     */
+    public long exportAuditLogs(AuditLogQuery filter, int batchSize, OutputStream out) throws IOException {
+        AuditLogQuery query = withCursor(filter, null);
+        long written = 0;
+        while (true) {
+            List<SecurityAuditLog> batch = find(query, 0, batchSize);
+            for (SecurityAuditLog event : batch) {
+                out.write(objectMapper.writeValueAsBytes(toResponse(event)));
+                out.write('\n');
+            }
+            written += batch.size();
+            out.flush();
+            if (batch.size() < batchSize) {
+                return written;
+            }
+            SecurityAuditLog last = batch.get(batch.size() - 1);
+            query.setBeforeTimestamp(last.getTimestamp());
+            query.setBeforeId(last.getId());
+        }
     }
     
     public Map<String, Object> getAuditStatistics() {
@@ -55,17 +112,100 @@ public class SecurityAuditService {
         long last24Hours = now - (24 * 60 * 60 * 1000);
         long last7Days = now - (7 * 24 * 60 * 60 * 1000);
         
-        stats.put("totalLogs", auditLogRepository.count());
-        stats.put("loginAttempts24h", auditLogRepository.countByEventTypeAndTimestampGreaterThan("LOGIN", last24Hours));
-        stats.put("failedLogins24h", auditLogRepository.countByEventTypeAndTimestampGreaterThan("LOGIN_FAILED", last24Hours));
-        stats.put("loginAttempts7d", auditLogRepository.countByEventTypeAndTimestampGreaterThan("LOGIN", last7Days));
-        stats.put("failedLogins7d", auditLogRepository.countByEventTypeAndTimestampGreaterThan("LOGIN_FAILED", last7Days));
-        stats.put("successfulEvents24h", auditLogRepository.countBySuccessAndTimestampGreaterThan(true, last24Hours));
-        stats.put("failedEvents24h", auditLogRepository.countBySuccessAndTimestampGreaterThan(false, last24Hours));
+        stats.put("totalLogs", counterService.getTotal());
+        stats.put("loginAttempts24h", counterService.countEventType("LOGIN", last24Hours));
+        stats.put("failedLogins24h", counterService.countEventType("LOGIN_FAILED", last24Hours));
+        stats.put("loginAttempts7d", counterService.countEventType("LOGIN", last7Days));
+        stats.put("failedLogins7d", counterService.countEventType("LOGIN_FAILED", last7Days));
+        stats.put("successfulEvents24h", counterService.countSuccess(true, last24Hours));
+        stats.put("failedEvents24h", counterService.countSuccess(false, last24Hours));
         
         return stats;
     }
     
+    private Page<SecurityAuditLogResponse> findPage(AuditLogQuery query, Pageable pageable) {
+        List<SecurityAuditLogResponse> content = find(query, pageable.getOffset(), pageable.getPageSize())
+                .stream()
+                .map(this::toResponse)
+                .collect(Collectors.toList());
+        return new PageImpl<>(content, pageable, count(query));
+    }
+    
+    /**
+     * Newest-first events matching the query. The hot tier always holds the newer events, so
+     * it is read first and the archive only fills whatever the hot tier could not.
+     */
+    List<SecurityAuditLog> find(AuditLogQuery query, long skip, int limit) {
+        long watermark = archiveService.getWatermark();
+        List<SecurityAuditLog> results = new ArrayList<>();
+        boolean readHot = query.getUpperBound() == null || query.getUpperBound() >= watermark;
+        boolean readArchive = query.getStartTime() == null || query.getStartTime() < watermark;
+        
+        if (readHot) {
+            Query hotQuery = new Query(query.toCriteria(watermark))
+                    .with(Sort.by(Sort.Direction.DESC, "timestamp", "_id"))
+                    .skip(skip);
+            if (limit < Integer.MAX_VALUE) {
+                hotQuery.limit(limit);
+            }
+            results.addAll(mongoTemplate.find(hotQuery, SecurityAuditLog.class));
+        }
+        if (!readArchive || results.size() >= limit) {
+            return results;
+        }
+        long archiveSkip = 0;
+        if (results.isEmpty() && skip > 0 && readHot) {
+            archiveSkip = Math.max(0, skip - countHot(query, watermark));
+        } else if (!readHot) {
+            archiveSkip = skip;
+        }
+        results.addAll(archiveService.find(query, archiveSkip, limit - results.size()));
+        return results;
+    }
+    
+    long count(AuditLogQuery query) {
+        long watermark = archiveService.getWatermark();
+        long total = 0;
+        if (query.getUpperBound() == null || query.getUpperBound() >= watermark) {
+            total += countHot(query, watermark);
+        }
+        if (query.getStartTime() == null || query.getStartTime() < watermark) {
+            total += archiveService.count(query);
+        }
+        return total;
+    }
+    
+    private AuditLogQuery withCursor(AuditLogQuery filter, String cursor) {
+        AuditLogQuery query = AuditLogQuery.builder()
+                .eventType(filter.getEventType())
+                .username(filter.getUsername())
+                .success(filter.getSuccess())
+                .startTime(filter.getStartTime())
+                .endTime(filter.getEndTime())
+                .build();
+        if (cursor == null || cursor.isEmpty()) {
+            return query;
+        }
+        try {
+            String decoded = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = decoded.indexOf(':');
+            query.setBeforeTimestamp(Long.parseLong(decoded.substring(0, separator)));
+            query.setBeforeId(decoded.substring(separator + 1));
+        } catch (RuntimeException e) {
+            throw new BadRequestException("Invalid audit log cursor");
+        }
+        return query;
+    }
+    
+    private static String encodeCursor(SecurityAuditLog event) {
+        String raw = event.getTimestamp() + ":" + event.getId();
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+    
+    private long countHot(AuditLogQuery query, long watermark) {
+        return mongoTemplate.count(new Query(query.toCriteria(watermark)), SecurityAuditLog.class);
+    }
+    
     private SecurityAuditLogResponse toResponse(SecurityAuditLog log) {
         return SecurityAuditLogResponse.builder()
                 .id(log.getId())
@@ -8,6 +8,7 @@ import io.respondnow.exception.UserNotFoundException;
 import io.respondnow.model.user.User;
 import io.respondnow.model.user.UserStatus;
 import io.respondnow.repository.UserRepository;
+import io.respondnow.service.audit.PermissionMatrixService;
 import io.respondnow.util.JWTUtil;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.retry.annotation.Backoff;
@@ -26,6 +27,8 @@ public class AuthServiceImpl implements AuthService {
 
   @Autowired private JWTUtil jwtUtil;
 
+  @Autowired private PermissionMatrixService permissionMatrixService;
+
   @Override
   public User login(LoginUserInput input) {
     log.info("Login attempt for email: {}", input.getEmail());
@@ -112,6 +115,7 @@ public class AuthServiceImpl implements AuthService {
     user.setRemoved(false);
     
     User savedUser = userRepository.save(user);
+    permissionMatrixService.onUserChanged(savedUser);
     log.info("Signup successful for user: {} ({})", savedUser.getUserId(), savedUser.getEmail());
     
     return savedUser;
@@ -136,6 +140,8 @@ public class AuthServiceImpl implements AuthService {
     user.setChangePasswordRequired(true);
     user.setCreatedAt(System.currentTimeMillis());
     user.setUpdatedAt(System.currentTimeMillis());
-    return userRepository.save(user);
+    User savedUser = userRepository.save(user);
+    permissionMatrixService.onUserChanged(savedUser);
+    return savedUser;
   }
 }
@@ -0,0 +1,302 @@
+package io.respondnow.service.cluster;
+
+import com.mongodb.client.model.FindOneAndUpdateOptions;
+import com.mongodb.client.model.ReturnDocument;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.respondnow.model.cluster.LeaderLease;
+import java.net.InetAddress;
+import java.time.Duration;
+import java.util.Date;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import javax.annotation.PreDestroy;
+import org.bson.Document;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.Index;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.stereotype.Service;
+
+/**
+ * Elects one instance as leader through a heartbeat lease in {@code leader_leases}, so work that
+ * must not run on every replica (the Slack Socket Mode connection, startup bootstrap) runs on
+ * exactly one. Every other instance only serves the API.
+ *
+ * Each instance tries to take or renew the lease every {@code cluster.lease.renewIntervalMs}.
+ * The lease is taken when it is missing or expired, and renewing pushes its expiry
+ * {@code cluster.lease.ttlMs} ahead. A leader that cannot renew steps down before its lease can
+ * expire, so two instances never both believe they lead: {@link #isLeader} turns false at the
+ * deadline even while a renewal is still waiting on MongoDB, which may take at most
+ * {@code cluster.lease.renewIntervalMs}, and a timer revokes the leader tasks then. On shutdown
+ * the lease is released, so another instance takes over on its next attempt instead of waiting
+ * for the expiry.
+ *
+ * Work is registered with {@link #onLeadership}; its callbacks run on a dedicated thread, never
+ * on the heartbeat, so slow work cannot cost the lease.
+ */
+@Service
+public class LeaderElection {
+
+  private static final Logger logger = LoggerFactory.getLogger(LeaderElection.class);
+
+  static final String LEASE = "primary";
+
+  private final MongoTemplate mongoTemplate;
+  private final String instanceId;
+  private final List<LeaderTask> tasks = new CopyOnWriteArrayList<>();
+
+  @Value("${cluster.lease.ttlMs:10000}")
+  private long ttlMs;
+
+  @Value("${cluster.lease.renewIntervalMs:2000}")
+  private long renewIntervalMs;
+
+  private volatile boolean leader;
+  // When the lease held by this instance runs out unless renewed
+  private volatile long leaseValidUntil;
+  // Steps down at leaseValidUntil if no renewal moved it; guarded by this
+  private ScheduledFuture<?> expiry;
+
+  private ScheduledExecutorService heartbeat;
+  private final ExecutorService callbacks =
+      Executors.newSingleThreadExecutor(
+          runnable -> {
+            Thread thread = new Thread(runnable, "leader-tasks");
+            thread.setDaemon(true);
+            return thread;
+          });
+
+  public LeaderElection(
+      MongoTemplate mongoTemplate,
+      MeterRegistry meterRegistry,
+      @Value("${cluster.instanceId:}") String instanceId) {
+    this.mongoTemplate = mongoTemplate;
+    this.instanceId = instanceId.isEmpty() ? defaultInstanceId() : instanceId;
+    Gauge.builder("cluster.leader", this, election -> election.isLeader() ? 1 : 0)
+        .description("1 while this instance holds the leader lease")
+        .register(meterRegistry);
+  }
+
+  private static String defaultInstanceId() {
+    String host;
+    try {
+      host = InetAddress.getLocalHost().getHostName();
+    } catch (Exception e) {
+      host = "unknown";
+    }
+    return host + "-" + UUID.randomUUID().toString().substring(0, 8);
+  }
+
+  /** Start competing for the lease once every bean has registered its work. */
+  @EventListener(ApplicationReadyEvent.class)
+  public void start() {
+    try {
+      mongoTemplate
+          .indexOps(LeaderLease.class)
+          .ensureIndex(
+              new Index()
+                  .on("expireAt", Sort.Direction.ASC)
+                  .expire(Duration.ZERO)
+                  .named("expireAt_ttl"));
+    } catch (Exception e) {
+      logger.error("Failed to create leader_leases TTL index", e);
+    }
+    logger.info("Instance {} competing for the {} lease", instanceId, LEASE);
+    // A second thread so the expiry timer fires while a renewal is blocked
+    heartbeat =
+        Executors.newScheduledThreadPool(
+            2,
+            runnable -> {
+              Thread thread = new Thread(runnable, "leader-lease");
+              thread.setDaemon(true);
+              return thread;
+            });
+    heartbeat.scheduleWithFixedDelay(this::heartbeat, 0, renewIntervalMs, TimeUnit.MILLISECONDS);
+  }
+
+  @PreDestroy
+  public void stop() {
+    if (heartbeat != null) {
+      heartbeat.shutdownNow();
+    }
+    synchronized (this) {
+      if (leader) {
+        stepDown("shutting down");
+        try {
+          mongoTemplate.remove(ownLease(), LeaderLease.class);
+        } catch (Exception e) {
+          logger.warn("Failed to release the {} lease: {}", LEASE, e.getMessage());
+        }
+      }
+    }
+    callbacks.shutdown();
+    try {
+      callbacks.awaitTermination(5, TimeUnit.SECONDS);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  public boolean isLeader() {
+    return leader && System.currentTimeMillis() < leaseValidUntil;
+  }
+
+  public String getInstanceId() {
+    return instanceId;
+  }
+
+  /**
+   * Run {@code onAcquired} each time this instance becomes leader, and {@code onRevoked} (may be
+   * null) each time it stops being leader. If it already leads, {@code onAcquired} runs now.
+   */
+  public synchronized void onLeadership(String name, Runnable onAcquired, Runnable onRevoked) {
+    LeaderTask task = new LeaderTask(name, onAcquired, onRevoked);
+    tasks.add(task);
+    if (leader) {
+      run(task.name, task.onAcquired);
+    }
+  }
+
+  void heartbeat() {
+    long now = System.currentTimeMillis();
+    boolean acquired;
+    try {
+      // Outside the lock, so the expiry timer is not held up by a slow MongoDB
+      acquired = tryAcquire(now);
+    } catch (Exception e) {
+      logger.warn("Failed to renew the {} lease: {}", LEASE, e.getMessage());
+      synchronized (this) {
+        // Give up while the lease is still ours, rather than after another instance may have
+        // taken it
+        if (leader && System.currentTimeMillis() + renewIntervalMs >= leaseValidUntil) {
+          stepDown("lease could not be renewed");
+        }
+      }
+      return;
+    }
+
+    synchronized (this) {
+      if (acquired && System.currentTimeMillis() < now + ttlMs) {
+        leaseValidUntil = now + ttlMs;
+        scheduleExpiry(leaseValidUntil);
+        if (!leader) {
+          leader = true;
+          logger.info("Instance {} acquired the {} lease", instanceId, LEASE);
+          tasks.forEach(task -> run(task.name, task.onAcquired));
+        }
+      } else if (leader) {
+        stepDown(acquired ? "lease expired while renewing" : "lease taken over by another instance");
+      }
+    }
+  }
+
+  private void scheduleExpiry(long deadline) {
+    if (expiry != null) {
+      expiry.cancel(false);
+    }
+    if (heartbeat != null) {
+      expiry =
+          heartbeat.schedule(
+              () -> expire(deadline),
+              Math.max(0, deadline - System.currentTimeMillis()),
+              TimeUnit.MILLISECONDS);
+    }
+  }
+
+  synchronized void expire(long deadline) {
+    if (leader && leaseValidUntil <= deadline) {
+      stepDown("lease expired before it could be renewed");
+    }
+  }
+
+  private boolean tryAcquire(long now) {
+    Document filter =
+        new Document("_id", LEASE)
+            .append(
+                "$or",
+                List.of(
+                    new Document("owner", instanceId),
+                    new Document("expireAt", new Document("$lt", new Date(now)))));
+    Document set =
+        new Document("owner", instanceId)
+            .append("renewedAt", new Date(now))
+            .append("expireAt", new Date(now + ttlMs));
+    if (!leader) {
+      set.append("acquiredAt", new Date(now));
+    }
+    // Bounded by the server, so a renewal cannot be applied long after this instance gave up
+    FindOneAndUpdateOptions options =
+        new FindOneAndUpdateOptions()
+            .upsert(true)
+            .returnDocument(ReturnDocument.AFTER)
+            .maxTime(renewIntervalMs, TimeUnit.MILLISECONDS);
+    try {
+      return mongoTemplate.execute(
+              LeaderLease.class,
+              collection -> collection.findOneAndUpdate(filter, new Document("$set", set), options))
+          != null;
+    } catch (DuplicateKeyException e) {
+      // The lease exists and is held by someone else, so the upsert tried to insert a second one
+      return false;
+    }
+  }
+
+  private void stepDown(String reason) {
+    leader = false;
+    if (expiry != null) {
+      expiry.cancel(false);
+      expiry = null;
+    }
+    logger.warn("Instance {} gave up the {} lease: {}", instanceId, LEASE, reason);
+    for (LeaderTask task : tasks) {
+      if (task.onRevoked != null) {
+        run(task.name, task.onRevoked);
+      }
+    }
+  }
+
+  private Query ownLease() {
+    return Query.query(Criteria.where("_id").is(LEASE).and("owner").is(instanceId));
+  }
+
+  private void run(String name, Runnable callback) {
+    try {
+      callbacks.execute(
+          () -> {
+            try {
+              callback.run();
+            } catch (Exception e) {
+              logger.error("Leader task {} failed", name, e);
+            }
+          });
+    } catch (Exception e) {
+      logger.warn("Leader task {} not run: {}", name, e.getMessage());
+    }
+  }
+
+  private static final class LeaderTask {
+    private final String name;
+    private final Runnable onAcquired;
+    private final Runnable onRevoked;
+
+    private LeaderTask(String name, Runnable onAcquired, Runnable onRevoked) {
+      this.name = name;
+      this.onAcquired = onAcquired;
+      this.onRevoked = onRevoked;
+    }
+  }
+}
@@ -8,6 +8,7 @@ import io.respondnow.model.hierarchy.Project;
 import io.respondnow.model.hierarchy.UserMapping;
 import io.respondnow.model.user.User;
 import io.respondnow.service.auth.AuthService;
+import io.respondnow.service.cluster.LeaderElection;
 import io.respondnow.service.user.UserService;
 import java.util.concurrent.CompletableFuture;
 import javax.annotation.PostConstruct;
@@ -31,6 +32,7 @@ public class HierarchyServiceImpl implements HierarchyService {
   @Autowired private AccountService accountService;
   @Autowired private OrganizationService organizationService;
   @Autowired private ProjectService projectService;
+  @Autowired private LeaderElection leaderElection;
 
   @Value("${hierarchy.defaultAccount.id:default_account_id}")
   private String defaultAccountId;
@@ -184,7 +186,12 @@ public class HierarchyServiceImpl implements HierarchyService {
     userService.deleteById(createdUser.getId());
   }
 
+  /** Create the default hierarchy on whichever instance holds the leader lease. */
   @PostConstruct
+  public void registerStartProcess() {
+    leaderElection.onLeadership("hierarchy-bootstrap", this::startProcess, null);
+  }
+
   public void startProcess() {
     logger.info("Starting background process for hierarchy service...");
     backgroundProcess();
@@ -0,0 +1,206 @@
+package io.respondnow.service.incident;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.respondnow.dto.incident.ActiveIncidentSummary;
+import io.respondnow.model.incident.Incident;
+import io.respondnow.model.incident.Role;
+import io.respondnow.model.incident.RoleType;
+import io.respondnow.model.incident.Status;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import javax.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.stereotype.Component;
+
+/**
+ * In-memory list of incidents that are not resolved (and not deleted), holding only what is
+ * needed to list them: scope, name, severity, status and commander.
+ *
+ * It is seeded at startup with a projected query, updated by {@link IncidentServiceImpl} as it
+ * writes, and kept current with writes from other instances through the change stream that
+ * {@link IncidentChangeFeed} keeps open. Whenever that stream may have missed changes it reloads,
+ * which on deployments without change streams (standalone MongoDB) happens every
+ * {@code incidents.stream.retryIntervalMs}. Readers get an immutable, ordered snapshot and never touch the database, so
+ * Slack handlers can render from it inside the interaction's trigger window.
+ */
+@Component
+public class ActiveIncidentRegistry {
+
+  private static final Logger logger = LoggerFactory.getLogger(ActiveIncidentRegistry.class);
+
+  private static final String[] SUMMARY_FIELDS = {
+    "identifier",
+    "accountIdentifier",
+    "orgIdentifier",
+    "projectIdentifier",
+    "name",
+    "severity",
+    "status",
+    "roles",
+    "createdAt",
+    "updatedAt",
+    "removed"
+  };
+
+  // Most severe first, then newest
+  private static final Comparator<ActiveIncidentSummary> ORDER =
+      Comparator.comparing(
+              ActiveIncidentSummary::getSeverity, Comparator.nullsLast(Comparator.naturalOrder()))
+          .thenComparing(
+              ActiveIncidentSummary::getCreatedAt, Comparator.nullsLast(Comparator.reverseOrder()));
+
+  private final MongoTemplate mongoTemplate;
+  private final IncidentChangeFeed changeFeed;
+
+  // Incident _id -> summary; guarded by this
+  private final Map<String, ActiveIncidentSummary> byId = new HashMap<>();
+  private volatile List<ActiveIncidentSummary> snapshot = Collections.emptyList();
+
+  public ActiveIncidentRegistry(
+      MongoTemplate mongoTemplate, IncidentChangeFeed changeFeed, MeterRegistry meterRegistry) {
+    this.mongoTemplate = mongoTemplate;
+    this.changeFeed = changeFeed;
+    Gauge.builder("incidents.active", this, ActiveIncidentRegistry::size)
+        .description("Non-resolved incidents held in the active incident registry")
+        .register(meterRegistry);
+  }
+
+  @PostConstruct
+  public void start() {
+    // Registered before seeding, so nothing written in between is missed
+    changeFeed.addListener(
+        new IncidentChangeFeed.ChangeListener() {
+          @Override
+          public void incidentChanged(String id, String identifier, Incident incident) {
+            if (incident != null) {
+              apply(incident);
+            } else if (id != null) {
+              remove(id);
+            }
+          }
+
+          @Override
+          public void changesMissed() {
+            reload();
+          }
+        });
+    try {
+      reload();
+    } catch (Exception e) {
+      logger.error("Failed to seed active incident registry", e);
+    }
+  }
+
+  /** All active incidents, most severe first. Never touches the database. */
+  public List<ActiveIncidentSummary> list() {
+    return snapshot;
+  }
+
+  /** At most {@code limit} active incidents starting at {@code offset}. */
+  public List<ActiveIncidentSummary> page(int offset, int limit) {
+    List<ActiveIncidentSummary> current = snapshot;
+    int from = Math.min(Math.max(offset, 0), current.size());
+    int to = Math.min(from + Math.max(limit, 0), current.size());
+    return current.subList(from, to);
+  }
+
+  public int size() {
+    return snapshot.size();
+  }
+
+  /** Replace the contents with a fresh projected read of every active incident. */
+  public void reload() {
+    Query query =
+        new Query(Criteria.where("status").ne(Status.Resolved).and("removed").ne(true));
+    query.fields().include(SUMMARY_FIELDS);
+    List<Incident> incidents = mongoTemplate.find(query, Incident.class);
+
+    synchronized (this) {
+      byId.clear();
+      for (Incident incident : incidents) {
+        byId.put(incident.getId(), toSummary(incident));
+      }
+      publish();
+    }
+    logger.debug("Active incident registry reloaded with {} incident(s)", incidents.size());
+  }
+
+  /**
+   * Record the current state of an incident after it was written. Resolved and deleted
+   * incidents are dropped; a state older than the one already held is ignored.
+   */
+  public synchronized void apply(Incident incident) {
+    if (incident == null || incident.getId() == null) {
+      return;
+    }
+    if (!isActive(incident)) {
+      if (byId.remove(incident.getId()) != null) {
+        publish();
+      }
+      return;
+    }
+    ActiveIncidentSummary current = byId.get(incident.getId());
+    if (current != null
+        && current.getUpdatedAt() != null
+        && incident.getUpdatedAt() != null
+        && incident.getUpdatedAt() < current.getUpdatedAt()) {
+      return;
+    }
+    byId.put(incident.getId(), toSummary(incident));
+    publish();
+  }
+
+  public synchronized void remove(String id) {
+    if (byId.remove(id) != null) {
+      publish();
+    }
+  }
+
+  private void publish() {
+    List<ActiveIncidentSummary> ordered = new ArrayList<>(byId.values());
+    ordered.sort(ORDER);
+    snapshot = Collections.unmodifiableList(ordered);
+  }
+
+  private static boolean isActive(Incident incident) {
+    return incident.getStatus() != Status.Resolved && !Boolean.TRUE.equals(incident.getRemoved());
+  }
+
+  private static ActiveIncidentSummary toSummary(Incident incident) {
+    ActiveIncidentSummary.ActiveIncidentSummaryBuilder summary =
+        ActiveIncidentSummary.builder()
+            .id(incident.getId())
+            .identifier(incident.getIdentifier())
+            .accountIdentifier(incident.getAccountIdentifier())
+            .orgIdentifier(incident.getOrgIdentifier())
+            .projectIdentifier(incident.getProjectIdentifier())
+            .name(incident.getName())
+            .severity(incident.getSeverity())
+            .status(incident.getStatus())
+            .createdAt(incident.getCreatedAt())
+            .updatedAt(incident.getUpdatedAt());
+    if (incident.getRoles() != null) {
+      for (Role role : incident.getRoles()) {
+        if (role.getRoleType() == RoleType.Incident_Commander && role.getUserDetails() != null) {
+          summary
+              .commanderUserId(role.getUserDetails().getUserId())
+              .commanderName(
+                  role.getUserDetails().getName() != null
+                      ? role.getUserDetails().getName()
+                      : role.getUserDetails().getUserName());
+          break;
+        }
+      }
+    }
+    return summary.build();
+  }
+}
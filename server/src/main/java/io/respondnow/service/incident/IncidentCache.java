@@ -0,0 +1,126 @@
+package io.respondnow.service.incident;
+
+import com.mongodb.client.model.Filters;
+import com.mongodb.client.model.Projections;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.respondnow.model.incident.Incident;
+import io.respondnow.util.SingleFlight;
+import io.respondnow.util.TtlCache;
+import java.time.Duration;
+import javax.annotation.PostConstruct;
+import org.bson.Document;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * Read-through cache of incidents by identifier, bounded in size and age, for the lookups made on
+ * every Slack interaction and export.
+ *
+ * Entries hold the stored document rather than an {@link Incident}, and every hit maps a new
+ * object from it, so callers may modify what they get. The Slack outbox fields are left out: they
+ * change on every delivery and no reader of this cache needs them.
+ *
+ * Concurrent misses for the same incident share one query, so an incident everyone opens at
+ * once is read from the database once.
+ *
+ * {@link IncidentServiceImpl} invalidates an incident after each write it makes, and writes from
+ * other instances arrive through the change stream {@link IncidentChangeFeed} already keeps open
+ * on {@code incidents}. Without change streams
+ * (standalone MongoDB) only this instance's writes invalidate, so entries written elsewhere may
+ * be stale for up to {@code incidents.cache.ttlMs}.
+ *
+ * Reports {@code incidents.cache.requests}, {@code incidents.cache.evictions} and
+ * {@code incidents.cache.size}, tagged {@code cache=incidents}.
+ */
+@Component
+public class IncidentCache {
+
+  private static final String OUTBOX_PREFIX = "slackOutbox";
+
+  private final MongoTemplate mongoTemplate;
+  private final IncidentChangeFeed changeFeed;
+  private final TtlCache<String, Document> documents;
+  private final SingleFlight<String, Document> loads;
+
+  // Bumped by every invalidation, so a load that raced with one is not stored; guarded by this
+  private long generation;
+
+  public IncidentCache(
+      MongoTemplate mongoTemplate,
+      IncidentChangeFeed changeFeed,
+      MeterRegistry meterRegistry,
+      @Value("${incidents.cache.maxSize:1000}") int maxSize,
+      @Value("${incidents.cache.ttlMs:60000}") long ttlMs) {
+    this.mongoTemplate = mongoTemplate;
+    this.changeFeed = changeFeed;
+    this.documents =
+        new TtlCache<>(
+            "incidents.cache", "incidents", maxSize, Duration.ofMillis(ttlMs), meterRegistry);
+    this.loads = new SingleFlight<>("incidents.cache.load", meterRegistry);
+  }
+
+  @PostConstruct
+  public void start() {
+    changeFeed.addListener(
+        new IncidentChangeFeed.ChangeListener() {
+          @Override
+          public void incidentChanged(String id, String identifier, Incident incident) {
+            if (identifier != null) {
+              invalidate(identifier);
+            } else {
+              invalidateAll();
+            }
+          }
+
+          @Override
+          public void changesMissed() {
+            invalidateAll();
+          }
+        });
+  }
+
+  /** The incident with this identifier, or null when there is none. */
+  public Incident get(String identifier) {
+    Document document = documents.get(identifier);
+    if (document == null) {
+      long seen;
+      synchronized (this) {
+        seen = generation;
+      }
+      // A load started before an invalidation is not joined by callers that come after it
+      document = loads.execute(seen + ":" + identifier, () -> load(identifier));
+      if (document == null) {
+        return null;
+      }
+      synchronized (this) {
+        if (generation == seen) {
+          documents.put(identifier, document);
+        }
+      }
+    }
+    return mongoTemplate.getConverter().read(Incident.class, document);
+  }
+
+  public synchronized void invalidate(String identifier) {
+    generation++;
+    if (identifier != null) {
+      documents.invalidate(identifier);
+    }
+  }
+
+  public synchronized void invalidateAll() {
+    generation++;
+    documents.invalidateAll();
+  }
+
+  private Document load(String identifier) {
+    return mongoTemplate
+        .getCollection(mongoTemplate.getCollectionName(Incident.class))
+        .find(Filters.eq("identifier", identifier))
+        .projection(
+            Projections.exclude(
+                OUTBOX_PREFIX, OUTBOX_PREFIX + "DueAt", OUTBOX_PREFIX + "LeaseUntil"))
+        .first();
+  }
+}
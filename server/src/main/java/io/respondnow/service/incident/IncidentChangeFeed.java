@@ -0,0 +1,580 @@
+package io.respondnow.service.incident;
+
+import com.mongodb.client.ChangeStreamIterable;
+import com.mongodb.client.MongoChangeStreamCursor;
+import com.mongodb.client.model.Aggregates;
+import com.mongodb.client.model.Filters;
+import com.mongodb.client.model.Projections;
+import com.mongodb.client.model.changestream.ChangeStreamDocument;
+import com.mongodb.client.model.changestream.FullDocument;
+import com.mongodb.client.model.changestream.OperationType;
+import com.mongodb.client.model.changestream.UpdateDescription;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.respondnow.dto.incident.IncidentChangeEvent;
+import io.respondnow.model.incident.Incident;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import org.bson.BsonDocument;
+import org.bson.BsonValue;
+import org.bson.Document;
+import org.bson.conversions.Bson;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+/**
+ * Pushes incident changes to Server-Sent Events subscribers ({@code GET /incident/stream}).
+ *
+ * One change stream on {@code incidents} serves every subscriber on this instance, as well as
+ * the {@link ChangeListener}s ({@link IncidentCache} and {@link ActiveIncidentRegistry}).
+ * Updates that only touch the Slack outbox are dropped before anyone sees them. Each change is
+ * offered to the
+ * subscribers whose filter (scope and, optionally, one incident) it matches. A delete only
+ * carries the incident's id, so the scope of the last {@code incidents.stream.scopeCacheSize}
+ * incidents seen is remembered for it. A delete of an incident not among them goes only to
+ * subscribers without a scope filter.
+ * Every subscriber has a bounded buffer drained by a shared pool of writer threads, so a slow
+ * client never holds up the stream or the other clients. A subscriber whose buffer fills up is
+ * disconnected, and catches up by reconnecting.
+ *
+ * Each event's id is the change's resume token. The most recent events are kept, and a client
+ * that reconnects with {@code Last-Event-ID} gets the ones it missed that match its filter.
+ * Tokens are the same on every instance, so this works whichever instance it reconnects to. When
+ * the token is no longer kept, the client gets a {@code reset} event and should reload what it
+ * shows. Without change streams (standalone MongoDB) subscribers only receive heartbeats.
+ */
+@Component
+public class IncidentChangeFeed {
+
+  private static final Logger logger = LoggerFactory.getLogger(IncidentChangeFeed.class);
+
+  private static final String OUTBOX_PREFIX = "slackOutbox";
+
+  // Queued like events; turned into an SSE comment and a reset event when written
+  private static final FeedEvent HEARTBEAT = new FeedEvent(null, null, true);
+  private static final FeedEvent RESET = new FeedEvent(null, null, true);
+
+  private final MongoTemplate mongoTemplate;
+
+  @Value("${incidents.stream.bufferSize:256}")
+  private int bufferSize;
+
+  @Value("${incidents.stream.replaySize:1000}")
+  private int replaySize;
+
+  @Value("${incidents.stream.maxSubscribers:1000}")
+  private int maxSubscribers;
+
+  @Value("${incidents.stream.timeoutMs:1800000}")
+  private long timeoutMs;
+
+  @Value("${incidents.stream.heartbeatIntervalMs:15000}")
+  private long heartbeatIntervalMs;
+
+  @Value("${incidents.stream.retryIntervalMs:30000}")
+  private long retryIntervalMs;
+
+  @Value("${incidents.stream.writerThreads:8}")
+  private int writerThreads;
+
+  @Value("${incidents.stream.scopeCacheSize:10000}")
+  private int scopeCacheSize;
+
+  private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+  // Most recent events, oldest first; guarded by this, as is publishing to subscribers
+  private final ArrayDeque<FeedEvent> recent = new ArrayDeque<>();
+  // Scope of recently changed incidents by id, for their deletes; only used by the watcher
+  private final Map<String, IncidentScope> scopes =
+      new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, IncidentScope> eldest) {
+          return size() > scopeCacheSize;
+        }
+      };
+  private final List<ChangeListener> listeners = new CopyOnWriteArrayList<>();
+
+  private final Counter events;
+  private final Counter evictions;
+
+  private volatile boolean watching;
+  private Thread watcher;
+  private ExecutorService writers;
+  private ScheduledExecutorService heartbeat;
+
+  public IncidentChangeFeed(MongoTemplate mongoTemplate, MeterRegistry meterRegistry) {
+    this.mongoTemplate = mongoTemplate;
+    this.events =
+        Counter.builder("incidents.stream.events")
+            .description("Incident changes received for Server-Sent Events subscribers")
+            .register(meterRegistry);
+    this.evictions =
+        Counter.builder("incidents.stream.evictions")
+            .description("Server-Sent Events subscribers disconnected for falling behind")
+            .register(meterRegistry);
+    Gauge.builder("incidents.stream.subscribers", subscribers, Set::size)
+        .description("Open Server-Sent Events subscriptions to incident changes")
+        .register(meterRegistry);
+  }
+
+  @PostConstruct
+  public void start() {
+    AtomicInteger writerCount = new AtomicInteger();
+    writers =
+        Executors.newFixedThreadPool(
+            writerThreads,
+            runnable -> {
+              Thread thread =
+                  new Thread(runnable, "incident-stream-writer-" + writerCount.incrementAndGet());
+              thread.setDaemon(true);
+              return thread;
+            });
+    heartbeat =
+        Executors.newSingleThreadScheduledExecutor(
+            runnable -> {
+              Thread thread = new Thread(runnable, "incident-stream-heartbeat");
+              thread.setDaemon(true);
+              return thread;
+            });
+    heartbeat.scheduleWithFixedDelay(
+        this::sendHeartbeats, heartbeatIntervalMs, heartbeatIntervalMs, TimeUnit.MILLISECONDS);
+
+    watching = true;
+    watcher = new Thread(this::watchIncidents, "incident-stream-watcher");
+    watcher.setDaemon(true);
+    watcher.start();
+  }
+
+  @PreDestroy
+  public void stop() {
+    watching = false;
+    if (watcher != null) {
+      watcher.interrupt();
+    }
+    if (heartbeat != null) {
+      heartbeat.shutdownNow();
+    }
+    for (Subscriber subscriber : subscribers) {
+      close(subscriber);
+    }
+    if (writers != null) {
+      writers.shutdownNow();
+    }
+  }
+
+  /** Receive every incident change this instance sees, on the thread watching the stream. */
+  public void addListener(ChangeListener listener) {
+    listeners.add(listener);
+  }
+
+  /**
+   * Open a subscription. Null filter values match everything; {@code incident} matches either
+   * the incident's id or its identifier.
+   *
+   * @param lastEventId the id of the last event the client received, or null for new clients
+   * @return the emitter to return from the request, or null when this instance already serves
+   *     {@code incidents.stream.maxSubscribers}
+   */
+  public SseEmitter subscribe(
+      String accountIdentifier,
+      String orgIdentifier,
+      String projectIdentifier,
+      String incident,
+      String lastEventId) {
+    if (subscribers.size() >= maxSubscribers) {
+      return null;
+    }
+    SseEmitter emitter = new SseEmitter(timeoutMs);
+    Subscriber subscriber =
+        new Subscriber(
+            emitter,
+            new ArrayBlockingQueue<>(bufferSize),
+            accountIdentifier,
+            orgIdentifier,
+            projectIdentifier,
+            incident);
+    emitter.onCompletion(() -> subscribers.remove(subscriber));
+    emitter.onTimeout(() -> close(subscriber));
+    emitter.onError(e -> close(subscriber));
+
+    synchronized (this) {
+      subscribers.add(subscriber);
+      if (lastEventId != null && !lastEventId.isEmpty()) {
+        replay(subscriber, lastEventId);
+      }
+    }
+    return emitter;
+  }
+
+  private void replay(Subscriber subscriber, String lastEventId) {
+    List<FeedEvent> missed = new ArrayList<>();
+    boolean found = false;
+    for (FeedEvent event : recent) {
+      if (found) {
+        if (subscriber.matches(event)) {
+          missed.add(event);
+        }
+      } else if (event.token.equals(lastEventId)) {
+        found = true;
+      }
+    }
+    // More than fits would only get the client disconnected again, so it reloads instead
+    if (!found || missed.size() >= bufferSize) {
+      offer(subscriber, RESET);
+      return;
+    }
+    for (FeedEvent event : missed) {
+      offer(subscriber, event);
+    }
+  }
+
+  private synchronized void publish(FeedEvent event) {
+    events.increment();
+    recent.addLast(event);
+    while (recent.size() > replaySize) {
+      recent.removeFirst();
+    }
+    for (Subscriber subscriber : subscribers) {
+      if (subscriber.matches(event)) {
+        offer(subscriber, event);
+      }
+    }
+  }
+
+  /** Events before this point may have been missed; clients must reload. */
+  private synchronized void reset() {
+    recent.clear();
+    for (Subscriber subscriber : subscribers) {
+      offer(subscriber, RESET);
+    }
+  }
+
+  private void sendHeartbeats() {
+    for (Subscriber subscriber : subscribers) {
+      offer(subscriber, HEARTBEAT);
+    }
+  }
+
+  /** A new builder per send, since building one consumes it. */
+  private static SseEmitter.SseEventBuilder toSse(FeedEvent event) {
+    if (event == HEARTBEAT) {
+      return SseEmitter.event().comment("heartbeat");
+    }
+    if (event == RESET) {
+      return SseEmitter.event().name("reset").data("{}", MediaType.APPLICATION_JSON);
+    }
+    return SseEmitter.event()
+        .id(event.token)
+        .name("incident")
+        .data(event.change, MediaType.APPLICATION_JSON);
+  }
+
+  /** Queue an event for a subscriber, disconnecting it when its buffer is full. */
+  private void offer(Subscriber subscriber, FeedEvent event) {
+    if (!subscriber.buffer.offer(event)) {
+      evictions.increment();
+      logger.info("Disconnecting incident stream subscriber {} events behind", bufferSize);
+      close(subscriber);
+      return;
+    }
+    if (subscriber.draining.compareAndSet(false, true)) {
+      try {
+        writers.execute(() -> drain(subscriber));
+      } catch (Exception e) {
+        close(subscriber);
+      }
+    }
+  }
+
+  private void drain(Subscriber subscriber) {
+    try {
+      while (true) {
+        FeedEvent event = subscriber.buffer.poll();
+        if (event == null) {
+          subscriber.draining.set(false);
+          // Something may have been queued after the poll but before the flag was cleared
+          if (subscriber.buffer.isEmpty() || !subscriber.draining.compareAndSet(false, true)) {
+            return;
+          }
+          continue;
+        }
+        subscriber.emitter.send(toSse(event));
+      }
+    } catch (Exception e) {
+      logger.debug("Incident stream subscriber went away: {}", e.getMessage());
+      close(subscriber);
+    }
+  }
+
+  private void close(Subscriber subscriber) {
+    if (subscribers.remove(subscriber)) {
+      subscriber.buffer.clear();
+      try {
+        subscriber.emitter.complete();
+      } catch (Exception e) {
+        logger.debug("Failed to close incident stream subscriber: {}", e.getMessage());
+      }
+    }
+  }
+
+  private void watchIncidents() {
+    List<Bson> pipeline =
+        List.of(
+            Aggregates.match(
+                Filters.in("operationType", List.of("insert", "update", "replace", "delete"))),
+            Aggregates.project(
+                Projections.exclude(
+                    "fullDocument.slackOutbox",
+                    "fullDocument.slackOutboxDueAt",
+                    "fullDocument.slackOutboxLeaseUntil")));
+
+    BsonDocument resumeToken = null;
+    while (watching) {
+      ChangeStreamIterable<Document> stream =
+          mongoTemplate
+              .getCollection(mongoTemplate.getCollectionName(Incident.class))
+              .watch(pipeline)
+              .fullDocument(FullDocument.UPDATE_LOOKUP)
+              .maxAwaitTime(1, TimeUnit.SECONDS);
+      // Pick up where the previous stream stopped, so a dropped connection loses nothing
+      if (resumeToken != null) {
+        stream = stream.resumeAfter(resumeToken);
+      }
+      try (MongoChangeStreamCursor<ChangeStreamDocument<Document>> cursor = stream.cursor()) {
+        if (resumeToken == null) {
+          // Anything that changed before the stream opened
+          changesMissed();
+        }
+        while (watching) {
+          ChangeStreamDocument<Document> change = cursor.tryNext();
+          if (change != null) {
+            onChange(change);
+          }
+          if (cursor.getResumeToken() != null) {
+            resumeToken = cursor.getResumeToken();
+          }
+        }
+      } catch (Exception e) {
+        if (!watching) {
+          return;
+        }
+        if (resumeToken != null) {
+          // The token may be what failed (too old to resume from); start over without it
+          resumeToken = null;
+          reset();
+        }
+        changesMissed();
+        logger.warn(
+            "Incident change stream unavailable ({}), retrying in {} ms",
+            e.getMessage(),
+            retryIntervalMs);
+        try {
+          TimeUnit.MILLISECONDS.sleep(retryIntervalMs);
+        } catch (InterruptedException ie) {
+          Thread.currentThread().interrupt();
+          return;
+        }
+      }
+    }
+  }
+
+  void onChange(ChangeStreamDocument<Document> change) {
+    if (change.getOperationType() == OperationType.UPDATE && onlyOutbox(change)) {
+      return;
+    }
+    BsonValue key = change.getDocumentKey() != null ? change.getDocumentKey().get("_id") : null;
+    if (key == null || !key.isObjectId()) {
+      incidentChanged(null, null, null);
+      return;
+    }
+    String id = key.asObjectId().getValue().toHexString();
+    IncidentChangeEvent.IncidentChangeEventBuilder event =
+        IncidentChangeEvent.builder().operation(change.getOperationType().getValue()).id(id);
+    Document fullDocument = change.getFullDocument();
+    IncidentScope scope;
+    if (change.getOperationType() != OperationType.DELETE && fullDocument != null) {
+      Incident incident = mongoTemplate.getConverter().read(Incident.class, fullDocument);
+      incident.setId(id);
+      scope = new IncidentScope(incident);
+      scopes.put(id, scope);
+      incidentChanged(id, scope.identifier, incident);
+      scope.apply(event).incident(incident);
+    } else {
+      scope =
+          change.getOperationType() == OperationType.DELETE ? scopes.remove(id) : scopes.get(id);
+      incidentChanged(id, scope != null ? scope.identifier : null, null);
+      if (change.getOperationType() != OperationType.DELETE) {
+        // Deleted before the update could be looked up; the delete event follows
+        return;
+      }
+      if (scope != null) {
+        scope.apply(event);
+      }
+    }
+
+    BsonValue token = change.getResumeToken() != null ? change.getResumeToken().get("_data") : null;
+    if (token == null || !token.isString()) {
+      // Subscribers could neither resume from nor replay it
+      return;
+    }
+    publish(new FeedEvent(token.asString().getValue(), event.build(), scope != null));
+  }
+
+  /** True for updates that only touched the Slack outbox, which no reader of an incident uses. */
+  static boolean onlyOutbox(ChangeStreamDocument<Document> change) {
+    UpdateDescription description = change.getUpdateDescription();
+    if (description == null) {
+      return false;
+    }
+    if (description.getUpdatedFields() != null) {
+      for (String field : description.getUpdatedFields().keySet()) {
+        if (!field.startsWith(OUTBOX_PREFIX)) {
+          return false;
+        }
+      }
+    }
+    if (description.getRemovedFields() != null) {
+      for (String field : description.getRemovedFields()) {
+        if (!field.startsWith(OUTBOX_PREFIX)) {
+          return false;
+        }
+      }
+    }
+    return true;
+  }
+
+  private void incidentChanged(String id, String identifier, Incident incident) {
+    for (ChangeListener listener : listeners) {
+      try {
+        listener.incidentChanged(id, identifier, incident);
+      } catch (Exception e) {
+        logger.error("Incident change listener failed", e);
+      }
+    }
+  }
+
+  private void changesMissed() {
+    for (ChangeListener listener : listeners) {
+      try {
+        listener.changesMissed();
+      } catch (Exception e) {
+        logger.error("Incident change listener failed", e);
+      }
+    }
+  }
+
+  /** Told about the changes this feed receives, whether or not anyone subscribed to them. */
+  public interface ChangeListener {
+
+    /**
+     * An incident changed.
+     *
+     * @param id the incident's _id, or null when the change could not be tied to an incident
+     * @param identifier the incident's identifier, or null when it is not known
+     * @param incident the incident as written, shared with other listeners and not to be
+     *     modified; null when it was deleted
+     */
+    void incidentChanged(String id, String identifier, Incident incident);
+
+    /** Changes may have been missed while the stream was not open. */
+    void changesMissed();
+  }
+
+  private static final class IncidentScope {
+    private final String identifier;
+    private final String accountIdentifier;
+    private final String orgIdentifier;
+    private final String projectIdentifier;
+
+    private IncidentScope(Incident incident) {
+      this.identifier = incident.getIdentifier();
+      this.accountIdentifier = incident.getAccountIdentifier();
+      this.orgIdentifier = incident.getOrgIdentifier();
+      this.projectIdentifier = incident.getProjectIdentifier();
+    }
+
+    private IncidentChangeEvent.IncidentChangeEventBuilder apply(
+        IncidentChangeEvent.IncidentChangeEventBuilder event) {
+      return event
+          .identifier(identifier)
+          .accountIdentifier(accountIdentifier)
+          .orgIdentifier(orgIdentifier)
+          .projectIdentifier(projectIdentifier);
+    }
+  }
+
+  private static final class FeedEvent {
+    private final String token;
+    private final IncidentChangeEvent change;
+    // False for deletes of incidents whose scope was not remembered
+    private final boolean scoped;
+
+    private FeedEvent(String token, IncidentChangeEvent change, boolean scoped) {
+      this.token = token;
+      this.change = change;
+      this.scoped = scoped;
+    }
+  }
+
+  private static final class Subscriber {
+    private final SseEmitter emitter;
+    private final BlockingQueue<FeedEvent> buffer;
+    private final AtomicBoolean draining = new AtomicBoolean();
+    private final String accountIdentifier;
+    private final String orgIdentifier;
+    private final String projectIdentifier;
+    private final String incident;
+
+    private Subscriber(
+        SseEmitter emitter,
+        BlockingQueue<FeedEvent> buffer,
+        String accountIdentifier,
+        String orgIdentifier,
+        String projectIdentifier,
+        String incident) {
+      this.emitter = emitter;
+      this.buffer = buffer;
+      this.accountIdentifier = accountIdentifier;
+      this.orgIdentifier = orgIdentifier;
+      this.projectIdentifier = projectIdentifier;
+      this.incident = incident;
+    }
+
+    /** A delete whose scope is unknown only goes to subscribers that filter on no scope. */
+    private boolean matches(FeedEvent event) {
+      IncidentChangeEvent change = event.change;
+      if (incident != null
+          && !incident.equals(change.getId())
+          && !incident.equals(change.getIdentifier())) {
+        return false;
+      }
+      if (!event.scoped) {
+        return accountIdentifier == null && orgIdentifier == null && projectIdentifier == null;
+      }
+      return (accountIdentifier == null || accountIdentifier.equals(change.getAccountIdentifier()))
+          && (orgIdentifier == null || orgIdentifier.equals(change.getOrgIdentifier()))
+          && (projectIdentifier == null || projectIdentifier.equals(change.getProjectIdentifier()));
+    }
+  }
+}
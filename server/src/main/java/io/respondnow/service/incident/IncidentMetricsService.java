@@ -1,12 +1,15 @@
 package io.respondnow.service.incident;
 
+import io.micrometer.core.instrument.MeterRegistry;
 import io.respondnow.dto.incident.IncidentMetricsResponse;
 import io.respondnow.model.incident.Incident;
 import io.respondnow.repository.IncidentRepository;
+import io.respondnow.util.SingleFlight;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 
+import javax.annotation.PostConstruct;
 import java.time.Instant;
 import java.time.LocalDate;
 import java.time.ZoneId;
@@ -20,8 +23,23 @@ import java.util.stream.Collectors;
 public class IncidentMetricsService {
     
     private final IncidentRepository incidentRepository;
+    private final ActiveIncidentRegistry activeIncidents;
+    private final MeterRegistry meterRegistry;
+    
+    // Dashboards opened together during an outage share one calculation per window
+    private SingleFlight<Integer, IncidentMetricsResponse> calculations;
+    
+    @PostConstruct
+    public void init() {
+        calculations = new SingleFlight<>("incidents.metrics", meterRegistry);
+    }
     
     public IncidentMetricsResponse getIncidentMetrics(Integer daysBack) {
+        int window = daysBack != null && daysBack > 0 ? daysBack : 0;
+        return calculations.execute(window, () -> calculateIncidentMetrics(window));
+    }
+    
+    private IncidentMetricsResponse calculateIncidentMetrics(int daysBack) {
         log.info("Calculating incident metrics for last {} days", daysBack);
         
         List<Incident> allIncidents = incidentRepository.findAll();
@@ -29,7 +47,7 @@ public class IncidentMetricsService {
         
         // Filter incidents based on days back
         long cutoffTimestamp = 0;
-        if (daysBack != null && daysBack > 0) {
+        if (daysBack > 0) {
             long currentTimeMillis = System.currentTimeMillis();
             cutoffTimestamp = currentTimeMillis - (daysBack * 24L * 60 * 60 * 1000);
             log.info("Filtering incidents after timestamp: {} (current: {}, daysBack: {})", 
@@ -64,8 +82,11 @@ public class IncidentMetricsService {
         
         // Overall counts
         long totalIncidents = allIncidents.size();
-        long openIncidents = allIncidents.stream()
-                .filter(i -> "OPEN".equals(i.getStatus().toString()))
+        // Not resolved, from the registry the Slack views also use
+        long openCutoff = cutoffTimestamp;
+        long openIncidents = activeIncidents.list().stream()
+                .filter(i -> openCutoff == 0
+                        || (i.getCreatedAt() != null && toMillis(i.getCreatedAt()) >= openCutoff))
                 .count();
         long closedIncidents = allIncidents.stream()
                 .filter(i -> "CLOSED".equals(i.getStatus().toString()))
@@ -208,4 +229,9 @@ public class IncidentMetricsService {
                 .averageResolutionTimeMinutes(avgResolutionMinutes)
                 .build();
     }
+    
+    // createdAt is stored in seconds by some writers and milliseconds by others
+    private static long toMillis(long timestamp) {
+        return timestamp < 4102444800L ? timestamp * 1000 : timestamp;
+    }
 }
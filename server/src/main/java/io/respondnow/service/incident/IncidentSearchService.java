@@ -0,0 +1,270 @@
+package io.respondnow.service.incident;
+
+import io.respondnow.dto.incident.IncidentSearchHit;
+import io.respondnow.model.incident.Incident;
+import io.respondnow.model.incident.Timeline;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import javax.annotation.PostConstruct;
+import org.bson.Document;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.TextIndexDefinition;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.TextCriteria;
+import org.springframework.data.mongodb.core.query.TextQuery;
+import org.springframework.stereotype.Service;
+
+/**
+ * Full-text search over incidents, backed by a MongoDB text index on name, tags, summary,
+ * description, comments and timeline messages (weighted in that order), so a search reads the
+ * index instead of scanning the collection.
+ *
+ * Search strings are parsed rather than passed through: words, {@code "quoted phrases"} and
+ * {@code -excluded} words are kept, anything else is dropped, and the length and number of terms
+ * are capped. Matches are ranked by text score; {@link #find} adds highlighted excerpts.
+ */
+@Service
+public class IncidentSearchService {
+
+  private static final Logger logger = LoggerFactory.getLogger(IncidentSearchService.class);
+
+  private static final String INDEX_NAME = "incident_search";
+  private static final String SCORE_FIELD = "score";
+
+  private static final int MAX_SEARCH_LENGTH = 256;
+  private static final int MAX_TERMS = 16;
+  private static final int MAX_EXCERPTS_PER_FIELD = 3;
+  private static final int EXCERPT_CONTEXT = 60;
+
+  // A phrase or a word, either optionally negated with a leading '-'
+  private static final Pattern TOKEN = Pattern.compile("(-?)\"([^\"]*)\"?|(-?)([^\\s\"]+)");
+  private static final Pattern NOT_WORD = Pattern.compile("[^\\p{L}\\p{N}_]+");
+
+  private final MongoTemplate mongoTemplate;
+
+  public IncidentSearchService(MongoTemplate mongoTemplate) {
+    this.mongoTemplate = mongoTemplate;
+  }
+
+  @PostConstruct
+  public void ensureIndex() {
+    try {
+      mongoTemplate
+          .indexOps(Incident.class)
+          .ensureIndex(
+              TextIndexDefinition.builder()
+                  .named(INDEX_NAME)
+                  .onField("name", 10F)
+                  .onField("tags", 5F)
+                  .onField("summary", 3F)
+                  .onField("description", 2F)
+                  .onField("comment")
+                  .onField("timelines.message")
+                  .build());
+    } catch (Exception e) {
+      logger.error("Failed to create incidents text index {}", INDEX_NAME, e);
+    }
+  }
+
+  /**
+   * A query for incidents matching {@code search} and {@code filters}, most relevant first, or
+   * null when the search has nothing to look for (no words, or only excluded ones).
+   */
+  public Query query(String search, Criteria filters) {
+    ParsedSearch parsed = parse(search);
+    if (parsed == null) {
+      return null;
+    }
+    Query query = TextQuery.queryText(parsed.criteria).sortByScore();
+    if (filters != null) {
+      query.addCriteria(filters);
+    }
+    return query;
+  }
+
+  /** Run a query from {@link #query} for {@code search}, with scores and excerpts. */
+  public List<IncidentSearchHit> find(String search, Query query) {
+    ParsedSearch parsed = parse(search);
+    String collection = mongoTemplate.getCollectionName(Incident.class);
+    List<IncidentSearchHit> hits = new ArrayList<>();
+    for (Document document : mongoTemplate.find(query, Document.class, collection)) {
+      Incident incident = mongoTemplate.getConverter().read(Incident.class, document);
+      Object score = document.get(SCORE_FIELD);
+      hits.add(
+          IncidentSearchHit.builder()
+              .incident(incident)
+              .score(score instanceof Number ? ((Number) score).doubleValue() : null)
+              .highlights(parsed != null ? highlight(incident, parsed.highlight) : null)
+              .build());
+    }
+    return hits;
+  }
+
+  private static ParsedSearch parse(String search) {
+    if (search == null || search.isBlank()) {
+      return null;
+    }
+    String input =
+        search.length() > MAX_SEARCH_LENGTH ? search.substring(0, MAX_SEARCH_LENGTH) : search;
+
+    TextCriteria criteria = TextCriteria.forDefaultLanguage();
+    Set<String> matched = new LinkedHashSet<>();
+    int terms = 0;
+    Matcher token = TOKEN.matcher(input);
+    while (token.find() && terms < MAX_TERMS) {
+      boolean phrase = token.group(2) != null;
+      boolean negated = !(phrase ? token.group(1) : token.group(3)).isEmpty();
+      String text =
+          NOT_WORD.matcher(phrase ? token.group(2) : token.group(4)).replaceAll(" ").trim();
+      if (text.isEmpty()) {
+        continue;
+      }
+      List<String> words = List.of(text.split(" +"));
+      if (phrase && words.size() > 1) {
+        terms++;
+        if (negated) {
+          criteria.notMatchingPhrase(text);
+        } else {
+          criteria.matchingPhrase(text);
+          matched.addAll(words);
+        }
+        continue;
+      }
+      for (String word : words) {
+        if (terms++ >= MAX_TERMS) {
+          break;
+        }
+        if (negated) {
+          criteria.notMatching(word);
+        } else {
+          criteria.matching(word);
+          matched.add(word);
+        }
+      }
+    }
+    // $text needs at least one term to match; exclusions alone select nothing
+    if (matched.isEmpty()) {
+      return null;
+    }
+    Pattern highlight =
+        Pattern.compile(
+            matched.stream().map(Pattern::quote).collect(Collectors.joining("|")),
+            Pattern.CASE_INSENSITIVE | Pattern.UNICODE_CASE);
+    return new ParsedSearch(criteria, highlight);
+  }
+
+  /**
+   * Excerpts around literal occurrences of the search words, per field. Words the index matched
+   * only through stemming ("failing" for "failed") are not marked.
+   */
+  private static Map<String, List<String>> highlight(Incident incident, Pattern words) {
+    Map<String, List<String>> highlights = new LinkedHashMap<>();
+    excerpts(highlights, "name", List.of(nullToEmpty(incident.getName())), words);
+    excerpts(highlights, "tags", incident.getTags(), words);
+    excerpts(highlights, "summary", List.of(nullToEmpty(incident.getSummary())), words);
+    excerpts(highlights, "description", List.of(nullToEmpty(incident.getDescription())), words);
+    excerpts(highlights, "comment", incident.getComment(), words);
+    if (incident.getTimelines() != null) {
+      List<String> messages = new ArrayList<>();
+      for (Timeline timeline : incident.getTimelines()) {
+        if (timeline != null && timeline.getMessage() != null) {
+          messages.add(timeline.getMessage());
+        }
+      }
+      excerpts(highlights, "timelines.message", messages, words);
+    }
+    return highlights;
+  }
+
+  private static void excerpts(
+      Map<String, List<String>> highlights, String field, List<String> values, Pattern words) {
+    if (values == null) {
+      return;
+    }
+    List<String> excerpts = new ArrayList<>();
+    for (String value : values) {
+      if (value == null) {
+        continue;
+      }
+      Matcher match = words.matcher(value);
+      if (!match.find()) {
+        continue;
+      }
+      int start = Math.max(0, match.start() - EXCERPT_CONTEXT);
+      int end = Math.min(value.length(), match.end() + 2 * EXCERPT_CONTEXT);
+      excerpts.add(
+          (start > 0 ? "…" : "")
+              + mark(value.substring(start, end), words)
+              + (end < value.length() ? "…" : ""));
+      if (excerpts.size() >= MAX_EXCERPTS_PER_FIELD) {
+        break;
+      }
+    }
+    if (!excerpts.isEmpty()) {
+      highlights.put(field, excerpts);
+    }
+  }
+
+  private static String mark(String text, Pattern words) {
+    StringBuilder marked = new StringBuilder();
+    Matcher match = words.matcher(text);
+    int last = 0;
+    while (match.find()) {
+      marked.append(escape(text.substring(last, match.start())));
+      marked.append("<mark>").append(escape(match.group())).append("</mark>");
+      last = match.end();
+    }
+    return marked.append(escape(text.substring(last))).toString();
+  }
+
+  private static String escape(String text) {
+    StringBuilder escaped = new StringBuilder(text.length());
+    for (int i = 0; i < text.length(); i++) {
+      char c = text.charAt(i);
+      switch (c) {
+        case '&':
+          escaped.append("&amp;");
+          break;
+        case '<':
+          escaped.append("&lt;");
+          break;
+        case '>':
+          escaped.append("&gt;");
+          break;
+        case '"':
+          escaped.append("&quot;");
+          break;
+        case '\'':
+          escaped.append("&#39;");
+          break;
+        default:
+          escaped.append(c);
+      }
+    }
+    return escaped.toString();
+  }
+
+  private static String nullToEmpty(String value) {
+    return value != null ? value : "";
+  }
+
+  private static final class ParsedSearch {
+    private final TextCriteria criteria;
+    private final Pattern highlight;
+
+    private ParsedSearch(TextCriteria criteria, Pattern highlight) {
+      this.criteria = criteria;
+      this.highlight = highlight;
+    }
+  }
+}
@@ -21,6 +21,8 @@ public interface IncidentService {
 
   Incident updateIncidentById(String id, Incident incident);
 
+  void recordSlackCard(String id, String messageTs);
+
   Incident updateIncidentRoles(
       String incidentID, List<Role> roleUserDetails, UserDetails currentUser) throws Exception;
 
@@ -1,5 +1,6 @@
 package io.respondnow.service.incident;
 
+import io.micrometer.core.instrument.MeterRegistry;
 import io.respondnow.dto.incident.CreateRequest;
 import io.respondnow.exception.IncidentNotFoundException;
 import io.respondnow.exception.InvalidIncidentException;
@@ -7,16 +8,19 @@ import io.respondnow.exception.RoleUpdateException;
 import io.respondnow.model.incident.*;
 import io.respondnow.model.user.UserDetails;
 import io.respondnow.repository.IncidentRepository;
+import io.respondnow.util.SingleFlight;
 import java.time.Instant;
 import java.util.*;
 import java.util.function.Function;
 import java.util.stream.Collectors;
+import javax.annotation.PostConstruct;
 import org.bson.types.ObjectId;
 import org.jetbrains.annotations.NotNull;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
 import org.springframework.data.mongodb.core.MongoTemplate;
 import org.springframework.data.mongodb.core.query.Criteria;
 import org.springframework.data.mongodb.core.query.Query;
@@ -30,6 +34,12 @@ public class IncidentServiceImpl implements IncidentService {
   private static final Logger logger = LoggerFactory.getLogger(IncidentServiceImpl.class);
   @Autowired private IncidentRepository incidentRepository;
   @Autowired private MongoTemplate mongoTemplate;
+  @Autowired private ActiveIncidentRegistry activeIncidents;
+  @Autowired private IncidentCache incidentCache;
+  @Autowired private MeterRegistry meterRegistry;
+
+  // Identical list and export counts issued together share one count
+  private SingleFlight<String, Long> counts;
 
   @Value("${hierarchy.defaultAccount.id:default_account_id}")
   private String defaultAccountId;
@@ -40,6 +50,11 @@ public class IncidentServiceImpl implements IncidentService {
   @Value("${hierarchy.defaultProject.id:default_project_id}")
   private String defaultProjectId;
 
+  @PostConstruct
+  public void init() {
+    counts = new SingleFlight<>("incidents.count", meterRegistry);
+  }
+
   @NotNull
   private static Timeline getTimeline(
       CreateRequest request, UserDetails currentUser, long createdAt) {
@@ -132,7 +147,10 @@ public class IncidentServiceImpl implements IncidentService {
     }
 
     // Save and return the new Incident
-    return incidentRepository.save(newIncident);
+    Incident saved = incidentRepository.save(newIncident);
+    activeIncidents.apply(saved);
+    incidentCache.invalidate(saved.getIdentifier());
+    return saved;
   }
 
   public Incident updateSummary(String incidentID, String newSummary, UserDetails currentUser)
@@ -173,7 +191,11 @@ public class IncidentServiceImpl implements IncidentService {
     incident.setDescription(newSummary);
 
     // Step 5: Update the incident in the database
-    Incident updated = updateIncidentById(incident.getId(), incident);
+    Incident updated =
+        updateIncident(
+            incident.getId(),
+            incident,
+            slackNotification(incident, currentUser, ChangeType.Summary, newSummary, null));
     if (updated == null) {
       throw new Exception("Failed to update incident summary.");
     }
@@ -296,7 +318,10 @@ public class IncidentServiceImpl implements IncidentService {
 
     incident.addTimeline(timeline);
     incident.setRoles(existingRoles);
-    return incidentRepository.save(incident);
+    return updateIncident(
+        incident.getId(),
+        incident,
+        slackNotification(incident, currentUser, ChangeType.Roles, null, newRoleAssignments));
   }
 
   public Incident updateIncidentSeverity(
@@ -336,7 +361,11 @@ public class IncidentServiceImpl implements IncidentService {
     incident.setSeverity(newSeverity);
 
     // Step 5: Update the incident in the database
-    Incident updated = updateIncidentById(incident.getId(), incident);
+    Incident updated =
+        updateIncident(
+            incident.getId(),
+            incident,
+            slackNotification(incident, currentUser, ChangeType.Severity, newSeverity.toString(), null));
     if (updated == null) {
       throw new Exception("Failed to update incident summary.");
     }
@@ -385,7 +414,11 @@ public class IncidentServiceImpl implements IncidentService {
     incident.setComment(comments);
 
     // Step 5: Update the incident in the database
-    Incident updated = updateIncidentById(incident.getId(), incident);
+    Incident updated =
+        updateIncident(
+            incident.getId(),
+            incident,
+            slackNotification(incident, currentUser, ChangeType.Comment, comment, null));
     if (updated == null) {
       throw new Exception("Failed to add a new incident comment.");
     }
@@ -428,7 +461,11 @@ public class IncidentServiceImpl implements IncidentService {
     incident.setStatus(newStatus);
 
     // Step 5: Update the incident in the database
-    Incident updated = updateIncidentById(incident.getId(), incident);
+    Incident updated =
+        updateIncident(
+            incident.getId(),
+            incident,
+            slackNotification(incident, currentUser, ChangeType.Status, newStatus.toString(), null));
     if (updated == null) {
       throw new Exception("Failed to update incident summary.");
     }
@@ -442,10 +479,12 @@ public class IncidentServiceImpl implements IncidentService {
         .orElseThrow(() -> new InvalidIncidentException("Incident not found for ID: " + id));
   }
 
+  /**
+   * Served from {@link IncidentCache}. Read-modify-write paths load through the repository
+   * instead, so they never start from a copy that another instance has since changed.
+   */
   public Incident getIncidentByIdentifier(String identifier) {
-    Criteria criteria = Criteria.where("identifier").is(identifier);
-    Query query = new Query(criteria);
-    return mongoTemplate.findOne(query, Incident.class);
+    return incidentCache.get(identifier);
   }
 
   public List<Incident> getIncidentsByIds(List<String> ids) {
@@ -461,12 +500,26 @@ public class IncidentServiceImpl implements IncidentService {
     return mongoTemplate.find(query, Incident.class);
   }
 
+  /**
+   * Keyed by the query's filter, which carries the caller's scope, plus the skip and limit the
+   * count honours.
+   */
   public long countIncidents(Query query) {
-    return mongoTemplate.count(query, Incident.class);
+    String key = query.getQueryObject() + "|" + query.getSkip() + "|" + query.getLimit();
+    return counts.execute(key, () -> mongoTemplate.count(query, Incident.class));
   }
 
   @Transactional
   public Incident updateIncidentById(String id, Incident incident) {
+    return updateIncident(id, incident, null);
+  }
+
+  /**
+   * Writes the mutable fields of {@code incident}. A Slack confirmation, when given, is pushed
+   * onto the incident's outbox in the same update, so it is recorded if and only if the change
+   * is.
+   */
+  private Incident updateIncident(String id, Incident incident, SlackNotification notification) {
     validateIncident(incident);
     long now = Instant.now().getEpochSecond();
     incident.setUpdatedAt(now);
@@ -493,10 +546,53 @@ public class IncidentServiceImpl implements IncidentService {
             .set("attachments", incident.getAttachments())
             .set("updatedAt", now)
             .set("updatedBy", incident.getUpdatedBy());
+    if (notification != null) {
+      update.push("slackOutbox", notification).min("slackOutboxDueAt", notification.getCreatedAt());
+    }
 
     mongoTemplate.updateFirst(query, update, Incident.class);
 
-    return getIncidentById(id);
+    Incident updated = getIncidentById(id);
+    activeIncidents.apply(updated);
+    incidentCache.invalidate(updated.getIdentifier());
+    return updated;
+  }
+
+  /** Remember the pinned incident card so later changes can refresh it in place. */
+  public void recordSlackCard(String id, String messageTs) {
+    Query query = new Query(Criteria.where("_id").is(new ObjectId(id)));
+    query.fields().include("identifier");
+    Incident incident =
+        mongoTemplate.findAndModify(
+            query, new Update().set("slackCardTs", messageTs), Incident.class);
+    if (incident != null) {
+      incidentCache.invalidate(incident.getIdentifier());
+    }
+  }
+
+  /**
+   * Confirmation to post in the incident's Slack channel. Only changes made from Slack get one,
+   * matching the messages the Slack handlers have always sent.
+   */
+  private static SlackNotification slackNotification(
+      Incident incident, UserDetails currentUser, ChangeType type, String value, List<Role> roles) {
+    if (currentUser == null
+        || currentUser.getSource() != ChannelSource.Slack
+        || incident.getChannels() == null
+        || incident.getChannels().isEmpty()) {
+      return null;
+    }
+    long now = System.currentTimeMillis();
+    return SlackNotification.builder()
+        .notificationId(UUID.randomUUID().toString())
+        .type(type)
+        .channelId(incident.getChannels().get(0).getId())
+        .actorUserId(currentUser.getUserId())
+        .value(value)
+        .roles(roles)
+        .createdAt(now)
+        .attempts(0)
+        .build();
   }
 
   @Transactional
@@ -540,7 +636,9 @@ public class IncidentServiceImpl implements IncidentService {
           mongoTemplate.updateFirst(query, update, Incident.class);
         });
 
-    incidentRepository.saveAll(createList);
+    incidentRepository.saveAll(createList).forEach(activeIncidents::apply);
+    updateList.forEach(activeIncidents::apply);
+    updateList.forEach(incident -> incidentCache.invalidate(incident.getIdentifier()));
   }
 
   public void validateIncident(Incident incident) {
@@ -597,24 +695,9 @@ public class IncidentServiceImpl implements IncidentService {
 
   @Transactional
   public Incident deleteIncident(String incidentID, UserDetails currentUser) throws Exception {
-    // Step 1: Retrieve the existing incident by its ID
-    Optional<Incident> existingIncident = incidentRepository.findByIdentifier(incidentID);
-    if (existingIncident.isEmpty()) {
-      throw new IncidentNotFoundException("Incident not found with ID: " + incidentID);
-    }
-
-    Incident incident = existingIncident.get();
-
     // Get the current timestamp (in Unix time)
     long ts = Instant.now().getEpochSecond();
 
-    // Update the audit details with the current user and timestamp
-    incident.setUpdatedBy(currentUser);
-    incident.setUpdatedAt(ts);
-    incident.setRemoved(true);
-    incident.setRemovedAt(ts);
-    incident.setActive(false);
-
     // Create a new timeline entry for the deletion
     Timeline timeline = new Timeline();
     timeline.setId(String.valueOf(ts));
@@ -626,9 +709,28 @@ public class IncidentServiceImpl implements IncidentService {
     timeline.setCurrentState("deleted");
     timeline.setMessage("Incident deleted");
 
-    incident.addTimeline(timeline);
+    // Soft delete in place, leaving the Slack outbox and card fields a full save would drop
+    Update update =
+        new Update()
+            .set("updatedBy", currentUser)
+            .set("updatedAt", ts)
+            .set("removed", true)
+            .set("removedAt", ts)
+            .set("active", false)
+            .push("timelines", timeline);
+    Incident deleted =
+        mongoTemplate.findAndModify(
+            new Query(Criteria.where("identifier").is(incidentID)),
+            update,
+            FindAndModifyOptions.options().returnNew(true),
+            Incident.class);
+    if (deleted == null) {
+      throw new IncidentNotFoundException("Incident not found with ID: " + incidentID);
+    }
 
-    return incidentRepository.save(incident);
+    activeIncidents.apply(deleted);
+    incidentCache.invalidate(deleted.getIdentifier());
+    return deleted;
   }
 
   @Transactional
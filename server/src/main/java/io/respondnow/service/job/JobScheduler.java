@@ -0,0 +1,534 @@
+package io.respondnow.service.job;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.respondnow.model.job.JobDefinition;
+import io.respondnow.model.job.JobRun;
+import io.respondnow.model.job.JobStatus;
+import io.respondnow.service.cluster.LeaderElection;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.Index;
+import org.springframework.data.mongodb.core.index.PartialIndexFilter;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.scheduling.support.CronExpression;
+import org.springframework.stereotype.Service;
+
+import javax.annotation.PreDestroy;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Runs {@link ScheduledJob} beans on a cron or fixed-delay schedule, sharing the work between
+ * every instance through MongoDB.
+ *
+ * <ul>
+ *   <li>{@code job_definitions} holds each job's trigger and next run time. Every instance
+ *       checks for due jobs each {@code jobs.pollIntervalMs}; the one that advances
+ *       {@code nextRunAt} creates the run. A job never has two runs in progress; a run that is
+ *       still going when the next one is due makes the scheduler skip that one.
+ *   <li>{@code job_runs} holds each run and its partitions. Instances claim pending partitions
+ *       with a lease of {@code jobs.leaseMs}, renewed while they work, so a partition left by a
+ *       crashed instance is picked up again once its lease runs out. An instance that finds it
+ *       lost a claim when renewing interrupts the worker running it. A job's
+ *       {@code maxConcurrency} caps the partitions claimed at once across the cluster, and
+ *       {@code jobs.workerThreads} caps them per instance.
+ *   <li>A failed partition is retried until it has been attempted {@code jobs.maxAttempts}
+ *       times. The run fails if any partition does. Finished runs are kept for
+ *       {@code jobs.historyTtlDays} and listed by the {@code jobs} actuator endpoint.
+ * </ul>
+ */
+@Service
+@Slf4j
+public class JobScheduler {
+
+    private static final String TRIGGER_SCHEDULE = "schedule";
+    private static final String TRIGGER_MANUAL = "manual";
+
+    private final MongoTemplate mongoTemplate;
+    private final MeterRegistry meterRegistry;
+    private final String instanceId;
+    private final Map<String, ScheduledJob> jobs = new LinkedHashMap<>();
+    // Partitions this instance is working on, by "runId:index"
+    private final Map<String, Claim> inFlight = new ConcurrentHashMap<>();
+
+    @Value("${jobs.pollIntervalMs:5000}")
+    private long pollIntervalMs;
+
+    @Value("${jobs.leaseMs:60000}")
+    private long leaseMs;
+
+    @Value("${jobs.workerThreads:4}")
+    private int workerThreads;
+
+    @Value("${jobs.maxAttempts:3}")
+    private int maxAttempts;
+
+    @Value("${jobs.historyTtlDays:14}")
+    private int historyTtlDays;
+
+    private ScheduledExecutorService scheduler;
+    private ExecutorService workers;
+    private Semaphore freeWorkers;
+
+    public JobScheduler(MongoTemplate mongoTemplate, MeterRegistry meterRegistry,
+                        LeaderElection leaderElection, ObjectProvider<ScheduledJob> scheduledJobs) {
+        this.mongoTemplate = mongoTemplate;
+        this.meterRegistry = meterRegistry;
+        this.instanceId = leaderElection.getInstanceId();
+        scheduledJobs.orderedStream().forEach(job -> {
+            if (jobs.putIfAbsent(job.getName(), job) != null) {
+                throw new IllegalStateException("Duplicate job name: " + job.getName());
+            }
+        });
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        try {
+            mongoTemplate.indexOps(JobRun.class)
+                    .ensureIndex(new Index().on("expireAt", Sort.Direction.ASC)
+                            .expire(Duration.ZERO).named("expireAt_ttl"));
+            mongoTemplate.indexOps(JobRun.class)
+                    .ensureIndex(new Index().on("jobName", Sort.Direction.ASC)
+                            .on("createdAt", Sort.Direction.DESC).named("jobName_createdAt"));
+            // At most one run in progress per job, whichever instance or trigger starts it
+            mongoTemplate.indexOps(JobRun.class)
+                    .ensureIndex(new Index().on("jobName", Sort.Direction.ASC).unique()
+                            .partial(PartialIndexFilter.of(Criteria.where("status").is(JobStatus.RUNNING.name())))
+                            .named("jobName_running"));
+        } catch (Exception e) {
+            log.error("Failed to ensure job_runs indexes", e);
+        }
+
+        long now = System.currentTimeMillis();
+        for (ScheduledJob job : jobs.values()) {
+            try {
+                registerDefinition(job, now);
+            } catch (Exception e) {
+                log.error("Failed to register job {}", job.getName(), e);
+            }
+        }
+
+        AtomicInteger workerNumber = new AtomicInteger();
+        workers = Executors.newFixedThreadPool(workerThreads, runnable -> {
+            Thread thread = new Thread(runnable, "job-worker-" + workerNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        freeWorkers = new Semaphore(workerThreads);
+        scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "job-scheduler");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.scheduleWithFixedDelay(this::poll, 0, pollIntervalMs, TimeUnit.MILLISECONDS);
+        long renewEvery = Math.max(1000, leaseMs / 3);
+        scheduler.scheduleWithFixedDelay(this::renewLeases, renewEvery, renewEvery, TimeUnit.MILLISECONDS);
+        log.info("Job scheduler started with {} job(s): {}", jobs.size(), jobs.keySet());
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+        }
+        if (workers != null) {
+            // Interrupted partitions are picked up again once their lease expires
+            workers.shutdownNow();
+        }
+    }
+
+    public List<String> getJobNames() {
+        return new ArrayList<>(jobs.keySet());
+    }
+
+    public JobDefinition getDefinition(String name) {
+        return mongoTemplate.findById(name, JobDefinition.class);
+    }
+
+    /** The most recent runs of a job, newest first. */
+    public List<JobRun> getRecentRuns(String name, int limit) {
+        Query query = Query.query(Criteria.where("jobName").is(name))
+                .with(Sort.by(Sort.Direction.DESC, "createdAt"))
+                .limit(limit);
+        return mongoTemplate.find(query, JobRun.class);
+    }
+
+    /**
+     * Start a run now, outside the schedule.
+     *
+     * @return the new run, or null when the job is unknown or already running
+     */
+    public JobRun trigger(String name) {
+        ScheduledJob job = jobs.get(name);
+        if (job == null) {
+            return null;
+        }
+        return createRun(job, TRIGGER_MANUAL, System.currentTimeMillis());
+    }
+
+    private void registerDefinition(ScheduledJob job, long now) {
+        if (job.getCron() != null) {
+            // Fail at startup rather than on the first pass
+            CronExpression.parse(job.getCron());
+        } else if (job.getFixedDelayMs() <= 0) {
+            throw new IllegalArgumentException("Job " + job.getName() + " needs a cron or a fixed delay");
+        }
+        Update update = new Update()
+                .set("cron", job.getCron())
+                .set("fixedDelayMs", job.getCron() == null ? job.getFixedDelayMs() : null)
+                .set("partitions", job.getPartitions())
+                .set("maxConcurrency", job.getMaxConcurrency())
+                .set("updatedAt", now)
+                .setOnInsert("enabled", true)
+                .setOnInsert("nextRunAt", nextRunAt(job, now));
+        mongoTemplate.upsert(Query.query(Criteria.where("_id").is(job.getName())), update, JobDefinition.class);
+    }
+
+    private static long nextRunAt(ScheduledJob job, long after) {
+        if (job.getCron() == null) {
+            return after + job.getFixedDelayMs();
+        }
+        ZonedDateTime next = CronExpression.parse(job.getCron())
+                .next(ZonedDateTime.ofInstant(Instant.ofEpochMilli(after), ZoneId.systemDefault()));
+        return next != null ? next.toInstant().toEpochMilli() : Long.MAX_VALUE;
+    }
+
+    void poll() {
+        try {
+            long now = System.currentTimeMillis();
+            for (ScheduledJob job : jobs.values()) {
+                startIfDue(job, now);
+            }
+            finishCompletedRuns();
+            claimPartitions();
+        } catch (Exception e) {
+            log.error("Job scheduler pass failed", e);
+        }
+    }
+
+    private void startIfDue(ScheduledJob job, long now) {
+        Query due = Query.query(Criteria.where("_id").is(job.getName())
+                .and("enabled").is(true)
+                .and("nextRunAt").lte(now));
+        // Only the instance that moves nextRunAt starts the run. A fixed-delay job gets a
+        // provisional time here, replaced when the run finishes
+        JobDefinition definition = mongoTemplate.findAndModify(due,
+                new Update().set("nextRunAt", nextRunAt(job, now)), JobDefinition.class);
+        if (definition != null) {
+            createRun(job, TRIGGER_SCHEDULE, now);
+        }
+    }
+
+    private JobRun createRun(ScheduledJob job, String trigger, long now) {
+        List<JobRun.Partition> partitions = new ArrayList<>(job.getPartitions());
+        for (int i = 0; i < job.getPartitions(); i++) {
+            partitions.add(JobRun.Partition.builder()
+                    .index(i)
+                    .status(JobStatus.PENDING)
+                    .attempts(0)
+                    .build());
+        }
+        JobRun run = JobRun.builder()
+                .id(UUID.randomUUID().toString())
+                .jobName(job.getName())
+                .trigger(trigger)
+                .status(JobStatus.RUNNING)
+                .partitionCount(job.getPartitions())
+                .runningCount(0)
+                .succeededCount(0)
+                .failedCount(0)
+                .processed(0L)
+                .partitions(partitions)
+                .createdAt(now)
+                .build();
+        try {
+            mongoTemplate.insert(run);
+        } catch (DuplicateKeyException e) {
+            log.info("Job {} is still running, skipping {} run", job.getName(), trigger);
+            return null;
+        }
+        log.info("Started {} run {} of job {} with {} partition(s)", trigger, run.getId(), job.getName(),
+                job.getPartitions());
+        return run;
+    }
+
+    /**
+     * Finish runs whose partitions are all done but that are still RUNNING, because the instance
+     * that completed the last partition stopped or failed before finishing the run. Until then
+     * the run blocks every later one of its job.
+     */
+    private void finishCompletedRuns() {
+        Query active = Query.query(Criteria.where("status").is(JobStatus.RUNNING)
+                .and("jobName").in(jobs.keySet()));
+        active.fields().include("_id").include("jobName").include("partitionCount").include("succeededCount")
+                .include("failedCount");
+        for (JobRun run : mongoTemplate.find(active, JobRun.class)) {
+            if (run.getSucceededCount() + run.getFailedCount() >= run.getPartitionCount()) {
+                log.info("Finishing job {} run {} left running after its last partition", run.getJobName(),
+                        run.getId());
+                finish(jobs.get(run.getJobName()), run);
+            }
+        }
+    }
+
+    private void claimPartitions() {
+        Query active = Query.query(Criteria.where("status").is(JobStatus.RUNNING)
+                .and("jobName").in(jobs.keySet()));
+        active.fields().include("_id").include("jobName").include("partitionCount");
+        for (JobRun run : mongoTemplate.find(active, JobRun.class)) {
+            ScheduledJob job = jobs.get(run.getJobName());
+            while (freeWorkers.tryAcquire()) {
+                Claim claim;
+                try {
+                    claim = claim(run, job);
+                } catch (RuntimeException e) {
+                    freeWorkers.release();
+                    throw e;
+                }
+                if (claim == null) {
+                    freeWorkers.release();
+                    break;
+                }
+                inFlight.put(claim.key(), claim);
+                claim.worker = workers.submit(() -> execute(job, claim));
+            }
+        }
+    }
+
+    /**
+     * Claim a partition of the run: first one whose lease has expired, which keeps its slot
+     * against the concurrency limit, otherwise a pending one if the limit allows.
+     */
+    private Claim claim(JobRun run, ScheduledJob job) {
+        long now = System.currentTimeMillis();
+        String token = UUID.randomUUID().toString();
+        Update claimed = new Update()
+                .set("partitions.$.owner", instanceId)
+                .set("partitions.$.claimToken", token)
+                .set("partitions.$.leaseUntil", now + leaseMs)
+                .set("partitions.$.startedAt", now)
+                .inc("partitions.$.attempts", 1);
+        FindAndModifyOptions returnNew = FindAndModifyOptions.options().returnNew(true);
+
+        JobRun updated = mongoTemplate.findAndModify(
+                Query.query(Criteria.where("_id").is(run.getId()).and("status").is(JobStatus.RUNNING)
+                        .and("partitions").elemMatch(Criteria.where("status").is(JobStatus.RUNNING)
+                                .and("leaseUntil").lt(now))),
+                claimed, returnNew, JobRun.class);
+        if (updated == null) {
+            updated = mongoTemplate.findAndModify(
+                    Query.query(Criteria.where("_id").is(run.getId()).and("status").is(JobStatus.RUNNING)
+                            .and("runningCount").lt(job.getMaxConcurrency())
+                            .and("partitions").elemMatch(Criteria.where("status").is(JobStatus.PENDING))),
+                    claimed.set("partitions.$.status", JobStatus.RUNNING).inc("runningCount", 1),
+                    returnNew, JobRun.class);
+        }
+        if (updated == null) {
+            return null;
+        }
+        for (JobRun.Partition partition : updated.getPartitions()) {
+            if (token.equals(partition.getClaimToken())) {
+                return new Claim(updated.getId(), updated.getPartitionCount(), partition.getIndex(),
+                        partition.getAttempts(), token);
+            }
+        }
+        return null;
+    }
+
+    private void execute(ScheduledJob job, Claim claim) {
+        if (!claim.started.compareAndSet(false, true)) {
+            // Cancelled before it started; renewLeases already released it
+            return;
+        }
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String outcome = "failed";
+        try {
+            if (claim.attempts > maxAttempts) {
+                // Abandoned by instances that stopped while running it
+                complete(job, claim, JobStatus.FAILED, 0,
+                        "Lease expired after " + (claim.attempts - 1) + " attempt(s)");
+                return;
+            }
+            long processed = job.run(claim.partition, claim.partitions);
+            outcome = "succeeded";
+            complete(job, claim, JobStatus.SUCCEEDED, processed, null);
+        } catch (Exception e) {
+            if (claim.lost) {
+                log.info("Job {} partition {} of run {} stopped after its claim was lost", job.getName(),
+                        claim.partition, claim.runId);
+                return;
+            }
+            log.warn("Job {} partition {}/{} failed (attempt {}): {}", job.getName(), claim.partition,
+                    claim.partitions, claim.attempts, e.getMessage(), e);
+            try {
+                complete(job, claim, claim.attempts >= maxAttempts ? JobStatus.FAILED : JobStatus.PENDING, 0,
+                        e.getMessage());
+            } catch (Exception completeError) {
+                log.error("Failed to record job {} partition {} failure", job.getName(), claim.partition,
+                        completeError);
+            }
+        } finally {
+            sample.stop(Timer.builder("jobs.partition.duration")
+                    .tag("job", job.getName())
+                    .tag("outcome", outcome)
+                    .register(meterRegistry));
+            release(claim);
+        }
+    }
+
+    private void release(Claim claim) {
+        inFlight.remove(claim.key(), claim);
+        freeWorkers.release();
+    }
+
+    /**
+     * Record a partition's outcome, provided this instance still holds its claim. PENDING puts
+     * it back for another attempt.
+     */
+    private void complete(ScheduledJob job, Claim claim, JobStatus status, long processed, String error) {
+        Update update = new Update()
+                .set("partitions.$.status", status)
+                .set("partitions.$.error", error)
+                .unset("partitions.$.leaseUntil")
+                .inc("runningCount", -1);
+        if (status == JobStatus.PENDING) {
+            update.unset("partitions.$.owner").unset("partitions.$.claimToken");
+        } else {
+            update.set("partitions.$.processed", processed)
+                    .set("partitions.$.finishedAt", System.currentTimeMillis())
+                    .inc(status == JobStatus.SUCCEEDED ? "succeededCount" : "failedCount", 1)
+                    .inc("processed", processed);
+        }
+        JobRun updated = mongoTemplate.findAndModify(ownPartition(claim), update,
+                FindAndModifyOptions.options().returnNew(true), JobRun.class);
+        if (updated == null) {
+            log.warn("Job {} partition {} of run {} was taken over by another instance; result dropped",
+                    job.getName(), claim.partition, claim.runId);
+            return;
+        }
+        if (updated.getSucceededCount() + updated.getFailedCount() >= updated.getPartitionCount()) {
+            finish(job, updated);
+        }
+    }
+
+    private void finish(ScheduledJob job, JobRun run) {
+        long now = System.currentTimeMillis();
+        JobStatus status = run.getFailedCount() > 0 ? JobStatus.FAILED : JobStatus.SUCCEEDED;
+        JobRun finished = mongoTemplate.findAndModify(
+                Query.query(Criteria.where("_id").is(run.getId()).and("status").is(JobStatus.RUNNING)),
+                new Update()
+                        .set("status", status)
+                        .set("finishedAt", now)
+                        .set("expireAt", new Date(now + Duration.ofDays(historyTtlDays).toMillis())),
+                FindAndModifyOptions.options().returnNew(true), JobRun.class);
+        if (finished == null) {
+            return;
+        }
+        if (job.getCron() == null) {
+            mongoTemplate.updateFirst(Query.query(Criteria.where("_id").is(job.getName())),
+                    new Update().set("nextRunAt", now + job.getFixedDelayMs()), JobDefinition.class);
+        }
+        Counter.builder("jobs.runs")
+                .tag("job", job.getName())
+                .tag("status", status.name())
+                .register(meterRegistry)
+                .increment();
+        log.info("Job {} run {} {} in {} ms: {} processed, {} partition(s) failed", job.getName(),
+                finished.getId(), status, now - finished.getCreatedAt(), finished.getProcessed(),
+                finished.getFailedCount());
+        try {
+            job.onRunFinished(finished);
+        } catch (Exception e) {
+            log.error("Job {} finish hook failed", job.getName(), e);
+        }
+    }
+
+    void renewLeases() {
+        for (Claim claim : inFlight.values()) {
+            try {
+                long renewed = mongoTemplate.updateFirst(ownPartition(claim),
+                        new Update().set("partitions.$.leaseUntil", System.currentTimeMillis() + leaseMs),
+                        JobRun.class).getMatchedCount();
+                if (renewed == 0) {
+                    log.warn("Lost the claim on partition {} of job run {}, stopping its worker", claim.partition,
+                            claim.runId);
+                    abandon(claim);
+                }
+            } catch (Exception e) {
+                log.warn("Failed to renew lease on partition {} of job run {}: {}", claim.partition,
+                        claim.runId, e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Stop working on a partition another instance now owns, so the two never run it side by
+     * side. A worker that has not started yet is released here, since it never will.
+     */
+    private void abandon(Claim claim) {
+        claim.lost = true;
+        Future<?> worker = claim.worker;
+        if (worker != null && worker.cancel(true) && claim.started.compareAndSet(false, true)) {
+            release(claim);
+        }
+    }
+
+    private static Query ownPartition(Claim claim) {
+        return Query.query(Criteria.where("_id").is(claim.runId)
+                .and("partitions").elemMatch(Criteria.where("index").is(claim.partition)
+                        .and("claimToken").is(claim.token)
+                        .and("status").is(JobStatus.RUNNING)));
+    }
+
+    private static final class Claim {
+        private final String runId;
+        private final int partitions;
+        private final int partition;
+        private final int attempts;
+        private final String token;
+        private final AtomicBoolean started = new AtomicBoolean();
+        private volatile Future<?> worker;
+        private volatile boolean lost;
+
+        private Claim(String runId, int partitions, int partition, int attempts, String token) {
+            this.runId = runId;
+            this.partitions = partitions;
+            this.partition = partition;
+            this.attempts = attempts;
+            this.token = token;
+        }
+
+        private String key() {
+            return runId + ":" + partition;
+        }
+    }
+}
@@ -0,0 +1,55 @@
+package io.respondnow.service.job;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Selector;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * {@code /actuator/jobs}: every job's definition with its latest run, and one job's run history
+ * at {@code /actuator/jobs/{name}}. Read-only, since actuator endpoints are not authenticated.
+ */
+@Component
+@Endpoint(id = "jobs")
+public class JobsEndpoint {
+
+    private final JobScheduler jobScheduler;
+
+    @Value("${jobs.endpoint.historySize:20}")
+    private int historySize;
+
+    public JobsEndpoint(JobScheduler jobScheduler) {
+        this.jobScheduler = jobScheduler;
+    }
+
+    @ReadOperation
+    public List<Map<String, Object>> jobs() {
+        List<Map<String, Object>> jobs = new ArrayList<>();
+        for (String name : jobScheduler.getJobNames()) {
+            jobs.add(describe(name, 1));
+        }
+        return jobs;
+    }
+
+    @ReadOperation
+    public Map<String, Object> job(@Selector String name) {
+        if (!jobScheduler.getJobNames().contains(name)) {
+            return null;
+        }
+        return describe(name, historySize);
+    }
+
+    private Map<String, Object> describe(String name, int runs) {
+        Map<String, Object> job = new LinkedHashMap<>();
+        job.put("name", name);
+        job.put("definition", jobScheduler.getDefinition(name));
+        job.put("runs", jobScheduler.getRecentRuns(name, runs));
+        return job;
+    }
+}
@@ -0,0 +1,45 @@
+package io.respondnow.service.job;
+
+import io.respondnow.model.job.JobRun;
+
+/**
+ * Background work run by {@link JobScheduler}. Implementations are Spring beans; each run is
+ * split into {@link #getPartitions()} partitions that any instance may pick up, so a partition
+ * must only touch its own share of the data and be safe to run again after a failure.
+ */
+public interface ScheduledJob {
+
+    /** Unique name, also the id of the job's definition. */
+    String getName();
+
+    /**
+     * Spring cron expression (with seconds), or null to run {@link #getFixedDelayMs()} after the
+     * previous run finished.
+     */
+    String getCron();
+
+    default long getFixedDelayMs() {
+        return 0;
+    }
+
+    default int getPartitions() {
+        return 1;
+    }
+
+    /** Partitions of one run allowed to execute at once across all instances. */
+    default int getMaxConcurrency() {
+        return 1;
+    }
+
+    /**
+     * Process one partition. The thread is interrupted if this instance loses the partition to
+     * another one, and the job should stop then.
+     *
+     * @return number of items processed, recorded on the run
+     */
+    long run(int partition, int partitions) throws Exception;
+
+    /** Called once, on the instance that completed the last partition. */
+    default void onRunFinished(JobRun run) {
+    }
+}
@@ -0,0 +1,481 @@
+package io.respondnow.service.slack;
+
+import com.slack.api.methods.SlackApiException;
+import com.slack.api.methods.SlackApiTextResponse;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.io.IOException;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.PriorityBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+/**
+ * Single path for outbound Slack Web API calls.
+ *
+ * Every call is queued by {@link Priority} and only runs once the token bucket for its
+ * method's rate-limit tier has a token. Calls that have to wait, and calls Slack answers with
+ * HTTP 429, are put back on the queue by a scheduler at the time they become eligible (for
+ * 429s, after {@code Retry-After}), so no thread sleeps on a rate limit. A 429 also pauses the
+ * whole bucket, not just the call that hit it.
+ *
+ * Interactive responses always leave the queue before notifications. During a notification
+ * burst the bulk lane backs up rather than failing; only when it holds more than
+ * {@code slack.dispatcher.bulkQueueCapacity} calls, or a call has waited longer than
+ * {@code slack.dispatcher.bulkMaxAgeMs}, are bulk calls shed.
+ */
+@Component
+@ConditionalOnProperty(name = "slack.enabled", havingValue = "true")
+public class SlackApiDispatcher {
+
+  private static final Logger logger = LoggerFactory.getLogger(SlackApiDispatcher.class);
+
+  public enum Priority {
+    /** Replies the user is waiting on: modals, App Home, direct responses. */
+    INTERACTIVE,
+    /** Incident workflow calls: channel creation, invites, update confirmations. */
+    NORMAL,
+    /** Fan-out notifications that can tolerate delay. */
+    BULK
+  }
+
+  @FunctionalInterface
+  public interface SlackCall<T extends SlackApiTextResponse> {
+    T call() throws IOException, SlackApiException;
+  }
+
+  /** Slack rate-limit tiers, as requests per minute with a small burst allowance. */
+  private enum Tier {
+    TIER_1(1, 1),
+    TIER_2(20, 3),
+    TIER_3(50, 5),
+    TIER_4(100, 10),
+    // chat.postMessage: roughly one message per second per channel
+    PER_CHANNEL(60, 3);
+
+    final int perMinute;
+    final int burst;
+
+    Tier(int perMinute, int burst) {
+      this.perMinute = perMinute;
+      this.burst = burst;
+    }
+  }
+
+  private static final Map<String, Tier> METHOD_TIERS =
+      Map.ofEntries(
+          Map.entry("auth.test", Tier.TIER_4),
+          Map.entry("chat.postMessage", Tier.PER_CHANNEL),
+          Map.entry("chat.update", Tier.TIER_3),
+          Map.entry("conversations.archive", Tier.TIER_2),
+          Map.entry("conversations.create", Tier.TIER_2),
+          Map.entry("conversations.invite", Tier.TIER_3),
+          Map.entry("conversations.join", Tier.TIER_3),
+          Map.entry("conversations.list", Tier.TIER_2),
+          Map.entry("conversations.members", Tier.TIER_4),
+          Map.entry("pins.add", Tier.TIER_2),
+          Map.entry("users.info", Tier.TIER_4),
+          Map.entry("users.list", Tier.TIER_2),
+          Map.entry("views.open", Tier.TIER_4),
+          Map.entry("views.push", Tier.TIER_4),
+          Map.entry("views.update", Tier.TIER_4),
+          Map.entry("views.publish", Tier.TIER_4));
+
+  private final MeterRegistry meterRegistry;
+
+  @Value("${slack.dispatcher.workers:8}")
+  private int workers;
+
+  @Value("${slack.dispatcher.maxAttempts:5}")
+  private int maxAttempts;
+
+  @Value("${slack.dispatcher.bulkQueueCapacity:5000}")
+  private int bulkQueueCapacity;
+
+  @Value("${slack.dispatcher.bulkMaxAgeMs:600000}")
+  private long bulkMaxAgeMs;
+
+  private final PriorityBlockingQueue<PendingCall<?>> queue = new PriorityBlockingQueue<>();
+  private final Map<String, TokenBucket> buckets = new ConcurrentHashMap<>();
+  private final AtomicLong sequence = new AtomicLong();
+  private final AtomicInteger bulkPending = new AtomicInteger();
+  // Calls the scheduler will put back on the queue
+  private final Set<PendingCall<?>> delayed = ConcurrentHashMap.newKeySet();
+
+  private ScheduledExecutorService scheduler;
+  private ExecutorService workerPool;
+  private Thread pump;
+  private volatile boolean running;
+
+  private Counter rateLimitedCounter;
+  private Counter retriedCounter;
+  private Counter shedCounter;
+
+  public SlackApiDispatcher(MeterRegistry meterRegistry) {
+    this.meterRegistry = meterRegistry;
+  }
+
+  @PostConstruct
+  public void start() {
+    scheduler =
+        Executors.newSingleThreadScheduledExecutor(
+            runnable -> daemon(runnable, "slack-api-scheduler"));
+    AtomicInteger workerIds = new AtomicInteger();
+    workerPool =
+        Executors.newFixedThreadPool(
+            workers, runnable -> daemon(runnable, "slack-api-" + workerIds.incrementAndGet()));
+
+    for (Priority priority : Priority.values()) {
+      Gauge.builder("slack.dispatcher.queue.depth", queue, q -> countQueued(q, priority))
+          .tag("priority", priority.name())
+          .description("Slack API calls ready to run, by priority")
+          .register(meterRegistry);
+    }
+    Gauge.builder("slack.dispatcher.bulk.pending", bulkPending, AtomicInteger::get)
+        .description("Bulk Slack API calls queued or waiting on a rate limit")
+        .register(meterRegistry);
+    rateLimitedCounter = Counter.builder("slack.dispatcher.ratelimited").register(meterRegistry);
+    retriedCounter = Counter.builder("slack.dispatcher.retried").register(meterRegistry);
+    shedCounter =
+        Counter.builder("slack.dispatcher.shed")
+            .description("Bulk Slack API calls dropped under sustained overload")
+            .register(meterRegistry);
+
+    running = true;
+    pump = daemon(this::pumpLoop, "slack-api-dispatcher");
+    pump.start();
+  }
+
+  /**
+   * Queue a call. {@code key} narrows the rate-limit bucket for per-channel methods (the
+   * channel ID) and may be null otherwise.
+   */
+  public <T extends SlackApiTextResponse> CompletableFuture<T> submit(
+      String method, String key, Priority priority, SlackCall<T> call) {
+    PendingCall<T> pending =
+        new PendingCall<>(method, key, priority, call, sequence.incrementAndGet());
+    if (priority == Priority.BULK && bulkPending.incrementAndGet() > bulkQueueCapacity) {
+      bulkPending.decrementAndGet();
+      shedCounter.increment();
+      logger.warn("Slack bulk lane full, dropping {} call", method);
+      pending.future.completeExceptionally(
+          new RejectedExecutionException("Slack bulk lane is full"));
+      return pending.future;
+    }
+    queue.add(pending);
+    return pending.future;
+  }
+
+  /**
+   * Queue a call and wait for its result. Slack and I/O errors are rethrown as-is so callers
+   * keep their existing error handling.
+   */
+  public <T extends SlackApiTextResponse> T execute(
+      String method, String key, Priority priority, SlackCall<T> call)
+      throws IOException, SlackApiException {
+    try {
+      return submit(method, key, priority, call).get();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new IOException("Interrupted while waiting for Slack " + method, e);
+    } catch (ExecutionException e) {
+      Throwable cause = e.getCause();
+      if (cause instanceof SlackApiException) {
+        throw (SlackApiException) cause;
+      }
+      if (cause instanceof IOException) {
+        throw (IOException) cause;
+      }
+      if (cause instanceof RuntimeException) {
+        throw (RuntimeException) cause;
+      }
+      throw new IOException("Slack " + method + " failed", cause);
+    }
+  }
+
+  private void pumpLoop() {
+    while (running) {
+      PendingCall<?> pending;
+      try {
+        pending = queue.take();
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        return;
+      }
+      try {
+        dispatch(pending);
+      } catch (RejectedExecutionException e) {
+        pending.fail(e);
+      } catch (Exception e) {
+        logger.error("Unexpected error dispatching Slack {} call", pending.method, e);
+        pending.fail(e);
+      }
+    }
+  }
+
+  private void dispatch(PendingCall<?> pending) {
+    if (pending.priority == Priority.BULK
+        && System.currentTimeMillis() - pending.createdAt > bulkMaxAgeMs) {
+      shedCounter.increment();
+      pending.fail(new RejectedExecutionException("Slack bulk call expired in queue"));
+      return;
+    }
+    TokenBucket bucket = bucketFor(pending);
+    long waitNanos = bucket.tryAcquire();
+    if (waitNanos > 0) {
+      requeueAfter(pending, waitNanos);
+      return;
+    }
+    workerPool.execute(() -> invoke(pending, bucket));
+  }
+
+  private <T extends SlackApiTextResponse> void invoke(PendingCall<T> pending, TokenBucket bucket) {
+    pending.attempts++;
+    try {
+      T response = pending.call.call();
+      if (response != null && !response.isOk() && "ratelimited".equals(response.getError())) {
+        onRateLimited(pending, bucket, null);
+        return;
+      }
+      pending.complete(response);
+    } catch (SlackApiException e) {
+      if (e.getResponse() != null && e.getResponse().code() == 429) {
+        onRateLimited(pending, bucket, e.getResponse().header("Retry-After"));
+      } else {
+        pending.fail(e);
+      }
+    } catch (IOException e) {
+      if (pending.attempts < maxAttempts) {
+        retriedCounter.increment();
+        long backoffMs = Math.min(30_000L, 500L << Math.min(pending.attempts, 6));
+        backoffMs += ThreadLocalRandom.current().nextLong(backoffMs / 2 + 1);
+        logger.warn(
+            "Slack {} failed with {}, retrying in {} ms", pending.method, e.getMessage(), backoffMs);
+        requeueAfter(pending, TimeUnit.MILLISECONDS.toNanos(backoffMs));
+      } else {
+        pending.fail(e);
+      }
+    } catch (Exception e) {
+      pending.fail(e);
+    }
+  }
+
+  private void onRateLimited(PendingCall<?> pending, TokenBucket bucket, String retryAfter) {
+    rateLimitedCounter.increment();
+    long retryAfterSeconds = parseRetryAfter(retryAfter);
+    bucket.pause(TimeUnit.SECONDS.toNanos(retryAfterSeconds));
+    if (pending.attempts >= maxAttempts) {
+      pending.fail(new IOException("Slack " + pending.method + " still rate limited"));
+      return;
+    }
+    retriedCounter.increment();
+    logger.warn(
+        "Slack {} rate limited, retrying after {} s (attempt {}/{})",
+        pending.method,
+        retryAfterSeconds,
+        pending.attempts,
+        maxAttempts);
+    // Spread the retries out so calls paused together do not all return at the same instant
+    long jitterMs =
+        ThreadLocalRandom.current().nextLong(Math.min(1000L, retryAfterSeconds * 100L) + 1);
+    requeueAfter(
+        pending,
+        TimeUnit.SECONDS.toNanos(retryAfterSeconds) + TimeUnit.MILLISECONDS.toNanos(jitterMs));
+  }
+
+  private static long parseRetryAfter(String retryAfter) {
+    if (retryAfter != null) {
+      try {
+        return Math.max(1L, Long.parseLong(retryAfter.trim()));
+      } catch (NumberFormatException ignored) {
+        // fall through to the default
+      }
+    }
+    return 30L;
+  }
+
+  private void requeueAfter(PendingCall<?> pending, long delayNanos) {
+    delayed.add(pending);
+    try {
+      scheduler.schedule(() -> requeue(pending), delayNanos, TimeUnit.NANOSECONDS);
+    } catch (RejectedExecutionException e) {
+      if (delayed.remove(pending)) {
+        pending.fail(e);
+      }
+    }
+  }
+
+  private TokenBucket bucketFor(PendingCall<?> pending) {
+    Tier tier = METHOD_TIERS.getOrDefault(pending.method, Tier.TIER_3);
+    String bucketKey =
+        tier == Tier.PER_CHANNEL && pending.key != null
+            ? pending.method + ":" + pending.key
+            : pending.method;
+    return buckets.computeIfAbsent(bucketKey, k -> new TokenBucket(tier.perMinute, tier.burst));
+  }
+
+  private static double countQueued(PriorityBlockingQueue<PendingCall<?>> queue, Priority priority) {
+    int count = 0;
+    for (PendingCall<?> pending : queue) {
+      if (pending.priority == priority) {
+        count++;
+      }
+    }
+    return count;
+  }
+
+  private static Thread daemon(Runnable runnable, String name) {
+    Thread thread = new Thread(runnable, name);
+    thread.setDaemon(true);
+    return thread;
+  }
+
+  @PreDestroy
+  public void stop() {
+    running = false;
+    if (pump != null) {
+      pump.interrupt();
+    }
+    scheduler.shutdownNow();
+    workerPool.shutdown();
+    try {
+      if (!workerPool.awaitTermination(5, TimeUnit.SECONDS)) {
+        workerPool.shutdownNow();
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+    // Fail what is left, including calls that were waiting out a rate limit or a backoff, so
+    // nobody blocked in execute() waits forever
+    for (PendingCall<?> pending : delayed) {
+      if (delayed.remove(pending)) {
+        pending.fail(new RejectedExecutionException("Slack dispatcher stopped"));
+      }
+    }
+    PendingCall<?> pending;
+    while ((pending = queue.poll()) != null) {
+      pending.fail(new RejectedExecutionException("Slack dispatcher stopped"));
+    }
+  }
+
+  private void requeue(PendingCall<?> pending) {
+    if (!delayed.remove(pending)) {
+      // Already failed by stop()
+      return;
+    }
+    if (running) {
+      queue.add(pending);
+    } else {
+      pending.fail(new RejectedExecutionException("Slack dispatcher stopped"));
+    }
+  }
+
+  private final class PendingCall<T extends SlackApiTextResponse>
+      implements Comparable<PendingCall<?>> {
+    final String method;
+    final String key;
+    final Priority priority;
+    final SlackCall<T> call;
+    final long sequence;
+    final long createdAt = System.currentTimeMillis();
+    final CompletableFuture<T> future = new CompletableFuture<>();
+    int attempts;
+
+    PendingCall(String method, String key, Priority priority, SlackCall<T> call, long sequence) {
+      this.method = method;
+      this.key = key;
+      this.priority = priority;
+      this.call = call;
+      this.sequence = sequence;
+    }
+
+    void complete(T response) {
+      release();
+      future.complete(response);
+    }
+
+    void fail(Throwable error) {
+      release();
+      future.completeExceptionally(error);
+    }
+
+    private void release() {
+      if (priority == Priority.BULK) {
+        bulkPending.decrementAndGet();
+      }
+    }
+
+    @Override
+    public int compareTo(PendingCall<?> other) {
+      int byPriority = priority.compareTo(other.priority);
+      return byPriority != 0 ? byPriority : Long.compare(sequence, other.sequence);
+    }
+  }
+
+  /** Token bucket refilled continuously; never blocks, only reports how long to wait. */
+  static final class TokenBucket {
+    private final double capacity;
+    private final double tokensPerNano;
+    private final LongSupplier nanoClock;
+    private double tokens;
+    private long lastRefill;
+    private long pausedUntil;
+
+    TokenBucket(int perMinute, int burst) {
+      this(perMinute, burst, System::nanoTime);
+    }
+
+    TokenBucket(int perMinute, int burst, LongSupplier nanoClock) {
+      this.capacity = burst;
+      this.tokensPerNano = perMinute / (double) TimeUnit.MINUTES.toNanos(1);
+      this.nanoClock = nanoClock;
+      this.tokens = burst;
+      this.lastRefill = nanoClock.getAsLong();
+      this.pausedUntil = lastRefill;
+    }
+
+    /** Take a token, or return the nanoseconds until one is available. */
+    synchronized long tryAcquire() {
+      long now = nanoClock.getAsLong();
+      if (now < pausedUntil) {
+        return pausedUntil - now;
+      }
+      tokens = Math.min(capacity, tokens + (now - lastRefill) * tokensPerNano);
+      lastRefill = now;
+      if (tokens >= 1) {
+        tokens -= 1;
+        return 0;
+      }
+      return (long) Math.ceil((1 - tokens) / tokensPerNano);
+    }
+
+    /**
+     * Stop handing out tokens for {@code nanos}. Afterwards the bucket resumes with a single
+     * token and refills from the end of the pause, so a rate limit is not followed by a burst.
+     */
+    synchronized void pause(long nanos) {
+      pausedUntil = Math.max(pausedUntil, nanoClock.getAsLong() + nanos);
+      lastRefill = pausedUntil;
+      tokens = Math.min(1, capacity);
+    }
+  }
+}
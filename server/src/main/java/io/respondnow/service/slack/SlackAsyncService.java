@@ -1,28 +1,39 @@
 package io.respondnow.service.slack;
 
+import io.respondnow.service.cluster.LeaderElection;
 import java.util.concurrent.CompletableFuture;
 import javax.annotation.PostConstruct;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Service;
 
+/**
+ * Holds the Slack Socket Mode connection on the instance that owns the leader lease, so Slack
+ * delivers every event to one replica; the others only serve the API. When leadership moves,
+ * this instance disconnects and the new leader connects.
+ */
 @Service
 public class SlackAsyncService {
 
   private static final Logger logger = LoggerFactory.getLogger(SlackAsyncService.class);
   private final SlackService slackService;
+  private final LeaderElection leaderElection;
 
-  public SlackAsyncService(SlackService slackService) {
+  public SlackAsyncService(SlackService slackService, LeaderElection leaderElection) {
     this.slackService = slackService;
+    this.leaderElection = leaderElection;
   }
 
-  @Async
+  /**
+   * Open the Socket Mode connection, then look up the bot user and add it to the incident
+   * channel in the background. The connection is opened on the calling thread, so a following
+   * {@link SlackService#stopApp()} from the same thread always closes it.
+   */
   public CompletableFuture<Void> connectAndInitializeSlack() {
+    slackService.startApp();
     return CompletableFuture.runAsync(
         () -> {
           try {
-            slackService.startApp();
             slackService.setBotUserIDAndName();
             logger.info("Bot user ID and name set successfully");
 
@@ -39,11 +50,17 @@ public class SlackAsyncService {
 
   @PostConstruct
   public void initializeSlackConnection() {
-    connectAndInitializeSlack()
-        .exceptionally(
-            e -> {
-              logger.error("Failed to initialize Slack connection: {}", e.getMessage(), e);
-              return null;
-            });
+    // Leader callbacks run one at a time on a single thread, so connect and disconnect never
+    // interleave
+    leaderElection.onLeadership(
+        "slack-socket-mode",
+        () ->
+            connectAndInitializeSlack()
+                .exceptionally(
+                    e -> {
+                      logger.error("Failed to initialize Slack connection: {}", e.getMessage(), e);
+                      return null;
+                    }),
+        slackService::stopApp);
   }
 }
@@ -0,0 +1,25 @@
+package io.respondnow.service.slack;
+
+import com.slack.api.Slack;
+import com.slack.api.SlackConfig;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@ConditionalOnProperty(name = "slack.enabled", havingValue = "true")
+public class SlackClientConfig {
+
+  /**
+   * Web API client shared by the Bolt app, Socket Mode and direct calls. {@code slack.apiUrl}
+   * can point it at a stand-in; Socket Mode follows, since its WebSocket URL comes from
+   * {@code apps.connections.open}.
+   */
+  @Bean
+  public Slack slack(@Value("${slack.apiUrl:https://slack.com/api/}") String apiUrl) {
+    SlackConfig config = new SlackConfig();
+    config.setMethodsEndpointUrlPrefix(apiUrl);
+    return Slack.getInstance(config);
+  }
+}
@@ -0,0 +1,303 @@
+package io.respondnow.service.slack;
+
+import com.slack.api.Slack;
+import com.slack.api.methods.MethodsClient;
+import com.slack.api.methods.SlackApiException;
+import com.slack.api.methods.response.conversations.ConversationsListResponse;
+import com.slack.api.methods.response.conversations.ConversationsMembersResponse;
+import com.slack.api.methods.response.users.UsersInfoResponse;
+import com.slack.api.methods.response.users.UsersListResponse;
+import com.slack.api.model.Conversation;
+import com.slack.api.model.ResponseMetadata;
+import com.slack.api.model.User;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.respondnow.service.slack.SlackApiDispatcher.Priority;
+import io.respondnow.util.TtlCache;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicBoolean;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Cached view of the Slack workspace directory: user profiles, the channel list and channel
+ * membership.
+ *
+ * Lookups are served from bounded TTL caches and only fall back to the Web API on a miss.
+ * Profiles are warmed in bulk from {@code users.list}, one page at a time through the
+ * dispatcher's bulk lane, so the scheduler thread never waits on Slack. Events keep the caches
+ * current between refreshes: {@code user_change} replaces a profile, and
+ * {@code member_joined_channel} / {@code member_left_channel} adjust a cached member set.
+ */
+@Component
+@ConditionalOnProperty(name = "slack.enabled", havingValue = "true")
+public class SlackDirectoryCache {
+
+  private static final Logger logger = LoggerFactory.getLogger(SlackDirectoryCache.class);
+
+  private static final String ALL_CHANNELS = "all";
+  private static final int USERS_PAGE_SIZE = 200;
+  private static final int CHANNELS_PAGE_SIZE = 200;
+
+  private final SlackApiDispatcher slackApi;
+  private final MethodsClient methods;
+  private final TtlCache<String, User> users;
+  private final TtlCache<String, Set<String>> members;
+  private final TtlCache<String, List<Conversation>> channels;
+  private final AtomicBoolean warming = new AtomicBoolean();
+
+  public SlackDirectoryCache(
+      Slack slack,
+      SlackApiDispatcher slackApi,
+      MeterRegistry meterRegistry,
+      @Value("${slack.botToken}") String botToken,
+      @Value("${slack.cache.users.maxSize:50000}") int maxUsers,
+      @Value("${slack.cache.users.ttlMs:3600000}") long userTtlMs,
+      @Value("${slack.cache.members.maxSize:2000}") int maxChannelMembers,
+      @Value("${slack.cache.members.ttlMs:600000}") long memberTtlMs,
+      @Value("${slack.cache.channels.ttlMs:600000}") long channelTtlMs) {
+    this.slackApi = slackApi;
+    this.methods = slack.methods(botToken);
+    this.users =
+        new TtlCache<>(
+            "slack.cache", "users", maxUsers, Duration.ofMillis(userTtlMs), meterRegistry);
+    this.members =
+        new TtlCache<>(
+            "slack.cache",
+            "channel.members",
+            maxChannelMembers,
+            Duration.ofMillis(memberTtlMs),
+            meterRegistry);
+    this.channels =
+        new TtlCache<>(
+            "slack.cache", "channels", 1, Duration.ofMillis(channelTtlMs), meterRegistry);
+  }
+
+  /** Profile for a Slack user ID, from the cache or {@code users.info}. */
+  public User getUser(String userId) throws IOException, SlackApiException {
+    User cached = users.get(userId);
+    if (cached != null) {
+      return cached;
+    }
+    UsersInfoResponse response =
+        slackApi.execute(
+            "users.info", null, Priority.NORMAL, () -> methods.usersInfo(r -> r.user(userId)));
+    if (!response.isOk() || response.getUser() == null) {
+      logger.warn("Failed to look up Slack user {}: {}", userId, response.getError());
+      return null;
+    }
+    users.put(userId, response.getUser());
+    return response.getUser();
+  }
+
+  /**
+   * Like {@link #getUser} without blocking: completes at once on a hit, otherwise when the
+   * dispatcher has run {@code users.info}. Completes with null when Slack reports an error.
+   */
+  public CompletableFuture<User> getUserAsync(String userId) {
+    User cached = users.get(userId);
+    if (cached != null) {
+      return CompletableFuture.completedFuture(cached);
+    }
+    return slackApi
+        .submit("users.info", null, Priority.NORMAL, () -> methods.usersInfo(r -> r.user(userId)))
+        .thenApply(
+            response -> {
+              if (!response.isOk() || response.getUser() == null) {
+                logger.warn("Failed to look up Slack user {}: {}", userId, response.getError());
+                return null;
+              }
+              users.put(userId, response.getUser());
+              return response.getUser();
+            });
+  }
+
+  /** Member IDs of a channel, from the cache or by paging {@code conversations.members}. */
+  public Set<String> getChannelMembers(String channelId) throws IOException, SlackApiException {
+    Set<String> cached = members.get(channelId);
+    if (cached != null) {
+      return cached;
+    }
+    Set<String> loaded = new HashSet<>();
+    String cursor = null;
+    do {
+      String finalCursor = cursor;
+      ConversationsMembersResponse response =
+          slackApi.execute(
+              "conversations.members",
+              null,
+              Priority.NORMAL,
+              () -> methods.conversationsMembers(r -> r.channel(channelId).cursor(finalCursor)));
+      if (!response.isOk()) {
+        throw new IOException("Failed to list members for channel: " + response.getError());
+      }
+      if (response.getMembers() != null) {
+        for (String member : response.getMembers()) {
+          loaded.add(member.trim());
+        }
+      }
+      cursor = nextCursor(response.getResponseMetadata());
+    } while (cursor != null);
+
+    Set<String> result = Collections.unmodifiableSet(loaded);
+    members.put(channelId, result);
+    return result;
+  }
+
+  public boolean isChannelMember(String channelId, String userId)
+      throws IOException, SlackApiException {
+    return getChannelMembers(channelId).contains(userId.trim());
+  }
+
+  /** Non-archived channels in the workspace, from the cache or by paging {@code conversations.list}. */
+  public List<Conversation> listChannels() throws IOException, SlackApiException {
+    List<Conversation> cached = channels.get(ALL_CHANNELS);
+    if (cached != null) {
+      return cached;
+    }
+    List<Conversation> loaded = new ArrayList<>();
+    String cursor = null;
+    do {
+      String finalCursor = cursor;
+      ConversationsListResponse response =
+          slackApi.execute(
+              "conversations.list",
+              null,
+              Priority.NORMAL,
+              () ->
+                  methods.conversationsList(
+                      r -> r.limit(CHANNELS_PAGE_SIZE).excludeArchived(true).cursor(finalCursor)));
+      if (!response.isOk()) {
+        throw new IOException("Failed to list channels: " + response.getError());
+      }
+      loaded.addAll(response.getChannels());
+      cursor = nextCursor(response.getResponseMetadata());
+    } while (cursor != null);
+
+    List<Conversation> result = Collections.unmodifiableList(loaded);
+    channels.put(ALL_CHANNELS, result);
+    return result;
+  }
+
+  /** A user changed their profile; replace the cached copy. */
+  public void onUserChanged(User user) {
+    if (user == null || user.getId() == null) {
+      return;
+    }
+    if (user.isDeleted()) {
+      users.invalidate(user.getId());
+    } else {
+      users.put(user.getId(), user);
+    }
+  }
+
+  public void onMemberJoined(String channelId, String userId) {
+    members.updateIfPresent(
+        channelId,
+        current -> {
+          Set<String> updated = new HashSet<>(current);
+          updated.add(userId);
+          return Collections.unmodifiableSet(updated);
+        });
+  }
+
+  public void onMemberLeft(String channelId, String userId) {
+    members.updateIfPresent(
+        channelId,
+        current -> {
+          Set<String> updated = new HashSet<>(current);
+          updated.remove(userId);
+          return Collections.unmodifiableSet(updated);
+        });
+  }
+
+  /** A channel was created by this app; add it to the cached list rather than re-listing. */
+  public void onChannelCreated(Conversation channel) {
+    if (channel == null) {
+      return;
+    }
+    channels.updateIfPresent(
+        ALL_CHANNELS,
+        current -> {
+          List<Conversation> updated = new ArrayList<>(current);
+          updated.add(channel);
+          return Collections.unmodifiableList(updated);
+        });
+  }
+
+  /**
+   * Refresh cached profiles from {@code users.list}. Pages are chained through the dispatcher
+   * asynchronously; a refresh still in progress is not restarted.
+   */
+  @Scheduled(
+      initialDelayString = "${slack.cache.users.warmInitialDelayMs:10000}",
+      fixedDelayString = "${slack.cache.users.warmIntervalMs:1800000}")
+  public void warmUsers() {
+    if (!warming.compareAndSet(false, true)) {
+      logger.debug("Slack user cache warm-up already in progress");
+      return;
+    }
+    logger.info("Warming Slack user cache from users.list");
+    fetchUsersPage(null, 0);
+  }
+
+  private void fetchUsersPage(String cursor, int loaded) {
+    slackApi
+        .submit(
+            "users.list",
+            null,
+            Priority.BULK,
+            () -> methods.usersList(r -> r.limit(USERS_PAGE_SIZE).cursor(cursor)))
+        .whenComplete(
+            (response, error) -> {
+              if (error != null || !response.isOk()) {
+                warming.set(false);
+                logger.warn(
+                    "Slack user cache warm-up stopped after {} user(s): {}",
+                    loaded,
+                    error != null ? error.getMessage() : response.getError());
+                return;
+              }
+              int total = loaded + cacheUsers(response);
+              String next = nextCursor(response.getResponseMetadata());
+              if (next == null || users.isFull()) {
+                warming.set(false);
+                logger.info("Slack user cache warmed with {} user(s)", total);
+                return;
+              }
+              fetchUsersPage(next, total);
+            });
+  }
+
+  private int cacheUsers(UsersListResponse response) {
+    int cached = 0;
+    if (response.getMembers() == null) {
+      return cached;
+    }
+    for (User user : response.getMembers()) {
+      if (user.getId() != null && !user.isDeleted()) {
+        users.put(user.getId(), user);
+        cached++;
+      }
+    }
+    return cached;
+  }
+
+  private static String nextCursor(ResponseMetadata responseMetadata) {
+    if (responseMetadata == null) {
+      return null;
+    }
+    String cursor = responseMetadata.getNextCursor();
+    return cursor != null && !cursor.isEmpty() ? cursor : null;
+  }
+}
@@ -0,0 +1,163 @@
+package io.respondnow.service.slack;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionHandler;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import javax.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+/**
+ * Bounded thread pools for work handed off from Slack handlers after they ack.
+ *
+ * <ul>
+ *   <li>{@code interactive}: opening modals and other replies tied to a trigger_id. A trigger
+ *       expires after three seconds, so work that cannot be queued is dropped.
+ *   <li>{@code mutations}: view submissions that create or change incidents. A full queue rejects
+ *       the task with a {@link java.util.concurrent.RejectedExecutionException} that reaches the
+ *       handler, so the submission fails visibly in Slack and can be sent again, instead of
+ *       being run on (and stalling acks from) the Slack receiver thread.
+ *   <li>{@code notifications}: event-driven renders and messages (App Home, mentions, channel
+ *       joins). When full, the oldest queued task is dropped in favour of the newest.
+ * </ul>
+ *
+ * Tasks implementing {@link DropAware} are told when a full pool discards them.
+ *
+ * Each pool reports the standard {@code executor.*} metrics tagged {@code name=slack.<pool>},
+ * plus {@code slack.executor.rejected}.
+ */
+@Component
+@ConditionalOnProperty(name = "slack.enabled", havingValue = "true")
+public class SlackExecutors {
+
+  private static final Logger logger = LoggerFactory.getLogger(SlackExecutors.class);
+
+  /** A task that needs to undo its bookkeeping when a full pool drops it without running it. */
+  interface DropAware extends Runnable {
+    void onDropped();
+  }
+
+  private final ThreadPoolExecutor interactive;
+  private final ThreadPoolExecutor mutations;
+  private final ThreadPoolExecutor notifications;
+
+  public SlackExecutors(
+      MeterRegistry meterRegistry,
+      @Value("${slack.executors.interactive.threads:8}") int interactiveThreads,
+      @Value("${slack.executors.interactive.queueCapacity:100}") int interactiveQueue,
+      @Value("${slack.executors.mutations.threads:8}") int mutationThreads,
+      @Value("${slack.executors.mutations.queueCapacity:1000}") int mutationQueue,
+      @Value("${slack.executors.notifications.threads:4}") int notificationThreads,
+      @Value("${slack.executors.notifications.queueCapacity:500}") int notificationQueue) {
+    this.interactive =
+        create(meterRegistry, "interactive", interactiveThreads, interactiveQueue,
+            "discard", (task, executor) -> dropped(task));
+    this.mutations =
+        create(meterRegistry, "mutations", mutationThreads, mutationQueue,
+            "abort", new ThreadPoolExecutor.AbortPolicy());
+    this.notifications =
+        create(meterRegistry, "notifications", notificationThreads, notificationQueue,
+            "discard oldest", SlackExecutors::discardOldest);
+  }
+
+  public ExecutorService interactive() {
+    return interactive;
+  }
+
+  public ExecutorService mutations() {
+    return mutations;
+  }
+
+  public ExecutorService notifications() {
+    return notifications;
+  }
+
+  private static ThreadPoolExecutor create(
+      MeterRegistry meterRegistry,
+      String name,
+      int threads,
+      int queueCapacity,
+      String onFull,
+      RejectedExecutionHandler policy) {
+    Counter rejected =
+        Counter.builder("slack.executor.rejected")
+            .tag("name", "slack." + name)
+            .description("Tasks that did not fit in the Slack executor queue")
+            .register(meterRegistry);
+    RejectedExecutionHandler countingPolicy =
+        (task, executor) -> {
+          rejected.increment();
+          logger.warn(
+              "Slack {} executor saturated (active={}, queued={}), applying {}",
+              name,
+              executor.getActiveCount(),
+              executor.getQueue().size(),
+              onFull);
+          policy.rejectedExecution(task, executor);
+        };
+
+    ThreadPoolExecutor executor =
+        new ThreadPoolExecutor(
+            threads,
+            threads,
+            60,
+            TimeUnit.SECONDS,
+            new ArrayBlockingQueue<>(queueCapacity),
+            namedThreads("slack-" + name),
+            countingPolicy);
+    executor.allowCoreThreadTimeOut(true);
+    new ExecutorServiceMetrics(executor, "slack." + name, Tags.empty()).bindTo(meterRegistry);
+    return executor;
+  }
+
+  private static void discardOldest(Runnable task, ThreadPoolExecutor executor) {
+    if (executor.isShutdown()) {
+      dropped(task);
+      return;
+    }
+    dropped(executor.getQueue().poll());
+    executor.execute(task);
+  }
+
+  private static void dropped(Runnable task) {
+    if (task instanceof DropAware) {
+      ((DropAware) task).onDropped();
+    }
+  }
+
+  private static ThreadFactory namedThreads(String prefix) {
+    AtomicInteger counter = new AtomicInteger();
+    return runnable -> {
+      Thread thread = new Thread(runnable, prefix + "-" + counter.incrementAndGet());
+      thread.setDaemon(true);
+      return thread;
+    };
+  }
+
+  @PreDestroy
+  public void shutdown() {
+    for (ThreadPoolExecutor executor : new ThreadPoolExecutor[] {interactive, mutations, notifications}) {
+      executor.shutdown();
+    }
+    try {
+      for (ThreadPoolExecutor executor : new ThreadPoolExecutor[] {interactive, mutations, notifications}) {
+        if (!executor.awaitTermination(5, TimeUnit.SECONDS)) {
+          executor.shutdownNow();
+        }
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+}
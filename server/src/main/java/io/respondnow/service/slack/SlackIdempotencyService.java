@@ -0,0 +1,129 @@
+package io.respondnow.service.slack;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.respondnow.model.slack.SlackDelivery;
+import io.respondnow.util.TtlCache;
+import java.time.Duration;
+import java.util.Date;
+import javax.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.Index;
+import org.springframework.stereotype.Service;
+
+/**
+ * Recognises Slack redeliveries so each interaction or event is processed once.
+ *
+ * Slack resends an interaction or event when the ack is slow; the redelivery carries the same
+ * view or event ID. Checking happens in two steps:
+ *
+ * <ol>
+ *   <li>{@link #markSeen} runs on the receiver thread before the ack and never touches MongoDB:
+ *       a bounded cache of recent keys recognises the redelivery so it can be dropped.
+ *   <li>{@link #claim} runs on the worker just before processing and inserts the key into
+ *       {@code slack_deliveries}, a TTL collection. A duplicate-key failure means another
+ *       instance, or this one before a restart, already took the delivery.
+ * </ol>
+ */
+@Service
+@ConditionalOnProperty(name = "slack.enabled", havingValue = "true")
+public class SlackIdempotencyService {
+
+  private static final Logger logger = LoggerFactory.getLogger(SlackIdempotencyService.class);
+
+  private final MongoTemplate mongoTemplate;
+  private final long ttlMs;
+  private final TtlCache<String, Boolean> recent;
+  private final Counter duplicatesInMemory;
+  private final Counter duplicatesInStore;
+
+  public SlackIdempotencyService(
+      MongoTemplate mongoTemplate,
+      MeterRegistry meterRegistry,
+      @Value("${slack.idempotency.ttlMs:21600000}") long ttlMs,
+      @Value("${slack.idempotency.recentSize:10000}") int recentSize) {
+    this.mongoTemplate = mongoTemplate;
+    this.ttlMs = ttlMs;
+    this.recent =
+        new TtlCache<>(
+            "slack.cache", "deliveries", recentSize, Duration.ofMillis(ttlMs), meterRegistry);
+    this.duplicatesInMemory = duplicates(meterRegistry, "memory");
+    this.duplicatesInStore = duplicates(meterRegistry, "store");
+  }
+
+  private static Counter duplicates(MeterRegistry meterRegistry, String stage) {
+    return Counter.builder("slack.deliveries.duplicate")
+        .tag("stage", stage)
+        .description("Slack redeliveries dropped, by where they were recognised")
+        .register(meterRegistry);
+  }
+
+  @PostConstruct
+  public void init() {
+    try {
+      mongoTemplate
+          .indexOps(SlackDelivery.class)
+          .ensureIndex(
+              new Index()
+                  .on("expireAt", Sort.Direction.ASC)
+                  .expire(Duration.ZERO)
+                  .named("expireAt_ttl"));
+    } catch (Exception e) {
+      logger.error("Failed to create slack_deliveries TTL index", e);
+    }
+  }
+
+  /**
+   * Record a delivery in memory. Returns false when it is known to be a redelivery and should
+   * be acked without processing. Callers that end up not processing the delivery must
+   * {@link #forget} it.
+   */
+  public synchronized boolean markSeen(String key) {
+    if (recent.get(key) != null) {
+      duplicatesInMemory.increment();
+      return false;
+    }
+    // New, or older than the recent cache remembers; the durable claim settles the latter
+    recent.put(key, Boolean.TRUE);
+    return true;
+  }
+
+  /**
+   * Undo {@link #markSeen} for a delivery that was never processed (its task was rejected or
+   * dropped), so a redelivery is processed instead of being recognised as a duplicate.
+   */
+  public synchronized void forget(String key) {
+    recent.invalidate(key);
+  }
+
+  /**
+   * Durably take a delivery before processing it. Returns false when it was already taken. If
+   * MongoDB is unavailable the delivery is processed anyway: a rare duplicate is preferable to
+   * losing an incident.
+   */
+  public boolean claim(String key) {
+    long now = System.currentTimeMillis();
+    try {
+      mongoTemplate.insert(
+          SlackDelivery.builder()
+              .id(key)
+              .receivedAt(new Date(now))
+              .expireAt(new Date(now + ttlMs))
+              .build());
+      return true;
+    } catch (DuplicateKeyException e) {
+      duplicatesInStore.increment();
+      return false;
+    } catch (Exception e) {
+      logger.warn("Failed to record Slack delivery {}, processing it anyway", key, e);
+      return true;
+    }
+  }
+
+}
@@ -0,0 +1,17 @@
+package io.respondnow.service.slack;
+
+import com.slack.api.methods.SlackApiException;
+import io.respondnow.model.incident.Incident;
+import io.respondnow.model.incident.SlackNotification;
+import java.io.IOException;
+
+/** Delivers queued incident notifications to Slack on behalf of {@link SlackOutboxRelay}. */
+public interface SlackNotificationSender {
+
+  /** Post the confirmation for one change; throws when Slack did not accept it. */
+  void sendNotification(Incident incident, SlackNotification notification)
+      throws IOException, SlackApiException;
+
+  /** Re-render the pinned incident card from the incident's current state. */
+  void refreshIncidentCard(Incident incident) throws IOException, SlackApiException;
+}
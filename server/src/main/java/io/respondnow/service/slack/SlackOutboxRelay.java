@@ -0,0 +1,329 @@
+package io.respondnow.service.slack;
+
+import com.mongodb.client.result.UpdateResult;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.respondnow.model.incident.ChangeType;
+import io.respondnow.model.incident.Incident;
+import io.respondnow.model.incident.SlackNotification;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.Index;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Component;
+
+/**
+ * Delivers the Slack confirmations queued on each incident's {@code slackOutbox}.
+ *
+ * Incident updates push a notification onto the outbox in the same write as the change and
+ * lower {@code slackOutboxDueAt}. Each pass takes up to {@code slack.outbox.batchSize} due
+ * incidents, leases each one so only one instance works on it, and posts its notifications in
+ * the order they were queued. Successive status, severity or summary changes waiting together
+ * are coalesced to the latest, and the pinned incident card is refreshed with a single
+ * {@code chat.update} per incident per pass.
+ *
+ * A failed delivery stops that incident's queue, so later notifications never overtake it, and
+ * is retried with exponential backoff. After {@code slack.outbox.maxAttempts} it is dropped.
+ *
+ * The lease is renewed before every Slack call, since a rate-limited dispatcher can hold a send
+ * for longer than {@code slack.outbox.leaseMs}. If another instance has taken the incident
+ * meanwhile the pass stops there, and the lease, due time and attempts are only written back
+ * while this instance still holds the lease it last wrote.
+ */
+@Component
+@ConditionalOnProperty(name = "slack.enabled", havingValue = "true")
+public class SlackOutboxRelay {
+
+  private static final Logger logger = LoggerFactory.getLogger(SlackOutboxRelay.class);
+
+  // Changes where only the latest value is worth announcing
+  private static final Set<ChangeType> COALESCED_TYPES =
+      EnumSet.of(ChangeType.Status, ChangeType.Severity, ChangeType.Summary);
+
+  private final MongoTemplate mongoTemplate;
+  private final SlackNotificationSender sender;
+  private final Counter deliveredCounter;
+  private final Counter coalescedCounter;
+  private final Counter retriedCounter;
+  private final Counter droppedCounter;
+
+  @Value("${slack.outbox.pollIntervalMs:2000}")
+  private long pollIntervalMs;
+
+  @Value("${slack.outbox.batchSize:50}")
+  private int batchSize;
+
+  @Value("${slack.outbox.leaseMs:60000}")
+  private long leaseMs;
+
+  @Value("${slack.outbox.initialBackoffMs:1000}")
+  private long initialBackoffMs;
+
+  @Value("${slack.outbox.maxBackoffMs:300000}")
+  private long maxBackoffMs;
+
+  @Value("${slack.outbox.maxAttempts:12}")
+  private int maxAttempts;
+
+  private ScheduledExecutorService scheduler;
+
+  public SlackOutboxRelay(
+      MongoTemplate mongoTemplate, SlackNotificationSender sender, MeterRegistry meterRegistry) {
+    this.mongoTemplate = mongoTemplate;
+    this.sender = sender;
+    this.deliveredCounter = Counter.builder("slack.outbox.delivered").register(meterRegistry);
+    this.coalescedCounter =
+        Counter.builder("slack.outbox.coalesced")
+            .description("Queued Slack notifications superseded by a later change")
+            .register(meterRegistry);
+    this.retriedCounter = Counter.builder("slack.outbox.retried").register(meterRegistry);
+    this.droppedCounter =
+        Counter.builder("slack.outbox.dropped")
+            .description("Slack notifications abandoned after the last attempt")
+            .register(meterRegistry);
+  }
+
+  @PostConstruct
+  public void start() {
+    try {
+      mongoTemplate
+          .indexOps(Incident.class)
+          .ensureIndex(
+              new Index().on("slackOutboxDueAt", Sort.Direction.ASC).sparse().named("slackOutboxDueAt"));
+    } catch (Exception e) {
+      logger.error("Failed to create slackOutboxDueAt index", e);
+    }
+    scheduler =
+        Executors.newSingleThreadScheduledExecutor(
+            runnable -> {
+              Thread thread = new Thread(runnable, "slack-outbox-relay");
+              thread.setDaemon(true);
+              return thread;
+            });
+    scheduler.scheduleWithFixedDelay(
+        this::relay, pollIntervalMs, pollIntervalMs, TimeUnit.MILLISECONDS);
+  }
+
+  @PreDestroy
+  public void stop() {
+    scheduler.shutdownNow();
+  }
+
+  void relay() {
+    try {
+      long now = System.currentTimeMillis();
+      Query due = Query.query(dueAndUnleased(now)).limit(batchSize);
+      due.fields().include("_id");
+      for (Incident candidate : mongoTemplate.find(due, Incident.class)) {
+        Incident leased = lease(candidate.getId(), now);
+        if (leased != null) {
+          deliver(leased, leased.getSlackOutboxLeaseUntil());
+        }
+      }
+    } catch (Exception e) {
+      logger.error("Slack outbox relay pass failed", e);
+    }
+  }
+
+  private static Criteria dueAndUnleased(long now) {
+    return Criteria.where("slackOutboxDueAt")
+        .lte(now)
+        .orOperator(
+            Criteria.where("slackOutboxLeaseUntil").exists(false),
+            Criteria.where("slackOutboxLeaseUntil").lt(now));
+  }
+
+  private Incident lease(String incidentId, long now) {
+    Query query =
+        Query.query(Criteria.where("_id").is(new ObjectId(incidentId)).andOperator(dueAndUnleased(now)));
+    return mongoTemplate.findAndModify(
+        query,
+        new Update().set("slackOutboxLeaseUntil", now + leaseMs),
+        FindAndModifyOptions.options().returnNew(true),
+        Incident.class);
+  }
+
+  /**
+   * Move the lease on if it is still the one this instance wrote, returning the new expiry or
+   * null once another instance has taken the incident over.
+   */
+  Long renew(Incident incident, long heldUntil) {
+    long renewedUntil = Math.max(System.currentTimeMillis() + leaseMs, heldUntil + 1);
+    UpdateResult result =
+        mongoTemplate.updateFirst(
+            heldLease(incident, heldUntil),
+            new Update().set("slackOutboxLeaseUntil", renewedUntil),
+            Incident.class);
+    return result.getMatchedCount() > 0 ? renewedUntil : null;
+  }
+
+  private static Query heldLease(Incident incident, long heldUntil) {
+    return Query.query(
+        Criteria.where("_id")
+            .is(new ObjectId(incident.getId()))
+            .and("slackOutboxLeaseUntil")
+            .is(heldUntil));
+  }
+
+  void deliver(Incident incident, long leaseUntil) {
+    List<SlackNotification> pending =
+        incident.getSlackOutbox() != null ? incident.getSlackOutbox() : List.of();
+    List<String> done = new ArrayList<>();
+    SlackNotification failed = null;
+    String failure = null;
+    int delivered = 0;
+    Long heldUntil = leaseUntil;
+
+    for (int i = 0; i < pending.size(); i++) {
+      SlackNotification notification = pending.get(i);
+      if (isSuperseded(notification, pending.subList(i + 1, pending.size()))) {
+        done.add(notification.getNotificationId());
+        coalescedCounter.increment();
+        continue;
+      }
+      heldUntil = renew(incident, heldUntil);
+      if (heldUntil == null) {
+        lostLease(incident, done);
+        return;
+      }
+      try {
+        sender.sendNotification(incident, notification);
+        done.add(notification.getNotificationId());
+        deliveredCounter.increment();
+        delivered++;
+      } catch (Exception e) {
+        int attempts = (notification.getAttempts() != null ? notification.getAttempts() : 0) + 1;
+        if (attempts >= maxAttempts) {
+          logger.error(
+              "Dropping {} notification for incident {} after {} attempt(s)",
+              notification.getType(),
+              incident.getIdentifier(),
+              attempts,
+              e);
+          done.add(notification.getNotificationId());
+          droppedCounter.increment();
+          continue;
+        }
+        logger.warn(
+            "Failed to deliver {} notification for incident {} (attempt {}): {}",
+            notification.getType(),
+            incident.getIdentifier(),
+            attempts,
+            e.getMessage());
+        failed = notification;
+        failure = e.getMessage();
+        break;
+      }
+    }
+
+    if (delivered > 0 && incident.getSlackCardTs() != null) {
+      heldUntil = renew(incident, heldUntil);
+      if (heldUntil == null) {
+        lostLease(incident, done);
+        return;
+      }
+      try {
+        sender.refreshIncidentCard(incident);
+      } catch (Exception e) {
+        logger.warn(
+            "Failed to refresh Slack card for incident {}: {}",
+            incident.getIdentifier(),
+            e.getMessage());
+      }
+    }
+
+    complete(incident, heldUntil, done, failed, failure);
+  }
+
+  /**
+   * Another instance owns the incident now. Only what was already handled is removed, so the new
+   * holder does not post it again; its lease and due time are left alone.
+   */
+  private void lostLease(Incident incident, List<String> done) {
+    logger.warn(
+        "Lost the Slack outbox lease on incident {}, leaving the rest to its new holder",
+        incident.getIdentifier());
+    if (!done.isEmpty()) {
+      mongoTemplate.updateFirst(
+          Query.query(Criteria.where("_id").is(new ObjectId(incident.getId()))),
+          new Update().pull("slackOutbox", new Document("notificationId", new Document("$in", done))),
+          Incident.class);
+    }
+  }
+
+  private static boolean isSuperseded(SlackNotification notification, List<SlackNotification> later) {
+    if (!COALESCED_TYPES.contains(notification.getType())) {
+      return false;
+    }
+    return later.stream().anyMatch(next -> next.getType() == notification.getType());
+  }
+
+  /**
+   * Remove what was handled and release the lease, both only while this instance still holds the
+   * lease it last wrote. A failed head sets the due time to its next attempt before the lease is
+   * released; an outbox that is now empty loses its due time, unless a new notification was
+   * pushed meanwhile.
+   */
+  private void complete(
+      Incident incident, long heldUntil, List<String> done, SlackNotification failed, String failure) {
+    if (failed != null) {
+      int attempts = (failed.getAttempts() != null ? failed.getAttempts() : 0) + 1;
+      retriedCounter.increment();
+      Query head = heldLease(incident, heldUntil);
+      head.addCriteria(Criteria.where("slackOutbox.notificationId").is(failed.getNotificationId()));
+      mongoTemplate.updateFirst(
+          head,
+          new Update()
+              .set("slackOutbox.$.attempts", attempts)
+              .set("slackOutbox.$.lastError", failure)
+              .set("slackOutboxDueAt", System.currentTimeMillis() + backoff(attempts)),
+          Incident.class);
+    }
+
+    Update release = new Update().unset("slackOutboxLeaseUntil");
+    if (!done.isEmpty()) {
+      release.pull("slackOutbox", new Document("notificationId", new Document("$in", done)));
+    }
+    if (mongoTemplate.updateFirst(heldLease(incident, heldUntil), release, Incident.class).getMatchedCount()
+        == 0) {
+      lostLease(incident, done);
+      return;
+    }
+
+    if (failed == null) {
+      mongoTemplate.updateFirst(
+          Query.query(
+              Criteria.where("_id")
+                  .is(new ObjectId(incident.getId()))
+                  .and("slackOutbox")
+                  .size(0)),
+          new Update().unset("slackOutboxDueAt"),
+          Incident.class);
+    }
+  }
+
+  private long backoff(int attempts) {
+    long delay = Math.min(maxBackoffMs, initialBackoffMs << Math.min(attempts - 1, 20));
+    // Jitter so incidents that failed together do not retry together
+    return delay / 2 + ThreadLocalRandom.current().nextLong(delay / 2 + 1);
+  }
+}
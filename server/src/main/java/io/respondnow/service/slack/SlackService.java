@@ -25,7 +25,7 @@ public interface SlackService {
 
   List<Conversation> listChannels() throws Exception;
 
-  void handleAppHome(AppHomeOpenedEvent event) throws InterruptedException;
+  void handleAppHome(AppHomeOpenedEvent event);
 
   String getIncidentChannelID();
 
@@ -37,6 +37,8 @@ public interface SlackService {
 
   void startApp();
 
+  void stopApp();
+
   Slack getSlackClient();
 
   App getSlackApp();
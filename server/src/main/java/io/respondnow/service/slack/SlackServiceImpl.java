@@ -15,11 +15,9 @@ import com.slack.api.methods.request.conversations.ConversationsCreateRequest;
 import com.slack.api.methods.request.conversations.ConversationsInviteRequest;
 import com.slack.api.methods.response.auth.AuthTestResponse;
 import com.slack.api.methods.response.chat.ChatPostMessageResponse;
-import com.slack.api.methods.response.conversations.ConversationsCreateResponse;
-import com.slack.api.methods.response.conversations.ConversationsInviteResponse;
-import com.slack.api.methods.response.users.UsersInfoResponse;
 import com.slack.api.methods.response.views.ViewsOpenResponse;
 import com.slack.api.model.Conversation;
+import com.slack.api.model.User;
 import com.slack.api.model.block.*;
 import com.slack.api.model.block.Blocks;
 import com.slack.api.model.block.DividerBlock;
@@ -30,6 +28,7 @@ import com.slack.api.model.block.composition.MarkdownTextObject;
 import com.slack.api.model.block.composition.OptionObject;
 import com.slack.api.model.block.composition.PlainTextObject;
 import com.slack.api.model.block.composition.TextObject;
+import com.slack.api.model.block.element.BlockElement;
 import com.slack.api.model.block.element.BlockElements;
 import com.slack.api.model.block.element.ButtonElement;
 import com.slack.api.model.block.element.StaticSelectElement;
@@ -37,14 +36,21 @@ import com.slack.api.model.block.element.UsersSelectElement;
 import com.slack.api.model.event.AppHomeOpenedEvent;
 import com.slack.api.model.event.AppMentionEvent;
 import com.slack.api.model.event.MemberJoinedChannelEvent;
+import com.slack.api.model.event.MemberLeftChannelEvent;
+import com.slack.api.model.event.UserChangeEvent;
 import com.slack.api.model.view.*;
-import com.slack.api.socket_mode.SocketModeClient;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.respondnow.dto.incident.ActiveIncidentSummary;
 import io.respondnow.dto.incident.CreateRequest;
 import io.respondnow.exception.RoleUpdateException;
 import io.respondnow.model.incident.*;
 import io.respondnow.model.user.UserDetails;
+import io.respondnow.service.incident.ActiveIncidentRegistry;
 import io.respondnow.service.incident.IncidentService;
+import io.respondnow.service.slack.SlackApiDispatcher.Priority;
+import io.respondnow.util.TtlCache;
 import java.io.IOException;
+import java.time.Duration;
 import java.time.Instant;
 import java.util.*;
 import java.util.concurrent.*;
@@ -57,6 +63,7 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Sort;
 import org.springframework.data.mongodb.core.query.Criteria;
 import org.springframework.data.mongodb.core.query.Query;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
@@ -65,14 +72,35 @@ import org.springframework.stereotype.Service;
 @Service
 @Slf4j
 @ConditionalOnProperty(name = "slack.enabled", havingValue = "true")
-public class SlackServiceImpl implements SlackService {
+public class SlackServiceImpl implements SlackService, SlackNotificationSender {
   private static final Logger logger = LoggerFactory.getLogger(SlackServiceImpl.class);
+
+  // A view holds at most 100 blocks; each listed incident takes a section and a divider, and
+  // the pager takes two more
+  private static final int INCIDENTS_PER_PAGE = 45;
+  private static final String INCIDENT_LIST_PREVIOUS = "incident_list_page_previous";
+  private static final String INCIDENT_LIST_NEXT = "incident_list_page_next";
+  // Open incidents shown on the App Home before pointing at the list shortcut
+  private static final int APP_HOME_INCIDENTS = 10;
+
   private final Slack slackClient;
-  private final SocketModeClient socketModeSlackClient;
   private final App slackApp;
-  private final SocketModeApp socketModeApp;
-  private final ExecutorService executorService;
+  // Created when the app starts, so constructing the service never opens a connection. Only
+  // the instance holding the leader lease connects (see SlackAsyncService). Guarded by
+  // socketModeLock
+  private final Object socketModeLock = new Object();
+  private SocketModeApp socketModeApp;
+  private Thread socketModeThread;
+  private boolean socketModeRunning;
+  private boolean shutdownHookAdded;
+  private final SlackExecutors slackExecutors;
+  private final SlackApiDispatcher slackApi;
+  private final SlackDirectoryCache directory;
+  private final SlackIdempotencyService idempotency;
+  // User -> open incidents last published to their App Home
+  private final TtlCache<String, String> appHomeViews;
   @Autowired private IncidentService incidentService;
+  @Autowired private ActiveIncidentRegistry activeIncidents;
   private String botUserId;
 
   @Value("${slack.botToken}")
@@ -84,13 +112,18 @@ public class SlackServiceImpl implements SlackService {
   @Value("${slack.incidentChannelID}")
   private String incidentChannelID;
 
-  @Value("${slack.maxRetryAttempts:3}")
-  private int maxRetryAttempts;
-
   public SlackServiceImpl(
       @Value("${slack.botToken}") String botToken,
       @Value("${slack.appToken}") String appToken,
-      @Value("${slack.incidentChannelID}") String incidentChannelID)
+      @Value("${slack.incidentChannelID}") String incidentChannelID,
+      Slack slack,
+      SlackExecutors slackExecutors,
+      SlackApiDispatcher slackApi,
+      SlackDirectoryCache directory,
+      SlackIdempotencyService idempotency,
+      MeterRegistry meterRegistry,
+      @Value("${slack.appHome.cacheTtlMs:60000}") long appHomeCacheTtlMs,
+      @Value("${slack.appHome.cacheMaxSize:10000}") int appHomeCacheMaxSize)
       throws Exception {
     if (botToken == null || appToken == null || incidentChannelID == null) {
       throw new IllegalArgumentException(
@@ -100,13 +133,20 @@ public class SlackServiceImpl implements SlackService {
     this.appToken = appToken;
     this.incidentChannelID = incidentChannelID;
 
-    AppConfig appConfig = AppConfig.builder().singleTeamBotToken(botToken).build();
+    AppConfig appConfig = AppConfig.builder().slack(slack).singleTeamBotToken(botToken).build();
     this.slackApp = new App(appConfig);
-    this.socketModeApp = new SocketModeApp(this.appToken, this.slackApp);
-    this.socketModeApp.getClient();
-    this.slackClient = Slack.getInstance();
-    this.socketModeSlackClient = socketModeApp.getClient();
-    this.executorService = Executors.newCachedThreadPool();
+    this.slackClient = slack;
+    this.slackExecutors = slackExecutors;
+    this.slackApi = slackApi;
+    this.directory = directory;
+    this.idempotency = idempotency;
+    this.appHomeViews =
+        new TtlCache<>(
+            "slack.cache",
+            "app_home",
+            appHomeCacheMaxSize,
+            Duration.ofMillis(appHomeCacheTtlMs),
+            meterRegistry);
 
     registerEventHandlers();
     registerShortcutHandlers();
@@ -151,6 +191,8 @@ public class SlackServiceImpl implements SlackService {
       registerAppHomeOpenedEvent();
       registerAppMentionEvent();
       registerMemberJoinedChannelEvent();
+      registerMemberLeftChannelEvent();
+      registerUserChangeEvent();
     } catch (RuntimeException e) {
       throw new RuntimeException(e);
     }
@@ -187,12 +229,13 @@ public class SlackServiceImpl implements SlackService {
         "create_incident_modal",
         (payload, ctx) -> {
           // Perform processing asynchronously
-          CompletableFuture.runAsync(
+          runOnce(
+              viewSubmissionKey(payload),
+              slackExecutors.mutations(),
               () -> {
                 try {
                   logger.info("Received create incident view submission: {}", payload);
                   createIncident(payload);
-                  logger.info("Successfully created incident for payload: {}", payload);
                 } catch (Exception e) {
                   logger.error("Error creating incident for payload: {}", payload, e);
                   // Optionally, handle the error (e.g., notify the user)
@@ -210,7 +253,9 @@ public class SlackServiceImpl implements SlackService {
         "incident_summary_modal",
         (payload, ctx) -> {
           // Perform processing asynchronously
-          CompletableFuture.runAsync(
+          runOnce(
+              viewSubmissionKey(payload),
+              slackExecutors.mutations(),
               () -> {
                 try {
                   logger.debug("Update summary received: {}", payload);
@@ -233,7 +278,9 @@ public class SlackServiceImpl implements SlackService {
         "incident_comment_modal",
         (payload, ctx) -> {
           // Perform processing asynchronously
-          CompletableFuture.runAsync(
+          runOnce(
+              viewSubmissionKey(payload),
+              slackExecutors.mutations(),
               () -> {
                 try {
                   logger.debug("A new comment received: {}", payload);
@@ -256,7 +303,9 @@ public class SlackServiceImpl implements SlackService {
         "incident_roles_modal",
         (payload, ctx) -> {
           // Perform processing asynchronously
-          CompletableFuture.runAsync(
+          runOnce(
+              viewSubmissionKey(payload),
+              slackExecutors.mutations(),
               () -> {
                 try {
                   logger.debug("Incident roles modal received: {}", payload);
@@ -279,7 +328,9 @@ public class SlackServiceImpl implements SlackService {
         "incident_status_modal",
         (payload, ctx) -> {
           // Perform processing asynchronously
-          CompletableFuture.runAsync(
+          runOnce(
+              viewSubmissionKey(payload),
+              slackExecutors.mutations(),
               () -> {
                 try {
                   logger.debug("Incident status modal received: {}", payload);
@@ -302,7 +353,9 @@ public class SlackServiceImpl implements SlackService {
         "incident_severity_modal",
         (payload, ctx) -> {
           // Perform processing asynchronously
-          CompletableFuture.runAsync(
+          runOnce(
+              viewSubmissionKey(payload),
+              slackExecutors.mutations(),
               () -> {
                 try {
                   logger.debug("Incident severity modal received: {}", payload);
@@ -319,6 +372,46 @@ public class SlackServiceImpl implements SlackService {
         });
   }
 
+  /**
+   * Hand {@code task} to {@code executor} unless this delivery has already been taken. Slack
+   * redelivers interactions and events whose ack was slow, so without this a retry would create
+   * a second incident and channel. If the executor rejects or later drops the task, the delivery
+   * is forgotten again so that a redelivery is processed.
+   */
+  private void runOnce(String deliveryKey, ExecutorService executor, Runnable task) {
+    if (!idempotency.markSeen(deliveryKey)) {
+      logger.info("Ignoring redelivered Slack payload: {}", deliveryKey);
+      return;
+    }
+    try {
+      executor.execute(
+          new SlackExecutors.DropAware() {
+            @Override
+            public void run() {
+              if (!idempotency.claim(deliveryKey)) {
+                logger.info("Slack payload {} was already processed, skipping", deliveryKey);
+                return;
+              }
+              task.run();
+            }
+
+            @Override
+            public void onDropped() {
+              idempotency.forget(deliveryKey);
+              logger.warn("Dropped Slack payload {} from a full executor", deliveryKey);
+            }
+          });
+    } catch (RejectedExecutionException e) {
+      idempotency.forget(deliveryKey);
+      throw e;
+    }
+  }
+
+  // The view ID is stable across redeliveries of the same submission
+  private static String viewSubmissionKey(ViewSubmissionRequest request) {
+    return "view_submission:" + request.getPayload().getView().getId();
+  }
+
   /** Register all block action handlers for the Slack app. */
   private void registerBlockActionHandlers() {
     try {
@@ -330,6 +423,7 @@ public class SlackServiceImpl implements SlackService {
       registerUpdateIncidentStatusButton();
       registerUpdateIncidentSeverityButton();
       registerViewIncidentActionHandler();
+      registerIncidentListPageButtons();
     } catch (RuntimeException e) {
       throw new RuntimeException(e);
     }
@@ -356,7 +450,8 @@ public class SlackServiceImpl implements SlackService {
                   logger.error("Error handling create incident channel join button", e);
                   // Optionally, handle the error (e.g., notify the user via Slack)
                 }
-              });
+              },
+              slackExecutors.interactive());
 
           // Acknowledge immediately
           return ctx.ack();
@@ -389,16 +484,22 @@ public class SlackServiceImpl implements SlackService {
                                       "create_incident_modal_set_summary")))
                           .submit(ViewSubmit.builder().type("plain_text").text("Submit").build())
                           .build();
-                  ctx.client()
-                      .viewsOpen(
-                          r -> r.triggerId(req.getPayload().getTriggerId()).view(modalRequest));
+                  slackApi.execute(
+                      "views.open",
+                      null,
+                      Priority.INTERACTIVE,
+                      () ->
+                          ctx.client()
+                              .viewsOpen(
+                                  r -> r.triggerId(req.getPayload().getTriggerId()).view(modalRequest)));
 
                   logger.info("Opened Incident Summary modal for payload: {}", req.getPayload());
                 } catch (Exception e) {
                   logger.error("Error opening Incident Summary modal", e);
                   // Optionally, handle the error
                 }
-              });
+              },
+              slackExecutors.interactive());
 
           // Acknowledge immediately
           return ctx.ack();
@@ -430,16 +531,22 @@ public class SlackServiceImpl implements SlackService {
                                       "update_incident_modal_set_comment")))
                           .submit(ViewSubmit.builder().type("plain_text").text("Submit").build())
                           .build();
-                  ctx.client()
-                      .viewsOpen(
-                          r -> r.triggerId(req.getPayload().getTriggerId()).view(modalRequest));
+                  slackApi.execute(
+                      "views.open",
+                      null,
+                      Priority.INTERACTIVE,
+                      () ->
+                          ctx.client()
+                              .viewsOpen(
+                                  r -> r.triggerId(req.getPayload().getTriggerId()).view(modalRequest)));
 
                   logger.info("Opened Incident Comment modal for payload: {}", req.getPayload());
                 } catch (Exception e) {
                   logger.error("Error opening Incident Comment modal", e);
                   // Optionally, handle the error
                 }
-              });
+              },
+              slackExecutors.interactive());
 
           // Acknowledge immediately
           return ctx.ack();
@@ -468,15 +575,21 @@ public class SlackServiceImpl implements SlackService {
                           .submit(ViewSubmit.builder().type("plain_text").text("Submit").build())
                           .close(ViewClose.builder().type("plain_text").text("Close").build())
                           .build();
-                  ctx.client()
-                      .viewsOpen(
-                          r -> r.triggerId(req.getPayload().getTriggerId()).view(modalRequest));
+                  slackApi.execute(
+                      "views.open",
+                      null,
+                      Priority.INTERACTIVE,
+                      () ->
+                          ctx.client()
+                              .viewsOpen(
+                                  r -> r.triggerId(req.getPayload().getTriggerId()).view(modalRequest)));
 
                   logger.info("Opened Incident Roles modal for payload: {}", req.getPayload());
                 } catch (Exception e) {
                   logger.error("Error opening Incident Roles modal", e);
                 }
-              });
+              },
+              slackExecutors.interactive());
 
           // Acknowledge immediately
           return ctx.ack();
@@ -504,16 +617,22 @@ public class SlackServiceImpl implements SlackService {
                           .blocks(Collections.singletonList(updateStatus()))
                           .submit(ViewSubmit.builder().type("plain_text").text("Submit").build())
                           .build();
-                  ctx.client()
-                      .viewsOpen(
-                          r -> r.triggerId(req.getPayload().getTriggerId()).view(modalRequest));
+                  slackApi.execute(
+                      "views.open",
+                      null,
+                      Priority.INTERACTIVE,
+                      () ->
+                          ctx.client()
+                              .viewsOpen(
+                                  r -> r.triggerId(req.getPayload().getTriggerId()).view(modalRequest)));
 
                   logger.info("Opened Incident Status modal for payload: {}", req.getPayload());
                 } catch (Exception e) {
                   logger.error("Error opening Incident Status modal", e);
                   // Optionally, handle the error
                 }
-              });
+              },
+              slackExecutors.interactive());
 
           // Acknowledge immediately
           return ctx.ack();
@@ -542,16 +661,51 @@ public class SlackServiceImpl implements SlackService {
                           .submit(ViewSubmit.builder().type("plain_text").text("Submit").build())
                           .build();
 
-                  ctx.client()
-                      .viewsOpen(
-                          r -> r.triggerId(req.getPayload().getTriggerId()).view(modalRequest));
+                  slackApi.execute(
+                      "views.open",
+                      null,
+                      Priority.INTERACTIVE,
+                      () ->
+                          ctx.client()
+                              .viewsOpen(
+                                  r -> r.triggerId(req.getPayload().getTriggerId()).view(modalRequest)));
 
                   logger.info("Opened Incident Severity modal for payload: {}", req.getPayload());
                 } catch (Exception e) {
                   logger.error("Error opening Incident Severity modal", e);
                   // Optionally, handle the error
                 }
-              });
+              },
+              slackExecutors.interactive());
+
+          // Acknowledge immediately
+          return ctx.ack();
+        });
+  }
+
+  private void registerIncidentListPageButtons() {
+    slackApp.blockAction(
+        Pattern.compile("^(" + INCIDENT_LIST_PREVIOUS + "|" + INCIDENT_LIST_NEXT + ")$"),
+        (req, ctx) -> {
+          CompletableFuture.runAsync(
+              () -> {
+                try {
+                  int offset = Integer.parseInt(req.getPayload().getActions().get(0).getValue());
+                  View current = req.getPayload().getView();
+                  View page = buildOpenIncidentListView(offset);
+                  slackApi.execute(
+                      "views.update",
+                      null,
+                      Priority.INTERACTIVE,
+                      () ->
+                          ctx.client()
+                              .viewsUpdate(
+                                  r -> r.viewId(current.getId()).hash(current.getHash()).view(page)));
+                } catch (Exception e) {
+                  logger.error("Error paging the incident list", e);
+                }
+              },
+              slackExecutors.interactive());
 
           // Acknowledge immediately
           return ctx.ack();
@@ -599,16 +753,22 @@ public class SlackServiceImpl implements SlackService {
                           .submit(ViewSubmit.builder().type("plain_text").text("Submit").build())
                           .close(ViewClose.builder().type("plain_text").text("Close").build())
                           .build();
-                  ctx.client()
-                      .viewsPush(
-                          r -> r.triggerId(req.getPayload().getTriggerId()).view(modalRequest));
+                  slackApi.execute(
+                      "views.push",
+                      null,
+                      Priority.INTERACTIVE,
+                      () ->
+                          ctx.client()
+                              .viewsPush(
+                                  r -> r.triggerId(req.getPayload().getTriggerId()).view(modalRequest)));
 
                   logger.info("Opened Incident Details modal for incident: {}", incidentIdentifier);
                 } catch (Exception e) {
                   logger.error("Error opening Incident Details modal", e);
                   // Optionally, handle the error
                 }
-              });
+              },
+              slackExecutors.interactive());
 
           // Acknowledge immediately
           return ctx.ack();
@@ -821,14 +981,10 @@ public class SlackServiceImpl implements SlackService {
           logger.info("Received AppHomeOpenedEvent: userId={}", event.getUser());
 
           // Handle the event asynchronously
-          executorService.submit(
-              () -> {
-                try {
-                  handleAppHome(event);
-                } catch (InterruptedException e) {
-                  throw new RuntimeException(e);
-                }
-              });
+          runOnce(
+              "event:" + payload.getEventId(),
+              slackExecutors.notifications(),
+              () -> handleAppHome(event));
           return ctx.ack(); // Acknowledge the event
         });
   }
@@ -841,14 +997,10 @@ public class SlackServiceImpl implements SlackService {
           logger.info("App mentioned in channel: {}", event.getChannel());
 
           // Handle the event asynchronously
-          executorService.submit(
-              () -> {
-                try {
-                  handleAppMention(event);
-                } catch (InterruptedException e) {
-                  throw new RuntimeException(e);
-                }
-              });
+          runOnce(
+              "event:" + payload.getEventId(),
+              slackExecutors.notifications(),
+              () -> handleAppMention(event));
           return ctx.ack(); // Acknowledge the event
         });
   }
@@ -861,7 +1013,9 @@ public class SlackServiceImpl implements SlackService {
           logger.info("New member joined channel: {}", event.getChannel());
 
           // Handle the event asynchronously
-          executorService.submit(
+          runOnce(
+              "event:" + payload.getEventId(),
+              slackExecutors.notifications(),
               () -> {
                 try {
                   handleMemberJoinedChannelEvent(event);
@@ -873,33 +1027,101 @@ public class SlackServiceImpl implements SlackService {
         });
   }
 
+  private void registerMemberLeftChannelEvent() throws RuntimeException {
+    slackApp.event(
+        MemberLeftChannelEvent.class,
+        (payload, ctx) -> {
+          MemberLeftChannelEvent event = payload.getEvent();
+          logger.debug("Member {} left channel: {}", event.getUser(), event.getChannel());
+          // Only updates an in-memory set, so there is nothing to hand off
+          directory.onMemberLeft(event.getChannel(), event.getUser());
+          return ctx.ack();
+        });
+  }
+
+  private void registerUserChangeEvent() throws RuntimeException {
+    slackApp.event(
+        UserChangeEvent.class,
+        (payload, ctx) -> {
+          UserChangeEvent event = payload.getEvent();
+          directory.onUserChanged(event.getUser());
+          return ctx.ack();
+        });
+  }
+
   @Override
   public void startApp() {
-    // Ensure the Slack app is started asynchronously
-    executorService.submit(
-        () -> {
-          try {
-            Runtime.getRuntime().addShutdownHook(new Thread(this::shutdownApp));
-            logger.info("Starting Slack app in Socket Mode...");
-            socketModeApp.start(); // This is the blocking call, but it will run asynchronously
-          } catch (Exception e) {
-            logger.error("Error starting Slack app in Socket Mode", e);
-            throw new RuntimeException("Failed to start Slack app", e);
-          }
-        });
+    synchronized (socketModeLock) {
+      if (socketModeRunning) {
+        return;
+      }
+      socketModeRunning = true;
+      if (!shutdownHookAdded) {
+        Runtime.getRuntime().addShutdownHook(new Thread(this::shutdownApp));
+        shutdownHookAdded = true;
+      }
+      // socketModeApp.start() blocks for the lifetime of the app, so it gets its own thread
+      // rather than holding a worker from one of the handler pools
+      socketModeThread =
+          new Thread(
+              () -> {
+                try {
+                  logger.info("Starting Slack app in Socket Mode...");
+                  SocketModeApp app = new SocketModeApp(appToken, slackApp);
+                  synchronized (socketModeLock) {
+                    if (!socketModeRunning) {
+                      // Stopped while connecting
+                      app.stop();
+                      return;
+                    }
+                    socketModeApp = app;
+                  }
+                  app.start();
+                } catch (InterruptedException e) {
+                  // stopApp() ended the connection
+                } catch (Exception e) {
+                  logger.error("Error starting Slack app in Socket Mode", e);
+                }
+              },
+              "slack-socket-mode");
+      socketModeThread.setDaemon(true);
+      socketModeThread.start();
+    }
+  }
+
+  /**
+   * Close the Socket Mode connection but keep the handlers and worker pools, so that
+   * {@link #startApp()} can connect again later.
+   */
+  @Override
+  public void stopApp() {
+    synchronized (socketModeLock) {
+      if (!socketModeRunning) {
+        return;
+      }
+      socketModeRunning = false;
+      logger.info("Closing Slack Socket Mode connection...");
+      if (socketModeApp != null) {
+        try {
+          socketModeApp.stop();
+        } catch (Exception e) {
+          logger.error("Error closing Slack Socket Mode connection", e);
+        }
+        socketModeApp = null;
+      }
+      if (socketModeThread != null) {
+        socketModeThread.interrupt();
+        socketModeThread = null;
+      }
+    }
   }
 
   /** Stop the Slack app and release resources. */
   public void shutdownApp() {
     try {
       logger.info("Shutting down Slack app...");
-      if (executorService != null && !executorService.isShutdown()) {
-        executorService.shutdown();
-        if (!executorService.awaitTermination(5, TimeUnit.SECONDS)) {
-          executorService.shutdownNow();
-        }
-      }
-      socketModeApp.stop();
+      stopApp();
+      slackExecutors.shutdown();
       logger.info("Slack app shut down successfully");
     } catch (Exception e) {
       logger.error("Error during Slack app shutdown", e);
@@ -935,6 +1157,7 @@ public class SlackServiceImpl implements SlackService {
       if (!joinResponse.isOk()) {
         throw new Exception("Failed to join the channel: " + joinResponse.getError());
       }
+      directory.onMemberJoined(channelID, botUserID);
       logger.info("Bot: {} successfully added to the channel: {}", botUserID, channelID);
     } else {
       logger.info("Bot: {} is already in the channel: {}", botUserID, channelID);
@@ -943,86 +1166,21 @@ public class SlackServiceImpl implements SlackService {
 
   public boolean isBotInChannel(String botUserID, String channelID) throws Exception {
     logger.info("Checking if bot is in the channel...");
-
-    List<String> members = listAllMembersOfChannel(channelID);
-
-    if (members == null || members.isEmpty()) {
-      logger.info("No members found in the channel.");
-      return false; // Bot cannot be in a channel with no members
-    }
-
-    // Normalize and trim spaces for comparison
-    botUserID = botUserID.trim(); // Remove leading/trailing spaces
-    members =
-        members.stream()
-            .map(String::trim) // Trim each member ID
-            .collect(Collectors.toList());
-
-    // Check if the bot user ID is in the list of channel members
-    return members.contains(botUserID);
+    return directory.isChannelMember(channelID, botUserID);
   }
 
   public List<String> listAllMembersOfChannel(String channelId) throws Exception {
-    List<String> allMembers = new ArrayList<>();
-    String cursor = null;
-
-    do {
-      String finalCursor = cursor;
-      var response =
-          slackClient
-              .methods(botToken)
-              .conversationsMembers(r -> r.channel(channelId).cursor(finalCursor));
-
-      if (!response.isOk()) {
-        throw new Exception("Failed to list members for channel: " + response.getError());
-      }
-
-      // Add members from the current page to the list
-      allMembers.addAll(response.getMembers());
-
-      // Get the next cursor for pagination
-      cursor =
-          response.getResponseMetadata() != null
-              ? response.getResponseMetadata().getNextCursor()
-              : null;
-
-    } while (cursor != null && !cursor.isEmpty()); // Continue if there's more data to fetch
-
-    return allMembers;
+    return new ArrayList<>(directory.getChannelMembers(channelId));
   }
 
   @Override
   public List<String> listUsers(String channelID) throws Exception {
-    return slackClient
-        .methods(botToken)
-        .conversationsMembers(r -> r.channel(channelID))
-        .getMembers();
+    return listAllMembersOfChannel(channelID);
   }
 
   @Override
   public List<Conversation> listChannels() throws Exception {
-    List<Conversation> allChannels = new ArrayList<>();
-    String cursor = null;
-
-    do {
-      String finalCursor = cursor;
-      var response =
-          slackClient
-              .methods(botToken)
-              .conversationsList(r -> r.limit(100).excludeArchived(true).cursor(finalCursor));
-
-      if (!response.isOk()) {
-        throw new Exception("Failed to list channels: " + response.getError());
-      }
-
-      allChannels.addAll(response.getChannels());
-      cursor =
-          response.getResponseMetadata() != null
-              ? response.getResponseMetadata().getNextCursor()
-              : null;
-    } while (cursor != null && !cursor.isEmpty());
-
-    return allChannels;
+    return directory.listChannels();
   }
 
   public void handleMemberJoinedChannelEvent(MemberJoinedChannelEvent event)
@@ -1035,9 +1193,10 @@ public class SlackServiceImpl implements SlackService {
         "Member Joined Channel Event for user: {} in channel: {}",
         event.getUser(),
         event.getChannel());
+    directory.onMemberJoined(event.getChannel(), event.getUser());
   }
 
-  public void handleAppMention(AppMentionEvent event) throws InterruptedException {
+  public void handleAppMention(AppMentionEvent event) {
     if (event == null) {
       logger.error("Null event received for AppMentionEvent");
       return;
@@ -1045,91 +1204,118 @@ public class SlackServiceImpl implements SlackService {
     logger.info(
         "App Mention Event in channel: {} by user: {}", event.getChannel(), event.getUser());
 
-    boolean success = false;
-    int attempt = 0;
-
-    // Retry logic for publishing the home view
-    while (!success && attempt < maxRetryAttempts) {
-      try {
-        // Respond with a message
-        String channelId = event.getChannel();
-        String message =
-            "Hi <@"
-                + event.getUser()
-                + "> :wave:, how can I assist you? Please use available shortcuts to interact with me!";
-        slackApp.client().chatPostMessage(r -> r.channel(channelId).text(message));
-        success = true;
-      } catch (IOException | SlackApiException e) {
-        // Retry logic for rate-limited requests
-        if ("too_many_requests".equals(e.getMessage())) {
-          logger.warn("App mention events rate-limited by slack. Retrying...");
-          TimeUnit.SECONDS.sleep(5);
-        } else {
-          // Handle Slack API error
-          logger.error("Slack API error: {}", e.getMessage(), e);
-          break;
-        }
-      } catch (Exception e) {
-        // General exception handling
-        logger.error("Unexpected error: {}", e.getMessage(), e);
-        break;
-      }
-      attempt++;
-    }
-
-    if (!success) {
-      logger.error("Failed to respond to app mention event after {} attempts", maxRetryAttempts);
-    }
+    // Respond with a message; rate limits are retried by the dispatcher
+    String channelId = event.getChannel();
+    String message =
+        "Hi <@"
+            + event.getUser()
+            + "> :wave:, how can I assist you? Please use available shortcuts to interact with me!";
+    slackApi
+        .submit(
+            "chat.postMessage",
+            channelId,
+            Priority.INTERACTIVE,
+            () -> slackApp.client().chatPostMessage(r -> r.channel(channelId).text(message)))
+        .whenComplete(
+            (response, error) -> {
+              if (error != null) {
+                logger.error("Failed to respond to app mention event: {}", error.getMessage(), error);
+              }
+            });
   }
 
   @Override
-  public void handleAppHome(AppHomeOpenedEvent event) throws InterruptedException {
+  public void handleAppHome(AppHomeOpenedEvent event) {
     if (event == null) {
       logger.error("Null event received for AppHomeOpenedEvent");
       return;
     }
 
     String userId = event.getUser();
-    List<LayoutBlock> slackBlocks = createSlackBlocks(userId, botUserId);
+    // Slack sends app_home_opened every time the tab is opened; if this user was shown the
+    // same open incidents a moment ago, their Home already has this exact view. Compared by
+    // what is shown, since the registry also moves on for changes that do not show here
+    String openIncidents = openIncidentsText(activeIncidents.list());
+    String rendered = appHomeViews.get(userId);
+    if (openIncidents.equals(rendered)) {
+      logger.debug("App home for user {} is unchanged, not republishing", userId);
+      return;
+    }
+
+    List<LayoutBlock> slackBlocks = createSlackBlocks(userId, botUserId, openIncidents);
 
     // Create the View object to send to Slack
     View view = Views.view(v -> v.type("home").blocks(slackBlocks));
 
-    boolean success = false;
-    int attempt = 0;
-
-    // Retry logic for publishing the home view
-    while (!success && attempt < maxRetryAttempts) {
-      try {
-        // Publish the app home view
-        slackApp.client().viewsPublish(r -> r.userId(userId).view(view));
-        logger.info("App home view published successfully for user: {}", userId);
-        success = true;
-      } catch (IOException | SlackApiException e) {
-        // Retry logic for rate-limited requests
-        if ("too_many_requests".equals(e.getMessage())) {
-          logger.warn("App home events rate-limited by Slack. Retrying...");
-          TimeUnit.SECONDS.sleep(5);
-        } else {
-          // Handle Slack API error
-          logger.error("Slack API error: {}", e.getMessage(), e);
-          break;
-        }
-      } catch (Exception e) {
-        // General exception handling
-        logger.error("Unexpected error: {}", e.getMessage(), e);
-        break;
-      }
-      attempt++;
+    // Publish the app home view; rate limits are retried by the dispatcher
+    slackApi
+        .submit(
+            "views.publish",
+            null,
+            Priority.INTERACTIVE,
+            () -> slackApp.client().viewsPublish(r -> r.userId(userId).view(view)))
+        .whenComplete(
+            (response, error) -> {
+              if (error != null) {
+                logger.error("Failed to publish app home view: {}", error.getMessage(), error);
+              } else if (!response.isOk()) {
+                logger.error("Failed to publish app home view: {}", response.getError());
+              } else {
+                appHomeViews.put(userId, openIncidents);
+                logger.info("App home view published successfully for user: {}", userId);
+              }
+            });
+  }
+
+  private List<LayoutBlock> createSlackBlocks(
+      String userId, String botUserId, String openIncidents) {
+    // Modularize the block creation logic for better readability
+    List<LayoutBlock> blocks = new ArrayList<>(createStaticAppHomeBlocks(userId, botUserId));
+    blocks.addAll(3, createOpenIncidentsAppHomeBlocks(openIncidents));
+    return blocks;
+  }
+
+  private List<LayoutBlock> createOpenIncidentsAppHomeBlocks(String openIncidents) {
+    List<LayoutBlock> blocks = new ArrayList<>();
+    blocks.add(
+        SlackBlockFactory.createHeaderBlock(
+            ":rotating_light: Open Incidents", "app_home_resp_open_incidents_header"));
+    blocks.add(SlackBlockFactory.createDividerBlock());
+    if (openIncidents.isEmpty()) {
+      blocks.add(createSectionBlock(":white_check_mark: No open incidents."));
+      return blocks;
     }
+    blocks.add(
+        SlackBlockFactory.createSectionBlock(openIncidents, "app_home_resp_open_incidents"));
+    return blocks;
+  }
 
-    if (!success) {
-      logger.error("Failed to publish app home view after {} attempts", maxRetryAttempts);
+  /** Open incidents as listed on the App Home, most severe first; empty when there are none. */
+  private static String openIncidentsText(List<ActiveIncidentSummary> incidents) {
+    List<ActiveIncidentSummary> open =
+        incidents.subList(0, Math.min(APP_HOME_INCIDENTS, incidents.size()));
+    StringBuilder text = new StringBuilder();
+    for (ActiveIncidentSummary incident : open) {
+      text.append(
+          String.format(
+              "*%s*  |  %s  |  %s  |  Commander: %s\n",
+              incident.getName(),
+              incident.getSeverity(),
+              incident.getStatus(),
+              incident.getCommanderUserId() != null
+                  ? "<@" + incident.getCommanderUserId() + ">"
+                  : "N/A"));
+    }
+    if (incidents.size() > open.size()) {
+      text.append(
+          String.format(
+              "\n_and %d more; use the 'list open incidents' shortcut to see them all._",
+              incidents.size() - open.size()));
     }
+    return text.toString();
   }
 
-  private List<LayoutBlock> createSlackBlocks(String userId, String botUserId) {
-    // Modularize the block creation logic for better readability
+  private List<LayoutBlock> createStaticAppHomeBlocks(String userId, String botUserId) {
     return Arrays.asList(
         SlackBlockFactory.createHeaderBlock(":robot_face: Respond Now", "app_home_resp_header"),
         // TODO: Implement this
@@ -1234,19 +1420,8 @@ public class SlackServiceImpl implements SlackService {
       logger.error("Response channel field is missing in view submission payload.");
     }
 
-    // Get user details (assume you have a method to fetch UserDetails by
-    // userId)
-    UserDetails userDetails = null;
-    try {
-      userDetails =
-          fetchSlackUserDetails(payload.getPayload().getUser().getId(), ChannelSource.Slack);
-    } catch (SlackApiException | IOException e) {
-      throw new RuntimeException(e);
-    }
-
-    UserDetails finalUserDetails = userDetails;
     @NotNull
-    List<Role> roles =
+    List<RoleType> roleTypes =
         Optional.ofNullable(stateValues.get("incident_role"))
             .map(inner -> inner.get("create_incident_modal_set_incident_role"))
             .map(ViewState.Value::getSelectedOptions) // Get the list of selected options
@@ -1256,21 +1431,14 @@ public class SlackServiceImpl implements SlackService {
                         .map(
                             ViewState.SelectedOption
                                 ::getValue) // Extract the value of each selected option
-                        .map(
-                            roleString -> {
-                              // Map string to RoleType enum
-                              RoleType roleType = RoleType.valueOf(roleString);
-
-                              // Create Role object
-                              return new Role(roleType, finalUserDetails);
-                            })
+                        .map(RoleType::valueOf) // Map string to RoleType enum
                         .collect(Collectors.toList())) // Collect the values into a List
             .orElse(Collections.emptyList()); // Return an empty list if no roles are found
 
-    if (roles.isEmpty()) {
+    if (roleTypes.isEmpty()) {
       logger.error("No roles are selected in view submission payload.");
     } else {
-      logger.info("Selected Roles: {}", roles);
+      logger.info("Selected Roles: {}", roleTypes);
     }
 
     // Logging extracted values
@@ -1288,125 +1456,308 @@ public class SlackServiceImpl implements SlackService {
         && incidentType != null
         && summary != null
         && severity != null
-        && !roles.isEmpty()
+        && !roleTypes.isEmpty()
         && responseChannel != null) {
       logger.info("Creating incident with the provided details.");
+      CreateIncidentInput input =
+          new CreateIncidentInput(
+              payload.getPayload().getUser().getId(),
+              payload.getPayload().getTeam().getId(),
+              payload.getPayload().getTeam().getDomain(),
+              name,
+              incidentType,
+              summary,
+              severity,
+              roleTypes,
+              responseChannel);
+      // Not waited for: the save runs on this pool, so blocking here could starve it
+      createIncident(input);
+    } else {
+      logger.error("Failed to create incident due to missing required fields.");
+    }
+  }
 
-      long createdAt = Instant.now().getEpochSecond();
-      String incidentId = incidentService.generateIncidentIdentifier(createdAt);
-
-      Slack slackClient = getSlackClient();
-      // Create Slack channel using conversations.create
-
-      // Sanitize the name to remove invalid characters
-      String sanitizedChannelName = sanitizeChannelName("inc-" + name + "-" + createdAt);
-
-      try {
-        ConversationsCreateRequest createChannelRequest =
-            ConversationsCreateRequest.builder()
-                .name(sanitizedChannelName) // Channel name
-                .isPrivate(false) // Change to true if you want a private channel
-                .teamId(payload.getPayload().getTeam().getId()) // Team ID from the callback
-                .build();
-
-        ConversationsCreateResponse createChannelResponse =
-            slackClient.methods(botToken).conversationsCreate(createChannelRequest);
-
-        if (!createChannelResponse.isOk()) {
-          throw new IOException(
-              "Failed to create Slack channel: " + createChannelResponse.getError());
-        }
-
-        String channelId = createChannelResponse.getChannel().getId();
-        log.info("Successfully created an incident channel: {}", channelId);
-
-        // Invite users to the channel
-        try {
-          ConversationsInviteRequest conversationsInviteRequest =
-              ConversationsInviteRequest.builder()
-                  .channel(channelId)
-                  .users(
-                      Collections.singletonList(
-                          payload.getPayload().getUser().getId())) // User ID from the callback
-                  .build();
-
-          ConversationsInviteResponse conversationsInviteResponse =
-              slackClient.methods(botToken).conversationsInvite(conversationsInviteRequest);
-
-          if (!conversationsInviteResponse.isOk()) {
-            throw new IOException(
-                "Failed to invite user to Slack channel: "
-                    + conversationsInviteResponse.getError());
+  /**
+   * Create an incident as a graph of steps instead of a sequence:
+   *
+   * <pre>
+   *   users.info (submitter) ---------+
+   *                                   +--> save incident --+--> card in incident channel + pin
+   *   conversations.create --+--------+                    +--> announcement in response channel
+   *                          |                             +--> role notification DMs, one each
+   *                          +--> conversations.invite (submitter)
+   * </pre>
+   *
+   * Slack calls go through the dispatcher and complete asynchronously; only the MongoDB writes
+   * run on the mutations pool. If the submitter cannot be looked up or the incident cannot be
+   * saved after the channel was created, the channel is archived and the submitter is told, so
+   * no orphaned channel is left behind. Failures after the save are logged and do not undo the
+   * incident.
+   */
+  private CompletableFuture<Incident> createIncident(CreateIncidentInput input) {
+    ExecutorService executor = slackExecutors.mutations();
+    long createdAt = Instant.now().getEpochSecond();
+    String incidentId = incidentService.generateIncidentIdentifier(createdAt);
+    // Sanitize the name to remove invalid characters
+    String channelName = sanitizeChannelName("inc-" + input.name + "-" + createdAt);
+
+    CompletableFuture<UserDetails> submitter =
+        directory
+            .getUserAsync(input.userId)
+            .thenApply(
+                user -> {
+                  if (user == null) {
+                    throw new CompletionException(
+                        new IOException("Unable to fetch Slack user info for userId: " + input.userId));
+                  }
+                  return toUserDetails(user, ChannelSource.Slack);
+                });
+
+    CompletableFuture<Conversation> channel =
+        slackApi
+            .submit(
+                "conversations.create",
+                null,
+                Priority.NORMAL,
+                () ->
+                    slackClient
+                        .methods(botToken)
+                        .conversationsCreate(
+                            ConversationsCreateRequest.builder()
+                                .name(channelName)
+                                .isPrivate(false) // Change to true if you want a private channel
+                                .teamId(input.teamId)
+                                .build()))
+            .thenApply(
+                response -> {
+                  if (!response.isOk()) {
+                    throw new CompletionException(
+                        new IOException("Failed to create Slack channel: " + response.getError()));
+                  }
+                  logger.info("Successfully created an incident channel: {}", response.getChannel().getId());
+                  directory.onChannelCreated(response.getChannel());
+                  return response.getChannel();
+                });
+
+    // The submitter can also join through the announcement, so a failed invite is not fatal
+    channel
+        .thenCompose(
+            created ->
+                slackApi.submit(
+                    "conversations.invite",
+                    created.getId(),
+                    Priority.NORMAL,
+                    () ->
+                        slackClient
+                            .methods(botToken)
+                            .conversationsInvite(
+                                ConversationsInviteRequest.builder()
+                                    .channel(created.getId())
+                                    .users(Collections.singletonList(input.userId))
+                                    .build())))
+        .whenComplete(
+            (response, error) -> {
+              if (error == null && !response.isOk()) {
+                logger.warn(
+                    "Failed to invite user {} to incident channel: {}",
+                    input.userId,
+                    response.getError());
+              } else if (error != null && channel.isDone() && !channel.isCompletedExceptionally()) {
+                logger.warn("Failed to invite user {} to incident channel", input.userId, error);
+              }
+            });
+
+    CompletableFuture<Incident> incident =
+        submitter.thenCombineAsync(
+            channel,
+            (userDetails, created) ->
+                saveSlackIncident(input, incidentId, userDetails, created),
+            executor);
+
+    incident.whenComplete(
+        (saved, error) -> {
+          if (error != null) {
+            compensateFailedCreate(input, channel, error);
+          } else {
+            logger.info("Created incident {} from Slack", saved.getIdentifier());
           }
+        });
 
-          // set incident channel
-          IncidentChannel incidentChannel = new IncidentChannel();
-          io.respondnow.model.incident.Slack slack = new io.respondnow.model.incident.Slack();
-          slack.setChannelId(incidentChannelID);
-          slack.setTeamDomain(payload.getPayload().getTeam().getDomain());
-          slack.setTeamId(payload.getPayload().getTeam().getId());
-          //          slack.setTeamName(payload.getPayload().getTeam().get);
-          incidentChannel.setType(IncidentChannelType.Slack);
-          incidentChannel.setSlack(slack);
-
-          // set channels
-          List<Channel> channels = new ArrayList<>();
-          Channel channel1 =
-              new Channel(
-                  channelId,
-                  payload.getPayload().getTeam().getId(),
-                  createChannelResponse.getChannel().getName(),
-                  ChannelSource.Slack,
-                  String.format(
-                      "https://%s.slack.com/archives/%s",
-                      payload.getPayload().getTeam().getId(), channelId),
-                  Operational);
-          channels.add(channel1);
-
-          // Create incident record in the database
-          CreateRequest createRequest = new CreateRequest();
-          createRequest.setIdentifier(incidentId);
-          createRequest.setName(name);
-          createRequest.setType(Type.valueOf(incidentType));
-          createRequest.setStatus(Status.Started);
-          createRequest.setRoles(roles);
-          createRequest.setSeverity(Severity.valueOf(severity));
-          createRequest.setSummary(summary);
-          createRequest.setIncidentChannel(incidentChannel);
-          createRequest.setChannels(channels);
-          Incident incident = incidentService.createIncident(createRequest, finalUserDetails);
-
-          // Post messages in Slack
-          sendCreateIncidentResponseMsg(
-              payload.getPayload().getTeam().getDomain(),
-              responseChannel,
-              channelId,
-              sanitizedChannelName,
-              incident);
-
-        } catch (SlackApiException | IOException e) {
-          throw new RuntimeException(e);
-        }
+    incident
+        .thenAccept(
+            saved -> {
+              String channelId = saved.getChannels().get(0).getId();
+              postIncidentCard(saved, channelId, executor);
+              postIncidentAnnouncement(
+                  input.teamDomain, input.responseChannel, channelId, channelName, saved);
+              // Notify users based on role
+              for (Role role : saved.getRoles()) {
+                sendRoleNotificationToUser(
+                    role.getUserDetails().getUserId(), role, input.teamDomain, channelId);
+              }
+            })
+        .whenComplete(
+            (ignored, error) -> {
+              // A failed creation is reported by compensateFailedCreate
+              if (error != null && !incident.isCompletedExceptionally()) {
+                logger.error("Failed to announce incident {} in Slack", incidentId, error);
+              }
+            });
+
+    return incident;
+  }
+
+  private Incident saveSlackIncident(
+      CreateIncidentInput input, String incidentId, UserDetails userDetails, Conversation created) {
+    List<Role> roles =
+        input.roleTypes.stream()
+            .map(roleType -> new Role(roleType, userDetails))
+            .collect(Collectors.toList());
 
-      } catch (SlackApiException | IOException e) {
-        throw new RuntimeException(e);
-      }
-    } else {
-      logger.error("Failed to create incident due to missing required fields.");
+    // set incident channel
+    IncidentChannel incidentChannel = new IncidentChannel();
+    io.respondnow.model.incident.Slack slack = new io.respondnow.model.incident.Slack();
+    slack.setChannelId(incidentChannelID);
+    slack.setTeamDomain(input.teamDomain);
+    slack.setTeamId(input.teamId);
+    incidentChannel.setType(IncidentChannelType.Slack);
+    incidentChannel.setSlack(slack);
+
+    // set channels
+    List<Channel> channels = new ArrayList<>();
+    channels.add(
+        new Channel(
+            created.getId(),
+            input.teamId,
+            created.getName(),
+            ChannelSource.Slack,
+            String.format("https://%s.slack.com/archives/%s", input.teamId, created.getId()),
+            Operational));
+
+    // Create incident record in the database
+    CreateRequest createRequest = new CreateRequest();
+    createRequest.setIdentifier(incidentId);
+    createRequest.setName(input.name);
+    createRequest.setType(Type.valueOf(input.incidentType));
+    createRequest.setStatus(Status.Started);
+    createRequest.setRoles(roles);
+    createRequest.setSeverity(Severity.valueOf(input.severity));
+    createRequest.setSummary(input.summary);
+    createRequest.setIncidentChannel(incidentChannel);
+    createRequest.setChannels(channels);
+    return incidentService.createIncident(createRequest, userDetails);
+  }
+
+  /** Undo what a failed creation left behind and tell the submitter. */
+  private void compensateFailedCreate(
+      CreateIncidentInput input, CompletableFuture<Conversation> channel, Throwable error) {
+    Throwable cause = error instanceof CompletionException && error.getCause() != null
+        ? error.getCause()
+        : error;
+    logger.error("Failed to create incident {}: {}", input.name, cause.getMessage(), cause);
+
+    // The channel may still be on its way when the submitter lookup fails first
+    channel
+        .thenAccept(created -> archiveOrphanedChannel(created.getId()))
+        .whenComplete(
+            (ignored, archiveError) -> {
+              if (archiveError != null && !channel.isCompletedExceptionally()) {
+                logger.error("Failed to archive channel of incident {}", input.name, archiveError);
+              }
+            });
+
+    String text =
+        String.format(
+            ":warning: Sorry, the incident *%s* could not be created. Please try again.",
+            input.name);
+    slackApi
+        .submit(
+            "chat.postMessage",
+            input.userId,
+            Priority.NORMAL,
+            () -> slackApp.getClient().chatPostMessage(r -> r.channel(input.userId).text(text)))
+        .whenComplete(
+            (response, notifyError) -> {
+              if (notifyError != null) {
+                logger.error("Failed to tell {} the incident was not created", input.userId, notifyError);
+              }
+            });
+  }
+
+  private void archiveOrphanedChannel(String channelId) {
+    slackApi
+        .submit(
+            "conversations.archive",
+            null,
+            Priority.NORMAL,
+            () -> slackClient.methods(botToken).conversationsArchive(r -> r.channel(channelId)))
+        .whenComplete(
+            (response, archiveError) -> {
+              if (archiveError != null || !response.isOk()) {
+                logger.error(
+                    "Failed to archive channel {} of incident that was not created: {}",
+                    channelId,
+                    archiveError != null ? archiveError.getMessage() : response.getError());
+              } else {
+                logger.info("Archived channel {} of incident that was not created", channelId);
+              }
+            });
+  }
+
+  /** Fields of the create-incident modal needed once it has been validated. */
+  private static final class CreateIncidentInput {
+    private final String userId;
+    private final String teamId;
+    private final String teamDomain;
+    private final String name;
+    private final String incidentType;
+    private final String summary;
+    private final String severity;
+    private final List<RoleType> roleTypes;
+    private final String responseChannel;
+
+    private CreateIncidentInput(
+        String userId,
+        String teamId,
+        String teamDomain,
+        String name,
+        String incidentType,
+        String summary,
+        String severity,
+        List<RoleType> roleTypes,
+        String responseChannel) {
+      this.userId = userId;
+      this.teamId = teamId;
+      this.teamDomain = teamDomain;
+      this.name = name;
+      this.incidentType = incidentType;
+      this.summary = summary;
+      this.severity = severity;
+      this.roleTypes = roleTypes;
+      this.responseChannel = responseChannel;
     }
   }
 
   // Method to fetch user details (you'll need to implement this based on your data source)
   private UserDetails fetchSlackUserDetails(String userId, ChannelSource source)
       throws SlackApiException, IOException {
-    UserDetails userDetails = new UserDetails();
+    User slackUser = null;
     if (source == ChannelSource.Slack) {
-      UsersInfoResponse slackUser = getSlackUserDetails(userId);
+      slackUser = getSlackUserDetails(userId);
+      if (slackUser == null) {
+        throw new IOException("Unable to fetch Slack user info for userId: " + userId);
+      }
+    }
+    return toUserDetails(slackUser, source);
+  }
 
-      userDetails.setUserId(slackUser.getUser().getId());
-      userDetails.setUserName(slackUser.getUser().getName());
-      userDetails.setName(slackUser.getUser().getProfile().getRealName());
-      userDetails.setEmail(slackUser.getUser().getProfile().getEmail());
+  private static UserDetails toUserDetails(User slackUser, ChannelSource source) {
+    UserDetails userDetails = new UserDetails();
+    if (slackUser != null) {
+      userDetails.setUserId(slackUser.getId());
+      userDetails.setUserName(slackUser.getName());
+      userDetails.setName(slackUser.getProfile().getRealName());
+      userDetails.setEmail(slackUser.getProfile().getEmail());
     }
     if (source != null) {
       userDetails.setSource(source);
@@ -1459,121 +1810,149 @@ public class SlackServiceImpl implements SlackService {
         .build();
   }
 
-  public void sendCreateIncidentResponseMsg(
+  /** Post the incident card in the incident channel, pin it and remember it for refreshes. */
+  private void postIncidentCard(Incident incident, String channelId, ExecutorService executor) {
+    List<LayoutBlock> blocks = buildIncidentCardBlocks(incident);
+    slackApi
+        .submit(
+            "chat.postMessage",
+            channelId,
+            Priority.NORMAL,
+            () -> slackApp.getClient().chatPostMessage(r -> r.channel(channelId).blocks(blocks)))
+        .thenCompose(
+            response -> {
+              if (!response.isOk()) {
+                throw new CompletionException(
+                    new IOException("Error sending message to Slack: " + response.getError()));
+              }
+              String ts = response.getMessage().getTs();
+              // Recording and pinning the card do not depend on each other
+              CompletableFuture.runAsync(
+                      () -> incidentService.recordSlackCard(incident.getId(), ts), executor)
+                  .exceptionally(
+                      error -> {
+                        logger.error(
+                            "Failed to record Slack card for incident {}",
+                            incident.getIdentifier(),
+                            error);
+                        return null;
+                      });
+              return slackApi.submit(
+                  "pins.add",
+                  null,
+                  Priority.NORMAL,
+                  () -> slackApp.getClient().pinsAdd(r -> r.channel(channelId).timestamp(ts)));
+            })
+        .whenComplete(
+            (pinResponse, error) -> {
+              if (error != null) {
+                logger.error(
+                    "Failed to post incident card for {}: {}",
+                    incident.getIdentifier(),
+                    error.getMessage(),
+                    error);
+              } else if (!pinResponse.isOk()) {
+                logger.warn("Failed to pin incident card: {}", pinResponse.getError());
+              }
+            });
+  }
+
+  /** Announce the incident in the channel chosen in the modal, with a button to join it. */
+  private void postIncidentAnnouncement(
       String teamDomain,
       String channelID,
       String joinChannelID,
       String joinChannelName,
       Incident newIncident) {
-    // Prepare blocks
+    List<LayoutBlock> blocks = buildIncidentCardBlocks(newIncident);
+    blocks.add(createJoinChannelButton(teamDomain, joinChannelID, joinChannelName));
+    slackApi
+        .submit(
+            "chat.postMessage",
+            channelID,
+            Priority.NORMAL,
+            () -> slackApp.client().chatPostMessage(r -> r.channel(channelID).blocks(blocks)))
+        .whenComplete(
+            (response, error) -> {
+              if (error != null) {
+                logger.error(
+                    "Failed to send incident response message: {}", error.getMessage(), error);
+              } else if (!response.isOk()) {
+                logger.error("Error sending message to Slack: {}", response.getError());
+              }
+            });
+  }
+
+  /** The incident card: posted and pinned when the incident is created, refreshed on changes. */
+  private List<LayoutBlock> buildIncidentCardBlocks(Incident incident) {
     List<LayoutBlock> blocks = new ArrayList<>();
-    try {
-      // Find the commander
-      String incidentCommander =
-          newIncident.getRoles().stream()
-              .filter(role -> role.getRoleType() == RoleType.Incident_Commander)
-              .map(role -> role.getUserDetails().getUserId())
-              .findFirst()
-              .orElse("");
-
-      // Find the communications lead
-      String communicationsLead =
-          newIncident.getRoles().stream()
-              .filter(role -> role.getRoleType() == RoleType.Communications_Lead)
-              .map(role -> role.getUserDetails().getUserId())
-              .findFirst()
-              .orElse("");
-
-      blocks.add(createHeaderBlock(":fire: :mega: New Incident"));
-
-      // Name, Severity Section
-      blocks.add(createIncidentNameAndSeveritySection(newIncident));
-
-      // Summary Section
-      blocks.add(createIncidentDetailsSection(newIncident.getSummary(), "Summary", ":open_book:"));
-
-      // Divider
-      blocks.add(new DividerBlock());
-
-      // Status and Commander
-      blocks.add(createIncidentStatusAndCommanderSection(newIncident, incidentCommander));
+    // Find the commander
+    String incidentCommander =
+        incident.getRoles().stream()
+            .filter(role -> role.getRoleType() == RoleType.Incident_Commander)
+            .map(role -> role.getUserDetails().getUserId())
+            .findFirst()
+            .orElse("");
 
-      if (!communicationsLead.isEmpty()) {
-        blocks.add(
-            createIncidentDetailsSection(
-                "<@" + communicationsLead + ">", "Communications Lead", ":phone:"));
-      }
+    // Find the communications lead
+    String communicationsLead =
+        incident.getRoles().stream()
+            .filter(role -> role.getRoleType() == RoleType.Communications_Lead)
+            .map(role -> role.getUserDetails().getUserId())
+            .findFirst()
+            .orElse("");
 
-      boolean shouldBePinned = true;
+    blocks.add(createHeaderBlock(":fire: :mega: New Incident"));
 
-      // Action Buttons
-      blocks.add(createActionButtons(newIncident.getIdentifier()));
+    // Name, Severity Section
+    blocks.add(createIncidentNameAndSeveritySection(incident));
 
-      // Created At Information
-      blocks.add(createCreatedAtBlock(newIncident));
+    // Summary Section
+    blocks.add(createIncidentDetailsSection(incident.getSummary(), "Summary", ":open_book:"));
 
-      // Send Message to newly created incident channel
-      ChatPostMessageResponse response =
-          slackApp.getClient().chatPostMessage(r -> r.channel(joinChannelID).blocks(blocks));
+    // Divider
+    blocks.add(new DividerBlock());
 
-      if (!response.isOk()) {
-        logger.error("Error sending message to Slack: {}", response.getError());
-      }
+    // Status and Commander
+    blocks.add(createIncidentStatusAndCommanderSection(incident, incidentCommander));
 
-      if (shouldBePinned) {
-        // Pin the message if required
-        slackApp
-            .getClient()
-            .pinsAdd(r -> r.channel(joinChannelID).timestamp(response.getMessage().getTs()));
-      }
-
-      if (joinChannelID != null
-          && !joinChannelID.isEmpty()
-          && joinChannelName != null
-          && !joinChannelName.isEmpty()) {
-        shouldBePinned = false;
-        blocks.add(createJoinChannelButton(teamDomain, joinChannelID, joinChannelName));
-      }
-      // Post another response in the incident channel
-      ChatPostMessageResponse incidentChannelResponse =
-          slackApp.client().chatPostMessage(r -> r.channel(channelID).blocks(blocks));
-      if (shouldBePinned) {
-        // Pin the message if required
-        slackApp
-            .getClient()
-            .pinsAdd(
-                r -> r.channel(channelID).timestamp(incidentChannelResponse.getMessage().getTs()));
-      }
+    if (!communicationsLead.isEmpty()) {
+      blocks.add(
+          createIncidentDetailsSection(
+              "<@" + communicationsLead + ">", "Communications Lead", ":phone:"));
+    }
 
-      // Notify users based on role
-      for (Role role : newIncident.getRoles()) {
-        String userId = role.getUserDetails().getUserId();
+    // Action Buttons
+    blocks.add(createActionButtons(incident.getIdentifier()));
 
-        // Send notification to the user
-        sendRoleNotificationToUser(userId, role, teamDomain, joinChannelID);
-      }
-    } catch (IOException | SlackApiException e) {
-      logger.error("Failed to send incident response message: {}", e.getMessage(), e);
-    }
+    // Created At Information
+    blocks.add(createCreatedAtBlock(incident));
+    return blocks;
   }
 
   private void sendRoleNotificationToUser(
       String userId, Role role, String teamDomain, String channelID) {
-    try {
-      // Create the notification blocks based on the role
-      List<LayoutBlock> blocks = getUserRoleNotificationBlocks(role, teamDomain, channelID);
-
-      // Send the notification message
-      ChatPostMessageResponse notificationResponse =
-          slackApp.getClient().chatPostMessage(r -> r.channel(userId).blocks(blocks));
-
-      if (!notificationResponse.isOk()) {
-        logger.error(
-            "Error sending notification to user {}: {}", userId, notificationResponse.getError());
-      }
-    } catch (SlackApiException | IOException e) {
-      logger.error("Failed to send role notification: {}", e.getMessage(), e);
-    }
+    // Create the notification blocks based on the role
+    List<LayoutBlock> blocks = getUserRoleNotificationBlocks(role, teamDomain, channelID);
+
+    // Queue the notification; during bursts it is delayed behind interactive traffic
+    slackApi
+        .submit(
+            "chat.postMessage",
+            userId,
+            Priority.BULK,
+            () -> slackApp.getClient().chatPostMessage(r -> r.channel(userId).blocks(blocks)))
+        .whenComplete(
+            (notificationResponse, error) -> {
+              if (error != null) {
+                logger.error("Failed to send role notification: {}", error.getMessage(), error);
+              } else if (!notificationResponse.isOk()) {
+                logger.error(
+                    "Error sending notification to user {}: {}",
+                    userId,
+                    notificationResponse.getError());
+              }
+            });
   }
 
   private List<LayoutBlock> getUserRoleNotificationBlocks(
@@ -1730,10 +2109,8 @@ public class SlackServiceImpl implements SlackService {
   private void updateIncidentRoles(
       String incidentIdentifier, List<Role> roles, UserDetails userDetails) {
     try {
-      Incident updatedIncident =
-          incidentService.updateIncidentRoles(incidentIdentifier, roles, userDetails);
-      sendUpdateRoleResponseMsg(
-          updatedIncident.getChannels().get(0).getId(), updatedIncident, roles);
+      // The confirmation is queued on the incident's outbox by the update itself
+      incidentService.updateIncidentRoles(incidentIdentifier, roles, userDetails);
     } catch (Exception e) {
       throw new RuntimeException(e);
     }
@@ -1743,12 +2120,8 @@ public class SlackServiceImpl implements SlackService {
       String incidentIdentifier, String updatedSummary, UserDetails user) {
     // Simulate a service call to update the incident summary
     try {
-      Incident updatedIncident =
-          incidentService.updateSummary(incidentIdentifier, updatedSummary, user);
-
-      // Send confirmation message to Slack
-      sendUpdateSummaryResponseMsg(
-          updatedIncident.getChannels().get(0).getId(), updatedIncident, updatedSummary);
+      // The confirmation is queued on the incident's outbox by the update itself
+      incidentService.updateSummary(incidentIdentifier, updatedSummary, user);
     } catch (Exception e) {
       logger.error("Failed to update incident summary: {}", e.getMessage(), e);
     }
@@ -1758,11 +2131,8 @@ public class SlackServiceImpl implements SlackService {
       String incidentIdentifier, String severity, UserDetails user) {
     Severity newSeverity = Severity.valueOf(severity);
     try {
-      Incident updatedIncident =
-          incidentService.updateIncidentSeverity(incidentIdentifier, newSeverity, user);
-
-      sendUpdateSeverityResponseMsg(
-          updatedIncident.getChannels().get(0).getId(), updatedIncident, severity);
+      // The confirmation is queued on the incident's outbox by the update itself
+      incidentService.updateIncidentSeverity(incidentIdentifier, newSeverity, user);
     } catch (Exception e) {
       throw new RuntimeException(e);
     }
@@ -1772,12 +2142,8 @@ public class SlackServiceImpl implements SlackService {
     Status updatedStatus = Status.valueOf(status);
     // Simulate a service call to add a new incident comment
     try {
-      Incident updatedIncident =
-          incidentService.updateStatus(incidentIdentifier, updatedStatus, user);
-
-      // Send confirmation message to Slack
-      sendUpdateStatusResponseMsg(
-          updatedIncident.getChannels().get(0).getId(), updatedIncident, status);
+      // The confirmation is queued on the incident's outbox by the update itself
+      incidentService.updateStatus(incidentIdentifier, updatedStatus, user);
     } catch (Exception e) {
       logger.error("Failed to add a new incident comment: {}", e.getMessage(), e);
     }
@@ -1786,261 +2152,104 @@ public class SlackServiceImpl implements SlackService {
   private void updateIncidentComment(String incidentIdentifier, String comment, UserDetails user) {
     // Simulate a service call to add a new incident comment
     try {
-      Incident updatedIncident = incidentService.addComment(incidentIdentifier, comment, user);
-
-      // Send confirmation message to Slack
-      sendAddCommentResponseMsg(
-          updatedIncident.getChannels().get(0).getId(), updatedIncident, comment);
+      // The confirmation is queued on the incident's outbox by the update itself
+      incidentService.addComment(incidentIdentifier, comment, user);
     } catch (Exception e) {
       logger.error("Failed to add a new incident comment: {}", e.getMessage(), e);
     }
   }
 
-  private UsersInfoResponse getSlackUserDetails(String userId)
-      throws SlackApiException, IOException {
-    // Fetch user info from Slack using userId
-    return slackApp.client().usersInfo(r -> r.user(userId));
+  private User getSlackUserDetails(String userId) throws SlackApiException, IOException {
+    // Served from the directory cache; falls back to users.info on a miss
+    return directory.getUser(userId);
   }
 
-  private void sendUpdateRoleResponseMsg(
-      String channelID, Incident updatedIncident, List<Role> newRoles) {
-    try {
-      // Fetch user info from Slack using userId
-      UsersInfoResponse slackUserInfo =
-          getSlackUserDetails(updatedIncident.getUpdatedBy().getUserId());
-      if (slackUserInfo == null || slackUserInfo.getUser() == null) {
-        logger.error(
-            "Role update: failed to fetch Slack user info for userId: {}",
-            updatedIncident.getUpdatedBy().getUserId());
-        throw new IllegalStateException("Unable to fetch Slack user info");
-      }
+  @Override
+  public void sendNotification(Incident incident, SlackNotification notification)
+      throws IOException, SlackApiException {
+    String channelID = notification.getChannelId();
+    String messageText = notificationText(notification);
+
+    ChatPostMessageResponse response =
+        slackApi.execute(
+            "chat.postMessage",
+            channelID,
+            Priority.NORMAL,
+            () -> slackApp.client().chatPostMessage(r -> r.channel(channelID).text(messageText)));
+    if (!response.isOk()) {
+      throw new IOException(
+          "Failed to post " + notification.getType() + " confirmation: " + response.getError());
+    }
+    logger.info(
+        "{} confirmation for incident {} posted to channel: {}",
+        notification.getType(),
+        incident.getIdentifier(),
+        channelID);
+  }
 
-      // Get the Slack handle (username)
+  private String notificationText(SlackNotification notification)
+      throws IOException, SlackApiException {
+    if (notification.getType() == ChangeType.Roles) {
       List<String> roleUpdates = new ArrayList<>();
-      for (Role newRole : newRoles) {
-        if (newRole.getUserDetails().getUserId() != null) {
+      for (Role newRole : notification.getRoles()) {
+        if (newRole.getUserDetails() != null && newRole.getUserDetails().getUserId() != null) {
           roleUpdates.add(
               String.format(
                   "*%s*: <@%s>",
                   newRole.getRoleType().getDisplayValue(), newRole.getUserDetails().getUserId()));
         }
       }
-
-      String messageText =
-          String.format(
-              ":firefighter: *Roles Updated*\nThe following roles have been updated:\n%s",
-              Strings.join(roleUpdates, '\n'));
-
-      // Send the added comment response message back to the Slack channel
-      ChatPostMessageResponse response =
-          slackApp.client().chatPostMessage(r -> r.channel(channelID).text(messageText));
-
-      if (!response.isOk()) {
-        String errorMessage = "Failed to send update role error message: " + response.getError();
-        logger.error(errorMessage);
-        throw new RuntimeException(errorMessage);
-      }
-
-      logger.info("Update roles confirmation successfully posted to channel: {}", channelID);
-    } catch (IOException e) {
-      logger.error("IOException occurred while posting message to Slack: {}", e.getMessage(), e);
-      // Optionally, add a retry mechanism or send a failure notification to users
-    } catch (SlackApiException e) {
-      logger.error("Slack API error occurred while posting message: {}", e.getMessage(), e);
-      // Handle specific Slack API exceptions if needed (e.g., retry on rate limit errors)
-    } catch (IllegalStateException e) {
-      logger.error("Error in fetching Slack user info: {}", e.getMessage(), e);
-    } catch (Exception e) {
-      logger.error("Unexpected error occurred: {}", e.getMessage(), e);
-      // Optionally, send a failure notification or alert to a monitoring system
-    }
-  }
-
-  private void sendAddCommentResponseMsg(
-      String channelID, Incident updatedIncident, String newComment) {
-    try {
-      // Fetch user info from Slack using userId
-      UsersInfoResponse slackUserInfo =
-          getSlackUserDetails(updatedIncident.getUpdatedBy().getUserId());
-      if (slackUserInfo == null || slackUserInfo.getUser() == null) {
-        logger.error(
-            "Add comment: failed to fetch Slack user info for userId: {}",
-            updatedIncident.getUpdatedBy().getUserId());
-        throw new IllegalStateException("Unable to fetch Slack user info");
-      }
-
-      // Get the Slack handle (username)
-      String slackHandle = slackUserInfo.getUser().getName();
-
-      // Prepare the message text
-      String messageText =
-          String.format(
-              ":speech_balloon: *Comment Added*\n <@%s> added a new comment:\n> _%s_",
-              slackHandle, newComment);
-
-      // Send the added comment response message back to the Slack channel
-      ChatPostMessageResponse response =
-          slackApp.client().chatPostMessage(r -> r.channel(channelID).text(messageText));
-
-      if (!response.isOk()) {
-        String errorMessage = "Failed to send add comment error message: " + response.getError();
-        logger.error(errorMessage);
-        throw new RuntimeException(errorMessage);
-      }
-
-      logger.info("Comment addition confirmation successfully posted to channel: {}", channelID);
-    } catch (IOException e) {
-      logger.error("IOException occurred while posting message to Slack: {}", e.getMessage(), e);
-      // Optionally, add a retry mechanism or send a failure notification to users
-    } catch (SlackApiException e) {
-      logger.error("Slack API error occurred while posting message: {}", e.getMessage(), e);
-      // Handle specific Slack API exceptions if needed (e.g., retry on rate limit errors)
-    } catch (IllegalStateException e) {
-      logger.error("Error in fetching Slack user info: {}", e.getMessage(), e);
-    } catch (Exception e) {
-      logger.error("Unexpected error occurred: {}", e.getMessage(), e);
-      // Optionally, send a failure notification or alert to a monitoring system
+      return String.format(
+          ":firefighter: *Roles Updated*\nThe following roles have been updated:\n%s",
+          Strings.join(roleUpdates, '\n'));
     }
-  }
-
-  private void sendUpdateStatusResponseMsg(
-      String channelID, Incident updatedIncident, String newStatus) {
-    try {
-      // Fetch user info from Slack using userId
-      UsersInfoResponse slackUserInfo =
-          getSlackUserDetails(updatedIncident.getUpdatedBy().getUserId());
-      if (slackUserInfo == null || slackUserInfo.getUser() == null) {
-        logger.error(
-            "Update status: failed to fetch Slack user info for userId: {}",
-            updatedIncident.getUpdatedBy().getUserId());
-        throw new IllegalStateException("Unable to fetch Slack user info");
-      }
-
-      // Get the Slack handle (username)
-      String slackHandle = slackUserInfo.getUser().getName();
 
-      // Prepare the message text
-      String messageText =
-          String.format(
-              ":eyes: *Status Updated*\n <@%s> updated the status to: _%s_",
-              slackHandle, newStatus);
-
-      // Send the added comment response message back to the Slack channel
-      ChatPostMessageResponse response =
-          slackApp.client().chatPostMessage(r -> r.channel(channelID).text(messageText));
-
-      if (!response.isOk()) {
-        String errorMessage = "Failed to send add comment error message: " + response.getError();
-        logger.error(errorMessage);
-        throw new RuntimeException(errorMessage);
-      }
-
-      logger.info("Comment addition confirmation successfully posted to channel: {}", channelID);
-    } catch (IOException e) {
-      logger.error("IOException occurred while posting message to Slack: {}", e.getMessage(), e);
-      // Optionally, add a retry mechanism or send a failure notification to users
-    } catch (SlackApiException e) {
-      logger.error("Slack API error occurred while posting message: {}", e.getMessage(), e);
-      // Handle specific Slack API exceptions if needed (e.g., retry on rate limit errors)
-    } catch (IllegalStateException e) {
-      logger.error("Error in fetching Slack user info: {}", e.getMessage(), e);
-    } catch (Exception e) {
-      logger.error("Unexpected error occurred: {}", e.getMessage(), e);
-      // Optionally, send a failure notification or alert to a monitoring system
+    // Fetch user info from Slack using userId
+    User slackUserInfo = getSlackUserDetails(notification.getActorUserId());
+    if (slackUserInfo == null) {
+      throw new IOException(
+          "Unable to fetch Slack user info for userId: " + notification.getActorUserId());
     }
-  }
-
-  private void sendUpdateSeverityResponseMsg(
-      String channelID, Incident updatedIncident, String newSeverity) {
-    try {
-      // Fetch user info from Slack using userId
-      UsersInfoResponse slackUserInfo =
-          getSlackUserDetails(updatedIncident.getUpdatedBy().getUserId());
-      if (slackUserInfo == null || slackUserInfo.getUser() == null) {
-        logger.error(
-            "Failed to fetch Slack user info for userId: {}",
-            updatedIncident.getUpdatedBy().getUserId());
-        throw new IllegalStateException("Unable to fetch Slack user info");
-      }
-
-      // Get the Slack handle (username)
-      String slackHandle = slackUserInfo.getUser().getName();
-
-      // Prepare the message text
-      String messageText =
-          String.format(
-              ":vertical_traffic_light: *Severity Updated*\n <@%s> updated the severity to: _%s_",
-              slackHandle, newSeverity);
-
-      // Send the update summary response message back to the Slack channel
-      ChatPostMessageResponse response =
-          slackApp.client().chatPostMessage(r -> r.channel(channelID).text(messageText));
-
-      if (!response.isOk()) {
-        String errorMessage = "Failed to send message: " + response.getError();
-        logger.error(errorMessage);
-        throw new RuntimeException(errorMessage);
-      }
-
-      logger.info("Summary update confirmation successfully posted to channel: {}", channelID);
-    } catch (IOException e) {
-      logger.error("IOException occurred while posting message to Slack: {}", e.getMessage(), e);
-      // Optionally, add a retry mechanism or send a failure notification to users
-    } catch (SlackApiException e) {
-      logger.error("Slack API error occurred while posting message: {}", e.getMessage(), e);
-      // Handle specific Slack API exceptions if needed (e.g., retry on rate limit errors)
-    } catch (IllegalStateException e) {
-      logger.error("Error in fetching Slack user info: {}", e.getMessage(), e);
-    } catch (Exception e) {
-      logger.error("Unexpected error occurred: {}", e.getMessage(), e);
-      // Optionally, send a failure notification or alert to a monitoring system
+    String slackHandle = slackUserInfo.getName();
+
+    switch (notification.getType()) {
+      case Comment:
+        return String.format(
+            ":speech_balloon: *Comment Added*\n <@%s> added a new comment:\n> _%s_",
+            slackHandle, notification.getValue());
+      case Status:
+        return String.format(
+            ":eyes: *Status Updated*\n <@%s> updated the status to: _%s_",
+            slackHandle, notification.getValue());
+      case Severity:
+        return String.format(
+            ":vertical_traffic_light: *Severity Updated*\n <@%s> updated the severity to: _%s_",
+            slackHandle, notification.getValue());
+      case Summary:
+        return String.format(
+            ":memo: *Summary Updated*\n <@%s> updated the summary:\n> _%s_",
+            slackHandle, notification.getValue());
+      default:
+        throw new IllegalArgumentException(
+            "Unsupported Slack notification type: " + notification.getType());
     }
   }
 
-  private void sendUpdateSummaryResponseMsg(
-      String channelID, Incident updatedIncident, String newSummary) {
-    try {
-      // Fetch user info from Slack using userId
-      UsersInfoResponse slackUserInfo =
-          getSlackUserDetails(updatedIncident.getUpdatedBy().getUserId());
-      if (slackUserInfo == null || slackUserInfo.getUser() == null) {
-        logger.error(
-            "Failed to fetch Slack user info for userId: {}",
-            updatedIncident.getUpdatedBy().getUserId());
-        throw new IllegalStateException("Unable to fetch Slack user info");
-      }
-
-      // Get the Slack handle (username)
-      String slackHandle = slackUserInfo.getUser().getName();
-
-      // Prepare the message text
-      String messageText =
-          String.format(
-              ":memo: *Summary Updated*\n <@%s> updated the summary:\n> _%s_",
-              slackHandle, newSummary);
-
-      // Send the update summary response message back to the Slack channel
-      ChatPostMessageResponse response =
-          slackApp.client().chatPostMessage(r -> r.channel(channelID).text(messageText));
-
-      if (!response.isOk()) {
-        String errorMessage = "Failed to send message: " + response.getError();
-        logger.error(errorMessage);
-        throw new RuntimeException(errorMessage);
-      }
-
-      logger.info("Summary update confirmation successfully posted to channel: {}", channelID);
-    } catch (IOException e) {
-      logger.error("IOException occurred while posting message to Slack: {}", e.getMessage(), e);
-      // Optionally, add a retry mechanism or send a failure notification to users
-    } catch (SlackApiException e) {
-      logger.error("Slack API error occurred while posting message: {}", e.getMessage(), e);
-      // Handle specific Slack API exceptions if needed (e.g., retry on rate limit errors)
-    } catch (IllegalStateException e) {
-      logger.error("Error in fetching Slack user info: {}", e.getMessage(), e);
-    } catch (Exception e) {
-      logger.error("Unexpected error occurred: {}", e.getMessage(), e);
-      // Optionally, send a failure notification or alert to a monitoring system
+  @Override
+  public void refreshIncidentCard(Incident incident) throws IOException, SlackApiException {
+    String channelID = incident.getChannels().get(0).getId();
+    List<LayoutBlock> blocks = buildIncidentCardBlocks(incident);
+    var response =
+        slackApi.execute(
+            "chat.update",
+            channelID,
+            Priority.NORMAL,
+            () ->
+                slackApp
+                    .client()
+                    .chatUpdate(r -> r.channel(channelID).ts(incident.getSlackCardTs()).blocks(blocks)));
+    if (!response.isOk()) {
+      throw new IOException("Failed to refresh incident card: " + response.getError());
     }
   }
 
@@ -2105,14 +2314,11 @@ public class SlackServiceImpl implements SlackService {
             .collect(Collectors.toList());
 
     try {
-      Incident updatedIncident =
-          incidentService.updateIncidentRoles(
-              incidentIdentifier,
-              roleList,
-              fetchSlackUserDetails(payload.getPayload().getUser().getId(), ChannelSource.Slack));
-
-      sendUpdateRoleResponseMsg(
-          updatedIncident.getChannels().get(0).getId(), updatedIncident, roleList);
+      // The confirmation is queued on the incident's outbox by the update itself
+      incidentService.updateIncidentRoles(
+          incidentIdentifier,
+          roleList,
+          fetchSlackUserDetails(payload.getPayload().getUser().getId(), ChannelSource.Slack));
       //      sendSlackMessage(
       //          payload.getPayload().getUser().getId(), "Incident roles have been successfully
       // updated.");
@@ -2137,12 +2343,20 @@ public class SlackServiceImpl implements SlackService {
    * @param message The message to send.
    */
   private void sendSlackMessage(String userId, String message) {
-    try {
-      slackApp.client().chatPostMessage(r -> r.channel(userId).text(message));
-      logger.info("Sent message to user {}: {}", userId, message);
-    } catch (Exception e) {
-      logger.error("Failed to send message to user {}: {}", userId, e.getMessage(), e);
-    }
+    slackApi
+        .submit(
+            "chat.postMessage",
+            userId,
+            Priority.BULK,
+            () -> slackApp.client().chatPostMessage(r -> r.channel(userId).text(message)))
+        .whenComplete(
+            (response, error) -> {
+              if (error != null) {
+                logger.error("Failed to send message to user {}: {}", userId, error.getMessage(), error);
+              } else {
+                logger.info("Sent message to user {}: {}", userId, message);
+              }
+            });
   }
 
   public void handleIncidentStatusViewSubmission(ViewSubmissionRequest payload)
@@ -2237,47 +2451,57 @@ public class SlackServiceImpl implements SlackService {
 
                   // Open the modal view
                   ViewsOpenResponse response =
-                      ctx.client()
-                          .viewsOpen(
-                              r ->
-                                  r.triggerId(payload.getPayload().getTriggerId()).view(modalView));
+                      slackApi.execute(
+                          "views.open",
+                          null,
+                          Priority.INTERACTIVE,
+                          () ->
+                              ctx.client()
+                                  .viewsOpen(
+                                      r ->
+                                          r.triggerId(payload.getPayload().getTriggerId()).view(modalView)));
 
                   if (response.isOk()) {
                     logger.info("Create Incident modal opened successfully.");
                   } else {
                     logger.error("Failed to open Create Incident modal: {}", response.getError());
-                    // Optionally, notify the user about the failure
-                    slackApp
-                        .client()
-                        .chatPostMessage(
-                            r ->
-                                r.channel(payload.getPayload().getUser().getId())
-                                    .text(
-                                        "Failed to open the incident creation modal. Please try again."));
+                    notifyCreateIncidentFailure(
+                        payload.getPayload().getUser().getId(),
+                        "Failed to open the incident creation modal. Please try again.");
                   }
                 } catch (Exception e) {
                   logger.error("Exception while handling 'Create Incident' button click", e);
-                  // Optionally, notify the user about the exception
-                  try {
-                    slackApp
-                        .client()
-                        .chatPostMessage(
-                            r ->
-                                r.channel(payload.getPayload().getUser().getId())
-                                    .text(
-                                        "An error occurred while creating the incident. Please try again."));
-                  } catch (IOException | SlackApiException ex) {
-                    throw new RuntimeException(ex);
-                  }
+                  notifyCreateIncidentFailure(
+                      payload.getPayload().getUser().getId(),
+                      "An error occurred while creating the incident. Please try again.");
                 }
               },
-              executorService);
+              slackExecutors.interactive());
 
           // Acknowledge immediately
           return ctx.ack();
         });
   }
 
+  private void notifyCreateIncidentFailure(String userId, String message) {
+    slackApi
+        .submit(
+            "chat.postMessage",
+            userId,
+            Priority.INTERACTIVE,
+            () -> slackApp.client().chatPostMessage(r -> r.channel(userId).text(message)))
+        .whenComplete(
+            (response, error) -> {
+              if (error != null) {
+                logger.error(
+                    "Failed to tell user {} that incident creation failed: {}",
+                    userId,
+                    error.getMessage(),
+                    error);
+              }
+            });
+  }
+
   public void createIncident(GlobalShortcutRequest req, GlobalShortcutContext ctx) {
     try {
       List<LayoutBlock> blocks = new ArrayList<>();
@@ -2312,7 +2536,13 @@ public class SlackServiceImpl implements SlackService {
                       .submit(Views.viewSubmit(submit -> submit.type("plain_text").text("Start"))));
 
       ViewsOpenResponse response =
-          ctx.client().viewsOpen(r -> r.triggerId(req.getPayload().getTriggerId()).view(modalView));
+          slackApi.execute(
+              "views.open",
+              null,
+              Priority.INTERACTIVE,
+              () ->
+                  ctx.client()
+                      .viewsOpen(r -> r.triggerId(req.getPayload().getTriggerId()).view(modalView)));
 
       logger.info("CreateIncident view opened successfully: {}", response.isOk());
       ctx.ack();
@@ -2545,50 +2775,20 @@ public class SlackServiceImpl implements SlackService {
   public void listIncidents(GlobalShortcutContext ctx, SlackIncidentType slackIncidentType)
       throws Exception {
     try {
-      Query query;
-      if (slackIncidentType.equals(SlackIncidentType.Open)) {
-        Criteria criteria = Criteria.where("status").ne("Resolved");
-        query = new Query(criteria);
-      } else {
-        Criteria criteria = Criteria.where("status").is("Resolved");
-        query = new Query(criteria);
-      }
-      List<Incident> listIncidents = incidentService.listIncidents(query);
-
-      // Build blocks to display in the modal
-      List<LayoutBlock> blocks = new ArrayList<>();
-
-      if (listIncidents.isEmpty()) {
-        // No incidents
-        String text = ":information_source: No incidents found.";
-        blocks.add(createSectionBlock(text));
-      } else {
-        // Incident found, adding details
-        for (Incident incident : listIncidents) {
-          String commander = getCommander(incident);
-          String text =
-              String.format(
-                  ":writing_hand: *Name:* %s\n:vertical_traffic_light: *Severity:* %s\n:firefighter: *Commander:* %s\n:eyes: *Current Status:* %s\n\n",
-                  incident.getName(), incident.getSeverity(), commander, incident.getStatus());
-
-          SectionBlock sectionBlock = createSectionBlockWithButton(text, incident.getIdentifier());
-          blocks.add(sectionBlock);
-          blocks.add(new DividerBlock());
-        }
-      }
-
-      // Build the modal view
+      // Open incidents come from the in-memory registry so the modal opens well inside the
+      // trigger window; closed ones are read newest first, one page only
       View modalView =
-          View.builder()
-              .type("modal")
-              .callbackId("incident_list_modal")
-              .title(ViewTitle.builder().type("plain_text").text("📋 Incident List").build())
-              .blocks(blocks)
-              .build();
+          slackIncidentType.equals(SlackIncidentType.Open)
+              ? buildOpenIncidentListView(0)
+              : buildClosedIncidentListView();
 
       // Open the modal
       ViewsOpenResponse response =
-          ctx.client().viewsOpen(r -> r.triggerId(ctx.getTriggerId()).view(modalView));
+          slackApi.execute(
+              "views.open",
+              null,
+              Priority.INTERACTIVE,
+              () -> ctx.client().viewsOpen(r -> r.triggerId(ctx.getTriggerId()).view(modalView)));
 
       if (response.isOk()) {
         logger.info("ListIncidents view opened successfully.");
@@ -2603,6 +2803,110 @@ public class SlackServiceImpl implements SlackService {
     }
   }
 
+  private View buildOpenIncidentListView(int offset) {
+    List<ActiveIncidentSummary> page = activeIncidents.page(offset, INCIDENTS_PER_PAGE);
+    int total = activeIncidents.size();
+
+    List<LayoutBlock> blocks = new ArrayList<>();
+    if (page.isEmpty()) {
+      blocks.add(createSectionBlock(":information_source: No incidents found."));
+    }
+    for (ActiveIncidentSummary incident : page) {
+      String commander =
+          incident.getCommanderUserId() != null ? "<@" + incident.getCommanderUserId() + ">" : "N/A";
+      blocks.add(
+          createSectionBlockWithButton(
+              incidentListText(
+                  incident.getName(), incident.getSeverity(), commander, incident.getStatus()),
+              incident.getIdentifier()));
+      blocks.add(new DividerBlock());
+    }
+    if (total > INCIDENTS_PER_PAGE) {
+      blocks.addAll(incidentListPager(offset, page.size(), total));
+    }
+    return incidentListView(blocks);
+  }
+
+  private View buildClosedIncidentListView() {
+    Query query =
+        new Query(Criteria.where("status").is("Resolved"))
+            .with(Sort.by(Sort.Direction.DESC, "updatedAt"))
+            .limit(INCIDENTS_PER_PAGE);
+    query.fields().include("identifier", "name", "severity", "status", "roles");
+    List<Incident> listIncidents = incidentService.listIncidents(query);
+
+    List<LayoutBlock> blocks = new ArrayList<>();
+    if (listIncidents.isEmpty()) {
+      blocks.add(createSectionBlock(":information_source: No incidents found."));
+    }
+    for (Incident incident : listIncidents) {
+      blocks.add(
+          createSectionBlockWithButton(
+              incidentListText(
+                  incident.getName(),
+                  incident.getSeverity(),
+                  getCommander(incident),
+                  incident.getStatus()),
+              incident.getIdentifier()));
+      blocks.add(new DividerBlock());
+    }
+    return incidentListView(blocks);
+  }
+
+  private static String incidentListText(
+      String name, Severity severity, String commander, Status status) {
+    return String.format(
+        ":writing_hand: *Name:* %s\n:vertical_traffic_light: *Severity:* %s\n:firefighter: *Commander:* %s\n:eyes: *Current Status:* %s\n\n",
+        name, severity, commander, status);
+  }
+
+  /** "Showing x-y of n" and previous / next buttons carrying the offset of the target page. */
+  private static List<LayoutBlock> incidentListPager(int offset, int shown, int total) {
+    List<BlockElement> buttons = new ArrayList<>();
+    if (offset > 0) {
+      buttons.add(
+          ButtonElement.builder()
+              .actionId(INCIDENT_LIST_PREVIOUS)
+              .text(PlainTextObject.builder().text("Previous").emoji(true).build())
+              .value(String.valueOf(Math.max(0, offset - INCIDENTS_PER_PAGE)))
+              .build());
+    }
+    if (offset + shown < total) {
+      buttons.add(
+          ButtonElement.builder()
+              .actionId(INCIDENT_LIST_NEXT)
+              .text(PlainTextObject.builder().text("Next").emoji(true).build())
+              .value(String.valueOf(offset + INCIDENTS_PER_PAGE))
+              .build());
+    }
+
+    List<LayoutBlock> blocks = new ArrayList<>();
+    blocks.add(
+        ContextBlock.builder()
+            .elements(
+                List.of(
+                    MarkdownTextObject.builder()
+                        .text(
+                            String.format(
+                                "Showing %d-%d of %d open incidents",
+                                offset + 1, offset + shown, total))
+                        .build()))
+            .build());
+    if (!buttons.isEmpty()) {
+      blocks.add(ActionsBlock.builder().blockId("incident_list_pager").elements(buttons).build());
+    }
+    return blocks;
+  }
+
+  private static View incidentListView(List<LayoutBlock> blocks) {
+    return View.builder()
+        .type("modal")
+        .callbackId("incident_list_modal")
+        .title(ViewTitle.builder().type("plain_text").text("📋 Incident List").build())
+        .blocks(blocks)
+        .build();
+  }
+
   private List<Incident> getIncidentsForSlackView(SlackIncidentType slackIncidentType) {
     // This method should fetch the incidents based on the slackIncidentType
     // For now, returning an empty list or mocked data as an example
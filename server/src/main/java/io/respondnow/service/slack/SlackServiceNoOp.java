@@ -96,6 +96,11 @@ public class SlackServiceNoOp implements SlackService {
     log.info(SLACK_DISABLED_MSG);
   }
 
+  @Override
+  public void stopApp() {
+    log.debug(SLACK_DISABLED_MSG);
+  }
+
   @Override
   public Slack getSlackClient() {
     return null;
@@ -0,0 +1,406 @@
+package io.respondnow.service.user;
+
+import com.mongodb.bulk.BulkWriteResult;
+import io.respondnow.model.user.Group;
+import io.respondnow.model.user.GroupMembership;
+import io.respondnow.model.user.User;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.Document;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.aggregation.AggregationOptions;
+import org.springframework.data.mongodb.core.index.Index;
+import org.springframework.data.mongodb.core.query.BasicQuery;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.data.util.CloseableIterator;
+import org.springframework.stereotype.Service;
+
+import javax.annotation.PostConstruct;
+import java.util.*;
+
+/**
+ * Reads and writes the {@code group_memberships} edge collection. The compound indexes
+ * {@code (groupId, userId)} and {@code (userId, groupId)} serve both directions, and every
+ * multi-row read is paged over one of them, so neither the size of a group nor the number of
+ * groups a user belongs to is ever materialized in a single document.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class GroupMembershipService {
+
+    static final int BATCH_SIZE = 1000;
+    static final long ORPHAN_GRACE_MS = 60_000;
+
+    private final MongoTemplate mongoTemplate;
+
+    @PostConstruct
+    public void init() {
+        try {
+            mongoTemplate.indexOps(GroupMembership.class)
+                    .ensureIndex(new Index().on("groupId", Sort.Direction.ASC).on("userId", Sort.Direction.ASC)
+                            .unique().named("groupId_userId"));
+            mongoTemplate.indexOps(GroupMembership.class)
+                    .ensureIndex(new Index().on("userId", Sort.Direction.ASC).on("groupId", Sort.Direction.ASC)
+                            .unique().named("userId_groupId"));
+            migrateEmbeddedMemberships();
+        } catch (Exception e) {
+            log.error("Failed to initialize group memberships", e);
+        }
+    }
+
+    /**
+     * Link users (which must carry both {@code id} and {@code userId}) to a group.
+     *
+     * @return number of memberships that did not exist before
+     */
+    public long addMembers(String groupId, Collection<User> users, String createdBy) {
+        long added = 0;
+        long now = System.currentTimeMillis();
+        BulkOperations ops = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, GroupMembership.class);
+        int pending = 0;
+        for (User user : users) {
+            ops.upsert(byId(GroupMembership.idOf(groupId, user.getUserId())),
+                    new Update().setOnInsert("groupId", groupId)
+                            .setOnInsert("userId", user.getUserId())
+                            .setOnInsert("userRef", user.getId())
+                            .setOnInsert("createdAt", now)
+                            .setOnInsert("createdBy", createdBy));
+            if (++pending >= BATCH_SIZE) {
+                added += upserted(ops.execute());
+                ops = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, GroupMembership.class);
+                pending = 0;
+            }
+        }
+        if (pending > 0) {
+            added += upserted(ops.execute());
+        }
+        return added;
+    }
+
+    /**
+     * @return number of memberships removed
+     */
+    public long removeMembers(String groupId, Collection<String> userIds) {
+        long removed = 0;
+        List<String> ids = new ArrayList<>(userIds);
+        for (int from = 0; from < ids.size(); from += BATCH_SIZE) {
+            List<String> chunk = ids.subList(from, Math.min(ids.size(), from + BATCH_SIZE));
+            removed += mongoTemplate.remove(
+                    Query.query(Criteria.where("groupId").is(groupId).and("userId").in(chunk)),
+                    GroupMembership.class).getDeletedCount();
+        }
+        return removed;
+    }
+
+    public long removeGroup(String groupId) {
+        return mongoTemplate.remove(Query.query(Criteria.where("groupId").is(groupId)), GroupMembership.class)
+                .getDeletedCount();
+    }
+
+    /**
+     * @return IDs of the groups the user was removed from
+     */
+    public Set<String> removeUser(String userId) {
+        Set<String> groupIds = getGroupIds(userId);
+        mongoTemplate.remove(Query.query(Criteria.where("userId").is(userId)), GroupMembership.class);
+        return groupIds;
+    }
+
+    /**
+     * Make the user's memberships exactly {@code groupIds}.
+     *
+     * @return IDs of the groups that gained or lost the user
+     */
+    public Set<String> setGroups(User user, Set<String> groupIds, String changedBy) {
+        Set<String> current = getGroupIds(user.getUserId());
+        Set<String> changed = new HashSet<>();
+        for (String groupId : groupIds) {
+            if (!current.contains(groupId)) {
+                addMembers(groupId, List.of(user), changedBy);
+                changed.add(groupId);
+            }
+        }
+        for (String groupId : current) {
+            if (!groupIds.contains(groupId)) {
+                removeMembers(groupId, List.of(user.getUserId()));
+                changed.add(groupId);
+            }
+        }
+        return changed;
+    }
+
+    public long countMembers(String groupId) {
+        return mongoTemplate.count(Query.query(Criteria.where("groupId").is(groupId)), GroupMembership.class);
+    }
+
+    public Map<String, Long> countMembersByGroup() {
+        Aggregation aggregation = Aggregation.newAggregation(
+                Aggregation.group("groupId").count().as("count"));
+        Map<String, Long> counts = new HashMap<>();
+        for (Document row : mongoTemplate.aggregate(aggregation, GroupMembership.class, Document.class)) {
+            counts.put(row.getString("_id"), ((Number) row.get("count")).longValue());
+        }
+        return counts;
+    }
+
+    /**
+     * Members of a group ordered by userId, for the API.
+     */
+    public Page<String> getMemberUserIds(String groupId, int page, int size) {
+        Pageable pageable = PageRequest.of(page, size, Sort.by(Sort.Direction.ASC, "userId"));
+        Query query = Query.query(Criteria.where("groupId").is(groupId));
+        long total = mongoTemplate.count(query, GroupMembership.class);
+        List<String> userIds = new ArrayList<>();
+        for (GroupMembership membership : mongoTemplate.find(Query.of(query).with(pageable), GroupMembership.class)) {
+            userIds.add(membership.getUserId());
+        }
+        return new PageImpl<>(userIds, pageable, total);
+    }
+
+    /**
+     * The first {@code limit} members of each group, by userId, in one aggregation over the
+     * {@code groupId_userId} index. Groups without members are left out.
+     */
+    public Map<String, List<String>> getMemberPreviews(Collection<String> groupIds, int limit) {
+        Map<String, List<String>> previews = new HashMap<>();
+        if (groupIds.isEmpty()) {
+            return previews;
+        }
+        Aggregation aggregation = Aggregation.newAggregation(
+                Aggregation.match(Criteria.where("groupId").in(groupIds)),
+                Aggregation.sort(Sort.by(Sort.Direction.ASC, "groupId", "userId")),
+                Aggregation.group("groupId").push("userId").as("userIds"),
+                Aggregation.project().and("userIds").slice(limit))
+                .withOptions(AggregationOptions.builder().allowDiskUse(true).build());
+        for (Document row : mongoTemplate.aggregate(aggregation, GroupMembership.class, Document.class)) {
+            previews.put(row.getString("_id"), row.getList("userIds", String.class));
+        }
+        return previews;
+    }
+
+    /**
+     * Next page of a group's members after {@code afterUserId} (null for the first page).
+     */
+    public List<GroupMembership> getMembersAfter(String groupId, String afterUserId, int limit) {
+        Criteria criteria = Criteria.where("groupId").is(groupId);
+        if (afterUserId != null) {
+            criteria.and("userId").gt(afterUserId);
+        }
+        Query query = Query.query(criteria).with(Sort.by(Sort.Direction.ASC, "userId")).limit(limit);
+        return mongoTemplate.find(query, GroupMembership.class);
+    }
+
+    public Set<String> getGroupIds(String userId) {
+        return getGroupIdsByUser(List.of(userId)).getOrDefault(userId, new HashSet<>());
+    }
+
+    /**
+     * Group IDs per userId for a batch of users, paged over the {@code userId_groupId} index.
+     */
+    public Map<String, Set<String>> getGroupIdsByUser(Collection<String> userIds) {
+        Map<String, Set<String>> groupIds = new HashMap<>();
+        if (userIds.isEmpty()) {
+            return groupIds;
+        }
+        String afterId = null;
+        while (true) {
+            Criteria criteria = Criteria.where("userId").in(userIds);
+            if (afterId != null) {
+                criteria.and("_id").gt(afterId);
+            }
+            Query query = Query.query(criteria).with(Sort.by(Sort.Direction.ASC, "_id")).limit(BATCH_SIZE);
+            query.fields().include("userId").include("groupId");
+            List<GroupMembership> page = mongoTemplate.find(query, GroupMembership.class);
+            for (GroupMembership membership : page) {
+                groupIds.computeIfAbsent(membership.getUserId(), id -> new HashSet<>()).add(membership.getGroupId());
+            }
+            if (page.size() < BATCH_SIZE) {
+                return groupIds;
+            }
+            afterId = page.get(page.size() - 1).getId();
+        }
+    }
+
+    /**
+     * Remove memberships that point at groups or users that no longer exist.
+     *
+     * @return number of memberships removed
+     */
+    public long pruneOrphans() {
+        return pruneOrphans(0, 1);
+    }
+
+    /**
+     * Remove orphaned memberships in one of {@code partitions} shares of the groups, assigned by
+     * group ID hash. Partition 0 also removes memberships of groups that no longer exist; only
+     * memberships created before the group list was read (less {@link #ORPHAN_GRACE_MS} for
+     * clock skew between instances) are considered, so groups created meanwhile keep theirs.
+     *
+     * @return number of memberships removed
+     */
+    public long pruneOrphans(int partition, int partitions) {
+        long snapshotAt = System.currentTimeMillis();
+        Query groups = new Query();
+        groups.fields().include("_id");
+        List<String> groupIds = new ArrayList<>();
+        List<String> ownGroupIds = new ArrayList<>();
+        for (Group group : mongoTemplate.find(groups, Group.class)) {
+            groupIds.add(group.getId());
+            if (Math.floorMod(group.getId().hashCode(), partitions) == partition) {
+                ownGroupIds.add(group.getId());
+            }
+        }
+        long removed = 0;
+        if (partition == 0) {
+            removed += mongoTemplate.remove(Query.query(Criteria.where("groupId").nin(groupIds)
+                            .and("createdAt").lt(snapshotAt - ORPHAN_GRACE_MS)),
+                    GroupMembership.class).getDeletedCount();
+        }
+
+        Set<String> batch = new HashSet<>();
+        for (int from = 0; from < ownGroupIds.size(); from += BATCH_SIZE) {
+            Query edges = Query.query(Criteria.where("groupId")
+                    .in(ownGroupIds.subList(from, Math.min(ownGroupIds.size(), from + BATCH_SIZE))));
+            edges.fields().include("userId");
+            try (CloseableIterator<GroupMembership> it = mongoTemplate.stream(edges, GroupMembership.class)) {
+                while (it.hasNext()) {
+                    batch.add(it.next().getUserId());
+                    if (batch.size() >= BATCH_SIZE) {
+                        removed += removeMissingUsers(batch);
+                        batch.clear();
+                    }
+                }
+            }
+        }
+        removed += removeMissingUsers(batch);
+        return removed;
+    }
+
+    private long removeMissingUsers(Set<String> userIds) {
+        if (userIds.isEmpty()) {
+            return 0;
+        }
+        Set<String> missing = new HashSet<>(userIds);
+        missing.removeAll(mongoTemplate.findDistinct(
+                Query.query(Criteria.where("userId").in(userIds)), "userId", User.class, String.class));
+        if (missing.isEmpty()) {
+            return 0;
+        }
+        return mongoTemplate.remove(Query.query(Criteria.where("userId").in(missing)), GroupMembership.class)
+                .getDeletedCount();
+    }
+
+    /**
+     * Move memberships still embedded as {@code user_groups.userIds} and {@code users.groupIds}
+     * into the edge collection, then drop the arrays. Upserts are idempotent, so an interrupted
+     * or concurrent run is harmless.
+     *
+     * @return number of memberships created
+     */
+    public long migrateEmbeddedMemberships() {
+        long created = 0;
+        String groupCollection = mongoTemplate.getCollectionName(Group.class);
+        String userCollection = mongoTemplate.getCollectionName(User.class);
+
+        Query groups = new BasicQuery(new Document("userIds.0", new Document("$exists", true)));
+        groups.fields().include("userIds");
+        try (CloseableIterator<Document> it = mongoTemplate.stream(groups, Document.class, groupCollection)) {
+            while (it.hasNext()) {
+                Document group = it.next();
+                String groupId = group.get("_id").toString();
+                List<String> userIds = group.getList("userIds", String.class);
+                for (int from = 0; from < userIds.size(); from += BATCH_SIZE) {
+                    List<String> chunk = userIds.subList(from, Math.min(userIds.size(), from + BATCH_SIZE));
+                    created += addMembers(groupId, resolveEmbeddedMembers(groupId, chunk), "migration");
+                }
+                mongoTemplate.updateFirst(Query.query(Criteria.where("_id").is(group.get("_id"))),
+                        new Update().unset("userIds"), groupCollection);
+            }
+        }
+
+        // Matches through the sparse users.groupIds index; empty arrays are dropped along the way
+        Query users = new BasicQuery(new Document("groupIds", new Document("$exists", true)));
+        users.fields().include("userId").include("groupIds");
+        try (CloseableIterator<Document> it = mongoTemplate.stream(users, Document.class, userCollection)) {
+            while (it.hasNext()) {
+                Document document = it.next();
+                User user = new User();
+                user.setId(document.get("_id").toString());
+                user.setUserId(document.getString("userId"));
+                List<String> groupIds = document.getList("groupIds", String.class);
+                for (String groupId : groupIds != null ? groupIds : List.<String>of()) {
+                    created += addMembers(groupId, List.of(user), "migration");
+                }
+                mongoTemplate.updateFirst(Query.query(Criteria.where("_id").is(document.get("_id"))),
+                        new Update().unset("groupIds"), userCollection);
+            }
+        }
+
+        if (created > 0) {
+            log.info("Migrated {} embedded group membership(s) to group_memberships", created);
+        }
+        return created;
+    }
+
+    /**
+     * Users referenced by embedded {@code user_groups.userIds} entries, which older versions
+     * wrote as user IDs, usernames or emails. Each entry is matched on the ID first, then the
+     * username, then the email; entries matching none are logged.
+     */
+    private List<User> resolveEmbeddedMembers(String groupId, List<String> entries) {
+        Query query = new Query(new Criteria().orOperator(
+                Criteria.where("_id").in(entries),
+                Criteria.where("userId").in(entries),
+                Criteria.where("email").in(entries)));
+        query.fields().include("_id").include("userId").include("email");
+        Map<String, User> byId = new HashMap<>();
+        Map<String, User> byUserId = new HashMap<>();
+        Map<String, User> byEmail = new HashMap<>();
+        for (User user : mongoTemplate.find(query, User.class)) {
+            byId.put(user.getId(), user);
+            byUserId.put(user.getUserId(), user);
+            if (user.getEmail() != null) {
+                byEmail.putIfAbsent(user.getEmail(), user);
+            }
+        }
+        Map<String, User> users = new LinkedHashMap<>();
+        List<String> unmatched = new ArrayList<>();
+        for (String entry : entries) {
+            User user = byId.get(entry);
+            if (user == null) {
+                user = byUserId.get(entry);
+            }
+            if (user == null) {
+                user = byEmail.get(entry);
+            }
+            if (user != null) {
+                users.putIfAbsent(user.getUserId(), user);
+            } else {
+                unmatched.add(entry);
+            }
+        }
+        if (!unmatched.isEmpty()) {
+            log.warn("Group {} has {} embedded member(s) matching no user, not migrated: {}", groupId,
+                    unmatched.size(), unmatched);
+        }
+        return new ArrayList<>(users.values());
+    }
+
+    private static long upserted(BulkWriteResult result) {
+        return result.getUpserts().size();
+    }
+
+    private static Query byId(String id) {
+        return Query.query(Criteria.where("_id").is(id));
+    }
+}
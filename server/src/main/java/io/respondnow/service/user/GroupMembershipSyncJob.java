@@ -0,0 +1,68 @@
+package io.respondnow.service.user;
+
+import io.respondnow.model.job.JobRun;
+import io.respondnow.service.audit.PermissionMatrixService;
+import io.respondnow.service.job.ScheduledJob;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Periodic {@link GroupService#syncGroupMemberships()}, split by group so replicas share the
+ * user lookups. {@code POST /groups/sync-memberships} still runs it synchronously on demand.
+ */
+@Component
+@Slf4j
+public class GroupMembershipSyncJob implements ScheduledJob {
+
+    private final GroupService groupService;
+    private final PermissionMatrixService permissionMatrixService;
+
+    @Value("${jobs.groupMembershipSync.cron:0 30 3 * * *}")
+    private String cron;
+
+    @Value("${jobs.groupMembershipSync.partitions:4}")
+    private int partitions;
+
+    @Value("${jobs.groupMembershipSync.maxConcurrency:2}")
+    private int maxConcurrency;
+
+    public GroupMembershipSyncJob(GroupService groupService, PermissionMatrixService permissionMatrixService) {
+        this.groupService = groupService;
+        this.permissionMatrixService = permissionMatrixService;
+    }
+
+    @Override
+    public String getName() {
+        return "group-membership-sync";
+    }
+
+    @Override
+    public String getCron() {
+        return cron;
+    }
+
+    @Override
+    public int getPartitions() {
+        return partitions;
+    }
+
+    @Override
+    public int getMaxConcurrency() {
+        return maxConcurrency;
+    }
+
+    @Override
+    public long run(int partition, int partitions) {
+        return groupService.syncGroupMemberships(partition, partitions);
+    }
+
+    @Override
+    public void onRunFinished(JobRun run) {
+        if (run.getProcessed() != null && run.getProcessed() > 0) {
+            log.info("Group membership sync changed {} membership(s), rebuilding permission matrix",
+                    run.getProcessed());
+            permissionMatrixService.rebuild();
+        }
+    }
+}
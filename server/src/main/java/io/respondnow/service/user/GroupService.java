@@ -1,16 +1,32 @@
 package io.respondnow.service.user;
 
+import com.mongodb.client.result.UpdateResult;
 import io.respondnow.dto.user.CreateGroupRequest;
+import io.respondnow.dto.user.GroupMembershipRequest;
+import io.respondnow.dto.user.GroupMembershipResponse;
 import io.respondnow.dto.user.GroupResponse;
+import io.respondnow.exception.BadRequestException;
 import io.respondnow.model.user.Group;
+import io.respondnow.model.user.GroupMembership;
 import io.respondnow.model.user.User;
 import io.respondnow.repository.GroupRepository;
-import io.respondnow.repository.UserRepository;
+import io.respondnow.service.audit.PermissionMatrixService;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Page;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
 import org.springframework.stereotype.Service;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import java.util.stream.Collectors;
 
@@ -18,13 +34,28 @@ import java.util.stream.Collectors;
 @Slf4j
 public class GroupService {
 
+    // IDs resolved per query when applying bulk membership changes
+    private static final int MEMBERSHIP_BATCH_SIZE = 1000;
+
     private final GroupRepository groupRepository;
-    private final UserRepository userRepository;
+    private final MongoTemplate mongoTemplate;
+    private final GroupMembershipService membershipService;
+    private final PermissionMatrixService permissionMatrixService;
+
+    @Value("${groups.membership.bulkMaxUserIds:10000}")
+    private int bulkMaxUserIds;
+
+    @Value("${groups.membership.previewSize:1000}")
+    private int memberPreviewSize;
 
     // Constructor injection to avoid cyclic dependency issues
-    public GroupService(GroupRepository groupRepository, UserRepository userRepository) {
+    public GroupService(GroupRepository groupRepository, MongoTemplate mongoTemplate,
+                        GroupMembershipService membershipService,
+                        PermissionMatrixService permissionMatrixService) {
         this.groupRepository = groupRepository;
-        this.userRepository = userRepository;
+        this.mongoTemplate = mongoTemplate;
+        this.membershipService = membershipService;
+        this.permissionMatrixService = permissionMatrixService;
     }
 
     public GroupResponse createGroup(CreateGroupRequest request, String currentUser) {
@@ -36,15 +67,19 @@ public class GroupService {
         group.setCreatedBy(currentUser);
         group.setUpdatedBy(currentUser);
         
-        if (request.getUserIds() != null) {
-            group.getUserIds().addAll(request.getUserIds());
-        }
-        
         if (request.getRoleNames() != null) {
             group.getRoleNames().addAll(request.getRoleNames());
         }
 
         Group saved = groupRepository.save(group);
+        permissionMatrixService.onGroupChanged(saved);
+        
+        // Initial members go through the bulk path so unknown IDs are skipped rather than stored
+        if (request.getUserIds() != null && !request.getUserIds().isEmpty()) {
+            GroupMembershipRequest members = new GroupMembershipRequest();
+            members.setAddUserIds(request.getUserIds());
+            updateMembers(saved.getId(), members, currentUser);
+        }
         log.info("Created group: {} by user: {}", saved.getName(), currentUser);
         return toResponse(saved);
     }
@@ -58,74 +93,105 @@ public class GroupService {
         group.setUpdatedAt(LocalDateTime.now());
 
         Group updated = groupRepository.save(group);
+        permissionMatrixService.onGroupChanged(updated);
         log.info("Updated group: {} by user: {}", updated.getName(), currentUser);
         return toResponse(updated);
     }
 
     public void deleteGroup(String id) {
         groupRepository.deleteById(id);
+        membershipService.removeGroup(id);
+        permissionMatrixService.onGroupDeleted(id);
         log.info("Deleted group: {}", id);
     }
 
     public GroupResponse getGroupById(String id) {
         Group group = groupRepository.findById(id)
             .orElseThrow(() -> new RuntimeException("Group not found: " + id));
-        return toResponse(group);
+        return toResponse(group, membershipService.countMembers(id));
     }
 
     public List<GroupResponse> getAllGroups() {
-        return groupRepository.findAll().stream()
-            .map(this::toResponse)
+        Map<String, Long> memberCounts = membershipService.countMembersByGroup();
+        List<Group> groups = groupRepository.findAll();
+        Map<String, List<String>> previews = membershipService.getMemberPreviews(
+            groups.stream().map(Group::getId).collect(Collectors.toList()), memberPreviewSize);
+        return groups.stream()
+            .map(group -> toResponse(group, memberCounts.getOrDefault(group.getId(), 0L),
+                previews.getOrDefault(group.getId(), List.of())))
             .collect(Collectors.toList());
     }
 
-    public void addMember(String groupId, String userId, String currentUser) {
-        Group group = groupRepository.findById(groupId)
-            .orElseThrow(() -> new RuntimeException("Group not found: " + groupId));
-        
-        // Find user by either MongoDB ID or userId
-        User user = userRepository.findById(userId)
-            .or(() -> userRepository.findByUserId(userId))
-            .orElseThrow(() -> new RuntimeException("User not found: " + userId));
-        
-        // Add user to group's userIds
-        group.addMember(user.getUserId());
-        group.setUpdatedBy(currentUser);
-        groupRepository.save(group);
-        
-        // Add group to user's groupIds (bidirectional relationship)
-        if (user.getGroupIds() == null) {
-            user.setGroupIds(new java.util.HashSet<>());
+    /**
+     * Page through a group's members (user IDs, ordered).
+     */
+    public Page<String> getMembers(String groupId, int page, int size) {
+        if (!mongoTemplate.exists(byId(groupId), Group.class)) {
+            throw new RuntimeException("Group not found: " + groupId);
         }
-        user.getGroupIds().add(groupId);
-        user.setUpdatedAt(System.currentTimeMillis());
-        userRepository.save(user);
+        return membershipService.getMemberUserIds(groupId, page, size);
+    }
+
+    public void addMember(String groupId, String userId, String currentUser) {
+        User user = resolveUser(userId);
+        touchGroup(groupId, currentUser);
+        membershipService.addMembers(groupId, List.of(user), currentUser);
+        permissionMatrixService.onMembershipChanged(groupId, List.of(user.getId()));
         
-        log.info("Added user {} to group {} by {} (updated both sides)", user.getUserId(), groupId, currentUser);
+        log.info("Added user {} to group {} by {}", user.getUserId(), groupId, currentUser);
     }
 
     public void removeMember(String groupId, String userId, String currentUser) {
-        Group group = groupRepository.findById(groupId)
-            .orElseThrow(() -> new RuntimeException("Group not found: " + groupId));
+        User user = resolveUser(userId);
+        touchGroup(groupId, currentUser);
+        membershipService.removeMembers(groupId, List.of(user.getUserId()));
+        permissionMatrixService.onMembershipChanged(groupId, List.of(user.getId()));
         
-        // Find user by either MongoDB ID or userId
-        User user = userRepository.findById(userId)
-            .or(() -> userRepository.findByUserId(userId))
-            .orElseThrow(() -> new RuntimeException("User not found: " + userId));
+        log.info("Removed user {} from group {} by {}", user.getUserId(), groupId, currentUser);
+    }
+
+    /**
+     * Add and remove many members in one call. IDs are resolved and applied in chunks, and
+     * only membership documents are written; the group document is merely touched.
+     */
+    public GroupMembershipResponse updateMembers(String groupId, GroupMembershipRequest request, String currentUser) {
+        Set<String> toAdd = request.getAddUserIds() != null ? request.getAddUserIds() : Set.of();
+        Set<String> toRemove = request.getRemoveUserIds() != null ? request.getRemoveUserIds() : Set.of();
+        if (toAdd.size() + toRemove.size() > bulkMaxUserIds) {
+            throw new BadRequestException("At most " + bulkMaxUserIds + " user IDs can be changed per request");
+        }
+        touchGroup(groupId, currentUser);
         
-        // Remove user from group's userIds
-        group.removeMember(user.getUserId());
-        group.setUpdatedBy(currentUser);
-        groupRepository.save(group);
+        GroupMembershipResponse response = new GroupMembershipResponse();
+        response.setGroupId(groupId);
+        response.setRequested(toAdd.size() + toRemove.size());
+        List<String> changedUsers = new ArrayList<>();
+        
+        for (List<String> chunk : chunks(toAdd)) {
+            List<User> users = resolveUsers(chunk, response.getNotFound());
+            if (users.isEmpty()) {
+                continue;
+            }
+            response.setAdded(response.getAdded() + membershipService.addMembers(groupId, users, currentUser));
+            users.forEach(user -> changedUsers.add(user.getId()));
+        }
         
-        // Remove group from user's groupIds (bidirectional relationship)
-        if (user.getGroupIds() != null) {
-            user.getGroupIds().remove(groupId);
-            user.setUpdatedAt(System.currentTimeMillis());
-            userRepository.save(user);
+        for (List<String> chunk : chunks(toRemove)) {
+            List<User> users = resolveUsers(chunk, response.getNotFound());
+            if (users.isEmpty()) {
+                continue;
+            }
+            List<String> loginIds = users.stream().map(User::getUserId).collect(Collectors.toList());
+            response.setRemoved(response.getRemoved() + membershipService.removeMembers(groupId, loginIds));
+            users.forEach(user -> changedUsers.add(user.getId()));
         }
         
-        log.info("Removed user {} from group {} by {} (updated both sides)", user.getUserId(), groupId, currentUser);
+        if (!changedUsers.isEmpty()) {
+            permissionMatrixService.onMembershipChanged(groupId, changedUsers);
+        }
+        log.info("Bulk membership update on group {} by {}: added={}, removed={}, notFound={}",
+            groupId, currentUser, response.getAdded(), response.getRemoved(), response.getNotFound().size());
+        return response;
     }
 
     public void assignRole(String groupId, String roleName, String currentUser) {
@@ -135,11 +201,12 @@ public class GroupService {
         group.assignRole(roleName);
         group.setUpdatedBy(currentUser);
         groupRepository.save(group);
+        permissionMatrixService.onGroupChanged(group);
         log.info("Assigned role {} to group {} by {}", roleName, groupId, currentUser);
     }
 
     public List<String> getUserGroups(String userId) {
-        return groupRepository.findByUserIdsContaining(userId).stream()
+        return getAllGroupsByIds(membershipService.getGroupIds(userId)).stream()
             .map(Group::getName)
             .collect(Collectors.toList());
     }
@@ -151,67 +218,124 @@ public class GroupService {
     }
 
     /**
-     * Sync existing group memberships - fixes bidirectional relationship
-     * for users who were added to groups before the fix.
-     * This should be called once after deploying the fix.
+     * Bring memberships up to date: move any memberships still embedded in group or user
+     * documents (written by older versions) into {@code group_memberships}, and remove
+     * memberships whose group or user no longer exists.
+     *
+     * @return number of memberships that were created or removed
      */
-    public void syncGroupMemberships() {
+    public long syncGroupMemberships() {
         log.info("Starting group membership sync...");
-        int syncedCount = 0;
+        long syncedCount = membershipService.migrateEmbeddedMemberships();
+        syncedCount += membershipService.pruneOrphans();
         
-        List<Group> allGroups = groupRepository.findAll();
-        for (Group group : allGroups) {
-            if (group.getUserIds() != null && !group.getUserIds().isEmpty()) {
-                for (String userId : group.getUserIds()) {
-                    try {
-                        User user = userRepository.findByUserId(userId)
-                            .orElse(null);
-                        
-                        if (user != null) {
-                            if (user.getGroupIds() == null) {
-                                user.setGroupIds(new java.util.HashSet<>());
-                            }
-                            
-                            if (!user.getGroupIds().contains(group.getId())) {
-                                user.getGroupIds().add(group.getId());
-                                user.setUpdatedAt(System.currentTimeMillis());
-                                userRepository.save(user);
-                                syncedCount++;
-                                log.info("Synced group {} to user {}", group.getName(), user.getUserId());
-                            }
-                        } else {
-                            log.warn("User {} not found in group {}", userId, group.getName());
-                        }
-                    } catch (Exception e) {
-                        log.error("Error syncing user {} in group {}", userId, group.getName(), e);
-                    }
-                }
-            }
+        if (syncedCount > 0) {
+            permissionMatrixService.rebuild();
         }
-        
         log.info("Group membership sync completed. Synced {} user-group relationships", syncedCount);
+        return syncedCount;
+    }
+
+    /**
+     * One partition of {@link #syncGroupMemberships()}, run by {@link GroupMembershipSyncJob}.
+     * Partition 0 also migrates embedded memberships. The permission matrix is left to the
+     * caller, to rebuild once after every partition has run.
+     *
+     * @return number of memberships that were created or removed
+     */
+    public long syncGroupMemberships(int partition, int partitions) {
+        long syncedCount = partition == 0 ? membershipService.migrateEmbeddedMemberships() : 0;
+        syncedCount += membershipService.pruneOrphans(partition, partitions);
+        return syncedCount;
+    }
+
+    private void touchGroup(String groupId, String currentUser) {
+        UpdateResult result = mongoTemplate.updateFirst(byId(groupId),
+            new Update().set("updatedBy", currentUser).set("updatedAt", LocalDateTime.now()), Group.class);
+        if (result.getMatchedCount() == 0) {
+            throw new RuntimeException("Group not found: " + groupId);
+        }
+    }
+
+    private User resolveUser(String userId) {
+        List<User> users = resolveUsers(List.of(userId), new HashSet<>());
+        if (users.isEmpty()) {
+            throw new RuntimeException("User not found: " + userId);
+        }
+        return users.get(0);
+    }
+
+    /**
+     * Look up users by either MongoDB ID or userId, loading only the two identifiers.
+     * Unmatched entries are added to {@code notFound}.
+     */
+    private List<User> resolveUsers(Collection<String> ids, Set<String> notFound) {
+        Query query = new Query(new Criteria().orOperator(
+            Criteria.where("_id").in(ids), Criteria.where("userId").in(ids)));
+        query.fields().include("_id").include("userId");
+        List<User> users = mongoTemplate.find(query, User.class);
+        Set<String> matched = new HashSet<>();
+        for (User user : users) {
+            matched.add(user.getId());
+            matched.add(user.getUserId());
+        }
+        for (String id : ids) {
+            if (!matched.contains(id)) {
+                notFound.add(id);
+            }
+        }
+        return users;
+    }
+
+    private static List<List<String>> chunks(Collection<String> ids) {
+        List<List<String>> chunks = new ArrayList<>();
+        List<String> current = new ArrayList<>(Math.min(ids.size(), MEMBERSHIP_BATCH_SIZE));
+        for (String id : ids) {
+            current.add(id);
+            if (current.size() >= MEMBERSHIP_BATCH_SIZE) {
+                chunks.add(current);
+                current = new ArrayList<>(MEMBERSHIP_BATCH_SIZE);
+            }
+        }
+        if (!current.isEmpty()) {
+            chunks.add(current);
+        }
+        return chunks;
+    }
+
+    private static Query byId(String id) {
+        return Query.query(Criteria.where("_id").is(id));
     }
 
     private GroupResponse toResponse(Group group) {
+        return toResponse(group, membershipService.countMembers(group.getId()));
+    }
+
+    private GroupResponse toResponse(Group group, long memberCount) {
+        List<String> preview = new ArrayList<>();
+        if (memberCount > 0) {
+            for (GroupMembership membership : membershipService.getMembersAfter(group.getId(), null, memberPreviewSize)) {
+                preview.add(membership.getUserId());
+            }
+        }
+        return toResponse(group, memberCount, preview);
+    }
+
+    private GroupResponse toResponse(Group group, long memberCount, List<String> preview) {
         GroupResponse response = new GroupResponse();
         response.setId(group.getId());
         response.setName(group.getName());
         response.setDescription(group.getDescription());
-        response.setUserIds(group.getUserIds());
         
-        // Populate usernames for UI display
-        Set<String> usernames = new java.util.HashSet<>();
-        if (group.getUserIds() != null && !group.getUserIds().isEmpty()) {
-            for (String userId : group.getUserIds()) {
-                userRepository.findByUserId(userId).ifPresent(user -> usernames.add(user.getUserId()));
-            }
-        }
-        response.setUsernames(usernames);
+        // Only the first members are inlined; the full list is paged via /groups/{id}/members
+        Set<String> userIds = new LinkedHashSet<>(preview);
+        response.setUserIds(userIds);
+        response.setUsernames(userIds);
         
-        log.debug("Group {} response: userIds={}, usernames={}", group.getName(), group.getUserIds(), usernames);
+        log.debug("Group {} response: memberCount={}, inlined={}", group.getName(), memberCount, userIds.size());
         
         response.setRoleNames(group.getRoleNames());
-        response.setMemberCount(group.getUserIds() != null ? group.getUserIds().size() : 0);
+        response.setMemberCount((int) memberCount);
         response.setCreatedAt(group.getCreatedAt());
         response.setUpdatedAt(group.getUpdatedAt());
         return response;
@@ -0,0 +1,129 @@
+package io.respondnow.service.user;
+
+import io.respondnow.model.user.Permission;
+import io.respondnow.model.user.UserRole;
+
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+import java.util.zip.CRC32;
+
+/**
+ * Immutable view of every role's effective permissions, as EnumSets and as bitmasks indexed by
+ * {@link Permission#ordinal()}. A role grants its own permissions, plus those of its parent roles
+ * when inheritance is enabled ({@code roles.inheritParentRoles}). A new snapshot is built and swapped
+ * in whenever roles change; readers never see a partially updated map.
+ *
+ * The version is derived from the content, so every instance that has loaded the same role
+ * definitions reports the same version.
+ */
+public final class RolePermissionSnapshot {
+
+    public static final RolePermissionSnapshot EMPTY = new RolePermissionSnapshot(Collections.emptyList());
+
+    private final Map<String, Set<Permission>> permissionsByRole;
+    private final Map<String, Long> masksByRole;
+    private final long version;
+
+    public RolePermissionSnapshot(Collection<UserRole> roles) {
+        this(roles, false);
+    }
+
+    public RolePermissionSnapshot(Collection<UserRole> roles, boolean inheritParentRoles) {
+        Map<String, UserRole> byName = new HashMap<>();
+        for (UserRole role : roles) {
+            byName.put(role.getName(), role);
+        }
+
+        Map<String, Set<Permission>> permissions = new TreeMap<>();
+        Map<String, Long> masks = new HashMap<>();
+        for (String name : byName.keySet()) {
+            EnumSet<Permission> resolved = inheritParentRoles
+                    ? resolve(name, byName, new HashSet<>())
+                    : own(byName.get(name));
+            permissions.put(name, Collections.unmodifiableSet(resolved));
+            masks.put(name, toMask(resolved));
+        }
+        this.permissionsByRole = Collections.unmodifiableMap(permissions);
+        this.masksByRole = Collections.unmodifiableMap(masks);
+        this.version = fingerprint(permissions);
+    }
+
+    private static EnumSet<Permission> own(UserRole role) {
+        EnumSet<Permission> result = EnumSet.noneOf(Permission.class);
+        if (role.getPermissions() != null) {
+            result.addAll(role.getPermissions());
+        }
+        return result;
+    }
+
+    private static EnumSet<Permission> resolve(String name, Map<String, UserRole> byName, Set<String> visiting) {
+        EnumSet<Permission> result = EnumSet.noneOf(Permission.class);
+        UserRole role = byName.get(name);
+        if (role == null || !visiting.add(name)) {
+            return result;
+        }
+        if (role.getPermissions() != null) {
+            result.addAll(role.getPermissions());
+        }
+        if (role.getParentRoles() != null) {
+            for (String parent : role.getParentRoles()) {
+                result.addAll(resolve(parent, byName, visiting));
+            }
+        }
+        visiting.remove(name);
+        return result;
+    }
+
+    public long getVersion() {
+        return version;
+    }
+
+    public Set<String> getRoleNames() {
+        return permissionsByRole.keySet();
+    }
+
+    public boolean hasRole(String roleName) {
+        return permissionsByRole.containsKey(roleName);
+    }
+
+    public Set<Permission> getPermissions(String roleName) {
+        Set<Permission> permissions = permissionsByRole.get(roleName);
+        return permissions != null ? permissions : Collections.emptySet();
+    }
+
+    public EnumSet<Permission> aggregate(Collection<String> roleNames) {
+        EnumSet<Permission> result = EnumSet.noneOf(Permission.class);
+        if (roleNames != null) {
+            for (String roleName : roleNames) {
+                result.addAll(getPermissions(roleName));
+            }
+        }
+        return result;
+    }
+
+    public long aggregateMask(Collection<String> roleNames) {
+        long mask = 0L;
+        if (roleNames != null) {
+            for (String roleName : roleNames) {
+                mask |= masksByRole.getOrDefault(roleName, 0L);
+            }
+        }
+        return mask;
+    }
+
+    public static long toMask(Set<Permission> permissions) {
+        long mask = 0L;
+        for (Permission permission : permissions) {
+            mask |= 1L << permission.ordinal();
+        }
+        return mask;
+    }
+
+    private static long fingerprint(Map<String, Set<Permission>> permissions) {
+        StringBuilder canonical = new StringBuilder();
+        permissions.forEach((role, granted) -> canonical.append(role).append('=').append(toMask(granted)).append(';'));
+        CRC32 crc = new CRC32();
+        crc.update(canonical.toString().getBytes(StandardCharsets.UTF_8));
+        return crc.getValue();
+    }
+}
@@ -1,14 +1,24 @@
 package io.respondnow.service.user;
 
+import com.mongodb.client.MongoChangeStreamCursor;
+import com.mongodb.client.model.changestream.ChangeStreamDocument;
 import io.respondnow.dto.user.RoleResponse;
 import io.respondnow.model.user.*;
 import io.respondnow.repository.UserRoleRepository;
+import io.respondnow.service.audit.PermissionMatrixService;
+import io.respondnow.service.cluster.LeaderElection;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.bson.Document;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.mongodb.core.MongoTemplate;
 import org.springframework.stereotype.Service;
 
 import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
 import java.util.*;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
 import java.util.stream.Collectors;
 
 @Service
@@ -17,11 +27,37 @@ import java.util.stream.Collectors;
 public class RoleService {
 
     private final UserRoleRepository roleRepository;
+    private final PermissionMatrixService permissionMatrixService;
+    private final MongoTemplate mongoTemplate;
+    private final LeaderElection leaderElection;
+
+    @Value("${roles.snapshot.pollIntervalMs:30000}")
+    private long pollIntervalMs;
+
+    @Value("${roles.inheritParentRoles:false}")
+    private boolean inheritParentRoles;
+
+    // Role name -> permissions, swapped atomically whenever any role changes
+    private final AtomicReference<RolePermissionSnapshot> snapshot =
+        new AtomicReference<>(RolePermissionSnapshot.EMPTY);
+
+    private volatile boolean watching;
+    private Thread watcher;
 
     /**
-     * Initialize system roles on application startup.
+     * Load the role snapshot and keep it current. System roles are created by the instance
+     * holding the leader lease; the other instances pick them up through the watcher.
      */
     @PostConstruct
+    public void init() {
+        refreshSnapshot();
+        startWatcher();
+        leaderElection.onLeadership("system-roles", this::initializeSystemRoles, null);
+    }
+
+    /**
+     * Create any missing system roles.
+     */
     public void initializeSystemRoles() {
         log.info("Initializing system roles...");
         
@@ -51,12 +87,84 @@ public class RoleService {
             )));
         
         log.info("System roles initialized successfully");
+        refreshSnapshot();
+    }
+
+    /**
+     * Current role permissions. Never touches the database.
+     */
+    public RolePermissionSnapshot getSnapshot() {
+        return snapshot.get();
+    }
+
+    /**
+     * Reload all roles and swap in a new snapshot.
+     */
+    public void refreshSnapshot() {
+        RolePermissionSnapshot previous = snapshot.get();
+        RolePermissionSnapshot next = new RolePermissionSnapshot(roleRepository.findAll(), inheritParentRoles);
+        snapshot.set(next);
+        if (previous.getVersion() != next.getVersion()) {
+            log.info("Role permission snapshot updated: {} roles, version {}", next.getRoleNames().size(), next.getVersion());
+        }
+    }
+
+    /**
+     * Keep the snapshot current when roles are changed by any instance. Uses a change stream
+     * on user_roles; on deployments without one (standalone MongoDB) it falls back to polling.
+     */
+    private void startWatcher() {
+        watching = true;
+        watcher = new Thread(this::watchRoles, "role-snapshot-watcher");
+        watcher.setDaemon(true);
+        watcher.start();
+    }
+
+    private void watchRoles() {
+        while (watching) {
+            try (MongoChangeStreamCursor<ChangeStreamDocument<Document>> cursor = mongoTemplate
+                    .getCollection(mongoTemplate.getCollectionName(UserRole.class))
+                    .watch()
+                    .maxAwaitTime(1, TimeUnit.SECONDS)
+                    .cursor()) {
+                // Anything that changed between the last load and opening the stream
+                refreshSnapshot();
+                while (watching) {
+                    if (cursor.tryNext() != null) {
+                        refreshSnapshot();
+                    }
+                }
+            } catch (Exception e) {
+                if (!watching) {
+                    return;
+                }
+                log.warn("Role change stream unavailable ({}), polling every {} ms", e.getMessage(), pollIntervalMs);
+                try {
+                    TimeUnit.MILLISECONDS.sleep(pollIntervalMs);
+                    refreshSnapshot();
+                } catch (InterruptedException ie) {
+                    Thread.currentThread().interrupt();
+                    return;
+                } catch (Exception reloadError) {
+                    log.error("Failed to reload role snapshot", reloadError);
+                }
+            }
+        }
+    }
+
+    @PreDestroy
+    public void stopWatcher() {
+        watching = false;
+        if (watcher != null) {
+            watcher.interrupt();
+        }
     }
 
     private void createSystemRoleIfNotExists(String name, String description, Set<Permission> permissions) {
         if (!roleRepository.existsByName(name)) {
             UserRole role = new UserRole(name, description, UserRoleType.SYSTEM, permissions);
             roleRepository.save(role);
+            permissionMatrixService.onRolesChanged();
             log.info("Created system role: {}", name);
         }
     }
@@ -74,18 +182,15 @@ public class RoleService {
     }
 
     public Set<Permission> getRolePermissions(String roleName) {
-        UserRole role = roleRepository.findByName(roleName)
-            .orElseThrow(() -> new RuntimeException("Role not found: " + roleName));
-        return role.getPermissions();
+        RolePermissionSnapshot current = snapshot.get();
+        if (!current.hasRole(roleName)) {
+            throw new RuntimeException("Role not found: " + roleName);
+        }
+        return current.getPermissions(roleName);
     }
 
     public Set<Permission> aggregatePermissions(Set<String> roleNames) {
-        Set<Permission> permissions = new HashSet<>();
-        for (String roleName : roleNames) {
-            Optional<UserRole> role = roleRepository.findByName(roleName);
-            role.ifPresent(r -> permissions.addAll(r.getPermissions()));
-        }
-        return permissions;
+        return snapshot.get().aggregate(roleNames);
     }
 
     private RoleResponse toResponse(UserRole role) {
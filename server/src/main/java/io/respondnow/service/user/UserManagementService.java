@@ -3,14 +3,26 @@ package io.respondnow.service.user;
 import io.respondnow.dto.user.*;
 import io.respondnow.model.user.*;
 import io.respondnow.repository.UserRepository;
+import io.respondnow.service.audit.PermissionMatrixService;
 import io.respondnow.util.JWTUtil;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.Index;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 
+import javax.annotation.PostConstruct;
 import java.time.LocalDateTime;
 import java.util.*;
+import java.util.regex.Pattern;
 import java.util.stream.Collectors;
 
 @Service
@@ -21,13 +33,48 @@ public class UserManagementService {
     private final UserRepository userRepository;
     private final RoleService roleService;
     private final GroupService groupService;
+    private final GroupMembershipService membershipService;
     private final PasswordEncoder passwordEncoder;
     private final JWTUtil jwtUtil;
+    private final PermissionMatrixService permissionMatrixService;
+    private final MongoTemplate mongoTemplate;
+
+    @PostConstruct
+    public void ensureIndexes() {
+        try {
+            // Ascending single-field indexes serve both sorting and anchored prefix regexes
+            mongoTemplate.indexOps(User.class).ensureIndex(new Index().on("name", Sort.Direction.ASC).named("name"));
+            mongoTemplate.indexOps(User.class).ensureIndex(new Index().on("email", Sort.Direction.ASC).named("email"));
+            mongoTemplate.indexOps(User.class).ensureIndex(new Index().on("userId", Sort.Direction.ASC).named("userId"));
+            // Users still carrying embedded memberships, read by the group_memberships migration
+            mongoTemplate.indexOps(User.class)
+                    .ensureIndex(new Index().on("groupIds", Sort.Direction.ASC).sparse().named("groupIds"));
+        } catch (Exception e) {
+            log.error("Failed to ensure user indexes", e);
+        }
+    }
 
     public List<UserResponse> getAllUsers() {
-        return userRepository.findAll().stream()
-            .map(this::toResponse)
-            .collect(Collectors.toList());
+        return toResponses(userRepository.findAll());
+    }
+
+    /**
+     * Page through users sorted by name. {@code search}, when given, matches the start of the
+     * name, email or username.
+     */
+    public Page<UserResponse> searchUsers(String search, int page, int size) {
+        Pageable pageable = PageRequest.of(page, size, Sort.by(Sort.Direction.ASC, "name"));
+        Query query = new Query();
+        if (search != null && !search.isBlank()) {
+            Pattern prefix = Pattern.compile("^" + Pattern.quote(search.trim()));
+            query.addCriteria(new Criteria().orOperator(
+                Criteria.where("name").regex(prefix),
+                Criteria.where("email").regex(prefix),
+                Criteria.where("userId").regex(prefix)));
+        }
+        long total = mongoTemplate.count(query, User.class);
+        List<User> users = mongoTemplate.find(Query.of(query).with(pageable), User.class);
+        return new PageImpl<>(toResponses(users), pageable, total);
     }
 
     public UserResponse getUserById(String id) {
@@ -65,12 +112,13 @@ public class UserManagementService {
             log.info("Assigned roles to new user: {}", request.getRoleNames());
         }
 
-        if (request.getGroupIds() != null) {
-            user.setGroupIds(request.getGroupIds());
+        User saved = userRepository.save(user);
+
+        if (request.getGroupIds() != null && !request.getGroupIds().isEmpty()) {
+            updateGroups(saved, request.getGroupIds());
             log.info("Assigned groups to new user: {}", request.getGroupIds());
         }
-
-        User saved = userRepository.save(user);
+        permissionMatrixService.onUserChanged(saved);
         log.info("Created user: {}", saved.getUserId());
         return toResponse(saved);
     }
@@ -105,15 +153,16 @@ public class UserManagementService {
             log.info("Updated roles for user {}: {}", user.getUserId(), request.getRoleNames());
         }
 
+        user.setUpdatedAt(System.currentTimeMillis());
+
+        User updated = userRepository.save(user);
+
         // Update groups if provided
         if (request.getGroupIds() != null) {
-            user.setGroupIds(request.getGroupIds());
+            updateGroups(updated, request.getGroupIds());
             log.info("Updated groups for user {}: {}", user.getUserId(), request.getGroupIds());
         }
-
-        user.setUpdatedAt(System.currentTimeMillis());
-
-        User updated = userRepository.save(user);
+        permissionMatrixService.onUserChanged(updated);
         log.info("Updated user: {}", updated.getUserId());
         return toResponse(updated);
     }
@@ -125,6 +174,9 @@ public class UserManagementService {
             .orElseThrow(() -> new RuntimeException("User not found: " + id));
         
         userRepository.delete(user);
+        Set<String> formerGroups = membershipService.removeUser(user.getUserId());
+        permissionMatrixService.onUserDeleted(user.getId());
+        formerGroups.forEach(groupId -> permissionMatrixService.onMembershipChanged(groupId, List.of()));
         log.info("Permanently deleted user: {}", user.getUserId());
     }
 
@@ -204,10 +256,22 @@ public class UserManagementService {
         return toResponse(activated);
     }
 
+    private void updateGroups(User user, Set<String> groupIds) {
+        Set<String> changed = membershipService.setGroups(user, groupIds, user.getUpdatedBy());
+        for (String groupId : changed) {
+            permissionMatrixService.onMembershipChanged(groupId, List.of());
+        }
+    }
+
     /**
      * Get all effective roles for a user including roles from groups
      */
     public Set<String> getEffectiveRoles(User user) {
+        Set<String> groupIds = membershipService.getGroupIds(user.getUserId());
+        return getEffectiveRoles(user, groupIds, loadGroups(groupIds));
+    }
+
+    private Set<String> getEffectiveRoles(User user, Set<String> groupIds, Map<String, Group> groupsById) {
         Set<String> allRoles = new HashSet<>();
         
         // Add direct user roles
@@ -216,19 +280,57 @@ public class UserManagementService {
         }
         
         // Add roles from all groups the user belongs to
-        if (user.getGroupIds() != null && !user.getGroupIds().isEmpty()) {
-            List<Group> userGroups = groupService.getAllGroupsByIds(user.getGroupIds());
-            for (Group group : userGroups) {
-                if (group.getRoleNames() != null) {
-                    allRoles.addAll(group.getRoleNames());
-                }
+        for (Group group : groupsOf(groupIds, groupsById)) {
+            if (group.getRoleNames() != null) {
+                allRoles.addAll(group.getRoleNames());
             }
         }
         
         return allRoles;
     }
 
+    /**
+     * Map a batch of users, resolving their memberships and every distinct group they
+     * reference with one query each.
+     */
+    private List<UserResponse> toResponses(List<User> users) {
+        Map<String, Set<String>> memberships = membershipService.getGroupIdsByUser(
+            users.stream().map(User::getUserId).collect(Collectors.toList()));
+        Set<String> groupIds = new HashSet<>();
+        memberships.values().forEach(groupIds::addAll);
+        Map<String, Group> groupsById = loadGroups(groupIds);
+        return users.stream()
+            .map(user -> toResponse(user, memberships.getOrDefault(user.getUserId(), Set.of()), groupsById))
+            .collect(Collectors.toList());
+    }
+
+    private Map<String, Group> loadGroups(Set<String> groupIds) {
+        Map<String, Group> groupsById = new HashMap<>();
+        if (!groupIds.isEmpty()) {
+            for (Group group : groupService.getAllGroupsByIds(groupIds)) {
+                groupsById.put(group.getId(), group);
+            }
+        }
+        return groupsById;
+    }
+
+    private static List<Group> groupsOf(Set<String> groupIds, Map<String, Group> groupsById) {
+        List<Group> groups = new ArrayList<>();
+        for (String groupId : groupIds) {
+            Group group = groupsById.get(groupId);
+            if (group != null) {
+                groups.add(group);
+            }
+        }
+        return groups;
+    }
+
     private UserResponse toResponse(User user) {
+        Set<String> groupIds = membershipService.getGroupIds(user.getUserId());
+        return toResponse(user, groupIds, loadGroups(groupIds));
+    }
+
+    private UserResponse toResponse(User user, Set<String> groupIds, Map<String, Group> groupsById) {
         UserResponse response = new UserResponse();
         response.setId(user.getId());
         response.setUsername(user.getUserId());
@@ -250,21 +352,18 @@ public class UserManagementService {
         response.setRemoved(user.getRemoved());
         
         // Get all effective roles (direct + inherited from groups)
-        Set<String> effectiveRoles = getEffectiveRoles(user);
+        Set<String> effectiveRoles = getEffectiveRoles(user, groupIds, groupsById);
         response.setRoleNames(effectiveRoles);
-        response.setGroupIds(user.getGroupIds() != null ? user.getGroupIds() : new HashSet<>());
+        response.setGroupIds(new HashSet<>(groupIds));
         
         // Populate group names for UI display
         Set<String> groupNames = new HashSet<>();
-        if (user.getGroupIds() != null && !user.getGroupIds().isEmpty()) {
-            List<Group> userGroups = groupService.getAllGroupsByIds(user.getGroupIds());
-            for (Group group : userGroups) {
-                groupNames.add(group.getName());
-            }
+        for (Group group : groupsOf(groupIds, groupsById)) {
+            groupNames.add(group.getName());
         }
         response.setGroupNames(groupNames);
         
-        log.debug("User {} response: groupIds={}, groupNames={}", user.getUserId(), user.getGroupIds(), groupNames);
+        log.debug("User {} response: groupIds={}, groupNames={}", user.getUserId(), groupIds, groupNames);
         
         response.setEffectivePermissions(new HashSet<>());
         
@@ -53,6 +53,29 @@ public class JWTUtil {
         .compact();
   }
 
+  // Generate JWT Token with roles and the permission bitmask compiled from them
+  public String generateToken(
+      String username,
+      String userId,
+      String email,
+      java.util.Set<String> roleNames,
+      long permissionMask,
+      long permissionVersion) {
+    return Jwts.builder()
+        .setSubject(username)
+        .claim("username", userId)
+        .claim("email", email)
+        .claim("name", username)
+        .claim("roleNames", roleNames)
+        .claim("perms", permissionMask)
+        .claim("pv", permissionVersion)
+        .setIssuedAt(new Date())
+        .setExpiration(
+            new Date(System.currentTimeMillis() + expirationTime * 1000)) // Convert to milliseconds
+        .signWith(getSigningKey(), SignatureAlgorithm.HS256)
+        .compact();
+  }
+
   // Validate JWT Token
   public boolean validateToken(String token, String username) {
     String usernameFromToken = getUsernameFromToken(token);
@@ -71,6 +94,11 @@ public class JWTUtil {
     return claims.getExpiration().before(new Date());
   }
 
+  // Verify the token once and return its claims, for callers reading several of them
+  public Claims parseClaims(String token) {
+    return getClaimsFromToken(token);
+  }
+
   // Extract claims from JWT token
   private Claims getClaimsFromToken(String token) {
     byte[] keyBytes = secretKey.getBytes(StandardCharsets.UTF_8); // Convert the secret to bytes
@@ -98,9 +126,12 @@ public class JWTUtil {
   }
 
   // Extract roleNames from JWT token
-  @SuppressWarnings("unchecked")
   public java.util.Set<String> getRoleNamesFromToken(String token) {
-    Claims claims = getClaimsFromToken(token);
+    return getRoleNames(getClaimsFromToken(token));
+  }
+
+  @SuppressWarnings("unchecked")
+  public java.util.Set<String> getRoleNames(Claims claims) {
     java.util.List<String> rolesList = claims.get("roleNames", java.util.List.class);
     if (rolesList != null) {
       return new java.util.HashSet<>(rolesList);
@@ -108,6 +139,18 @@ public class JWTUtil {
     return new java.util.HashSet<>();
   }
 
+  // Extract permission bitmask from JWT claims, null for tokens issued before it existed
+  public Long getPermissionMask(Claims claims) {
+    Number mask = claims.get("perms", Number.class);
+    return mask != null ? mask.longValue() : null;
+  }
+
+  // Extract the role snapshot version the bitmask was compiled against, -1 if absent
+  public long getPermissionVersion(Claims claims) {
+    Number version = claims.get("pv", Number.class);
+    return version != null ? version.longValue() : -1L;
+  }
+
   // Extract current user from HttpServletRequest
   public String getCurrentUser(javax.servlet.http.HttpServletRequest request) {
     String authHeader = request.getHeader("Authorization");
@@ -0,0 +1,75 @@
+package io.respondnow.util;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Collapses concurrent calls for the same key into one: the first caller runs the loader, and
+ * everyone who asks for that key before it finishes waits for and shares its result (or its
+ * exception). Nothing is kept afterwards, so a call that arrives once the result is in runs the
+ * loader again; pair it with a cache where results may be reused.
+ *
+ * Keys must capture everything the result depends on, including the caller's scope, since
+ * callers sharing a key get the same object. Results should be treated as read-only.
+ *
+ * Reports {@code singleflight.requests{name,result}}, where {@code result} is {@code executed}
+ * for the calls that ran the loader and {@code shared} for the ones that joined them.
+ */
+public final class SingleFlight<K, V> {
+
+  private final ConcurrentHashMap<K, CompletableFuture<V>> inFlight = new ConcurrentHashMap<>();
+  private final Counter executed;
+  private final Counter shared;
+
+  public SingleFlight(String name, MeterRegistry meterRegistry) {
+    this.executed = requests(meterRegistry, name, "executed");
+    this.shared = requests(meterRegistry, name, "shared");
+  }
+
+  private static Counter requests(MeterRegistry meterRegistry, String name, String result) {
+    return Counter.builder("singleflight.requests")
+        .tag("name", name)
+        .tag("result", result)
+        .description("Coalesced calls by whether they ran the work or shared another call's")
+        .register(meterRegistry);
+  }
+
+  public V execute(K key, Supplier<V> loader) {
+    CompletableFuture<V> mine = new CompletableFuture<>();
+    CompletableFuture<V> running = inFlight.putIfAbsent(key, mine);
+    if (running != null) {
+      shared.increment();
+      return await(running);
+    }
+    executed.increment();
+    try {
+      V value = loader.get();
+      mine.complete(value);
+      return value;
+    } catch (RuntimeException | Error e) {
+      mine.completeExceptionally(e);
+      throw e;
+    } finally {
+      inFlight.remove(key, mine);
+    }
+  }
+
+  private static <V> V await(CompletableFuture<V> running) {
+    try {
+      return running.join();
+    } catch (CompletionException e) {
+      Throwable cause = e.getCause();
+      if (cause instanceof RuntimeException) {
+        throw (RuntimeException) cause;
+      }
+      if (cause instanceof Error) {
+        throw (Error) cause;
+      }
+      throw e;
+    }
+  }
+}
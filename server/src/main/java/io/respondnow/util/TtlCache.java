@@ -0,0 +1,122 @@
+package io.respondnow.util;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.UnaryOperator;
+
+/**
+ * Bounded map whose entries expire a fixed time after they were written. Once full, the least
+ * recently read entry is evicted. Loading is left to the caller so no lock is held across a
+ * Slack or database call.
+ *
+ * Reports {@code <prefix>.requests{cache,result}}, {@code <prefix>.evictions{cache}} and
+ * {@code <prefix>.size{cache}}, e.g. {@code slack.cache.requests}.
+ */
+public final class TtlCache<K, V> {
+
+  private final long ttlMs;
+  private final int maxSize;
+  private final LinkedHashMap<K, Entry<V>> entries;
+  private final Counter hits;
+  private final Counter misses;
+  private final Counter evictions;
+
+  public TtlCache(
+      String metricPrefix, String name, int maxSize, Duration ttl, MeterRegistry meterRegistry) {
+    this.ttlMs = ttl.toMillis();
+    this.maxSize = maxSize;
+    this.entries = new LinkedHashMap<>(16, 0.75f, true);
+    this.hits = requests(meterRegistry, metricPrefix, name, "hit");
+    this.misses = requests(meterRegistry, metricPrefix, name, "miss");
+    this.evictions =
+        Counter.builder(metricPrefix + ".evictions")
+            .tag("cache", name)
+            .description("Entries evicted from a cache to stay within its size bound")
+            .register(meterRegistry);
+    Gauge.builder(metricPrefix + ".size", this, TtlCache::size)
+        .tag("cache", name)
+        .description("Entries held in a cache")
+        .register(meterRegistry);
+  }
+
+  private static Counter requests(
+      MeterRegistry meterRegistry, String metricPrefix, String name, String result) {
+    return Counter.builder(metricPrefix + ".requests")
+        .tag("cache", name)
+        .tag("result", result)
+        .description("Cache lookups by outcome")
+        .register(meterRegistry);
+  }
+
+  /** The cached value, or null when absent or expired. */
+  public synchronized V get(K key) {
+    Entry<V> entry = entries.get(key);
+    if (entry != null && entry.expiresAt > System.currentTimeMillis()) {
+      hits.increment();
+      return entry.value;
+    }
+    if (entry != null) {
+      entries.remove(key);
+    }
+    misses.increment();
+    return null;
+  }
+
+  public synchronized void put(K key, V value) {
+    entries.put(key, new Entry<>(value, System.currentTimeMillis() + ttlMs));
+    evictOverflow();
+  }
+
+  /**
+   * Replace a live entry with {@code update} applied to it, keeping its expiry. Does nothing when
+   * the key is absent or expired, so partial knowledge never creates an entry.
+   */
+  public synchronized void updateIfPresent(K key, UnaryOperator<V> update) {
+    Entry<V> entry = entries.get(key);
+    if (entry == null || entry.expiresAt <= System.currentTimeMillis()) {
+      return;
+    }
+    entries.put(key, new Entry<>(update.apply(entry.value), entry.expiresAt));
+  }
+
+  /** True when no more entries fit without evicting. */
+  public synchronized boolean isFull() {
+    return entries.size() >= maxSize;
+  }
+
+  public synchronized void invalidate(K key) {
+    entries.remove(key);
+  }
+
+  public synchronized void invalidateAll() {
+    entries.clear();
+  }
+
+  public synchronized int size() {
+    return entries.size();
+  }
+
+  private void evictOverflow() {
+    Iterator<Map.Entry<K, Entry<V>>> it = entries.entrySet().iterator();
+    while (entries.size() > maxSize && it.hasNext()) {
+      it.next();
+      it.remove();
+      evictions.increment();
+    }
+  }
+
+  private static final class Entry<V> {
+    private final V value;
+    private final long expiresAt;
+
+    private Entry(V value, long expiresAt) {
+      this.value = value;
+      this.expiresAt = expiresAt;
+    }
+  }
+}
@@ -0,0 +1,83 @@
+package io.respondnow.security;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import io.respondnow.model.user.Permission;
+import io.respondnow.model.user.UserRole;
+import io.respondnow.model.user.UserRoleType;
+import io.respondnow.service.user.RolePermissionSnapshot;
+import io.respondnow.service.user.RoleService;
+import java.util.EnumSet;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+
+class BitmaskPermissionEvaluatorTest {
+
+  private final RoleService roleService = mock(RoleService.class);
+  private final BitmaskPermissionEvaluator evaluator = new BitmaskPermissionEvaluator(roleService);
+  private RolePermissionSnapshot snapshot;
+
+  @BeforeEach
+  void setUp() {
+    snapshot =
+        new RolePermissionSnapshot(
+            List.of(
+                new UserRole(
+                    "RESPONDER",
+                    "Responder",
+                    UserRoleType.SYSTEM,
+                    EnumSet.of(Permission.INCIDENT_VIEW, Permission.INCIDENT_UPDATE))));
+    when(roleService.getSnapshot()).thenReturn(snapshot);
+  }
+
+  @Test
+  void testCurrentTokenIsCheckedAgainstItsOwnMask() {
+    // The mask grants USER_VIEW even though the role does not: a current mask is trusted as is
+    long mask = RolePermissionSnapshot.toMask(EnumSet.of(Permission.USER_VIEW));
+    PermissionAuthenticationToken token = token(mask, snapshot.getVersion());
+
+    assertTrue(evaluator.hasPermission(token, null, Permission.USER_VIEW));
+    assertTrue(evaluator.hasPermission(token, null, "USER_VIEW"));
+    assertFalse(evaluator.hasPermission(token, null, Permission.INCIDENT_VIEW));
+  }
+
+  @Test
+  void testStaleTokenIsRecomputedFromItsRoles() {
+    long mask = RolePermissionSnapshot.toMask(EnumSet.of(Permission.USER_VIEW));
+    PermissionAuthenticationToken token = token(mask, snapshot.getVersion() + 1);
+
+    assertFalse(evaluator.hasPermission(token, null, Permission.USER_VIEW));
+    assertTrue(evaluator.hasPermission(token, null, Permission.INCIDENT_UPDATE));
+    assertEquals(
+        RolePermissionSnapshot.toMask(EnumSet.of(Permission.INCIDENT_VIEW, Permission.INCIDENT_UPDATE)),
+        token.getResolvedMask(snapshot.getVersion()));
+  }
+
+  @Test
+  void testTokenWithoutMaskUsesItsRoles() {
+    UsernamePasswordAuthenticationToken token =
+        new UsernamePasswordAuthenticationToken(
+            "alice", null, List.of(new SimpleGrantedAuthority("RESPONDER")));
+
+    assertTrue(evaluator.hasPermission(token, null, Permission.INCIDENT_VIEW));
+    assertFalse(evaluator.hasPermission(token, null, Permission.USER_VIEW));
+  }
+
+  @Test
+  void testUnknownPermissionIsDenied() {
+    PermissionAuthenticationToken token = token(-1L, snapshot.getVersion());
+
+    assertFalse(evaluator.hasPermission(token, null, "NOT_A_PERMISSION"));
+    assertFalse(evaluator.hasPermission(null, null, Permission.INCIDENT_VIEW));
+  }
+
+  private static PermissionAuthenticationToken token(long mask, long version) {
+    return new PermissionAuthenticationToken(
+        "alice", List.of(new SimpleGrantedAuthority("RESPONDER")), mask, version);
+  }
+}
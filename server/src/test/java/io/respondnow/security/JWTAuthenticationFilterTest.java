@@ -0,0 +1,85 @@
+package io.respondnow.security;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import io.respondnow.util.JWTUtil;
+import java.util.Set;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+class JWTAuthenticationFilterTest {
+
+  private final JWTUtil jwtUtil = spy(new JWTUtil());
+  private final JWTAuthenticationFilter filter = new JWTAuthenticationFilter();
+
+  @BeforeEach
+  void setUp() {
+    ReflectionTestUtils.setField(jwtUtil, "secretKey", "0123456789abcdef0123456789abcdef");
+    ReflectionTestUtils.setField(jwtUtil, "expirationTime", 3600L);
+    ReflectionTestUtils.setField(filter, "jwtUtil", jwtUtil);
+  }
+
+  @AfterEach
+  void tearDown() {
+    SecurityContextHolder.clearContext();
+  }
+
+  @Test
+  void testTokenIsParsedOncePerRequest() throws Exception {
+    String token = jwtUtil.generateToken("alice", "alice-id", "alice@example.com", Set.of("RESPONDER"), 0b1010L, 42L);
+
+    filter.doFilter(request("Bearer " + token), new MockHttpServletResponse(), new MockFilterChain());
+
+    verify(jwtUtil, times(1)).parseClaims(token);
+    verify(jwtUtil, never()).getUsernameFromToken(anyString());
+    verify(jwtUtil, never()).isTokenExpired(anyString());
+    verify(jwtUtil, never()).getRoleNamesFromToken(anyString());
+
+    Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+    PermissionAuthenticationToken permissions = assertInstanceOf(PermissionAuthenticationToken.class, authentication);
+    assertEquals("alice", permissions.getName());
+    assertEquals(0b1010L, permissions.getPermissionMask());
+    assertEquals(42L, permissions.getPermissionVersion());
+    assertEquals("RESPONDER", permissions.getAuthorities().iterator().next().getAuthority());
+  }
+
+  @Test
+  void testTokenWithoutMaskAuthenticatesWithRolesOnly() throws Exception {
+    String token = jwtUtil.generateToken("bob", "bob-id", "bob@example.com", Set.of("VIEWER"));
+
+    filter.doFilter(request("Bearer " + token), new MockHttpServletResponse(), new MockFilterChain());
+
+    Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+    assertNotNull(authentication);
+    assertFalse(authentication instanceof PermissionAuthenticationToken);
+    assertEquals("bob", authentication.getName());
+  }
+
+  @Test
+  void testInvalidTokenLeavesRequestUnauthenticated() throws Exception {
+    MockFilterChain chain = new MockFilterChain();
+
+    filter.doFilter(request("Bearer not-a-token"), new MockHttpServletResponse(), chain);
+
+    assertNull(SecurityContextHolder.getContext().getAuthentication());
+    assertNotNull(chain.getRequest());
+  }
+
+  private static MockHttpServletRequest request(String authorization) {
+    MockHttpServletRequest request = new MockHttpServletRequest("GET", "/incident");
+    request.addHeader("Authorization", authorization);
+    return request;
+  }
+}
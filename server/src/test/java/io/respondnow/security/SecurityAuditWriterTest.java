@@ -0,0 +1,102 @@
+package io.respondnow.security;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mongodb.MongoBulkWriteException;
+import com.mongodb.ServerAddress;
+import com.mongodb.bulk.BulkWriteError;
+import com.mongodb.bulk.BulkWriteResult;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.respondnow.model.audit.SecurityAuditLog;
+import io.respondnow.service.audit.SecurityAuditCounterService;
+import java.util.Collections;
+import java.util.List;
+import org.bson.BsonDocument;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.data.mongodb.BulkOperationException;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+
+class SecurityAuditWriterTest {
+
+    private final MongoTemplate mongoTemplate = mock(MongoTemplate.class);
+    private final BulkOperations bulkOperations = mock(BulkOperations.class);
+    private final SecurityAuditCounterService counterService = mock(SecurityAuditCounterService.class);
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private SecurityAuditWriter writer;
+
+    @BeforeEach
+    void setUp() {
+        when(mongoTemplate.bulkOps(eq(BulkOperations.BulkMode.UNORDERED), eq(SecurityAuditLog.class)))
+                .thenReturn(bulkOperations);
+        when(bulkOperations.insert(anyList())).thenReturn(bulkOperations);
+
+        writer = new SecurityAuditWriter(mongoTemplate, new ObjectMapper(), meterRegistry, counterService);
+        ReflectionTestUtils.setField(writer, "capacity", 100);
+        ReflectionTestUtils.setField(writer, "batchSize", 3);
+        ReflectionTestUtils.setField(writer, "flushIntervalMs", 50L);
+        ReflectionTestUtils.setField(writer, "blockTimeoutMs", 10L);
+        ReflectionTestUtils.setField(writer, "overflowPolicy", SecurityAuditWriter.OverflowPolicy.SPILL);
+    }
+
+    @Test
+    void testPartialBulkFailureSpillsOnlyFailedEvents() {
+        BulkWriteError duplicate = new BulkWriteError(11000, "duplicate key", new BsonDocument(), 1);
+        when(bulkOperations.execute()).thenThrow(new BulkOperationException("partial failure",
+                new MongoBulkWriteException(BulkWriteResult.unacknowledged(),
+                        List.of(duplicate), null, new ServerAddress(), Collections.emptySet())));
+
+        writer.start();
+        SecurityAuditLog first = event("a");
+        SecurityAuditLog second = event("b");
+        SecurityAuditLog third = event("c");
+        writer.submit(first);
+        writer.submit(second);
+        writer.submit(third);
+        writer.stop();
+
+        assertEquals(1.0, meterRegistry.counter("audit.writer.events.spilled").count());
+        assertEquals(2.0, meterRegistry.counter("audit.writer.events.written").count());
+        assertEquals(1.0, meterRegistry.counter("audit.writer.batches.failed").count());
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<SecurityAuditLog>> recorded = ArgumentCaptor.forClass(List.class);
+        verify(counterService).record(recorded.capture());
+        assertEquals(List.of(first, third), recorded.getValue());
+    }
+
+    @Test
+    void testFailedBatchSpillsEveryEvent() {
+        when(bulkOperations.execute()).thenThrow(new IllegalStateException("connection refused"));
+
+        writer.start();
+        writer.submit(event("a"));
+        writer.submit(event("b"));
+        writer.stop();
+
+        assertEquals(2.0, meterRegistry.counter("audit.writer.events.spilled").count());
+        assertEquals(0.0, meterRegistry.counter("audit.writer.events.written").count());
+        verify(counterService, never()).record(any());
+    }
+
+    private static SecurityAuditLog event(String username) {
+        return SecurityAuditLog.builder()
+                .eventType("LOGIN")
+                .username(username)
+                .success(true)
+                .timestamp(System.currentTimeMillis())
+                .build();
+    }
+}
@@ -0,0 +1,87 @@
+package io.respondnow.service.audit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.respondnow.model.audit.SecurityAuditArchiveBucket;
+import java.util.Iterator;
+import java.util.List;
+import org.bson.Document;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.util.CloseableIterator;
+
+class SecurityAuditArchiveServiceTest {
+
+    private static final long HOUR = 3_600_000L;
+
+    private final MongoTemplate mongoTemplate = mock(MongoTemplate.class);
+    private final SecurityAuditArchiveService service =
+            new SecurityAuditArchiveService(mongoTemplate, new ObjectMapper());
+
+    @Test
+    void testUsernameAndSuccessFiltersSelectBucketsInMongo() {
+        ArgumentCaptor<Query> query = ArgumentCaptor.forClass(Query.class);
+        when(mongoTemplate.stream(query.capture(), eq(SecurityAuditArchiveBucket.class)))
+                .thenReturn(iterator(List.of()));
+
+        service.count(AuditLogQuery.builder().username("alice").success(false).build());
+        Document users = query.getValue().getQueryObject().get("users", Document.class);
+        Document elemMatch = users.get("$elemMatch", Document.class);
+        assertEquals("alice", elemMatch.get("username"));
+        assertEquals(new Document("$gt", 0), elemMatch.get("failureCount"));
+
+        service.count(AuditLogQuery.builder().success(true).build());
+        assertEquals(true, query.getValue().getQueryObject().get("outcomes"));
+    }
+
+    @Test
+    void testCountsCoveredBucketsWithoutDecompressing() {
+        // No compressed events: the count must come from the uncompressed counters
+        SecurityAuditArchiveBucket bucket = SecurityAuditArchiveBucket.builder()
+                .eventType("LOGIN")
+                .bucketStart(HOUR)
+                .count(5)
+                .successCount(3)
+                .minTimestamp(HOUR + 10)
+                .maxTimestamp(HOUR + 20)
+                .users(List.of(
+                        new SecurityAuditArchiveBucket.UserCount("alice", 1, 2),
+                        new SecurityAuditArchiveBucket.UserCount("bob", 2, 0)))
+                .outcomes(List.of(true, false))
+                .build();
+        when(mongoTemplate.stream(any(Query.class), eq(SecurityAuditArchiveBucket.class)))
+                .thenAnswer(invocation -> iterator(List.of(bucket)));
+
+        assertEquals(3, service.count(AuditLogQuery.builder().username("alice").build()));
+        assertEquals(2, service.count(AuditLogQuery.builder().username("alice").success(false).build()));
+        assertEquals(2, service.count(AuditLogQuery.builder().username("bob").success(true).build()));
+        assertEquals(0, service.count(AuditLogQuery.builder().username("carol").build()));
+        assertEquals(2, service.count(AuditLogQuery.builder().success(false).build()));
+    }
+
+    private static <T> CloseableIterator<T> iterator(List<T> items) {
+        Iterator<T> delegate = items.iterator();
+        return new CloseableIterator<>() {
+            @Override
+            public boolean hasNext() {
+                return delegate.hasNext();
+            }
+
+            @Override
+            public T next() {
+                return delegate.next();
+            }
+
+            @Override
+            public void close() {
+            }
+        };
+    }
+}
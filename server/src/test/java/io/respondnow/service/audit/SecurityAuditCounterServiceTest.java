@@ -0,0 +1,85 @@
+package io.respondnow.service.audit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.RETURNS_DEEP_STUBS;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import io.respondnow.model.audit.SecurityAuditArchiveBucket;
+import io.respondnow.model.audit.SecurityAuditCounter;
+import io.respondnow.model.audit.SecurityAuditLog;
+import java.util.List;
+import org.bson.Document;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.aggregation.AggregationResults;
+import org.springframework.data.mongodb.core.query.Query;
+
+class SecurityAuditCounterServiceTest {
+
+    private final MongoTemplate mongoTemplate = mock(MongoTemplate.class, RETURNS_DEEP_STUBS);
+    private final BulkOperations bulk = mock(BulkOperations.class);
+    private final SecurityAuditCounterService service = new SecurityAuditCounterService(mongoTemplate);
+
+    @BeforeEach
+    void setUp() {
+        when(mongoTemplate.exists(any(Query.class), eq(SecurityAuditCounter.class))).thenReturn(false);
+        when(mongoTemplate.bulkOps(any(BulkOperations.BulkMode.class), eq(SecurityAuditCounter.class)))
+                .thenReturn(bulk);
+        when(mongoTemplate.aggregate(any(Aggregation.class), eq(SecurityAuditArchiveBucket.class), eq(Document.class)))
+                .thenReturn(new AggregationResults<>(List.of(), new Document()));
+    }
+
+    @Test
+    void testSeededMarkerIsWrittenAfterTheCounts() {
+        Document row = new Document("_id", new Document("minute", 60_000L)
+                .append("eventType", "LOGIN").append("success", true)).append("count", 4);
+        when(mongoTemplate.aggregate(any(Aggregation.class), eq(SecurityAuditLog.class), eq(Document.class)))
+                .thenReturn(new AggregationResults<>(List.of(row), new Document()));
+        when(mongoTemplate.count(any(Query.class), eq(SecurityAuditLog.class))).thenReturn(4L);
+
+        service.init();
+
+        verify(mongoTemplate).bulkOps(BulkOperations.BulkMode.ORDERED, SecurityAuditCounter.class);
+        InOrder order = inOrder(bulk, mongoTemplate);
+        order.verify(bulk, times(2)).upsert(any(Query.class), any());
+        order.verify(bulk).insert(argThat((Object marker) -> "seeded".equals(((SecurityAuditCounter) marker).getId())));
+        order.verify(bulk).execute();
+        order.verify(mongoTemplate).remove(any(Query.class), eq(SecurityAuditCounter.class));
+    }
+
+    @Test
+    void testFailedSeedLeavesNoMarkerAndReleasesTheClaim() {
+        when(mongoTemplate.aggregate(any(Aggregation.class), eq(SecurityAuditLog.class), eq(Document.class)))
+                .thenThrow(new IllegalStateException("aggregation failed"));
+
+        service.init();
+
+        verify(bulk, never()).insert(any(Object.class));
+        verify(bulk, never()).execute();
+        verify(mongoTemplate).remove(any(Query.class), eq(SecurityAuditCounter.class));
+    }
+
+    @Test
+    void testSkipsSeedWhileAnotherInstanceHoldsTheClaim() {
+        when(mongoTemplate.insert(any(SecurityAuditCounter.class))).thenThrow(new DuplicateKeyException("seeding"));
+
+        service.init();
+
+        verify(mongoTemplate, never()).aggregate(any(Aggregation.class), eq(SecurityAuditLog.class), eq(Document.class));
+        verify(mongoTemplate, never()).remove(any(Query.class), eq(SecurityAuditCounter.class));
+        assertEquals(0, service.getTotal());
+    }
+}
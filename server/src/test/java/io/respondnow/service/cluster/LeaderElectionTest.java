@@ -0,0 +1,106 @@
+package io.respondnow.service.cluster;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.mongodb.client.MongoClient;
+import com.mongodb.client.MongoClients;
+import de.bwaldvogel.mongo.MongoServer;
+import de.bwaldvogel.mongo.backend.memory.MemoryBackend;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.net.InetSocketAddress;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+
+class LeaderElectionTest {
+
+  private MongoServer server;
+  private MongoClient client;
+  private MongoTemplate mongoTemplate;
+
+  @BeforeEach
+  void setUp() {
+    server = new MongoServer(new MemoryBackend());
+    InetSocketAddress address = server.bind();
+    client = MongoClients.create("mongodb://" + address.getHostString() + ":" + address.getPort());
+    mongoTemplate = new MongoTemplate(client, "test");
+  }
+
+  @AfterEach
+  void tearDown() {
+    client.close();
+    server.shutdown();
+  }
+
+  @Test
+  void testOnlyOneInstanceHoldsTheLease() {
+    LeaderElection a = election("a", 10_000);
+    LeaderElection b = election("b", 10_000);
+
+    a.heartbeat();
+    b.heartbeat();
+    a.heartbeat();
+
+    assertTrue(a.isLeader());
+    assertFalse(b.isLeader());
+  }
+
+  @Test
+  void testLeadershipEndsAtTheDeadlineWithoutARenewal() throws Exception {
+    LeaderElection a = election("a", 300);
+    CountDownLatch revoked = new CountDownLatch(1);
+    a.onLeadership("probe", () -> {}, revoked::countDown);
+    // Renewals far apart, so only the first heartbeat and the expiry timer run
+    ReflectionTestUtils.setField(a, "renewIntervalMs", 60_000L);
+    a.start();
+    try {
+      waitFor(a::isLeader);
+
+      assertTrue(revoked.await(5, TimeUnit.SECONDS));
+      assertFalse(a.isLeader());
+
+      // The stored lease expires at a's deadline, which b may reach a moment after a stepped down
+      LeaderElection b = election("b", 10_000);
+      waitFor(
+          () -> {
+            b.heartbeat();
+            return b.isLeader();
+          });
+    } finally {
+      a.stop();
+    }
+  }
+
+  @Test
+  void testPassedDeadlineIsNotLeaderEvenBeforeTheTimer() {
+    LeaderElection a = election("a", 10_000);
+    a.heartbeat();
+    assertTrue(a.isLeader());
+
+    // As if the renewal were stuck in MongoDB past the lease
+    ReflectionTestUtils.setField(a, "leaseValidUntil", System.currentTimeMillis() - 1);
+
+    assertFalse(a.isLeader());
+  }
+
+  private LeaderElection election(String instanceId, long ttlMs) {
+    LeaderElection election =
+        new LeaderElection(mongoTemplate, new SimpleMeterRegistry(), instanceId);
+    ReflectionTestUtils.setField(election, "ttlMs", ttlMs);
+    ReflectionTestUtils.setField(election, "renewIntervalMs", 1_000L);
+    return election;
+  }
+
+  private static void waitFor(BooleanSupplier condition) throws InterruptedException {
+    long deadline = System.currentTimeMillis() + 5_000;
+    while (!condition.getAsBoolean()) {
+      assertTrue(System.currentTimeMillis() < deadline, "condition not reached");
+      Thread.sleep(10);
+    }
+  }
+}
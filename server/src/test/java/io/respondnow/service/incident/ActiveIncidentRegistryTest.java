@@ -0,0 +1,111 @@
+package io.respondnow.service.incident;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import com.mongodb.client.model.changestream.ChangeStreamDocument;
+import com.mongodb.client.model.changestream.OperationType;
+import com.mongodb.client.model.changestream.UpdateDescription;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.respondnow.dto.incident.ActiveIncidentSummary;
+import io.respondnow.model.incident.Incident;
+import io.respondnow.model.incident.Severity;
+import io.respondnow.model.incident.Status;
+import java.util.List;
+import org.bson.BsonDocument;
+import org.bson.BsonInt64;
+import org.bson.BsonObjectId;
+import org.bson.BsonString;
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.convert.MongoConverter;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.test.util.ReflectionTestUtils;
+
+class ActiveIncidentRegistryTest {
+
+  private final MongoTemplate mongoTemplate = mock(MongoTemplate.class);
+  private final IncidentChangeFeed feed =
+      new IncidentChangeFeed(mongoTemplate, new SimpleMeterRegistry());
+  private final ActiveIncidentRegistry registry =
+      new ActiveIncidentRegistry(mongoTemplate, feed, new SimpleMeterRegistry());
+  private final ObjectId incidentId = new ObjectId();
+
+  @BeforeEach
+  void setUp() {
+    ReflectionTestUtils.setField(feed, "scopeCacheSize", 16);
+    when(mongoTemplate.find(any(Query.class), eq(Incident.class))).thenReturn(List.of());
+
+    MongoConverter converter = mock(MongoConverter.class);
+    when(mongoTemplate.getConverter()).thenReturn(converter);
+    when(converter.read(eq(Incident.class), any(Document.class)))
+        .thenAnswer(
+            invocation -> {
+              Document document = invocation.getArgument(1);
+              Incident incident = new Incident();
+              incident.setIdentifier(document.getString("identifier"));
+              incident.setStatus(Status.valueOf(document.getString("status")));
+              incident.setSeverity(Severity.SEV1);
+              incident.setUpdatedAt(document.getLong("updatedAt"));
+              return incident;
+            });
+    registry.start();
+  }
+
+  @Test
+  void testFollowsTheSharedChangeFeed() {
+    feed.onChange(written(Status.Started, 1L));
+    List<ActiveIncidentSummary> started = registry.list();
+    assertEquals(1, started.size());
+    assertEquals("inc-1", started.get(0).getIdentifier());
+    assertEquals(incidentId.toHexString(), started.get(0).getId());
+
+    // Relay bookkeeping on the outbox never reaches the registry
+    feed.onChange(
+        change(
+            OperationType.UPDATE,
+            document(Status.Started, 2L),
+            new UpdateDescription(
+                List.of("slackOutboxLeaseUntil"),
+                new BsonDocument("slackOutboxDueAt", new BsonInt64(2)))));
+    assertSame(started, registry.list());
+
+    feed.onChange(written(Status.Resolved, 3L));
+    assertTrue(registry.list().isEmpty());
+
+    feed.onChange(written(Status.Started, 4L));
+    feed.onChange(change(OperationType.DELETE, null, null));
+    assertTrue(registry.list().isEmpty());
+  }
+
+  private ChangeStreamDocument<Document> written(Status status, long updatedAt) {
+    return change(OperationType.UPDATE, document(status, updatedAt), null);
+  }
+
+  private static Document document(Status status, long updatedAt) {
+    return new Document("identifier", "inc-1")
+        .append("status", status.name())
+        .append("updatedAt", updatedAt);
+  }
+
+  private ChangeStreamDocument<Document> change(
+      OperationType type, Document fullDocument, UpdateDescription description) {
+    return new ChangeStreamDocument<>(
+        type,
+        new BsonDocument("_data", new BsonString("token")),
+        null,
+        null,
+        fullDocument,
+        new BsonDocument("_id", new BsonObjectId(incidentId)),
+        null,
+        description,
+        null,
+        null);
+  }
+}
@@ -0,0 +1,127 @@
+package io.respondnow.service.incident;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.mongodb.client.FindIterable;
+import com.mongodb.client.MongoCollection;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.respondnow.model.incident.Incident;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.bson.Document;
+import org.bson.conversions.Bson;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.convert.MongoConverter;
+
+class IncidentCacheTest {
+
+  private final MongoTemplate mongoTemplate = mock(MongoTemplate.class);
+  private final IncidentChangeFeed changeFeed = mock(IncidentChangeFeed.class);
+  private final IncidentCache cache =
+      new IncidentCache(mongoTemplate, changeFeed, new SimpleMeterRegistry(), 100, 60_000L);
+  private final AtomicInteger loads = new AtomicInteger();
+  private final CountDownLatch firstLoadStarted = new CountDownLatch(1);
+  private final CountDownLatch releaseFirstLoad = new CountDownLatch(1);
+
+  @BeforeEach
+  @SuppressWarnings("unchecked")
+  void setUp() {
+    MongoCollection<Document> collection = mock(MongoCollection.class);
+    FindIterable<Document> found = mock(FindIterable.class);
+    when(mongoTemplate.getCollectionName(Incident.class)).thenReturn("incidents");
+    when(mongoTemplate.getCollection("incidents")).thenReturn(collection);
+    when(collection.find(any(Bson.class))).thenReturn(found);
+    when(found.projection(any())).thenReturn(found);
+    // The first load reads the old summary and then stalls; later loads read the new one
+    when(found.first())
+        .thenAnswer(
+            invocation -> {
+              if (loads.incrementAndGet() == 1) {
+                firstLoadStarted.countDown();
+                assertTrue(releaseFirstLoad.await(5, TimeUnit.SECONDS));
+                return new Document("identifier", "inc-1").append("summary", "old");
+              }
+              return new Document("identifier", "inc-1").append("summary", "new");
+            });
+
+    MongoConverter converter = mock(MongoConverter.class);
+    when(mongoTemplate.getConverter()).thenReturn(converter);
+    when(converter.read(eq(Incident.class), any(Document.class)))
+        .thenAnswer(
+            invocation -> {
+              Document document = invocation.getArgument(1);
+              Incident incident = new Incident();
+              incident.setIdentifier(document.getString("identifier"));
+              incident.setSummary(document.getString("summary"));
+              return incident;
+            });
+  }
+
+  @Test
+  void testLoadThatRacedAnInvalidationIsNotStored() throws Exception {
+    CompletableFuture<Incident> stale = CompletableFuture.supplyAsync(() -> cache.get("inc-1"));
+    assertTrue(firstLoadStarted.await(5, TimeUnit.SECONDS));
+
+    cache.invalidate("inc-1");
+    releaseFirstLoad.countDown();
+
+    // The caller that started first still gets what it read
+    assertEquals("old", stale.get(5, TimeUnit.SECONDS).getSummary());
+    assertEquals("new", cache.get("inc-1").getSummary());
+    assertEquals(2, loads.get());
+    // Only the load after the invalidation was cached
+    assertEquals("new", cache.get("inc-1").getSummary());
+    assertEquals(2, loads.get());
+  }
+
+  @Test
+  void testChangesFromTheSharedFeedInvalidate() {
+    ArgumentCaptor<IncidentChangeFeed.ChangeListener> listener =
+        ArgumentCaptor.forClass(IncidentChangeFeed.ChangeListener.class);
+    cache.start();
+    verify(changeFeed).addListener(listener.capture());
+    releaseFirstLoad.countDown();
+
+    cache.get("inc-1");
+    listener.getValue().incidentChanged("id-2", "inc-2", null);
+    cache.get("inc-1");
+    assertEquals(1, loads.get());
+
+    listener.getValue().incidentChanged("id-1", "inc-1", null);
+    cache.get("inc-1");
+    assertEquals(2, loads.get());
+
+    // A delete of an incident the feed cannot name, or a gap in the stream, clears everything
+    listener.getValue().incidentChanged("id-3", null, null);
+    cache.get("inc-1");
+    listener.getValue().changesMissed();
+    cache.get("inc-1");
+    assertEquals(4, loads.get());
+  }
+
+  @Test
+  void testCallerAfterAnInvalidationDoesNotJoinTheOlderLoad() throws Exception {
+    CompletableFuture<Incident> stale = CompletableFuture.supplyAsync(() -> cache.get("inc-1"));
+    assertTrue(firstLoadStarted.await(5, TimeUnit.SECONDS));
+
+    cache.invalidate("inc-1");
+    // Runs its own load while the first one is still stalled
+    assertEquals("new", cache.get("inc-1").getSummary());
+    assertEquals(2, loads.get());
+
+    releaseFirstLoad.countDown();
+    assertEquals("old", stale.get(5, TimeUnit.SECONDS).getSummary());
+    assertEquals("new", cache.get("inc-1").getSummary());
+    assertEquals(2, loads.get());
+  }
+}
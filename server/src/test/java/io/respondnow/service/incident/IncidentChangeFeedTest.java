@@ -0,0 +1,176 @@
+package io.respondnow.service.incident;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import com.mongodb.client.model.changestream.ChangeStreamDocument;
+import com.mongodb.client.model.changestream.OperationType;
+import com.mongodb.client.model.changestream.UpdateDescription;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.respondnow.dto.incident.IncidentChangeEvent;
+import io.respondnow.model.incident.Incident;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.stream.Collectors;
+import org.bson.BsonDocument;
+import org.bson.BsonInt64;
+import org.bson.BsonObjectId;
+import org.bson.BsonString;
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.convert.MongoConverter;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+class IncidentChangeFeedTest {
+
+  private final MongoTemplate mongoTemplate = mock(MongoTemplate.class);
+  private final IncidentChangeFeed feed =
+      new IncidentChangeFeed(mongoTemplate, new SimpleMeterRegistry());
+  private final ExecutorService writers = Executors.newSingleThreadExecutor();
+  private final ObjectId incidentId = new ObjectId();
+  private int tokens;
+
+  @BeforeEach
+  void setUp() {
+    ReflectionTestUtils.setField(feed, "bufferSize", 16);
+    ReflectionTestUtils.setField(feed, "replaySize", 16);
+    ReflectionTestUtils.setField(feed, "maxSubscribers", 16);
+    ReflectionTestUtils.setField(feed, "timeoutMs", 60_000L);
+    ReflectionTestUtils.setField(feed, "scopeCacheSize", 16);
+    ReflectionTestUtils.setField(feed, "writers", writers);
+
+    MongoConverter converter = mock(MongoConverter.class);
+    when(mongoTemplate.getConverter()).thenReturn(converter);
+    when(converter.read(eq(Incident.class), any(Document.class)))
+        .thenAnswer(
+            invocation -> {
+              Document document = invocation.getArgument(1);
+              Incident incident = new Incident();
+              incident.setIdentifier(document.getString("identifier"));
+              incident.setAccountIdentifier(document.getString("accountIdentifier"));
+              return incident;
+            });
+  }
+
+  @AfterEach
+  void tearDown() {
+    writers.shutdownNow();
+  }
+
+  @Test
+  void testDeleteOnlyReachesSubscribersOfTheIncidentsScope() throws Exception {
+    SseEmitter sameAccount = feed.subscribe("acct-1", null, null, null, null);
+    SseEmitter otherAccount = feed.subscribe("acct-2", null, null, null, null);
+    SseEmitter unscoped = feed.subscribe(null, null, null, null, null);
+
+    feed.onChange(update(incidentId, "inc-1", "acct-1"));
+    feed.onChange(delete(incidentId));
+
+    assertEquals(List.of("update", "delete"), operations(sameAccount));
+    assertEquals(List.of(), operations(otherAccount));
+    assertEquals(List.of("update", "delete"), operations(unscoped));
+    IncidentChangeEvent deleted = events(sameAccount).get(1);
+    assertEquals("inc-1", deleted.getIdentifier());
+    assertEquals("acct-1", deleted.getAccountIdentifier());
+    assertNull(deleted.getIncident());
+  }
+
+  @Test
+  void testDeleteOfAnUnseenIncidentOnlyReachesUnscopedSubscribers() throws Exception {
+    SseEmitter scoped = feed.subscribe("acct-1", null, null, null, null);
+    SseEmitter unscoped = feed.subscribe(null, null, null, null, null);
+
+    feed.onChange(delete(incidentId));
+
+    assertEquals(List.of(), operations(scoped));
+    assertEquals(List.of("delete"), operations(unscoped));
+  }
+
+  @Test
+  void testListenersAreToldWhichIncidentChanged() {
+    List<String> changed = new ArrayList<>();
+    feed.addListener(
+        new IncidentChangeFeed.ChangeListener() {
+          @Override
+          public void incidentChanged(String id, String identifier, Incident incident) {
+            assertEquals(id, incident != null ? incident.getId() : id);
+            changed.add(identifier + (incident != null ? " written" : " gone"));
+          }
+
+          @Override
+          public void changesMissed() {
+            changed.add("*");
+          }
+        });
+
+    feed.onChange(update(incidentId, "inc-1", "acct-1"));
+    feed.onChange(outboxOnlyUpdate(incidentId));
+    feed.onChange(delete(incidentId));
+    feed.onChange(delete(new ObjectId()));
+
+    assertEquals(List.of("inc-1 written", "inc-1 gone", "null gone"), changed);
+  }
+
+  private ChangeStreamDocument<Document> update(ObjectId id, String identifier, String account) {
+    Document fullDocument =
+        new Document("identifier", identifier).append("accountIdentifier", account);
+    return change(OperationType.UPDATE, id, fullDocument, null);
+  }
+
+  private ChangeStreamDocument<Document> outboxOnlyUpdate(ObjectId id) {
+    UpdateDescription description =
+        new UpdateDescription(List.of(), new BsonDocument("slackOutboxDueAt", new BsonInt64(1)));
+    return change(OperationType.UPDATE, id, new Document("identifier", "inc-1"), description);
+  }
+
+  private ChangeStreamDocument<Document> delete(ObjectId id) {
+    return change(OperationType.DELETE, id, null, null);
+  }
+
+  private ChangeStreamDocument<Document> change(
+      OperationType type, ObjectId id, Document fullDocument, UpdateDescription description) {
+    return new ChangeStreamDocument<>(
+        type,
+        new BsonDocument("_data", new BsonString("token-" + ++tokens)),
+        null,
+        null,
+        fullDocument,
+        new BsonDocument("_id", new BsonObjectId(id)),
+        null,
+        description,
+        null,
+        null);
+  }
+
+  private List<String> operations(SseEmitter emitter) throws Exception {
+    return events(emitter).stream()
+        .map(IncidentChangeEvent::getOperation)
+        .collect(Collectors.toList());
+  }
+
+  /** Events written to an emitter no response has picked up yet, which Spring keeps in order. */
+  private List<IncidentChangeEvent> events(SseEmitter emitter) throws Exception {
+    // Let the writer drain whatever was queued
+    writers.submit(() -> {}).get();
+    Collection<?> sent = (Collection<?>) ReflectionTestUtils.getField(emitter, "earlySendAttempts");
+    List<IncidentChangeEvent> events = new ArrayList<>();
+    for (Object item : sent) {
+      Object data = ReflectionTestUtils.invokeMethod(item, "getData");
+      if (data instanceof IncidentChangeEvent) {
+        events.add((IncidentChangeEvent) data);
+      }
+    }
+    return events;
+  }
+}
@@ -0,0 +1,71 @@
+package io.respondnow.service.incident;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+
+import io.respondnow.model.incident.Status;
+import org.bson.Document;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+
+class IncidentSearchServiceTest {
+
+  private final IncidentSearchService searchService =
+      new IncidentSearchService(mock(MongoTemplate.class));
+
+  @Test
+  void testWordsAndQuotedPhrases() {
+    assertEquals("database \"connection reset\"", search("database \"connection reset\""));
+    // A one-word phrase is just a word, and an unclosed quote runs to the end
+    assertEquals("database timeout", search("\"database\" \"timeout"));
+  }
+
+  @Test
+  void testExclusions() {
+    assertEquals("outage -staging -\"load test\"", search("outage -staging -\"load test\""));
+  }
+
+  @Test
+  void testPunctuationIsDropped() {
+    assertEquals("api gateway 502", search("api-gateway: {502}!"));
+  }
+
+  @Test
+  void testNothingToLookFor() {
+    assertNull(searchService.query(null, null));
+    assertNull(searchService.query("   ", null));
+    assertNull(searchService.query("\"!!\"", null));
+    assertNull(searchService.query("-foo -\"bar baz\"", null));
+  }
+
+  @Test
+  void testFieldFiltersAreKept() {
+    Query query =
+        searchService.query(
+            "outage",
+            Criteria.where("accountIdentifier").is("acct-1").and("status").is(Status.Started));
+
+    Document filter = query.getQueryObject();
+    assertEquals("acct-1", filter.get("accountIdentifier"));
+    assertEquals(Status.Started, filter.get("status"));
+    assertEquals("outage", filter.get("$text", Document.class).get("$search"));
+    assertTrue(query.getSortObject().containsKey("score"));
+  }
+
+  @Test
+  void testNumberOfTermsIsCapped() {
+    StringBuilder input = new StringBuilder();
+    for (int i = 0; i < 20; i++) {
+      input.append("word").append(i).append(' ');
+    }
+    assertEquals(16, search(input.toString()).split(" ").length);
+  }
+
+  private String search(String input) {
+    Query query = searchService.query(input, null);
+    assertNotNull(query);
+    return query.getQueryObject().get("$text", Document.class).getString("$search");
+  }
+}
@@ -0,0 +1,91 @@
+package io.respondnow.service.incident;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+
+import com.mongodb.client.MongoClient;
+import com.mongodb.client.MongoClients;
+import de.bwaldvogel.mongo.MongoServer;
+import de.bwaldvogel.mongo.backend.memory.MemoryBackend;
+import io.respondnow.exception.IncidentNotFoundException;
+import io.respondnow.model.incident.ChangeType;
+import io.respondnow.model.incident.Incident;
+import io.respondnow.model.incident.SlackNotification;
+import io.respondnow.model.user.UserDetails;
+import java.net.InetSocketAddress;
+import java.util.List;
+import org.bson.Document;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.test.util.ReflectionTestUtils;
+
+class IncidentServiceImplTest {
+
+  private MongoServer server;
+  private MongoClient client;
+  private MongoTemplate mongoTemplate;
+  private final IncidentServiceImpl service = new IncidentServiceImpl();
+
+  @BeforeEach
+  void setUp() {
+    server = new MongoServer(new MemoryBackend());
+    InetSocketAddress address = server.bind();
+    client = MongoClients.create("mongodb://" + address.getHostString() + ":" + address.getPort());
+    mongoTemplate = new MongoTemplate(client, "test");
+    ReflectionTestUtils.setField(service, "mongoTemplate", mongoTemplate);
+    ReflectionTestUtils.setField(service, "activeIncidents", mock(ActiveIncidentRegistry.class));
+    ReflectionTestUtils.setField(service, "incidentCache", mock(IncidentCache.class));
+  }
+
+  @AfterEach
+  void tearDown() {
+    client.close();
+    server.shutdown();
+  }
+
+  @Test
+  void testDeleteKeepsTheSlackOutbox() throws Exception {
+    Incident incident = new Incident();
+    incident.setIdentifier("inc-1");
+    incident.setActive(true);
+    incident = mongoTemplate.insert(incident);
+    SlackNotification notification =
+        SlackNotification.builder()
+            .notificationId("n-1")
+            .type(ChangeType.Status)
+            .createdAt(1_000L)
+            .attempts(0)
+            .build();
+    mongoTemplate.updateFirst(
+        Query.query(Criteria.where("identifier").is("inc-1")),
+        new Update()
+            .push("slackOutbox", notification)
+            .min("slackOutboxDueAt", 1_000L)
+            .set("slackCardTs", "1700000000.000100"),
+        Incident.class);
+
+    Incident deleted = service.deleteIncident("inc-1", new UserDetails());
+
+    assertTrue(deleted.getRemoved());
+    assertFalse(deleted.getActive());
+    assertEquals(ChangeType.Incident_Deleted, deleted.getTimelines().get(0).getType());
+    Document stored =
+        mongoTemplate.findById(incident.getId(), Document.class, mongoTemplate.getCollectionName(Incident.class));
+    assertEquals(1_000L, stored.getLong("slackOutboxDueAt"));
+    assertEquals("1700000000.000100", stored.getString("slackCardTs"));
+    List<?> outbox = stored.getList("slackOutbox", Document.class);
+    assertEquals(1, outbox.size());
+    assertEquals("n-1", ((Document) outbox.get(0)).getString("notificationId"));
+  }
+
+  @Test
+  void testDeletingAMissingIncidentFails() {
+    assertThrows(
+        IncidentNotFoundException.class, () -> service.deleteIncident("missing", new UserDetails()));
+  }
+}
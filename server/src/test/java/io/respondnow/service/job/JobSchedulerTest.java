@@ -0,0 +1,329 @@
+package io.respondnow.service.job;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import com.mongodb.client.result.UpdateResult;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.respondnow.model.job.JobRun;
+import io.respondnow.model.job.JobStatus;
+import io.respondnow.service.cluster.LeaderElection;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+import java.util.stream.Stream;
+import org.bson.Document;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.test.util.ReflectionTestUtils;
+
+class JobSchedulerTest {
+
+    private final MongoTemplate mongoTemplate = mock(MongoTemplate.class);
+    private final FakeJobRuns runs = new FakeJobRuns();
+    private final ExecutorService workers = Executors.newCachedThreadPool();
+    private final CountDownLatch release = new CountDownLatch(1);
+    private final CountDownLatch interrupted = new CountDownLatch(1);
+    private final AtomicInteger executions = new AtomicInteger();
+
+    private final ScheduledJob job = new ScheduledJob() {
+        @Override
+        public String getName() {
+            return "blocking";
+        }
+
+        @Override
+        public String getCron() {
+            return null;
+        }
+
+        @Override
+        public long getFixedDelayMs() {
+            return 3_600_000L;
+        }
+
+        @Override
+        public long run(int partition, int partitions) throws Exception {
+            executions.incrementAndGet();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                interrupted.countDown();
+                throw e;
+            }
+            return 1;
+        }
+    };
+
+    @BeforeEach
+    void setUp() {
+        when(mongoTemplate.insert(any(JobRun.class))).thenAnswer(invocation -> runs.insert(invocation.getArgument(0)));
+        when(mongoTemplate.find(any(Query.class), eq(JobRun.class))).thenAnswer(invocation -> runs.running());
+        when(mongoTemplate.findAndModify(any(Query.class), any(Update.class), any(FindAndModifyOptions.class),
+                eq(JobRun.class)))
+                .thenAnswer(invocation -> runs.findAndModify(invocation.getArgument(0), invocation.getArgument(1)));
+        when(mongoTemplate.updateFirst(any(Query.class), any(Update.class), eq(JobRun.class)))
+                .thenAnswer(invocation -> runs.updateFirst(invocation.getArgument(0), invocation.getArgument(1)));
+    }
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        workers.shutdownNow();
+    }
+
+    @Test
+    void testPartitionIsNotClaimedTwice() throws Exception {
+        JobScheduler a = scheduler("a", 60_000L);
+        JobScheduler b = scheduler("b", 60_000L);
+        a.trigger("blocking");
+
+        // Both instances poll as fast as they can while the partition is being worked on
+        ExecutorService pollers = Executors.newFixedThreadPool(2);
+        try {
+            List<Future<?>> polls = List.of(
+                    pollers.submit(() -> pollRepeatedly(a)), pollers.submit(() -> pollRepeatedly(b)));
+            for (Future<?> poll : polls) {
+                poll.get(10, TimeUnit.SECONDS);
+            }
+        } finally {
+            pollers.shutdownNow();
+        }
+
+        waitFor(() -> executions.get() == 1);
+        Thread.sleep(100);
+        assertEquals(1, executions.get());
+        JobRun.Partition partition = runs.partition();
+        assertEquals(1, partition.getAttempts());
+        assertEquals(JobStatus.RUNNING, partition.getStatus());
+    }
+
+    @Test
+    void testLostClaimInterruptsTheWorker() throws Exception {
+        JobScheduler a = scheduler("a", 50L);
+        JobScheduler b = scheduler("b", 60_000L);
+        a.trigger("blocking");
+        a.poll();
+        waitFor(() -> executions.get() == 1);
+
+        // a's lease runs out without a renewal and b takes the partition over
+        Thread.sleep(100);
+        b.poll();
+        waitFor(() -> executions.get() == 2);
+        a.renewLeases();
+
+        assertTrue(interrupted.await(5, TimeUnit.SECONDS));
+        Semaphore freeWorkers = (Semaphore) ReflectionTestUtils.getField(a, "freeWorkers");
+        waitFor(() -> freeWorkers.availablePermits() == 1);
+        // a's failed worker leaves b's claim alone
+        assertEquals("b", runs.partition().getOwner());
+        assertEquals(JobStatus.RUNNING, runs.partition().getStatus());
+    }
+
+    @Test
+    void testRunLeftUnfinishedIsFinishedByTheNextPass() throws Exception {
+        release.countDown();
+        // The run update after the last partition fails, as if the instance died right there
+        runs.failNextFinish();
+        JobScheduler a = scheduler("a", 60_000L);
+        a.trigger("blocking");
+        a.poll();
+        waitFor(() -> runs.partition().getStatus() == JobStatus.SUCCEEDED);
+        Semaphore freeWorkers = (Semaphore) ReflectionTestUtils.getField(a, "freeWorkers");
+        waitFor(() -> freeWorkers.availablePermits() == 1);
+        assertEquals(JobStatus.RUNNING, runs.status());
+
+        scheduler("b", 60_000L).poll();
+
+        assertEquals(JobStatus.SUCCEEDED, runs.status());
+        assertEquals(1, executions.get());
+    }
+
+    private static void pollRepeatedly(JobScheduler scheduler) {
+        for (int i = 0; i < 50; i++) {
+            scheduler.poll();
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private JobScheduler scheduler(String instanceId, long leaseMs) {
+        LeaderElection leaderElection = mock(LeaderElection.class);
+        when(leaderElection.getInstanceId()).thenReturn(instanceId);
+        ObjectProvider<ScheduledJob> jobs = mock(ObjectProvider.class);
+        when(jobs.orderedStream()).thenAnswer(invocation -> Stream.of(job));
+        JobScheduler scheduler = new JobScheduler(mongoTemplate, new SimpleMeterRegistry(), leaderElection, jobs);
+        ReflectionTestUtils.setField(scheduler, "leaseMs", leaseMs);
+        ReflectionTestUtils.setField(scheduler, "maxAttempts", 3);
+        ReflectionTestUtils.setField(scheduler, "workers", workers);
+        ReflectionTestUtils.setField(scheduler, "freeWorkers", new Semaphore(1));
+        return scheduler;
+    }
+
+    private static void waitFor(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5_000;
+        while (!condition.getAsBoolean()) {
+            assertTrue(System.currentTimeMillis() < deadline, "condition not reached");
+            Thread.sleep(10);
+        }
+    }
+
+    /**
+     * A single-partition job_runs collection that evaluates the scheduler's claim, renewal and
+     * completion filters atomically, as MongoDB does for one document.
+     */
+    private static final class FakeJobRuns {
+        private JobRun run;
+        private boolean failNextFinish;
+
+        synchronized JobRun insert(JobRun inserted) {
+            run = inserted;
+            return inserted;
+        }
+
+        synchronized List<JobRun> running() {
+            return run != null && run.getStatus() == JobStatus.RUNNING ? List.of(copy()) : List.of();
+        }
+
+        synchronized JobRun.Partition partition() {
+            return copy().getPartitions().get(0);
+        }
+
+        synchronized JobStatus status() {
+            return run.getStatus();
+        }
+
+        synchronized void failNextFinish() {
+            failNextFinish = true;
+        }
+
+        synchronized JobRun findAndModify(Query query, Update update) {
+            if (!query.getQueryObject().containsKey("partitions")) {
+                return finish(query.getQueryObject(), update);
+            }
+            if (!matches(query.getQueryObject())) {
+                return null;
+            }
+            JobRun.Partition partition = run.getPartitions().get(0);
+            Document set = update.getUpdateObject().get("$set", Document.class);
+            Document inc = update.getUpdateObject().get("$inc", Document.class);
+            Document unset = update.getUpdateObject().get("$unset", Document.class);
+            if (set != null) {
+                set.forEach((field, value) -> apply(partition, field, value));
+            }
+            if (unset != null) {
+                unset.keySet().forEach(field -> apply(partition, field, null));
+            }
+            if (inc != null) {
+                if (inc.containsKey("partitions.$.attempts")) {
+                    partition.setAttempts(partition.getAttempts() + 1);
+                }
+                if (inc.containsKey("runningCount")) {
+                    run.setRunningCount(run.getRunningCount() + inc.getInteger("runningCount"));
+                }
+                if (inc.containsKey("succeededCount")) {
+                    run.setSucceededCount(run.getSucceededCount() + 1);
+                }
+                if (inc.containsKey("failedCount")) {
+                    run.setFailedCount(run.getFailedCount() + 1);
+                }
+            }
+            return copy();
+        }
+
+        private JobRun finish(Document filter, Update update) {
+            if (failNextFinish) {
+                failNextFinish = false;
+                throw new IllegalStateException("connection reset");
+            }
+            if (filter.get("status") != JobStatus.RUNNING || run.getStatus() != JobStatus.RUNNING) {
+                return null;
+            }
+            Document set = update.getUpdateObject().get("$set", Document.class);
+            run.setStatus((JobStatus) set.get("status"));
+            run.setFinishedAt((Long) set.get("finishedAt"));
+            return copy();
+        }
+
+        synchronized UpdateResult updateFirst(Query query, Update update) {
+            if (!matches(query.getQueryObject())) {
+                return UpdateResult.acknowledged(0, 0L, null);
+            }
+            update.getUpdateObject().get("$set", Document.class)
+                    .forEach((field, value) -> apply(run.getPartitions().get(0), field, value));
+            return UpdateResult.acknowledged(1, 1L, null);
+        }
+
+        private boolean matches(Document filter) {
+            JobRun.Partition partition = run.getPartitions().get(0);
+            Document element = filter.get("partitions", Document.class).get("$elemMatch", Document.class);
+            if (element.containsKey("claimToken")) {
+                return partition.getStatus() == JobStatus.RUNNING
+                        && element.get("claimToken").equals(partition.getClaimToken());
+            }
+            if (element.containsKey("leaseUntil")) {
+                long now = (Long) element.get("leaseUntil", Document.class).get("$lt");
+                return partition.getStatus() == JobStatus.RUNNING && partition.getLeaseUntil() < now;
+            }
+            int limit = (Integer) filter.get("runningCount", Document.class).get("$lt");
+            return partition.getStatus() == JobStatus.PENDING && run.getRunningCount() < limit;
+        }
+
+        private static void apply(JobRun.Partition partition, String field, Object value) {
+            switch (field) {
+                case "partitions.$.owner":
+                    partition.setOwner((String) value);
+                    break;
+                case "partitions.$.claimToken":
+                    partition.setClaimToken((String) value);
+                    break;
+                case "partitions.$.leaseUntil":
+                    partition.setLeaseUntil((Long) value);
+                    break;
+                case "partitions.$.status":
+                    partition.setStatus((JobStatus) value);
+                    break;
+                default:
+                    break;
+            }
+        }
+
+        private JobRun copy() {
+            JobRun.Partition partition = run.getPartitions().get(0);
+            return JobRun.builder()
+                    .id(run.getId())
+                    .jobName(run.getJobName())
+                    .status(run.getStatus())
+                    .partitionCount(run.getPartitionCount())
+                    .runningCount(run.getRunningCount())
+                    .succeededCount(run.getSucceededCount())
+                    .failedCount(run.getFailedCount())
+                    .processed(run.getProcessed())
+                    .createdAt(run.getCreatedAt())
+                    .finishedAt(run.getFinishedAt())
+                    .partitions(List.of(JobRun.Partition.builder()
+                            .index(partition.getIndex())
+                            .status(partition.getStatus())
+                            .owner(partition.getOwner())
+                            .claimToken(partition.getClaimToken())
+                            .leaseUntil(partition.getLeaseUntil())
+                            .attempts(partition.getAttempts())
+                            .build()))
+                    .build();
+        }
+    }
+}
@@ -0,0 +1,48 @@
+package io.respondnow.service.slack;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.slack.api.methods.response.views.ViewsOpenResponse;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+class SlackApiDispatcherTest {
+
+  @Test
+  void testStopFailsCallsWaitingOnARateLimit() throws Exception {
+    SlackApiDispatcher dispatcher = new SlackApiDispatcher(new SimpleMeterRegistry());
+    ReflectionTestUtils.setField(dispatcher, "workers", 1);
+    ReflectionTestUtils.setField(dispatcher, "maxAttempts", 5);
+    ReflectionTestUtils.setField(dispatcher, "bulkQueueCapacity", 10);
+    ReflectionTestUtils.setField(dispatcher, "bulkMaxAgeMs", 60_000L);
+    dispatcher.start();
+
+    CountDownLatch called = new CountDownLatch(1);
+    CompletableFuture<ViewsOpenResponse> call =
+        dispatcher.submit(
+            "views.open",
+            null,
+            SlackApiDispatcher.Priority.INTERACTIVE,
+            () -> {
+              called.countDown();
+              // Slack says to come back in 30 seconds
+              ViewsOpenResponse response = new ViewsOpenResponse();
+              response.setOk(false);
+              response.setError("ratelimited");
+              return response;
+            });
+    assertTrue(called.await(5, TimeUnit.SECONDS));
+
+    dispatcher.stop();
+
+    ExecutionException failure =
+        assertThrows(ExecutionException.class, () -> call.get(5, TimeUnit.SECONDS));
+    assertTrue(failure.getCause() instanceof RejectedExecutionException);
+  }
+}
@@ -0,0 +1,63 @@
+package io.respondnow.service.slack;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.Test;
+
+class SlackApiDispatcherTokenBucketTest {
+
+  // Tier 2: 20 calls a minute, one every 3 seconds
+  private static final long INTERVAL = TimeUnit.SECONDS.toNanos(3);
+
+  private final AtomicLong now = new AtomicLong(-TimeUnit.HOURS.toNanos(1));
+  private final SlackApiDispatcher.TokenBucket bucket =
+      new SlackApiDispatcher.TokenBucket(20, 2, now::get);
+
+  @Test
+  void testBurstIsAvailableImmediately() {
+    assertEquals(0, bucket.tryAcquire());
+    assertEquals(0, bucket.tryAcquire());
+    assertEquals(INTERVAL, bucket.tryAcquire(), 1);
+  }
+
+  @Test
+  void testRefillsAtTheConfiguredRate() {
+    bucket.tryAcquire();
+    bucket.tryAcquire();
+
+    now.addAndGet(INTERVAL / 3);
+    assertEquals(INTERVAL - INTERVAL / 3, bucket.tryAcquire(), 1);
+
+    now.addAndGet(INTERVAL - INTERVAL / 3);
+    assertEquals(0, bucket.tryAcquire());
+    assertTrue(bucket.tryAcquire() > 0);
+  }
+
+  @Test
+  void testRefillIsCappedAtTheBurst() {
+    bucket.tryAcquire();
+    bucket.tryAcquire();
+
+    now.addAndGet(TimeUnit.MINUTES.toNanos(10));
+    assertEquals(0, bucket.tryAcquire());
+    assertEquals(0, bucket.tryAcquire());
+    assertTrue(bucket.tryAcquire() > 0);
+  }
+
+  @Test
+  void testPauseHoldsCallsUntilRetryAfterThenResumesWithoutBurst() {
+    bucket.tryAcquire();
+    long retryAfter = TimeUnit.SECONDS.toNanos(30);
+    bucket.pause(retryAfter);
+
+    assertEquals(retryAfter, bucket.tryAcquire());
+    now.addAndGet(retryAfter - 1);
+    assertEquals(1, bucket.tryAcquire());
+
+    now.addAndGet(1);
+    assertEquals(0, bucket.tryAcquire());
+    assertEquals(INTERVAL, bucket.tryAcquire(), 1);
+  }
+}
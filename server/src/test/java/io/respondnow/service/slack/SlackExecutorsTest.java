@@ -0,0 +1,104 @@
+package io.respondnow.service.slack;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+class SlackExecutorsTest {
+
+  private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+  private final SlackExecutors executors = new SlackExecutors(meterRegistry, 1, 1, 1, 1, 1, 1);
+  private final CountDownLatch release = new CountDownLatch(1);
+
+  @AfterEach
+  void tearDown() {
+    release.countDown();
+    executors.shutdown();
+  }
+
+  @Test
+  void testFullMutationsQueueRejectsInsteadOfRunningOnCaller() throws Exception {
+    CountDownLatch started = new CountDownLatch(1);
+    executors.mutations().execute(() -> block(started));
+    assertTrue(started.await(5, TimeUnit.SECONDS));
+    executors.mutations().execute(() -> {});
+
+    AtomicBoolean ranOnCaller = new AtomicBoolean();
+    Thread caller = Thread.currentThread();
+    assertThrows(
+        RejectedExecutionException.class,
+        () -> executors.mutations().execute(() -> ranOnCaller.set(Thread.currentThread() == caller)));
+
+    assertFalse(ranOnCaller.get());
+    assertEquals(1.0, rejected("slack.mutations"));
+  }
+
+  @Test
+  void testFullNotificationsQueueDropsTheOldestTask() throws Exception {
+    CountDownLatch started = new CountDownLatch(1);
+    executors.notifications().execute(() -> block(started));
+    assertTrue(started.await(5, TimeUnit.SECONDS));
+    AtomicBoolean oldest = new AtomicBoolean();
+    AtomicBoolean newest = new AtomicBoolean();
+    CountDownLatch newestRan = new CountDownLatch(1);
+    executors.notifications().execute(() -> oldest.set(true));
+    executors.notifications().execute(() -> {
+      newest.set(true);
+      newestRan.countDown();
+    });
+
+    release.countDown();
+    assertTrue(newestRan.await(5, TimeUnit.SECONDS));
+    assertFalse(oldest.get());
+    assertTrue(newest.get());
+    assertEquals(1.0, rejected("slack.notifications"));
+  }
+
+  @Test
+  void testDroppedTasksAreToldTheyWereDropped() throws Exception {
+    CountDownLatch started = new CountDownLatch(2);
+    executors.notifications().execute(() -> block(started));
+    executors.interactive().execute(() -> block(started));
+    assertTrue(started.await(5, TimeUnit.SECONDS));
+    AtomicInteger dropped = new AtomicInteger();
+
+    executors.notifications().execute(dropAware(dropped));
+    executors.notifications().execute(() -> {});
+    executors.interactive().execute(() -> {});
+    executors.interactive().execute(dropAware(dropped));
+
+    assertEquals(2, dropped.get());
+  }
+
+  private static SlackExecutors.DropAware dropAware(AtomicInteger dropped) {
+    return new SlackExecutors.DropAware() {
+      @Override
+      public void run() {}
+
+      @Override
+      public void onDropped() {
+        dropped.incrementAndGet();
+      }
+    };
+  }
+
+  private void block(CountDownLatch started) {
+    started.countDown();
+    try {
+      release.await(5, TimeUnit.SECONDS);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  private double rejected(String name) {
+    return meterRegistry.get("slack.executor.rejected").tag("name", name).counter().count();
+  }
+}
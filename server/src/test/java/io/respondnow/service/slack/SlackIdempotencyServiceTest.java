@@ -0,0 +1,60 @@
+package io.respondnow.service.slack;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.respondnow.model.slack.SlackDelivery;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.mongodb.core.MongoTemplate;
+
+class SlackIdempotencyServiceTest {
+
+  private final MongoTemplate mongoTemplate = mock(MongoTemplate.class);
+  private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+  private final SlackIdempotencyService idempotency =
+      new SlackIdempotencyService(mongoTemplate, meterRegistry, 3_600_000L, 100);
+
+  @Test
+  void testRedeliveryIsDroppedInMemory() {
+    assertTrue(idempotency.markSeen("view_submission:V1"));
+    assertFalse(idempotency.markSeen("view_submission:V1"));
+    assertTrue(idempotency.markSeen("view_submission:V2"));
+
+    assertEquals(1.0, meterRegistry.counter("slack.deliveries.duplicate", "stage", "memory").count());
+    verifyNoInteractions(mongoTemplate);
+  }
+
+  @Test
+  void testForgottenDeliveryIsProcessedWhenRedelivered() {
+    assertTrue(idempotency.markSeen("event:E1"));
+    idempotency.forget("event:E1");
+
+    assertTrue(idempotency.markSeen("event:E1"));
+    assertFalse(idempotency.markSeen("event:E1"));
+  }
+
+  @Test
+  void testClaimIsRefusedWhenTheDeliveryIsAlreadyStored() {
+    when(mongoTemplate.insert(any(SlackDelivery.class)))
+        .thenAnswer(invocation -> invocation.getArgument(0))
+        .thenThrow(new DuplicateKeyException("slack_deliveries"));
+
+    assertTrue(idempotency.claim("event:E1"));
+    assertFalse(idempotency.claim("event:E1"));
+    assertEquals(1.0, meterRegistry.counter("slack.deliveries.duplicate", "stage", "store").count());
+  }
+
+  @Test
+  void testClaimProceedsWhenTheStoreIsUnavailable() {
+    when(mongoTemplate.insert(any(SlackDelivery.class)))
+        .thenThrow(new DataAccessResourceFailureException("down"));
+
+    assertTrue(idempotency.claim("event:E1"));
+  }
+}
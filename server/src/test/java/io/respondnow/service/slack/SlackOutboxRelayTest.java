@@ -0,0 +1,169 @@
+package io.respondnow.service.slack;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import com.mongodb.client.MongoClient;
+import com.mongodb.client.MongoClients;
+import de.bwaldvogel.mongo.MongoServer;
+import de.bwaldvogel.mongo.backend.memory.MemoryBackend;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.respondnow.model.incident.ChangeType;
+import io.respondnow.model.incident.Incident;
+import io.respondnow.model.incident.SlackNotification;
+import java.net.InetSocketAddress;
+import java.util.ArrayList;
+import java.util.List;
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.test.util.ReflectionTestUtils;
+
+class SlackOutboxRelayTest {
+
+  private static final long OTHER_INSTANCE_LEASE = Long.MAX_VALUE;
+
+  private MongoServer server;
+  private MongoClient client;
+  private MongoTemplate mongoTemplate;
+  private final SlackNotificationSender sender = mock(SlackNotificationSender.class);
+  private SlackOutboxRelay relay;
+  private String incidentId;
+
+  @BeforeEach
+  void setUp() {
+    server = new MongoServer(new MemoryBackend());
+    InetSocketAddress address = server.bind();
+    client = MongoClients.create("mongodb://" + address.getHostString() + ":" + address.getPort());
+    mongoTemplate = new MongoTemplate(client, "test");
+    relay = new SlackOutboxRelay(mongoTemplate, sender, new SimpleMeterRegistry());
+    ReflectionTestUtils.setField(relay, "batchSize", 10);
+    ReflectionTestUtils.setField(relay, "leaseMs", 60_000L);
+    ReflectionTestUtils.setField(relay, "initialBackoffMs", 1_000L);
+    ReflectionTestUtils.setField(relay, "maxBackoffMs", 60_000L);
+    ReflectionTestUtils.setField(relay, "maxAttempts", 5);
+
+    Incident incident = new Incident();
+    incident.setIdentifier("inc-1");
+    incidentId = mongoTemplate.insert(incident).getId();
+    mongoTemplate.updateFirst(
+        byId(),
+        new Update()
+            .push("slackOutbox")
+            .each(comment("n-1"), comment("n-2"))
+            .set("slackOutboxDueAt", 0L),
+        Incident.class);
+  }
+
+  @AfterEach
+  void tearDown() {
+    client.close();
+    server.shutdown();
+  }
+
+  @Test
+  void testLeaseIsRenewedBeforeEachSend() throws Exception {
+    List<Long> leases = new ArrayList<>();
+    doAnswer(invocation -> leases.add(stored().getLong("slackOutboxLeaseUntil")))
+        .when(sender)
+        .sendNotification(any(), any());
+
+    relay.relay();
+
+    assertEquals(2, leases.size());
+    assertTrue(leases.get(1) > leases.get(0));
+    Document stored = stored();
+    assertTrue(stored.getList("slackOutbox", Document.class).isEmpty());
+    assertFalse(stored.containsKey("slackOutboxLeaseUntil"));
+    assertFalse(stored.containsKey("slackOutboxDueAt"));
+  }
+
+  @Test
+  void testPassStopsOnceAnotherInstanceHoldsTheLease() throws Exception {
+    doAnswer(invocation -> takeOverLease()).when(sender).sendNotification(any(), any());
+
+    relay.relay();
+
+    verify(sender, times(1)).sendNotification(any(), any());
+    Document stored = stored();
+    // The delivered head is still removed; the lease and the rest belong to the new holder
+    List<Document> outbox = stored.getList("slackOutbox", Document.class);
+    assertEquals(1, outbox.size());
+    assertEquals("n-2", outbox.get(0).getString("notificationId"));
+    assertEquals(OTHER_INSTANCE_LEASE, stored.getLong("slackOutboxLeaseUntil"));
+    assertEquals(0L, stored.getLong("slackOutboxDueAt"));
+  }
+
+  @Test
+  void testFailureIsNotRecordedAfterLosingTheLease() throws Exception {
+    doAnswer(
+            invocation -> {
+              takeOverLease();
+              throw new IllegalStateException("slow and failed");
+            })
+        .when(sender)
+        .sendNotification(any(), any());
+
+    relay.relay();
+
+    Document stored = stored();
+    List<Document> outbox = stored.getList("slackOutbox", Document.class);
+    assertEquals(2, outbox.size());
+    assertEquals(0, outbox.get(0).getInteger("attempts"));
+    assertEquals(OTHER_INSTANCE_LEASE, stored.getLong("slackOutboxLeaseUntil"));
+    assertEquals(0L, stored.getLong("slackOutboxDueAt"));
+  }
+
+  @Test
+  void testFailureIsRescheduledWhileTheLeaseIsHeld() throws Exception {
+    doAnswer(
+            invocation -> {
+              throw new IllegalStateException("rate limited");
+            })
+        .when(sender)
+        .sendNotification(any(), any());
+
+    long before = System.currentTimeMillis();
+    relay.relay();
+
+    Document stored = stored();
+    Document head = stored.getList("slackOutbox", Document.class).get(0);
+    assertEquals(1, head.getInteger("attempts"));
+    assertEquals("rate limited", head.getString("lastError"));
+    assertTrue(stored.getLong("slackOutboxDueAt") >= before + 500);
+    assertFalse(stored.containsKey("slackOutboxLeaseUntil"));
+  }
+
+  private Object takeOverLease() {
+    mongoTemplate.updateFirst(
+        byId(), new Update().set("slackOutboxLeaseUntil", OTHER_INSTANCE_LEASE), Incident.class);
+    return null;
+  }
+
+  private Query byId() {
+    return Query.query(Criteria.where("_id").is(new ObjectId(incidentId)));
+  }
+
+  private Document stored() {
+    return mongoTemplate.findOne(byId(), Document.class, mongoTemplate.getCollectionName(Incident.class));
+  }
+
+  private static SlackNotification comment(String id) {
+    return SlackNotification.builder()
+        .notificationId(id)
+        .type(ChangeType.Comment)
+        .createdAt(0L)
+        .attempts(0)
+        .build();
+  }
+}
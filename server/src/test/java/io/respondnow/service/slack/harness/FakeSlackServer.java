@@ -0,0 +1,302 @@
+package io.respondnow.service.slack.harness;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import javax.servlet.http.HttpServlet;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import javax.websocket.Endpoint;
+import javax.websocket.EndpointConfig;
+import javax.websocket.MessageHandler;
+import javax.websocket.Session;
+import javax.websocket.server.ServerContainer;
+import javax.websocket.server.ServerEndpointConfig;
+import org.apache.catalina.Context;
+import org.apache.catalina.connector.Connector;
+import org.apache.catalina.startup.Tomcat;
+import org.apache.tomcat.websocket.server.WsSci;
+
+/**
+ * In-process stand-in for the Slack Web API and Socket Mode, so the Slack integration can be
+ * driven without a workspace.
+ *
+ * <ul>
+ *   <li>{@code /api/<method>} answers Web API calls with {@code ok: true} and the fields the app
+ *       reads from each method. Every call can be delayed by {@link #setLatencyMs}, and a share
+ *       of calls set by {@link #setRateLimitRatio} is answered with HTTP 429 and
+ *       {@code Retry-After}.
+ *   <li>{@code /link} is the Socket Mode WebSocket that {@code apps.connections.open} points to.
+ *       {@link #send} pushes an envelope to the connected app and completes with the time it
+ *       took the app to ack it.
+ * </ul>
+ */
+public class FakeSlackServer implements AutoCloseable {
+
+  private final Tomcat tomcat;
+  private final int port;
+  private final Map<String, AtomicLong> calls = new ConcurrentHashMap<>();
+  private final AtomicLong rateLimited = new AtomicLong();
+  private final AtomicLong ids = new AtomicLong();
+  private final Map<String, PendingAck> pendingAcks = new ConcurrentHashMap<>();
+  private final CompletableFuture<Void> connected = new CompletableFuture<>();
+  private final Object sendLock = new Object();
+
+  private volatile long latencyMs;
+  private volatile double rateLimitRatio;
+  private volatile int retryAfterSeconds = 1;
+  private volatile Session session;
+
+  public FakeSlackServer() throws Exception {
+    tomcat = new Tomcat();
+    tomcat.setBaseDir(Files.createTempDirectory("fake-slack").toString());
+    Connector connector = new Connector();
+    connector.setPort(0);
+    tomcat.setConnector(connector);
+
+    Context context = tomcat.addContext("", null);
+    Tomcat.addServlet(context, "webApi", new WebApiServlet());
+    context.addServletMappingDecoded("/api/*", "webApi");
+    context.addServletContainerInitializer(new WsSci(), null);
+    tomcat.start();
+    port = connector.getLocalPort();
+
+    ServerContainer container =
+        (ServerContainer)
+            context.getServletContext().getAttribute(ServerContainer.class.getName());
+    container.addEndpoint(
+        ServerEndpointConfig.Builder.create(SocketModeEndpoint.class, "/link")
+            .configurator(
+                new ServerEndpointConfig.Configurator() {
+                  @Override
+                  @SuppressWarnings("unchecked")
+                  public <T> T getEndpointInstance(Class<T> endpointClass) {
+                    return (T) new SocketModeEndpoint();
+                  }
+                })
+            .build());
+  }
+
+  /** Base URL to configure as {@code slack.apiUrl}. */
+  public String apiUrl() {
+    return "http://localhost:" + port + "/api/";
+  }
+
+  public void setLatencyMs(long latencyMs) {
+    this.latencyMs = latencyMs;
+  }
+
+  public void setRateLimitRatio(double rateLimitRatio) {
+    this.rateLimitRatio = rateLimitRatio;
+  }
+
+  public void setRetryAfterSeconds(int retryAfterSeconds) {
+    this.retryAfterSeconds = retryAfterSeconds;
+  }
+
+  /** Wait for the app to open its Socket Mode connection. */
+  public void awaitConnection(long timeout, TimeUnit unit) throws Exception {
+    connected.get(timeout, unit);
+  }
+
+  /**
+   * Push an envelope of {@code type} ({@code interactive}, {@code events_api}) carrying
+   * {@code payload}. Completes with the nanoseconds until the app acked it.
+   */
+  public CompletableFuture<Long> send(String type, JsonObject payload) throws IOException {
+    String envelopeId = UUID.randomUUID().toString();
+    JsonObject envelope = new JsonObject();
+    envelope.addProperty("envelope_id", envelopeId);
+    envelope.addProperty("type", type);
+    envelope.add("payload", payload);
+    envelope.addProperty("accepts_response_payload", "interactive".equals(type));
+
+    PendingAck ack = new PendingAck();
+    pendingAcks.put(envelopeId, ack);
+    synchronized (sendLock) {
+      ack.sentAt = System.nanoTime();
+      session.getBasicRemote().sendText(envelope.toString());
+    }
+    return ack.future;
+  }
+
+  /** Web API calls received per method, including those answered with a 429. */
+  public Map<String, Long> callCounts() {
+    Map<String, Long> counts = new TreeMap<>();
+    calls.forEach((method, count) -> counts.put(method, count.get()));
+    return counts;
+  }
+
+  public long rateLimitedCount() {
+    return rateLimited.get();
+  }
+
+  public String nextId(String prefix) {
+    return prefix + ids.incrementAndGet();
+  }
+
+  @Override
+  public void close() throws Exception {
+    tomcat.stop();
+    tomcat.destroy();
+  }
+
+  private void onAck(String message) {
+    String envelopeId =
+        JsonParser.parseString(message).getAsJsonObject().get("envelope_id").getAsString();
+    PendingAck ack = pendingAcks.remove(envelopeId);
+    if (ack != null) {
+      ack.future.complete(System.nanoTime() - ack.sentAt);
+    }
+  }
+
+  private JsonObject answer(String method, HttpServletRequest request) {
+    JsonObject body = new JsonObject();
+    body.addProperty("ok", true);
+    switch (method) {
+      case "auth.test":
+        body.addProperty("user_id", "UBOT");
+        body.addProperty("user", "respondnow");
+        body.addProperty("bot_id", "BBOT");
+        body.addProperty("team_id", "THARNESS");
+        break;
+      case "apps.connections.open":
+        body.addProperty("url", "ws://localhost:" + port + "/link");
+        break;
+      case "conversations.create":
+        {
+          JsonObject channel = new JsonObject();
+          channel.addProperty("id", nextId("C"));
+          channel.addProperty("name", request.getParameter("name"));
+          body.add("channel", channel);
+          break;
+        }
+      case "chat.postMessage":
+        {
+          String ts = System.currentTimeMillis() / 1000 + "." + ids.incrementAndGet();
+          JsonObject message = new JsonObject();
+          message.addProperty("ts", ts);
+          body.addProperty("channel", request.getParameter("channel"));
+          body.addProperty("ts", ts);
+          body.add("message", message);
+          break;
+        }
+      case "users.info":
+        {
+          String userId = request.getParameter("user");
+          JsonObject profile = new JsonObject();
+          profile.addProperty("real_name", "User " + userId);
+          profile.addProperty("email", userId + "@example.com");
+          JsonObject user = new JsonObject();
+          user.addProperty("id", userId);
+          user.addProperty("name", "user-" + userId);
+          user.add("profile", profile);
+          body.add("user", user);
+          break;
+        }
+      case "conversations.members":
+        {
+          JsonArray members = new JsonArray();
+          members.add("UBOT");
+          body.add("members", members);
+          body.add("response_metadata", emptyCursor());
+          break;
+        }
+      case "conversations.list":
+        body.add("channels", new JsonArray());
+        body.add("response_metadata", emptyCursor());
+        break;
+      case "users.list":
+        body.add("members", new JsonArray());
+        body.add("response_metadata", emptyCursor());
+        break;
+      case "views.open":
+      case "views.push":
+      case "views.update":
+      case "views.publish":
+        {
+          JsonObject view = new JsonObject();
+          view.addProperty("id", nextId("V"));
+          body.add("view", view);
+          break;
+        }
+      default:
+        break;
+    }
+    return body;
+  }
+
+  private static JsonObject emptyCursor() {
+    JsonObject metadata = new JsonObject();
+    metadata.addProperty("next_cursor", "");
+    return metadata;
+  }
+
+  private static final class PendingAck {
+    private final CompletableFuture<Long> future = new CompletableFuture<>();
+    private volatile long sentAt;
+  }
+
+  private final class WebApiServlet extends HttpServlet {
+    @Override
+    protected void service(HttpServletRequest request, HttpServletResponse response)
+        throws IOException {
+      String method = request.getPathInfo() == null ? "" : request.getPathInfo().substring(1);
+      calls.computeIfAbsent(method, m -> new AtomicLong()).incrementAndGet();
+
+      if (latencyMs > 0) {
+        try {
+          Thread.sleep(latencyMs);
+        } catch (InterruptedException e) {
+          Thread.currentThread().interrupt();
+        }
+      }
+
+      response.setContentType("application/json");
+      response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+      // The connection URL is never rate limited, so the app can always reconnect
+      if (!"apps.connections.open".equals(method)
+          && ThreadLocalRandom.current().nextDouble() < rateLimitRatio) {
+        rateLimited.incrementAndGet();
+        response.setStatus(429);
+        response.setHeader("Retry-After", String.valueOf(retryAfterSeconds));
+        response.getWriter().write("{\"ok\":false,\"error\":\"ratelimited\"}");
+        return;
+      }
+      response.getWriter().write(answer(method, request).toString());
+    }
+  }
+
+  /** Socket Mode side: greets the app with {@code hello} and matches acks to envelopes. */
+  public final class SocketModeEndpoint extends Endpoint {
+    @Override
+    public void onOpen(Session newSession, EndpointConfig config) {
+      newSession.addMessageHandler(
+          String.class, (MessageHandler.Whole<String>) FakeSlackServer.this::onAck);
+      JsonObject connectionInfo = new JsonObject();
+      connectionInfo.addProperty("app_id", "AHARNESS");
+      JsonObject hello = new JsonObject();
+      hello.addProperty("type", "hello");
+      hello.addProperty("num_connections", 1);
+      hello.add("connection_info", connectionInfo);
+      try {
+        newSession.getBasicRemote().sendText(hello.toString());
+      } catch (IOException e) {
+        throw new IllegalStateException("Failed to greet Socket Mode client", e);
+      }
+      session = newSession;
+      connected.complete(null);
+    }
+  }
+}
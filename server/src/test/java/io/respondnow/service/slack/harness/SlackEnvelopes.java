@@ -0,0 +1,144 @@
+package io.respondnow.service.slack.harness;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonObject;
+
+/**
+ * Payloads for the interactions the harness replays, shaped like what Slack sends over Socket
+ * Mode and carrying the block and action IDs the handlers in {@code SlackServiceImpl} read.
+ */
+final class SlackEnvelopes {
+
+  static final String TEAM_ID = "THARNESS";
+
+  private SlackEnvelopes() {}
+
+  /** The "List open incidents" global shortcut. */
+  static JsonObject listOpenIncidentsShortcut(String triggerId, String userId) {
+    JsonObject payload = new JsonObject();
+    payload.addProperty("type", "shortcut");
+    payload.addProperty("callback_id", "list_open_incidents_modal");
+    payload.addProperty("trigger_id", triggerId);
+    payload.add("user", user(userId));
+    payload.add("team", team());
+    return payload;
+  }
+
+  /** A filled-in "Create incident" modal being submitted. */
+  static JsonObject createIncidentSubmission(
+      String viewId, String userId, String name, String responseChannel) {
+    JsonObject values = new JsonObject();
+    values.add(
+        "create_incident_modal_name",
+        block("create_incident_modal_set_name", plainValue("plain_text_input", name)));
+    values.add(
+        "incident_type",
+        block(
+            "create_incident_modal_set_incident_type",
+            selectedOption("static_select", "Availability")));
+    values.add(
+        "create_incident_modal_summary",
+        block(
+            "create_incident_modal_set_summary",
+            plainValue("plain_text_input", "Replayed by the throughput harness")));
+    values.add(
+        "incident_severity",
+        block(
+            "create_incident_modal_set_incident_severity",
+            selectedOption("static_select", "SEV1")));
+
+    JsonObject conversation = new JsonObject();
+    conversation.addProperty("type", "conversations_select");
+    conversation.addProperty("selected_conversation", responseChannel);
+    values.add(
+        "create_incident_modal_conversation_select",
+        block("create_incident_modal_select_conversation", conversation));
+
+    JsonObject roles = new JsonObject();
+    roles.addProperty("type", "multi_static_select");
+    JsonArray selected = new JsonArray();
+    selected.add(option("Incident_Commander"));
+    roles.add("selected_options", selected);
+    values.add("incident_role", block("create_incident_modal_set_incident_role", roles));
+
+    JsonObject state = new JsonObject();
+    state.add("values", values);
+    JsonObject view = new JsonObject();
+    view.addProperty("id", viewId);
+    view.addProperty("type", "modal");
+    view.addProperty("callback_id", "create_incident_modal");
+    view.addProperty("hash", viewId + ".hash");
+    view.add("state", state);
+
+    JsonObject payload = new JsonObject();
+    payload.addProperty("type", "view_submission");
+    payload.add("user", user(userId));
+    payload.add("team", team());
+    payload.add("view", view);
+    return payload;
+  }
+
+  /** The "View" button on a listed incident. */
+  static JsonObject viewIncidentAction(String triggerId, String userId, String identifier) {
+    JsonObject action = new JsonObject();
+    action.addProperty("type", "button");
+    action.addProperty("action_id", "view_incident_" + identifier);
+    action.addProperty("block_id", "incident_" + identifier);
+    action.addProperty("value", identifier);
+    JsonArray actions = new JsonArray();
+    actions.add(action);
+
+    JsonObject payload = new JsonObject();
+    payload.addProperty("type", "block_actions");
+    payload.addProperty("trigger_id", triggerId);
+    payload.add("user", user(userId));
+    payload.add("team", team());
+    payload.add("actions", actions);
+    return payload;
+  }
+
+  private static JsonObject block(String actionId, JsonObject value) {
+    JsonObject block = new JsonObject();
+    block.add(actionId, value);
+    return block;
+  }
+
+  private static JsonObject plainValue(String type, String value) {
+    JsonObject element = new JsonObject();
+    element.addProperty("type", type);
+    element.addProperty("value", value);
+    return element;
+  }
+
+  private static JsonObject selectedOption(String type, String value) {
+    JsonObject element = new JsonObject();
+    element.addProperty("type", type);
+    element.add("selected_option", option(value));
+    return element;
+  }
+
+  private static JsonObject option(String value) {
+    JsonObject text = new JsonObject();
+    text.addProperty("type", "plain_text");
+    text.addProperty("text", value);
+    JsonObject option = new JsonObject();
+    option.add("text", text);
+    option.addProperty("value", value);
+    return option;
+  }
+
+  private static JsonObject user(String userId) {
+    JsonObject user = new JsonObject();
+    user.addProperty("id", userId);
+    user.addProperty("username", "user-" + userId);
+    user.addProperty("team_id", TEAM_ID);
+    return user;
+  }
+
+  private static JsonObject team() {
+    JsonObject team = new JsonObject();
+    team.addProperty("id", TEAM_ID);
+    team.addProperty("domain", "harness");
+    return team;
+  }
+}
@@ -0,0 +1,239 @@
+package io.respondnow.service.slack.harness;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.RETURNS_DEEP_STUBS;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.google.gson.JsonObject;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.respondnow.dto.incident.CreateRequest;
+import io.respondnow.model.incident.Incident;
+import io.respondnow.model.incident.Status;
+import io.respondnow.service.incident.ActiveIncidentRegistry;
+import io.respondnow.service.incident.IncidentService;
+import io.respondnow.service.slack.SlackApiDispatcher;
+import io.respondnow.service.slack.SlackClientConfig;
+import io.respondnow.service.slack.SlackDirectoryCache;
+import io.respondnow.service.slack.SlackExecutors;
+import io.respondnow.service.slack.SlackIdempotencyService;
+import io.respondnow.service.slack.SlackServiceImpl;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.core.env.MapPropertySource;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+
+/**
+ * Replays Slack interactions against the real Slack handlers, over a real Socket Mode
+ * connection to {@link FakeSlackServer}, and reports how long the app took to ack them.
+ *
+ * MongoDB and the incident service are mocked, so what is measured is the path from the
+ * WebSocket to the ack plus the Web API calls the handlers make. Not part of the regular test
+ * run; use {@code mvn -Pslack-harness test}. Tunable with system properties:
+ *
+ * <ul>
+ *   <li>{@code harness.envelopes} (5000): interactions to send, a mix of shortcuts, create
+ *       incident submissions and "View" button clicks
+ *   <li>{@code harness.inFlight} (200): unacked envelopes allowed at once
+ *   <li>{@code harness.latencyMs} (20): delay added to every Web API call
+ *   <li>{@code harness.rateLimitRatio} (0.02): share of Web API calls answered with HTTP 429
+ *   <li>{@code harness.maxP99Ms} (3000): ack latency the 99th percentile must stay under
+ * </ul>
+ *
+ * Besides the latency bound, every create submission must end in exactly one saved incident and
+ * one channel, however many of its Web API calls were rate limited on the way.
+ */
+class SlackHandlerThroughputHarness {
+
+  private static final Logger logger = LoggerFactory.getLogger(SlackHandlerThroughputHarness.class);
+
+  private static final String RESPONSE_CHANNEL = "CRESPONSE";
+
+  private FakeSlackServer fake;
+  private AnnotationConfigApplicationContext context;
+
+  @BeforeEach
+  void setUp() throws Exception {
+    fake = new FakeSlackServer();
+    fake.setLatencyMs(Long.getLong("harness.latencyMs", 20));
+    fake.setRateLimitRatio(
+        Double.parseDouble(System.getProperty("harness.rateLimitRatio", "0.02")));
+
+    Map<String, Object> properties = new HashMap<>();
+    properties.put("slack.enabled", "true");
+    properties.put("slack.apiUrl", fake.apiUrl());
+    properties.put("slack.botToken", "xoxb-harness");
+    properties.put("slack.appToken", "xapp-harness");
+    properties.put("slack.incidentChannelID", "CINCIDENTS");
+
+    context = new AnnotationConfigApplicationContext();
+    context
+        .getEnvironment()
+        .getPropertySources()
+        .addFirst(new MapPropertySource("harness", properties));
+    context.registerBean(MeterRegistry.class, SimpleMeterRegistry::new);
+    context.registerBean(MongoTemplate.class, () -> mock(MongoTemplate.class, RETURNS_DEEP_STUBS));
+    context.registerBean(IncidentService.class, SlackHandlerThroughputHarness::incidentService);
+    context.registerBean(ActiveIncidentRegistry.class, SlackHandlerThroughputHarness::registry);
+    context.register(
+        SlackClientConfig.class,
+        SlackExecutors.class,
+        SlackApiDispatcher.class,
+        SlackDirectoryCache.class,
+        SlackIdempotencyService.class,
+        SlackServiceImpl.class);
+    context.refresh();
+
+    context.getBean(SlackServiceImpl.class).startApp();
+    fake.awaitConnection(30, TimeUnit.SECONDS);
+  }
+
+  @AfterEach
+  void tearDown() throws Exception {
+    if (context != null) {
+      context.getBean(SlackServiceImpl.class).shutdownApp();
+      context.close();
+    }
+    if (fake != null) {
+      fake.close();
+    }
+  }
+
+  @Test
+  void acksInteractionsUnderLoad() throws Exception {
+    int envelopes = Integer.getInteger("harness.envelopes", 5000);
+    Semaphore inFlight = new Semaphore(Integer.getInteger("harness.inFlight", 200));
+    List<CompletableFuture<Long>> acks = new ArrayList<>(envelopes);
+
+    long started = System.nanoTime();
+    for (int i = 0; i < envelopes; i++) {
+      inFlight.acquire();
+      CompletableFuture<Long> ack = fake.send("interactive", envelope(i));
+      ack.whenComplete((nanos, error) -> inFlight.release());
+      acks.add(ack);
+    }
+    CompletableFuture.allOf(acks.toArray(new CompletableFuture<?>[0])).get(5, TimeUnit.MINUTES);
+    long elapsed = System.nanoTime() - started;
+
+    List<Long> latencies = new ArrayList<>(envelopes);
+    for (CompletableFuture<Long> ack : acks) {
+      latencies.add(ack.join());
+    }
+    Collections.sort(latencies);
+
+    // Creation continues after the ack; wait until every submission has saved its incident
+    int creates = (envelopes + 1) / 3;
+    IncidentService incidentService = context.getBean(IncidentService.class);
+    verify(incidentService, timeout(TimeUnit.MINUTES.toMillis(5)).times(creates))
+        .createIncident(any(CreateRequest.class), any());
+
+    logger.info(
+        "Slack harness: {} envelopes in {} s ({} acks/s), ack latency p50={} ms p95={} ms"
+            + " p99={} ms max={} ms, Web API calls {}, {} answered with 429",
+        envelopes,
+        String.format("%.1f", elapsed / 1e9),
+        String.format("%.0f", envelopes / (elapsed / 1e9)),
+        String.format("%.1f", percentileMs(latencies, 50)),
+        String.format("%.1f", percentileMs(latencies, 95)),
+        String.format("%.1f", percentileMs(latencies, 99)),
+        String.format("%.1f", latencies.get(latencies.size() - 1) / 1e6),
+        fake.callCounts(),
+        fake.rateLimitedCount());
+
+    assertEquals(envelopes, latencies.size());
+    double maxP99Ms = Double.parseDouble(System.getProperty("harness.maxP99Ms", "3000"));
+    assertTrue(
+        percentileMs(latencies, 99) <= maxP99Ms,
+        "p99 ack latency above " + maxP99Ms + " ms");
+
+    // One channel per submission: rate-limited attempts are retried, never dropped or repeated
+    long channelCalls = fake.callCounts().getOrDefault("conversations.create", 0L);
+    assertTrue(channelCalls >= creates, "conversations.create called " + channelCalls + " times");
+    assertTrue(
+        channelCalls <= creates + fake.rateLimitedCount(),
+        "conversations.create repeated beyond its 429 retries: " + channelCalls);
+    verify(incidentService, times(creates)).createIncident(any(CreateRequest.class), any());
+  }
+
+  private JsonObject envelope(int i) {
+    String userId = "U" + (i % 50);
+    String triggerId = fake.nextId("trigger-");
+    switch (i % 3) {
+      case 0:
+        return SlackEnvelopes.listOpenIncidentsShortcut(triggerId, userId);
+      case 1:
+        return SlackEnvelopes.createIncidentSubmission(
+            fake.nextId("V"), userId, "harness incident " + i, RESPONSE_CHANNEL);
+      default:
+        return SlackEnvelopes.viewIncidentAction(triggerId, userId, "harness" + i);
+    }
+  }
+
+  private static double percentileMs(List<Long> sortedNanos, int percentile) {
+    int index = (int) Math.ceil(percentile / 100.0 * sortedNanos.size()) - 1;
+    return sortedNanos.get(Math.max(0, index)) / 1e6;
+  }
+
+  private static IncidentService incidentService() {
+    IncidentService incidentService = mock(IncidentService.class);
+    when(incidentService.generateIncidentIdentifier(anyLong()))
+        .thenAnswer(invocation -> "harness" + invocation.getArgument(0));
+    when(incidentService.createIncident(any(CreateRequest.class), any()))
+        .thenAnswer(
+            invocation -> {
+              CreateRequest request = invocation.getArgument(0);
+              Incident incident = new Incident();
+              incident.setId(request.getIdentifier());
+              incident.setIdentifier(request.getIdentifier());
+              incident.setName(request.getName());
+              incident.setSummary(request.getSummary());
+              incident.setSeverity(request.getSeverity());
+              incident.setStatus(Status.Started);
+              incident.setRoles(request.getRoles());
+              incident.setChannels(request.getChannels());
+              incident.setCreatedAt(System.currentTimeMillis());
+              return incident;
+            });
+    when(incidentService.getIncidentByIdentifier(anyString()))
+        .thenAnswer(
+            invocation -> {
+              Incident incident = new Incident();
+              incident.setIdentifier(invocation.getArgument(0));
+              incident.setName("harness incident");
+              incident.setStatus(Status.Started);
+              return incident;
+            });
+    when(incidentService.listIncidents(any(Query.class))).thenReturn(Collections.emptyList());
+    return incidentService;
+  }
+
+  private static ActiveIncidentRegistry registry() {
+    ActiveIncidentRegistry registry = mock(ActiveIncidentRegistry.class);
+    when(registry.list()).thenReturn(Collections.emptyList());
+    when(registry.page(anyInt(), anyInt())).thenReturn(Collections.emptyList());
+    when(registry.size()).thenReturn(0);
+    return registry;
+  }
+}
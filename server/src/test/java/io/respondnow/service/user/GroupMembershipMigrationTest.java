@@ -0,0 +1,96 @@
+package io.respondnow.service.user;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.mongodb.client.MongoClient;
+import com.mongodb.client.MongoClients;
+import de.bwaldvogel.mongo.MongoServer;
+import de.bwaldvogel.mongo.backend.memory.MemoryBackend;
+import io.respondnow.model.user.Group;
+import io.respondnow.model.user.GroupMembership;
+import io.respondnow.model.user.User;
+import java.net.InetSocketAddress;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.mongodb.core.MongoTemplate;
+
+class GroupMembershipMigrationTest {
+
+    private MongoServer server;
+    private MongoClient client;
+    private MongoTemplate mongoTemplate;
+    private GroupMembershipService service;
+
+    @BeforeEach
+    void setUp() {
+        server = new MongoServer(new MemoryBackend());
+        InetSocketAddress address = server.bind();
+        client = MongoClients.create("mongodb://" + address.getHostString() + ":" + address.getPort());
+        mongoTemplate = new MongoTemplate(client, "test");
+        service = new GroupMembershipService(mongoTemplate);
+    }
+
+    @AfterEach
+    void tearDown() {
+        client.close();
+        server.shutdown();
+    }
+
+    @Test
+    void testEmbeddedMembersAreMatchedByIdUsernameOrEmail() {
+        String aliceId = user("alice", "alice@example.com");
+        user("bob", "bob@example.com");
+        user("carol", "carol@example.com");
+        ObjectId groupId = new ObjectId();
+        mongoTemplate.insert(new Document("_id", groupId)
+                        .append("name", "oncall")
+                        .append("userIds", List.of(aliceId, "bob", "carol@example.com", "nobody")),
+                mongoTemplate.getCollectionName(Group.class));
+
+        assertEquals(3, service.migrateEmbeddedMemberships());
+
+        Set<String> members = mongoTemplate.findAll(GroupMembership.class).stream()
+                .map(GroupMembership::getUserId)
+                .collect(Collectors.toSet());
+        assertEquals(Set.of("alice", "bob", "carol"), members);
+        Document group = mongoTemplate.getCollection(mongoTemplate.getCollectionName(Group.class))
+                .find(new Document("_id", groupId)).first();
+        assertFalse(group.containsKey("userIds"));
+    }
+
+    @Test
+    void testMemberPreviewsForAllGroupsInOneQuery() {
+        User alice = new User();
+        alice.setId(user("alice", null));
+        alice.setUserId("alice");
+        User bob = new User();
+        bob.setId(user("bob", null));
+        bob.setUserId("bob");
+        User carol = new User();
+        carol.setId(user("carol", null));
+        carol.setUserId("carol");
+        service.addMembers("g1", List.of(carol, alice, bob), "test");
+        service.addMembers("g2", List.of(bob), "test");
+
+        Map<String, List<String>> previews = service.getMemberPreviews(List.of("g1", "g2", "g3"), 2);
+
+        assertEquals(Map.of("g1", List.of("alice", "bob"), "g2", List.of("bob")), previews);
+    }
+
+    private String user(String userId, String email) {
+        User user = new User();
+        user.setId(new ObjectId().toHexString());
+        user.setName(userId);
+        user.setUserId(userId);
+        user.setEmail(email);
+        mongoTemplate.insert(user);
+        return user.getId();
+    }
+}
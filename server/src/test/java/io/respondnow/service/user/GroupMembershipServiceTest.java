@@ -0,0 +1,76 @@
+package io.respondnow.service.user;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.mongodb.client.result.DeleteResult;
+import io.respondnow.model.user.Group;
+import io.respondnow.model.user.GroupMembership;
+import java.util.Date;
+import java.util.Iterator;
+import java.util.List;
+import org.bson.Document;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.util.CloseableIterator;
+
+class GroupMembershipServiceTest {
+
+    private final MongoTemplate mongoTemplate = mock(MongoTemplate.class);
+    private final GroupMembershipService service = new GroupMembershipService(mongoTemplate);
+
+    @Test
+    void testPruneOnlyRemovesMembershipsOlderThanTheGroupSnapshot() {
+        Group group = new Group();
+        group.setId("g1");
+        when(mongoTemplate.find(any(Query.class), eq(Group.class))).thenReturn(List.of(group));
+        when(mongoTemplate.stream(any(Query.class), eq(GroupMembership.class))).thenReturn(empty());
+        ArgumentCaptor<Query> removed = ArgumentCaptor.forClass(Query.class);
+        when(mongoTemplate.remove(removed.capture(), eq(GroupMembership.class))).thenReturn(DeleteResult.acknowledged(0));
+
+        long before = System.currentTimeMillis();
+        service.pruneOrphans(0, 1);
+
+        Document filter = removed.getValue().getQueryObject();
+        assertEquals(new Document("$nin", List.of("g1")), filter.get("groupId"));
+        // A group created after the snapshot has memberships no older than the snapshot itself
+        Object bound = filter.get("createdAt", Document.class).get("$lt");
+        long cutoff = bound instanceof Date ? ((Date) bound).getTime() : ((Number) bound).longValue();
+        assertTrue(cutoff <= before - GroupMembershipService.ORPHAN_GRACE_MS + 1000);
+        assertTrue(cutoff >= before - GroupMembershipService.ORPHAN_GRACE_MS);
+    }
+
+    @Test
+    void testOtherPartitionsDoNotRemoveMembershipsOfMissingGroups() {
+        when(mongoTemplate.find(any(Query.class), eq(Group.class))).thenReturn(List.of());
+
+        assertEquals(0, service.pruneOrphans(1, 2));
+        verify(mongoTemplate, never()).remove(any(Query.class), eq(GroupMembership.class));
+    }
+
+    private static <T> CloseableIterator<T> empty() {
+        Iterator<T> delegate = List.<T>of().iterator();
+        return new CloseableIterator<>() {
+            @Override
+            public boolean hasNext() {
+                return delegate.hasNext();
+            }
+
+            @Override
+            public T next() {
+                return delegate.next();
+            }
+
+            @Override
+            public void close() {
+            }
+        };
+    }
+}
@@ -0,0 +1,64 @@
+package io.respondnow.service.user;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import io.respondnow.model.user.Permission;
+import io.respondnow.model.user.UserRole;
+import io.respondnow.model.user.UserRoleType;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+import org.junit.jupiter.api.Test;
+
+class RolePermissionSnapshotTest {
+
+    @Test
+    void testParentRolesAreIgnoredByDefault() {
+        RolePermissionSnapshot snapshot = new RolePermissionSnapshot(roles());
+
+        assertEquals(EnumSet.of(Permission.INCIDENT_VIEW), snapshot.getPermissions("VIEWER"));
+        assertEquals(RolePermissionSnapshot.toMask(EnumSet.of(Permission.INCIDENT_VIEW)),
+                snapshot.aggregateMask(Set.of("VIEWER")));
+    }
+
+    @Test
+    void testParentRolesAreResolvedWhenInheritanceIsEnabled() {
+        RolePermissionSnapshot snapshot = new RolePermissionSnapshot(roles(), true);
+
+        assertEquals(EnumSet.of(Permission.INCIDENT_VIEW, Permission.INCIDENT_UPDATE, Permission.USER_VIEW),
+                snapshot.getPermissions("VIEWER"));
+    }
+
+    @Test
+    void testInheritanceCyclesTerminate() {
+        UserRole a = role("A", Permission.INCIDENT_VIEW, "B");
+        UserRole b = role("B", Permission.INCIDENT_UPDATE, "A");
+
+        RolePermissionSnapshot snapshot = new RolePermissionSnapshot(List.of(a, b), true);
+
+        assertEquals(EnumSet.of(Permission.INCIDENT_VIEW, Permission.INCIDENT_UPDATE), snapshot.getPermissions("A"));
+    }
+
+    @Test
+    void testVersionDependsOnInheritance() {
+        assertNotEquals(new RolePermissionSnapshot(roles()).getVersion(),
+                new RolePermissionSnapshot(roles(), true).getVersion());
+        assertEquals(new RolePermissionSnapshot(roles()).getVersion(),
+                new RolePermissionSnapshot(roles(), false).getVersion());
+    }
+
+    private static List<UserRole> roles() {
+        return List.of(
+                role("VIEWER", Permission.INCIDENT_VIEW, "RESPONDER"),
+                role("RESPONDER", Permission.INCIDENT_UPDATE, "MANAGER"),
+                role("MANAGER", Permission.USER_VIEW, null));
+    }
+
+    private static UserRole role(String name, Permission permission, String parent) {
+        UserRole role = new UserRole(name, name, UserRoleType.CUSTOM, EnumSet.of(permission));
+        if (parent != null) {
+            role.setParentRoles(Set.of(parent));
+        }
+        return role;
+    }
+}
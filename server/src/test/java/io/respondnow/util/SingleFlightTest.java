@@ -0,0 +1,134 @@
+package io.respondnow.util;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+class SingleFlightTest {
+
+  private static final int CALLERS = 16;
+
+  private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+  private final SingleFlight<String, Object> flight = new SingleFlight<>("test", meterRegistry);
+  private final ExecutorService callers = Executors.newFixedThreadPool(CALLERS);
+
+  @AfterEach
+  void tearDown() {
+    callers.shutdownNow();
+  }
+
+  @Test
+  void testConcurrentCallersShareOneLoad() throws Exception {
+    AtomicInteger loads = new AtomicInteger();
+    CountDownLatch release = new CountDownLatch(1);
+    Object result = new Object();
+
+    List<Future<Object>> calls =
+        submitAll(
+            () ->
+                flight.execute(
+                    "key",
+                    () -> {
+                      loads.incrementAndGet();
+                      await(release);
+                      return result;
+                    }));
+    waitForCallers();
+    release.countDown();
+
+    for (Future<Object> call : calls) {
+      assertSame(result, call.get(5, TimeUnit.SECONDS));
+    }
+    assertEquals(1, loads.get());
+    assertEquals(1, requests("executed"));
+    assertEquals(CALLERS - 1, requests("shared"));
+  }
+
+  @Test
+  void testConcurrentCallersShareTheLoaderException() throws Exception {
+    AtomicInteger loads = new AtomicInteger();
+    CountDownLatch release = new CountDownLatch(1);
+    IllegalStateException failure = new IllegalStateException("database down");
+
+    List<Future<Object>> calls =
+        submitAll(
+            () -> {
+              try {
+                return flight.execute(
+                    "key",
+                    () -> {
+                      loads.incrementAndGet();
+                      await(release);
+                      throw failure;
+                    });
+              } catch (IllegalStateException e) {
+                return e;
+              }
+            });
+    waitForCallers();
+    release.countDown();
+
+    for (Future<Object> call : calls) {
+      assertSame(failure, call.get(5, TimeUnit.SECONDS));
+    }
+    assertEquals(1, loads.get());
+  }
+
+  @Test
+  void testNothingIsKeptOnceTheLoadFinishes() {
+    AtomicInteger loads = new AtomicInteger();
+
+    flight.execute("key", loads::incrementAndGet);
+    flight.execute("key", loads::incrementAndGet);
+    flight.execute("other", loads::incrementAndGet);
+
+    assertEquals(3, loads.get());
+    assertEquals(3, requests("executed"));
+    assertEquals(0, requests("shared"));
+  }
+
+  private List<Future<Object>> submitAll(Callable<Object> call) {
+    List<Future<Object>> calls = new ArrayList<>();
+    for (int i = 0; i < CALLERS; i++) {
+      calls.add(callers.submit(call));
+    }
+    return calls;
+  }
+
+  /** Wait until one caller runs the loader and every other one has joined it. */
+  private void waitForCallers() throws InterruptedException {
+    long deadline = System.currentTimeMillis() + 5_000;
+    while (requests("executed") + requests("shared") < CALLERS) {
+      assertTrue(System.currentTimeMillis() < deadline, "callers did not all arrive");
+      Thread.sleep(5);
+    }
+  }
+
+  private double requests(String result) {
+    return meterRegistry
+        .get("singleflight.requests")
+        .tag("name", "test")
+        .tag("result", result)
+        .counter()
+        .count();
+  }
+
+  private static void await(CountDownLatch latch) {
+    try {
+      assertTrue(latch.await(5, TimeUnit.SECONDS));
+    } catch (InterruptedException e) {
+      throw new IllegalStateException(e);
+    }
+  }
+}